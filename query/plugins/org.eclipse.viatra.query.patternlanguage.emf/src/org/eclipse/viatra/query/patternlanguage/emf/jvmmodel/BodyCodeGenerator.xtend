@@ -330,6 +330,19 @@ class BodyCodeGenerator extends StringConcatenationClient {
                 target.newLine
                 target.newLine
 
+                // the source identifies the expression when fingerprinting the compiled form of the pattern
+                val expressionNode = NodeModelUtils::getNode(expression)
+                if (expressionNode !== null) {
+                    target.append('''
+                    «INDENTATION»@Override
+                    public String getExpressionSource() {
+                        return "«NodeModelUtils::getTokenText(expressionNode).escapeToQuotedString»";
+                    }''', INDENTATION)
+
+                    target.newLine
+                    target.newLine
+                }
+
                 target.append('''
                 «INDENTATION»@Override
                 public Object evaluateExpression(''', INDENTATION)
@@ -357,6 +370,40 @@ class BodyCodeGenerator extends StringConcatenationClient {
                 target.append("}")
                 target.newLine
 
+                // batch evaluation reads the columns directly, in the order of the input parameter names
+                val parameterNameList = inputParameterNames.toList
+                if (variables.forall[parameterNameList.contains(name)]) {
+                    target.newLine
+                    target.append('''
+                    «INDENTATION»@Override
+                    public void evaluateExpressions(Object[][] columns, int rowCount, Object[] results) throws Exception {
+                        for (int row = 0; row < rowCount; row++) {''', INDENTATION)
+                    target.newLine
+                    target.append(INDENTATION)
+                    target.append(INDENTATION)
+                    target.append(INDENTATION)
+                    target.append('''results[row] = «expressionMethodName(expression)»(''')
+                    var first = true
+                    for (variable : variables) {
+                        if (!first) {
+                            target.append(''', ''')
+                        }
+                        first = false
+                        target.append('''(''')
+                        target.append(variable.calculateType.eraseGenerics)
+                        target.append(''') columns[«parameterNameList.indexOf(variable.name)»][row]''')
+                    }
+                    target.append(''');''')
+                    target.newLine
+                    target.append(INDENTATION)
+                    target.append(INDENTATION)
+                    target.append("}")
+                    target.newLine
+                    target.append(INDENTATION)
+                    target.append("}")
+                    target.newLine
+                }
+
                 target.
                     append('''}, «IF outputVariableName !== null » «outputVariableName.escape» «ELSE» null«ENDIF», ''')
                 target.append(isUnwind)
@@ -21,6 +21,8 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.IExpressionEvaluator;
 import org.eclipse.viatra.query.runtime.matchers.psystem.IValueProvider;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
@@ -109,4 +111,13 @@ public class XBaseEvaluator implements IExpressionEvaluator{
         return xExpression.toString();
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public String getExpressionSource() {
+        INode node = NodeModelUtils.getNode(xExpression);
+        return node == null ? null : NodeModelUtils.getTokenText(node);
+    }
+
 }
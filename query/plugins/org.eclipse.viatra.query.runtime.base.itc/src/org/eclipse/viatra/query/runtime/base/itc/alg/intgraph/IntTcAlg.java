@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.alg.intgraph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.collections.api.iterator.IntIterator;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.eclipse.viatra.query.runtime.base.itc.alg.misc.DFSPathFinder;
+import org.eclipse.viatra.query.runtime.base.itc.alg.misc.IGraphPathFinder;
+import org.eclipse.viatra.query.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.IntGraph;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcDataSource;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcObserver;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+
+/**
+ * Incremental transitive closure algorithm over an {@link IntGraph}. The transitive closure relation is stored as a
+ * primitive set of target identifiers for each source node, and all graph traversals work on node identifiers; node
+ * objects are only used at the {@link ITcDataSource} and {@link ITcObserver} boundaries.
+ * <p>
+ * Edge insertions are propagated by extending the closure of the nodes reaching the source of the edge. For edge
+ * deletions, the closure of the affected sources is recomputed by graph search and compared to the old one, which
+ * handles cycles without maintaining strongly connected components; deletions that do not disconnect the source and
+ * the target of the edge are detected early.
+ * <p>
+ * Similarly to the other algorithms, a node is reachable from itself only if it is part of a cycle (or has a loop
+ * edge).
+ *
+ * @since 2.9
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph
+ */
+public class IntTcAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+
+    private final IntGraph<V> graph;
+    // source id -> closure of target ids, null if empty
+    private final List<IntHashSet> closure = new ArrayList<>();
+    private final List<ITcObserver<V>> observers;
+
+    public IntTcAlg(IntGraph<V> graph) {
+        this.graph = graph;
+        this.observers = CollectionsFactory.createObserverList();
+        for (V node : graph.getAllNodes()) {
+            int id = graph.getNodeId(node);
+            IntHashSet targets = search(id, true, -1);
+            if (!targets.isEmpty()) {
+                setClosure(id, targets);
+            }
+        }
+        graph.attachObserver(this);
+    }
+
+    @Override
+    public void edgeInserted(V source, V target) {
+        int sourceId = graph.getNodeId(source);
+        int targetId = graph.getNodeId(target);
+        if (closureContains(sourceId, targetId)) {
+            return;
+        }
+        int[] newTargets = withNode(getClosure(targetId), targetId);
+        for (int affectedSource : withNode(search(sourceId, false, -1), sourceId)) {
+            IntHashSet targets = getOrCreateClosure(affectedSource);
+            for (int newTarget : newTargets) {
+                if (targets.add(newTarget)) {
+                    notifyTcObservers(affectedSource, newTarget, true);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void edgeDeleted(V source, V target) {
+        int sourceId = graph.getNodeId(source);
+        int targetId = graph.getNodeId(target);
+        if (graph.getEdgeCount(sourceId, targetId) > 0 || search(sourceId, true, targetId).contains(targetId)) {
+            return;
+        }
+        // the shortest paths reaching the source never use the deleted edge
+        for (int affectedSource : withNode(search(sourceId, false, -1), sourceId)) {
+            IntHashSet oldTargets = getClosure(affectedSource);
+            if (oldTargets == null || !oldTargets.contains(targetId)) {
+                continue;
+            }
+            IntHashSet newTargets = search(affectedSource, true, -1);
+            setClosure(affectedSource, newTargets.isEmpty() ? null : newTargets);
+            IntIterator iterator = oldTargets.intIterator();
+            while (iterator.hasNext()) {
+                int oldTarget = iterator.next();
+                if (!newTargets.contains(oldTarget)) {
+                    notifyTcObservers(affectedSource, oldTarget, false);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void nodeInserted(V n) {
+        // Node inserted does not result new tc tuple.
+    }
+
+    @Override
+    public void nodeDeleted(V n) {
+        // the edges of the node are deleted before the node itself, the closure of the node is empty here
+        int id = graph.getNodeId(n);
+        if (id < closure.size()) {
+            closure.set(id, null);
+        }
+    }
+
+    @Override
+    public void attachObserver(ITcObserver<V> to) {
+        observers.add(to);
+    }
+
+    @Override
+    public void detachObserver(ITcObserver<V> to) {
+        observers.remove(to);
+    }
+
+    @Override
+    public Set<V> getAllReachableTargets(V source) {
+        int sourceId = graph.getNodeId(source);
+        return toNodes(sourceId == IntGraph.NO_NODE ? null : getClosure(sourceId));
+    }
+
+    @Override
+    public Set<V> getAllReachableSources(V target) {
+        int targetId = graph.getNodeId(target);
+        return toNodes(targetId == IntGraph.NO_NODE ? null : search(targetId, false, -1));
+    }
+
+    @Override
+    public boolean isReachable(V source, V target) {
+        int sourceId = graph.getNodeId(source);
+        int targetId = graph.getNodeId(target);
+        return sourceId != IntGraph.NO_NODE && targetId != IntGraph.NO_NODE && closureContains(sourceId, targetId);
+    }
+
+    /**
+     * Returns the transitive closure relation; the result is computed on each call.
+     */
+    public Set<Tuple<V>> getTcRelation() {
+        Set<Tuple<V>> tcRelation = CollectionsFactory.createSet();
+        for (int sourceId = 0; sourceId < closure.size(); sourceId++) {
+            IntHashSet targets = closure.get(sourceId);
+            if (targets != null) {
+                V source = graph.getNode(sourceId);
+                IntIterator iterator = targets.intIterator();
+                while (iterator.hasNext()) {
+                    tcRelation.add(new Tuple<V>(source, graph.getNode(iterator.next())));
+                }
+            }
+        }
+        return tcRelation;
+    }
+
+    @Override
+    public IGraphPathFinder<V> getPathFinder() {
+        return new DFSPathFinder<V>(graph, this);
+    }
+
+    @Override
+    public void dispose() {
+        graph.detachObserver(this);
+        closure.clear();
+        observers.clear();
+    }
+
+    private IntHashSet getClosure(int id) {
+        return id < closure.size() ? closure.get(id) : null;
+    }
+
+    private boolean closureContains(int sourceId, int targetId) {
+        IntHashSet targets = getClosure(sourceId);
+        return targets != null && targets.contains(targetId);
+    }
+
+    private IntHashSet getOrCreateClosure(int id) {
+        IntHashSet targets = getClosure(id);
+        if (targets == null) {
+            targets = new IntHashSet();
+            setClosure(id, targets);
+        }
+        return targets;
+    }
+
+    private void setClosure(int id, IntHashSet targets) {
+        while (closure.size() <= id) {
+            closure.add(null);
+        }
+        closure.set(id, targets);
+    }
+
+    private static int[] withNode(IntHashSet nodes, int id) {
+        IntHashSet result = nodes == null ? new IntHashSet() : new IntHashSet(nodes);
+        result.add(id);
+        return result.toArray();
+    }
+
+    /**
+     * Collects the nodes reachable from (or, if not forward, reaching) the given node by at least one edge. The
+     * traversal stops once the stop node (if not negative) is found.
+     */
+    private IntHashSet search(int startId, boolean forward, int stopId) {
+        IntHashSet result = new IntHashSet();
+        BitSet visited = new BitSet(graph.getIdCapacity());
+        IntArrayList queue = new IntArrayList();
+        queue.add(startId);
+        for (int head = 0; head < queue.size(); head++) {
+            IntIterator next = forward ? graph.getTargetIds(queue.get(head)) : graph.getSourceIds(queue.get(head));
+            while (next.hasNext()) {
+                int id = next.next();
+                if (visited.get(id)) {
+                    continue;
+                }
+                visited.set(id);
+                result.add(id);
+                if (id == stopId) {
+                    return result;
+                }
+                queue.add(id);
+            }
+        }
+        return result;
+    }
+
+    private Set<V> toNodes(IntHashSet ids) {
+        Set<V> nodes = CollectionsFactory.createSet();
+        if (ids != null) {
+            IntIterator iterator = ids.intIterator();
+            while (iterator.hasNext()) {
+                nodes.add(graph.getNode(iterator.next()));
+            }
+        }
+        return nodes;
+    }
+
+    private void notifyTcObservers(int sourceId, int targetId, boolean inserted) {
+        V source = graph.getNode(sourceId);
+        V target = graph.getNode(targetId);
+        for (ITcObserver<V> observer : observers) {
+            if (inserted) {
+                observer.tupleInserted(source, target);
+            } else {
+                observer.tupleDeleted(source, target);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.alg.ondemand;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.viatra.query.runtime.base.itc.alg.misc.DFSPathFinder;
+import org.eclipse.viatra.query.runtime.base.itc.alg.misc.IGraphPathFinder;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcDataSource;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcObserver;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+
+/**
+ * A transitive closure algorithm that does not store the transitive closure relation, but answers reachability
+ * queries by searching the graph on demand. The algorithm itself only stores the graph; note however that observers
+ * are notified of every change of the relation, so an observer materializing the relation (such as the children of a
+ * transitive closure node in a Rete network) still stores it in full.
+ * <p>
+ * Observers are notified incrementally. When an edge is inserted, the targets reachable through the new edge are
+ * computed once; the sources reaching the new edge are then visited backwards from its source, and the search is
+ * pruned at sources that already reached all these targets (e.g. if the edge is redundant in a DAG). When an edge is
+ * deleted, the affected sources are searched again, which costs time proportional to the size of the affected subgraph
+ * for each of them.
+ * <p>
+ * Similarly to the other algorithms, a node is reachable from itself only if it is part of a cycle (or has a loop
+ * edge).
+ *
+ * @since 2.9
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph
+ */
+public class OnDemandTcAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+
+    private final IBiDirectionalGraphDataSource<V> gds;
+    private final List<ITcObserver<V>> observers;
+
+    public OnDemandTcAlg(IBiDirectionalGraphDataSource<V> graphDataSource) {
+        this.gds = graphDataSource;
+        this.observers = CollectionsFactory.createObserverList();
+        gds.attachObserver(this);
+    }
+
+    @Override
+    public void edgeInserted(V source, V target) {
+        if (observers.isEmpty() || gds.getTargetNodes(source).getCount(target) > 1) {
+            return;
+        }
+        Set<V> newTargets = getAllReachableTargets(target);
+        newTargets.add(target);
+        Set<V> sourceDelta = unreachedWithout(source, newTargets, source, target);
+        if (sourceDelta.isEmpty()) {
+            // the edge is redundant
+            return;
+        }
+        notifyTcObservers(source, sourceDelta, true);
+
+        // A node reaching a visited node by an old edge already reaches everything that node did, so its delta is
+        // a subset of the delta of that node; nodes without delta are not expanded, as their ancestors reach the new
+        // targets through them already.
+        Map<V, Set<V>> deltas = CollectionsFactory.createMap();
+        deltas.put(source, sourceDelta);
+        Set<V> visited = CollectionsFactory.createSet();
+        visited.add(source);
+        Deque<V> nodeQueue = new ArrayDeque<V>();
+        nodeQueue.add(source);
+        while (!nodeQueue.isEmpty()) {
+            V node = nodeQueue.poll();
+            Set<V> delta = deltas.remove(node);
+            for (V previous : gds.getSourceNodes(node).distinctValues()) {
+                if (visited.add(previous)) {
+                    Set<V> previousDelta = unreachedWithout(previous, delta, source, target);
+                    if (!previousDelta.isEmpty()) {
+                        notifyTcObservers(previous, previousDelta, true);
+                        deltas.put(previous, previousDelta);
+                        nodeQueue.add(previous);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void edgeDeleted(V source, V target) {
+        if (observers.isEmpty() || gds.getTargetNodes(source).containsNonZero(target)) {
+            return;
+        }
+        if (isReachable(source, target)) {
+            return;
+        }
+        // the edge is already removed, but the paths through it do not depend on the edge itself
+        Set<V> oldTargets = getAllReachableTargets(target);
+        oldTargets.add(target);
+        Set<V> affectedSources = getAllReachableSources(source);
+        affectedSources.add(source);
+        for (V affectedSource : affectedSources) {
+            Set<V> remainingTargets = getAllReachableTargets(affectedSource);
+            for (V oldTarget : oldTargets) {
+                if (!remainingTargets.contains(oldTarget)) {
+                    notifyTcObservers(affectedSource, oldTarget, false);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void nodeInserted(V n) {
+        // an isolated node does not change the transitive closure relation
+    }
+
+    @Override
+    public void nodeDeleted(V n) {
+        // the edges of the node are deleted before the node itself
+    }
+
+    @Override
+    public void attachObserver(ITcObserver<V> to) {
+        observers.add(to);
+    }
+
+    @Override
+    public void detachObserver(ITcObserver<V> to) {
+        observers.remove(to);
+    }
+
+    @Override
+    public Set<V> getAllReachableTargets(V source) {
+        return reachableTargetsWithout(source, null, null);
+    }
+
+    @Override
+    public Set<V> getAllReachableSources(V target) {
+        Set<V> sources = CollectionsFactory.createSet();
+        Deque<V> nodeQueue = new ArrayDeque<V>();
+        nodeQueue.add(target);
+        while (!nodeQueue.isEmpty()) {
+            V node = nodeQueue.poll();
+            for (V next : gds.getSourceNodes(node).distinctValues()) {
+                if (sources.add(next)) {
+                    nodeQueue.add(next);
+                }
+            }
+        }
+        return sources;
+    }
+
+    @Override
+    public boolean isReachable(V source, V target) {
+        return isReachableWithout(source, target, null, null);
+    }
+
+    @Override
+    public IGraphPathFinder<V> getPathFinder() {
+        return new DFSPathFinder<V>(gds, this);
+    }
+
+    @Override
+    public void dispose() {
+        gds.detachObserver(this);
+        observers.clear();
+    }
+
+    /**
+     * Collects the nodes reachable from the source by at least one edge, ignoring the given edge (if not null).
+     */
+    private Set<V> reachableTargetsWithout(V source, V ignoredSource, V ignoredTarget) {
+        Set<V> targets = CollectionsFactory.createSet();
+        Deque<V> nodeQueue = new ArrayDeque<V>();
+        nodeQueue.add(source);
+        while (!nodeQueue.isEmpty()) {
+            V node = nodeQueue.poll();
+            for (V next : gds.getTargetNodes(node).distinctValues()) {
+                if (!isIgnored(node, next, ignoredSource, ignoredTarget) && targets.add(next)) {
+                    nodeQueue.add(next);
+                }
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Decides whether the target is reachable from the source by at least one edge, ignoring the given edge (if not
+     * null). Unlike {@link #reachableTargetsWithout(Object, Object, Object)}, the search stops at the target.
+     */
+    private boolean isReachableWithout(V source, V target, V ignoredSource, V ignoredTarget) {
+        Set<V> visited = CollectionsFactory.createSet();
+        Deque<V> nodeQueue = new ArrayDeque<V>();
+        nodeQueue.add(source);
+        while (!nodeQueue.isEmpty()) {
+            V node = nodeQueue.poll();
+            for (V next : gds.getTargetNodes(node).distinctValues()) {
+                if (isIgnored(node, next, ignoredSource, ignoredTarget)) {
+                    continue;
+                }
+                if (next.equals(target)) {
+                    return true;
+                }
+                if (visited.add(next)) {
+                    nodeQueue.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the candidates that are not reachable from the source by at least one edge, ignoring the given edge. As
+     * all candidates are reachable from the target of the ignored edge, the search stops if that target is reached.
+     */
+    private Set<V> unreachedWithout(V source, Set<V> candidates, V ignoredSource, V ignoredTarget) {
+        Set<V> unreached = CollectionsFactory.createSet();
+        unreached.addAll(candidates);
+        Set<V> visited = CollectionsFactory.createSet();
+        Deque<V> nodeQueue = new ArrayDeque<V>();
+        nodeQueue.add(source);
+        while (!nodeQueue.isEmpty() && !unreached.isEmpty()) {
+            V node = nodeQueue.poll();
+            for (V next : gds.getTargetNodes(node).distinctValues()) {
+                if (isIgnored(node, next, ignoredSource, ignoredTarget)) {
+                    continue;
+                }
+                if (next.equals(ignoredTarget)) {
+                    unreached.clear();
+                    break;
+                }
+                unreached.remove(next);
+                if (visited.add(next)) {
+                    nodeQueue.add(next);
+                }
+            }
+        }
+        return unreached;
+    }
+
+    private static <V> boolean isIgnored(V source, V target, V ignoredSource, V ignoredTarget) {
+        return ignoredSource != null && ignoredSource.equals(source) && ignoredTarget.equals(target);
+    }
+
+    private void notifyTcObservers(V source, Set<V> targets, boolean inserted) {
+        for (V target : targets) {
+            notifyTcObservers(source, target, inserted);
+        }
+    }
+
+    private void notifyTcObservers(V source, V target, boolean inserted) {
+        for (ITcObserver<V> observer : observers) {
+            if (inserted) {
+                observer.tupleInserted(source, target);
+            } else {
+                observer.tupleDeleted(source, target);
+            }
+        }
+    }
+
+}
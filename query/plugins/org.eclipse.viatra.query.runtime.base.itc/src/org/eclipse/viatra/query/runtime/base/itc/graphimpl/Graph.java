@@ -17,12 +17,13 @@ import java.util.Set;
 import org.eclipse.viatra.query.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 import org.eclipse.viatra.query.runtime.base.itc.igraph.IGraphDataSource;
 import org.eclipse.viatra.query.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IMutableGraphDataSource;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
 import org.eclipse.viatra.query.runtime.matchers.util.IMemoryView;
 import org.eclipse.viatra.query.runtime.matchers.util.IMultiLookup;
 
-public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSource<V> {
+public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSource<V>, IMutableGraphDataSource<V> {
 
     // source -> target -> count
     private IMultiLookup<V, V> outgoingEdges;
@@ -40,6 +41,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
         observers = CollectionsFactory.createObserverList();
     }
 
+    @Override
     public void insertEdge(V source, V target) {
         outgoingEdges.addPair(source, target);
         incomingEdges.addPair(target, source);
@@ -55,6 +57,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
      * @since 2.0
      * @see #deleteEdgeIfExists(Object, Object)
      */
+    @Override
     public void deleteEdgeIfExists(V source, V target) {
         boolean containedEdge = outgoingEdges.lookupOrEmpty(source).containsNonZero(target);
         if (containedEdge) {
@@ -68,6 +71,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
      * @since 2.0
      * @see #deleteEdgeIfExists(Object, Object)
      */
+    @Override
     public void deleteEdgeThatExists(V source, V target) {
         outgoingEdges.removePair(source, target);
         incomingEdges.removePair(target, source);
@@ -90,6 +94,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
     /**
      * Insert the given node into the graph.
      */
+    @Override
     public void insertNode(V node) {
         if (nodes.add(node)) {
             for (IGraphObserver<V> go : observers) {
@@ -101,6 +106,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
     /**
      * Deletes the given node AND all of the edges going in and out from the node. 
      */
+    @Override
     public void deleteNode(V node) {
         if (nodes.remove(node)) {
             IMemoryView<V> incomingView = incomingEdges.lookup(node);
@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.graphimpl;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.collections.api.iterator.IntIterator;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IMutableGraphDataSource;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+import org.eclipse.viatra.query.runtime.matchers.util.IMemoryView;
+
+/**
+ * A graph implementation that assigns a dense integer identifier to each node, and stores the edges in primitive
+ * adjacency maps between node identifiers. Compared to {@link Graph}, the memory overhead of an edge is a few bytes
+ * instead of boxed counts and map entries of objects.
+ * <p>
+ * The graph can be used through the object-based {@link IMutableGraphDataSource} interface, in which case node
+ * objects are mapped to identifiers on the fly; algorithms aware of this class (e.g.
+ * {@link org.eclipse.viatra.query.runtime.base.itc.alg.intgraph.IntTcAlg}) may use the identifier-based accessors
+ * directly. Identifiers of deleted nodes are reused.
+ * <p>
+ * Unlike {@link Graph}, inserting an edge implicitly inserts its missing end nodes.
+ *
+ * @since 2.9
+ *
+ * @param <V>
+ *            the type of the nodes in the graph
+ */
+public class IntGraph<V> implements IMutableGraphDataSource<V> {
+
+    /**
+     * The identifier returned for nodes not contained in the graph.
+     */
+    public static final int NO_NODE = -1;
+
+    private final ObjectIntHashMap<V> nodeIds = new ObjectIntHashMap<>();
+    private final List<V> nodesById = new ArrayList<>();
+    private final IntArrayList freeIds = new IntArrayList();
+    // source id -> target id -> count, null if the node has no outgoing edges
+    private final List<IntIntHashMap> outgoingEdges = new ArrayList<>();
+    // target id -> source id -> count, null if the node has no incoming edges
+    private final List<IntIntHashMap> incomingEdges = new ArrayList<>();
+
+    private final List<IGraphObserver<V>> observers = CollectionsFactory.createObserverList();
+
+    /**
+     * Returns the identifier of the given node, or {@link #NO_NODE} if the node is not contained in the graph.
+     */
+    public int getNodeId(Object node) {
+        return nodeIds.getIfAbsent(node, NO_NODE);
+    }
+
+    /**
+     * Returns the node with the given identifier, or null if the identifier is not in use.
+     */
+    public V getNode(int id) {
+        return id >= 0 && id < nodesById.size() ? nodesById.get(id) : null;
+    }
+
+    /**
+     * Returns an upper bound of the node identifiers in use, e.g. for sizing identifier-indexed structures.
+     */
+    public int getIdCapacity() {
+        return nodesById.size();
+    }
+
+    /**
+     * Returns the number of distinct targets of the edges starting from the node with the given identifier.
+     */
+    public int getTargetCount(int sourceId) {
+        IntIntHashMap targets = outgoingEdges.get(sourceId);
+        return targets == null ? 0 : targets.size();
+    }
+
+    /**
+     * Returns the distinct targets of the edges starting from the node with the given identifier. The iterator must
+     * not be used after the graph is modified.
+     */
+    public IntIterator getTargetIds(int sourceId) {
+        return keysOf(outgoingEdges.get(sourceId));
+    }
+
+    /**
+     * Returns the distinct sources of the edges ending in the node with the given identifier. The iterator must not
+     * be used after the graph is modified.
+     */
+    public IntIterator getSourceIds(int targetId) {
+        return keysOf(incomingEdges.get(targetId));
+    }
+
+    /**
+     * Returns the multiplicity of the edge between the nodes with the given identifiers.
+     */
+    public int getEdgeCount(int sourceId, int targetId) {
+        IntIntHashMap targets = outgoingEdges.get(sourceId);
+        return targets == null ? 0 : targets.get(targetId);
+    }
+
+    private static IntIterator keysOf(IntIntHashMap adjacency) {
+        return adjacency == null ? new IntArrayList(0).intIterator() : adjacency.keysView().intIterator();
+    }
+
+    @Override
+    public void insertNode(V node) {
+        if (getNodeId(node) == NO_NODE) {
+            int id = allocateId(node);
+            nodeIds.put(node, id);
+            for (IGraphObserver<V> go : observers) {
+                go.nodeInserted(node);
+            }
+        }
+    }
+
+    private int allocateId(V node) {
+        if (freeIds.isEmpty()) {
+            nodesById.add(node);
+            outgoingEdges.add(null);
+            incomingEdges.add(null);
+            return nodesById.size() - 1;
+        } else {
+            int id = freeIds.removeAtIndex(freeIds.size() - 1);
+            nodesById.set(id, node);
+            return id;
+        }
+    }
+
+    @Override
+    public void deleteNode(V node) {
+        int id = getNodeId(node);
+        if (id == NO_NODE) {
+            return;
+        }
+        IntIntHashMap incoming = incomingEdges.get(id);
+        if (incoming != null) {
+            for (int sourceId : incoming.keySet().toArray()) {
+                V source = nodesById.get(sourceId);
+                while (getEdgeCount(sourceId, id) > 0) {
+                    deleteEdgeThatExists(source, node);
+                }
+            }
+        }
+        IntIntHashMap outgoing = outgoingEdges.get(id);
+        if (outgoing != null) {
+            for (int targetId : outgoing.keySet().toArray()) {
+                V target = nodesById.get(targetId);
+                while (getEdgeCount(id, targetId) > 0) {
+                    deleteEdgeThatExists(node, target);
+                }
+            }
+        }
+        for (IGraphObserver<V> go : observers) {
+            go.nodeDeleted(node);
+        }
+        // the identifier is released only after the observers are notified
+        nodeIds.removeKey(node);
+        nodesById.set(id, null);
+        freeIds.add(id);
+    }
+
+    @Override
+    public void insertEdge(V source, V target) {
+        insertNode(source);
+        insertNode(target);
+        int sourceId = getNodeId(source);
+        int targetId = getNodeId(target);
+        adjacencyOf(outgoingEdges, sourceId).addToValue(targetId, 1);
+        adjacencyOf(incomingEdges, targetId).addToValue(sourceId, 1);
+
+        for (IGraphObserver<V> go : observers) {
+            go.edgeInserted(source, target);
+        }
+    }
+
+    private static IntIntHashMap adjacencyOf(List<IntIntHashMap> edges, int id) {
+        IntIntHashMap adjacency = edges.get(id);
+        if (adjacency == null) {
+            adjacency = new IntIntHashMap(4);
+            edges.set(id, adjacency);
+        }
+        return adjacency;
+    }
+
+    @Override
+    public void deleteEdgeIfExists(V source, V target) {
+        int sourceId = getNodeId(source);
+        int targetId = getNodeId(target);
+        if (sourceId != NO_NODE && targetId != NO_NODE && getEdgeCount(sourceId, targetId) > 0) {
+            deleteEdgeThatExists(source, target);
+        }
+    }
+
+    @Override
+    public void deleteEdgeThatExists(V source, V target) {
+        int sourceId = getNodeId(source);
+        int targetId = getNodeId(target);
+        if (sourceId == NO_NODE || targetId == NO_NODE || getEdgeCount(sourceId, targetId) == 0) {
+            throw new IllegalStateException(String.format("Edge (%s, %s) does not exist", source, target));
+        }
+        decrement(outgoingEdges, sourceId, targetId);
+        decrement(incomingEdges, targetId, sourceId);
+
+        for (IGraphObserver<V> go : observers) {
+            go.edgeDeleted(source, target);
+        }
+    }
+
+    private static void decrement(List<IntIntHashMap> edges, int id, int otherId) {
+        IntIntHashMap adjacency = edges.get(id);
+        if (adjacency.addToValue(otherId, -1) == 0) {
+            adjacency.removeKey(otherId);
+            if (adjacency.isEmpty()) {
+                edges.set(id, null);
+            }
+        }
+    }
+
+    @Override
+    public void attachObserver(IGraphObserver<V> go) {
+        observers.add(go);
+    }
+
+    @Override
+    public void attachAsFirstObserver(IGraphObserver<V> observer) {
+        observers.add(0, observer);
+    }
+
+    @Override
+    public void detachObserver(IGraphObserver<V> go) {
+        observers.remove(go);
+    }
+
+    @Override
+    public Set<V> getAllNodes() {
+        return Collections.unmodifiableSet(nodeIds.keySet());
+    }
+
+    @Override
+    public IMemoryView<V> getTargetNodes(V source) {
+        int sourceId = getNodeId(source);
+        return new AdjacencyView(outgoingEdges, sourceId);
+    }
+
+    @Override
+    public IMemoryView<V> getSourceNodes(V target) {
+        int targetId = getNodeId(target);
+        return new AdjacencyView(incomingEdges, targetId);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("nodes = ");
+        for (V n : getAllNodes()) {
+            sb.append(n.toString());
+            sb.append(" ");
+        }
+        sb.append(" edges = ");
+        for (int sourceId = 0; sourceId < nodesById.size(); sourceId++) {
+            IntIntHashMap targets = outgoingEdges.get(sourceId);
+            if (targets != null) {
+                IntIterator iterator = targets.keysView().intIterator();
+                while (iterator.hasNext()) {
+                    int targetId = iterator.next();
+                    for (int i = 0; i < targets.get(targetId); i++) {
+                        sb.append("(" + nodesById.get(sourceId) + "," + nodesById.get(targetId) + ") ");
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Object-based view of the adjacency of a node, mapping identifiers back to nodes. The view and its
+     * {@link #distinctValues()} are backed by the adjacency map, no node collections are allocated.
+     */
+    private class AdjacencyView implements IMemoryView<V> {
+
+        private final List<IntIntHashMap> edges;
+        private final int id;
+
+        public AdjacencyView(List<IntIntHashMap> edges, int id) {
+            this.edges = edges;
+            this.id = id;
+        }
+
+        // looked up on each access, as the map of a node is dropped when its last edge is deleted
+        private IntIntHashMap adjacency() {
+            return id == NO_NODE ? null : edges.get(id);
+        }
+
+        @Override
+        public int getCount(V value) {
+            return getCountUnsafe(value);
+        }
+
+        @Override
+        public int getCountUnsafe(Object value) {
+            IntIntHashMap adjacency = adjacency();
+            int otherId = getNodeId(value);
+            return adjacency == null || otherId == NO_NODE ? 0 : adjacency.get(otherId);
+        }
+
+        @Override
+        public boolean containsNonZero(V value) {
+            return getCountUnsafe(value) > 0;
+        }
+
+        @Override
+        public boolean containsNonZeroUnsafe(Object value) {
+            return getCountUnsafe(value) > 0;
+        }
+
+        @Override
+        public int size() {
+            IntIntHashMap adjacency = adjacency();
+            return adjacency == null ? 0 : adjacency.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            IntIntHashMap adjacency = adjacency();
+            return adjacency == null || adjacency.isEmpty();
+        }
+
+        @Override
+        public Set<V> distinctValues() {
+            return new AbstractSet<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return AdjacencyView.this.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return AdjacencyView.this.size();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsNonZeroUnsafe(o);
+                }
+            };
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final IntIterator iterator = keysOf(adjacency());
+            return new Iterator<V>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    return nodesById.get(iterator.next());
+                }
+            };
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return IMemoryView.equals(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return IMemoryView.hashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return distinctValues().toString();
+        }
+    }
+
+}
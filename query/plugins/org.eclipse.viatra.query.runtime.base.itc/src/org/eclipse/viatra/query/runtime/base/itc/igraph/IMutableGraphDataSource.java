@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.igraph;
+
+/**
+ * A bi-directional graph data source that can be modified directly; the observers of the graph are notified about
+ * each modification.
+ *
+ * @since 2.9
+ *
+ * @param <V>
+ *            the type of the nodes in the graph
+ */
+public interface IMutableGraphDataSource<V> extends IBiDirectionalGraphDataSource<V> {
+
+    /**
+     * Inserts the given node into the graph; no-op if the node is already contained.
+     */
+    public void insertNode(V node);
+
+    /**
+     * Deletes the given node AND all of the edges going in and out from the node.
+     */
+    public void deleteNode(V node);
+
+    /**
+     * Inserts an edge between the given nodes; parallel edges are counted with multiplicity.
+     */
+    public void insertEdge(V source, V target);
+
+    /**
+     * Deletes one occurrence of the given edge; no-op if the edge does not exist.
+     */
+    public void deleteEdgeIfExists(V source, V target);
+
+    /**
+     * Deletes one occurrence of the given edge.
+     *
+     * @throws IllegalStateException
+     *             if the edge does not exist
+     */
+    public void deleteEdgeThatExists(V source, V target);
+
+}
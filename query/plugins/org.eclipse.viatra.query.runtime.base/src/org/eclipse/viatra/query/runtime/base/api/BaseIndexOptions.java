@@ -14,6 +14,7 @@ import org.eclipse.viatra.query.runtime.base.api.filters.IBaseIndexFeatureFilter
 import org.eclipse.viatra.query.runtime.base.api.filters.IBaseIndexObjectFilter;
 import org.eclipse.viatra.query.runtime.base.api.filters.IBaseIndexResourceFilter;
 import org.eclipse.viatra.query.runtime.base.api.profiler.ProfilerMode;
+import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
 
 /**
  * The base index options indicate how the indices are built.
@@ -73,6 +74,34 @@ public class BaseIndexOptions {
      * @since 2.3
      */
     protected static final ProfilerMode INDEX_PROFILER_MODE_DEFAULT = ProfilerMode.OFF;
+    
+    /**
+     * By default, all resources of the scope are indexed when a type is registered.
+     * 
+     * @since 2.9
+     */
+    protected static final boolean LAZY_RESOURCE_INDEXING_DEFAULT = false;
+    
+    /**
+     * By default, the model is traversed sequentially.
+     * 
+     * @since 2.9
+     */
+    protected static final int PARALLEL_TRAVERSAL_DEFAULT = 0;
+    
+    /**
+     * By default, each query engine builds its own index.
+     * 
+     * @since 2.9
+     */
+    protected static final boolean SHARED_INDEX_DEFAULT = false;
+    
+    /**
+     * By default, only the total number of feature values is counted.
+     * 
+     * @since 2.9
+     */
+    protected static final boolean DEGREE_STATISTICS_DEFAULT = false;
 
     /**
      * @since 1.6
@@ -103,6 +132,36 @@ public class BaseIndexOptions {
      * @since 2.3
      */
     protected ProfilerMode indexerProfilerMode = INDEX_PROFILER_MODE_DEFAULT; 
+    
+    /**
+     * If lazy resource indexing is turned on, the contents of the resources in a resource set scope are only indexed
+     * when the index is queried.
+     * 
+     * @since 2.9
+     */
+    protected boolean lazyResourceIndexing = LAZY_RESOURCE_INDEXING_DEFAULT;
+    
+    /**
+     * The number of threads used to traverse the model; values below 2 mean sequential traversal.
+     * 
+     * @since 2.9
+     */
+    protected int parallelTraversal = PARALLEL_TRAVERSAL_DEFAULT;
+    
+    /**
+     * If the shared index mode is turned on, query engines on equal scopes share a single index.
+     * 
+     * @since 2.9
+     */
+    protected boolean sharedIndex = SHARED_INDEX_DEFAULT;
+    
+    /**
+     * If degree statistics are turned on, the distribution of the number of values per holder is maintained for each
+     * counted feature.
+     * 
+     * @since 2.9
+     */
+    protected boolean degreeStatistics = DEGREE_STATISTICS_DEFAULT;
 
     /**
      * Creates a base index options with the default values.
@@ -255,6 +314,109 @@ public class BaseIndexOptions {
         return result;
     }
     
+    /**
+     * Returns a copy of the configuration with lazy resource indexing turned on or off. In lazy mode, the resources of
+     * a {@link org.eclipse.emf.ecore.resource.ResourceSet} scope are not traversed when they are added to the scope or
+     * when new types are registered; instead, the contents of a resource are indexed when the index is first queried
+     * after the resource was added. Lookups starting from a given model element (e.g.
+     * {@link NavigationHelper#getFeatureTargets(org.eclipse.emf.ecore.EObject, org.eclipse.emf.ecore.EStructuralFeature)})
+     * only index the resource of that element, while lookups over the whole scope (e.g. enumerating all instances of a
+     * class, or counting the values of a feature) only index the pending resources that contain instances of the
+     * requested class or holders of the requested feature.
+     * 
+     * <p>
+     * To decide which pending resources are needed, their contents are scanned without being indexed, which is much
+     * cheaper than indexing them, but still proportional to their size; lazy indexing therefore saves most if the
+     * queries only use types present in a few resources of the scope. Lookups that depend on all types, such as
+     * {@link NavigationHelper#getAllCurrentClasses()}, index every non-empty pending resource. Pending resources requested
+     * during a coalescing period (see {@link NavigationHelper#coalesceTraversals(java.util.concurrent.Callable)}) are
+     * indexed immediately, so that the requesting lookup is answered from their contents as well.
+     * 
+     * <p>
+     * The resource set and its resources are always observed, so resources added to or removed from the resource set
+     * later are handled incrementally. Pending resources are observed as well, but only to index them as soon as
+     * contents relevant to an earlier scope-wide lookup are added to them; other changes are not processed, as their
+     * current contents are traversed when they are indexed. Lazy resource indexing has no effect on resources and
+     * model elements that are directly used as model roots.
+     * 
+     * <p>
+     * <strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public BaseIndexOptions withLazyResourceIndexing(boolean lazyResourceIndexing) {
+        BaseIndexOptions result = copy();
+        result.lazyResourceIndexing = lazyResourceIndexing;
+        return result;
+    }
+    
+    /**
+     * Returns a copy of the configuration with the given number of threads used for traversing the model when new types
+     * are registered or the wildcard level is changed. The resources of the scope are traversed in parallel, while
+     * the index itself is updated, and listeners are notified, on the calling thread once the traversal is finished.
+     * Proxies encountered during a parallel traversal are resolved afterwards.
+     * 
+     * <p>
+     * Parallel traversal requires that the model can be read concurrently, i.e. that its contents, including derived
+     * features traversed by the index, are not lazily initialized or modified by reading them.
+     * 
+     * <p>
+     * <strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @param threads
+     *            the number of traversal threads; 0 or 1 means sequential traversal (the default)
+     * @throws IllegalArgumentException
+     *             if the number of threads is negative
+     * @since 2.9
+     */
+    public BaseIndexOptions withParallelTraversal(int threads) {
+        Preconditions.checkArgument(threads >= 0, "Number of traversal threads must not be negative: %s", threads);
+        BaseIndexOptions result = copy();
+        result.parallelTraversal = threads;
+        return result;
+    }
+    
+    /**
+     * Returns a copy of the configuration with the shared index mode set. Query engines created on equal scopes that
+     * both use the shared index mode use a single base index instead of building one each; the index is disposed when
+     * the last of these engines is disposed. The query engines may share their incremental query evaluation networks
+     * as well, if the query backend supports it.
+     * 
+     * <p>
+     * As the index is shared, listeners and type registrations of one engine are visible in the others; e.g. the
+     * wildcard level of the index is the highest level requested by any of the engines.
+     * 
+     * <p>
+     * <strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public BaseIndexOptions withSharedIndex(boolean sharedIndex) {
+        BaseIndexOptions result = copy();
+        result.sharedIndex = sharedIndex;
+        return result;
+    }
+    
+    /**
+     * Returns a copy of the configuration with degree statistics turned on or off. If turned on, the index maintains a
+     * histogram of the number of values per holder for each feature with statistics or full indexing; query planners
+     * may use it to recognize features where a few holders have much more values than the rest.
+     * 
+     * <p>
+     * The statistics require the number of values of each holder to be stored, even if the feature is only indexed on
+     * the statistics level.
+     * 
+     * <p>
+     * <strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public BaseIndexOptions withDegreeStatistics(boolean degreeStatistics) {
+        BaseIndexOptions result = copy();
+        result.degreeStatistics = degreeStatistics;
+        return result;
+    }
+    
     /**
      * @return whether the base index option has wildcard mode set
      */
@@ -291,6 +453,46 @@ public class BaseIndexOptions {
         return indexerProfilerMode;
     }
 
+    /**
+     * Returns whether the contents of resources are indexed on demand.
+     * 
+     * @see #withLazyResourceIndexing(boolean)
+     * @since 2.9
+     */
+    public boolean isLazyResourceIndexing() {
+        return lazyResourceIndexing;
+    }
+
+    /**
+     * Returns the number of threads used for traversing the model; values below 2 mean sequential traversal.
+     * 
+     * @see #withParallelTraversal(int)
+     * @since 2.9
+     */
+    public int getParallelTraversal() {
+        return parallelTraversal;
+    }
+
+    /**
+     * Returns whether the index is shared between query engines on equal scopes.
+     * 
+     * @see #withSharedIndex(boolean)
+     * @since 2.9
+     */
+    public boolean isSharedIndex() {
+        return sharedIndex;
+    }
+
+    /**
+     * Returns whether the distribution of the number of values per holder is maintained for counted features.
+     * 
+     * @see #withDegreeStatistics(boolean)
+     * @since 2.9
+     */
+    public boolean isDegreeStatistics() {
+        return degreeStatistics;
+    }
+
     /**
      * Creates an independent copy of itself. The values of each option will be the same as this options. This method is
      * used when a provided option must be copied to avoid external option changes afterward.
@@ -306,6 +508,10 @@ public class BaseIndexOptions {
         baseIndexOptions.featureFilterConfiguration = this.featureFilterConfiguration;
         baseIndexOptions.strictNotificationMode = this.strictNotificationMode;
         baseIndexOptions.indexerProfilerMode = this.indexerProfilerMode;
+        baseIndexOptions.lazyResourceIndexing = this.lazyResourceIndexing;
+        baseIndexOptions.parallelTraversal = this.parallelTraversal;
+        baseIndexOptions.sharedIndex = this.sharedIndex;
+        baseIndexOptions.degreeStatistics = this.degreeStatistics;
         return baseIndexOptions;
     }
 
@@ -313,7 +519,8 @@ public class BaseIndexOptions {
     public int hashCode() {
         return Objects.hash(dynamicEMFMode, notifierFilterConfiguration, resourceFilterConfiguration,
                 featureFilterConfiguration, traverseOnlyWellBehavingDerivedFeatures, wildcardMode, strictNotificationMode,
-                danglingFreeAssumption, indexerProfilerMode);
+                danglingFreeAssumption, indexerProfilerMode, lazyResourceIndexing,
+                parallelTraversal, sharedIndex, degreeStatistics);
     }
 
     @Override
@@ -361,6 +568,18 @@ public class BaseIndexOptions {
         if (indexerProfilerMode != other.indexerProfilerMode) {
             return false;
         }
+        if (lazyResourceIndexing != other.lazyResourceIndexing) {
+            return false;
+        }
+        if (parallelTraversal != other.parallelTraversal) {
+            return false;
+        }
+        if (sharedIndex != other.sharedIndex) {
+            return false;
+        }
+        if (degreeStatistics != other.degreeStatistics) {
+            return false;
+        }
         return true;
     }
     
@@ -374,6 +593,10 @@ public class BaseIndexOptions {
         appendModifier(sb, traverseOnlyWellBehavingDerivedFeatures, TRAVERSE_ONLY_WELLBEHAVING_DERIVED_FEATURES_DEFAULT, "wellBehavingOnly");
         appendModifier(sb, strictNotificationMode, STRICT_NOTIFICATION_MODE_DEFAULT, "strictNotificationMode");
         appendModifier(sb, indexerProfilerMode, INDEX_PROFILER_MODE_DEFAULT, "indexerProfilerMode");
+        appendModifier(sb, lazyResourceIndexing, LAZY_RESOURCE_INDEXING_DEFAULT, "lazyResourceIndexing");
+        appendModifier(sb, parallelTraversal, PARALLEL_TRAVERSAL_DEFAULT, "parallelTraversal=");
+        appendModifier(sb, sharedIndex, SHARED_INDEX_DEFAULT, "sharedIndex");
+        appendModifier(sb, degreeStatistics, DEGREE_STATISTICS_DEFAULT, "degreeStatistics");
         appendModifier(sb, notifierFilterConfiguration, null, "notifierFilter=");
         appendModifier(sb, resourceFilterConfiguration, null, "resourceFilter=");
         appendModifier(sb, featureFilterConfiguration, null, "featureFilterConfiguration=");
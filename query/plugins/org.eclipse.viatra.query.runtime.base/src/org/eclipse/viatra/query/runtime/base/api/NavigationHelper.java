@@ -12,6 +12,7 @@ package org.eclipse.viatra.query.runtime.base.api;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
@@ -33,6 +34,7 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.viatra.query.runtime.base.api.IEClassifierProcessor.IEClassProcessor;
 import org.eclipse.viatra.query.runtime.base.api.IEClassifierProcessor.IEDataTypeProcessor;
 import org.eclipse.viatra.query.runtime.matchers.ViatraQueryRuntimeException;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 
 /**
  * 
@@ -888,6 +890,16 @@ public interface NavigationHelper {
      * @since 1.4
      */
     public int countFeatures(EStructuralFeature feature);
+    
+    /**
+     * Returns the distribution of the number of values of the given feature per holder, if the feature is counted and
+     * degree statistics are turned on, see {@link BaseIndexOptions#withDegreeStatistics(boolean)}.
+     * 
+     * @since 2.9
+     */
+    public default Optional<BucketSizeStatistics> getFeatureDegreeStatistics(EStructuralFeature feature) {
+        return Optional.empty();
+    }
 
     
 }
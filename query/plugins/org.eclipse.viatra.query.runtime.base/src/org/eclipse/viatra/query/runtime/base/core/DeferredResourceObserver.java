@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.core;
+
+import java.util.Collection;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+
+/**
+ * Observes the contents of deferred resources that were found not to contribute to the scope-wide lookups answered so
+ * far, see {@link BaseIndexOptions#withLazyResourceIndexing(boolean)}. If model elements that would contribute to
+ * them are added to such a resource, the resource is indexed, so that the index and its listeners learn about these
+ * elements, as if the resource had been indexed all along.
+ * <p>
+ * Unlike the content adapter of the index, the observer only attaches itself to the contents; it neither traverses
+ * their features nor resolves proxies.
+ */
+class DeferredResourceObserver extends EContentAdapter {
+
+    private final NavigationHelperImpl navigationHelper;
+
+    public DeferredResourceObserver(NavigationHelperImpl navigationHelper) {
+        this.navigationHelper = navigationHelper;
+    }
+
+    public void observe(Resource resource) {
+        if (!resource.eAdapters().contains(this)) {
+            resource.eAdapters().add(this);
+        }
+    }
+
+    public void forget(Resource resource) {
+        resource.eAdapters().remove(this);
+    }
+
+    @Override
+    protected boolean resolve() {
+        return false;
+    }
+
+    @Override
+    protected void handleContainment(Notification notification) {
+        super.handleContainment(notification);
+        switch (notification.getEventType()) {
+        case Notification.ADD:
+        case Notification.SET:
+        case Notification.UNSET:
+        case Notification.RESOLVE:
+            checkAddedContents(notification.getNotifier(), notification.getNewValue());
+            break;
+        case Notification.ADD_MANY:
+            for (Object newValue : (Collection<?>) notification.getNewValue()) {
+                checkAddedContents(notification.getNotifier(), newValue);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void checkAddedContents(Object container, Object newValue) {
+        if (!(newValue instanceof EObject)) {
+            return;
+        }
+        final Resource resource = container instanceof Resource ? (Resource) container
+                : ((EObject) container).eResource();
+        if (resource != null && navigationHelper.isResourceIndexingDeferred(resource)
+                && navigationHelper.containsRequestedContents((EObject) newValue)) {
+            navigationHelper.indexObservedResource(resource);
+        }
+    }
+
+}
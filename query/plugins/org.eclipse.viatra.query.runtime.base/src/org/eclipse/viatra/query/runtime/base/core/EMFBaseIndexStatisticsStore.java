@@ -10,10 +10,13 @@ package org.eclipse.viatra.query.runtime.base.core;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 
 /**
  * @author Grill Balázs
@@ -26,16 +29,32 @@ public class EMFBaseIndexStatisticsStore extends AbstractBaseIndexStore {
      * {@link EStructuralFeature} or a String ID. 
      */
     private final Map<Object, Integer> stats = new HashMap<Object, Integer>();
+    
+    /**
+     * The distribution of the number of values per holder for each feature key, if enabled by
+     * {@link BaseIndexOptions#isDegreeStatistics()}; null otherwise.
+     */
+    private final Map<Object, DegreeHistogram> degreeHistograms;
 
     public EMFBaseIndexStatisticsStore(NavigationHelperImpl navigationHelper, Logger logger) {
         super(navigationHelper, logger);
+        degreeHistograms = options.isDegreeStatistics() ? new HashMap<>() : null;
     }
     public void addFeature(Object element, Object feature){
         addInstance(feature);
+        if (degreeHistograms != null) {
+            degreeHistograms.computeIfAbsent(feature, k -> new DegreeHistogram()).add(element);
+        }
     }
     
     public void removeFeature(Object element, Object feature){
         removeInstance(feature);
+        if (degreeHistograms != null) {
+            DegreeHistogram histogram = degreeHistograms.get(feature);
+            if (histogram != null && histogram.remove(element) && histogram.isEmpty()) {
+                degreeHistograms.remove(feature);
+            }
+        }
     }
     
     public void addInstance(Object key){
@@ -62,10 +81,80 @@ public class EMFBaseIndexStatisticsStore extends AbstractBaseIndexStore {
     
     public void removeType(Object key){
         stats.remove(key);
+        if (degreeHistograms != null) {
+            degreeHistograms.remove(key);
+        }
     }
 
     public int countFeatures(Object feature) {
         return countInstances(feature);
     }
     
+    /**
+     * Returns the distribution of the number of values per holder of the given feature, if degree statistics are
+     * maintained.
+     * 
+     * @since 2.9
+     */
+    public Optional<BucketSizeStatistics> getDegreeStatistics(Object feature) {
+        if (degreeHistograms == null) {
+            return Optional.empty();
+        }
+        DegreeHistogram histogram = degreeHistograms.get(feature);
+        return Optional.of(histogram == null ? new BucketSizeStatistics(0, 0, 0, new long[0]) : histogram.summarize());
+    }
+    
+    /**
+     * Tracks the number of values of each holder of a feature, and the number of holders in logarithmic degree ranges.
+     */
+    private static class DegreeHistogram {
+        private final Map<Object, Integer> degrees = new HashMap<>();
+        private final long[] holdersByDegreeRange = new long[Integer.SIZE];
+        private long valueCount = 0;
+        private double sumOfSquaredDegrees = 0;
+        
+        void add(Object holder) {
+            int degree = degrees.getOrDefault(holder, 0);
+            degrees.put(holder, degree + 1);
+            if (degree > 0) {
+                holdersByDegreeRange[range(degree)]--;
+            }
+            holdersByDegreeRange[range(degree + 1)]++;
+            valueCount++;
+            sumOfSquaredDegrees += 2.0 * degree + 1;
+        }
+        
+        /**
+         * @return false if the holder had no values recorded
+         */
+        boolean remove(Object holder) {
+            Integer degree = degrees.get(holder);
+            if (degree == null) {
+                return false;
+            }
+            holdersByDegreeRange[range(degree)]--;
+            if (degree == 1) {
+                degrees.remove(holder);
+            } else {
+                degrees.put(holder, degree - 1);
+                holdersByDegreeRange[range(degree - 1)]++;
+            }
+            valueCount--;
+            sumOfSquaredDegrees -= 2.0 * degree - 1;
+            return true;
+        }
+        
+        boolean isEmpty() {
+            return degrees.isEmpty();
+        }
+        
+        BucketSizeStatistics summarize() {
+            return new BucketSizeStatistics(degrees.size(), valueCount, sumOfSquaredDegrees, holdersByDegreeRange);
+        }
+        
+        private static int range(int degree) {
+            return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(degree);
+        }
+    }
+    
 }
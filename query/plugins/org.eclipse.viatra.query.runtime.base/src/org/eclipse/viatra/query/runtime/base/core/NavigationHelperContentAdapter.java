@@ -222,6 +222,11 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
                                 && resourceFilterConfiguration.isResourceFiltered(resource)) {
                             return null;
                         }
+                        if (navigationHelper.deferResourceIndexing(resource)) {
+                            // the resource itself is observed, but its contents will be indexed on demand
+                            simpleAddAdapter(notifier);
+                            return null;
+                        }
                         if (comprehension.isLoading(resource))
                             navigationHelper.resolutionDelayingResources.add(resource);
                     }
@@ -238,6 +243,35 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
         }
     }
 
+    /**
+     * Indexes the contents of a resource whose indexing was deferred; the adapter is already attached to the resource
+     * itself.
+     * 
+     * @pre the resource is no longer registered as deferred
+     * @since 2.9
+     */
+    protected void addDeferredResourceContents(final Resource resource) {
+        try {
+            this.navigationHelper.coalesceTraversals(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    if (comprehension.isLoading(resource))
+                        navigationHelper.resolutionDelayingResources.add(resource);
+                    // spreads addAdapter to the contents, just as when the adapter is installed on the resource
+                    List<EObject> contents = resource.getContents();
+                    for (int i = 0, size = contents.size(); i < size; ++i) {
+                        addAdapter(contents.get(i));
+                    }
+                    return null;
+                }
+            });
+        } catch (final InvocationTargetException ex) {
+            navigationHelper.processingFatal(ex.getCause(), "add the contents of the resource: " + resource);
+        } catch (final Exception ex) {
+            navigationHelper.processingFatal(ex, "add the contents of the resource: " + resource);
+        }
+    }
+
     // OFFICIAL ENTRY POINT OF BASE INDEX RELATED PARTS
     protected void removeAdapter(final Notifier notifier) {
         if (notifier == ignoreInsertionAndDeletion) {
@@ -289,6 +323,12 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
      * @throws InvocationTargetException
      */
     protected void removeAdapterInternal(final Notifier notifier) throws InvocationTargetException {
+        if (notifier instanceof Resource && navigationHelper.isResourceIndexingDeferred((Resource) notifier)) {
+            // contents of the resource were never indexed, only the resource itself is observed
+            simpleRemoveAdapter(notifier);
+            navigationHelper.forgetDeferredResource((Resource) notifier);
+            return;
+        }
         // some non-standard EMF implementations send these 
         if (!notifier.eAdapters().contains(this)) {
             // the adapter was not even attached to the notifier
@@ -429,7 +469,9 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
       }
       else if (notifier instanceof Resource)
       {
-        if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS)
+        // the contents of deferred resources are traversed once they are indexed
+        if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS
+                && !navigationHelper.isResourceIndexingDeferred((Resource) notifier))
         {
           handleContainment(notification);
         }
@@ -585,6 +627,10 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
     protected void setTarget(Resource target)
     {
       basicSetTarget(target);
+      if (navigationHelper.isResourceIndexingDeferred(target))
+      {
+        return;
+      }
       List<EObject> contents = target.getContents();
       for (int i = 0, size = contents.size(); i < size; ++i)
       {
@@ -649,6 +695,10 @@ public class NavigationHelperContentAdapter extends AdapterImpl {
     protected void unsetTarget(Resource target)
     {
       basicUnsetTarget(target);
+      if (navigationHelper.isResourceIndexingDeferred(target))
+      {
+        return;
+      }
       List<EObject> contents = target.getContents();
       for (int i = 0, size = contents.size(); i < size; ++i)
       {
@@ -17,15 +17,20 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,6 +48,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.impl.ENotificationImpl;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -69,6 +75,7 @@ import org.eclipse.viatra.query.runtime.base.core.NavigationHelperVisitor.Traver
 import org.eclipse.viatra.query.runtime.base.core.profiler.ProfilingNavigationHelperContentAdapter;
 import org.eclipse.viatra.query.runtime.base.exception.ViatraBaseException;
 import org.eclipse.viatra.query.runtime.matchers.ViatraQueryRuntimeException;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
 import org.eclipse.viatra.query.runtime.matchers.util.IMultiLookup;
@@ -130,6 +137,26 @@ public class NavigationHelperImpl implements NavigationHelper {
     protected Set<Resource> resolutionDelayingResources = new HashSet<Resource>();
     
     protected Queue<Runnable> traversalCallbacks = new LinkedList<Runnable>();
+    
+    /**
+     * Used for traversing the model if parallel traversal is enabled; created on first use
+     */
+    private ParallelModelTraversal parallelTraversal;
+    private ForkJoinPool traversalPool;
+    
+    /**
+     * Resources of a resource set root whose contents have not been indexed yet, see
+     * {@link BaseIndexOptions#isLazyResourceIndexing()}
+     * @since 2.9
+     */
+    protected Set<Resource> deferredResources = new LinkedHashSet<Resource>();
+    /**
+     * Filters of the classes of model elements contributing to the scope-wide lookups requested so far, by lookup; only
+     * maintained in lazy resource indexing mode
+     * @since 2.9
+     */
+    protected Map<Object, Predicate<EClass>> requestedContentFilters = new HashMap<>();
+    private final DeferredResourceObserver deferredResourceObserver = new DeferredResourceObserver(this);
 
     /**
      * These global listeners will be called after updates.
@@ -309,16 +336,21 @@ public class NavigationHelperImpl implements NavigationHelper {
         for (Notifier root : modelRoots) {
             contentAdapter.removeAdapter(root);
         }
+        if (traversalPool != null) {
+            traversalPool.shutdown();
+        }
     }
 
     @Override
     public Set<Object> getDataTypeInstances(EDataType type) {
+        ensureDataTypeIndexed(type);
         Object typeKey = toKey(type);
         return Collections.unmodifiableSet(instanceStore.getDistinctDataTypeInstances(typeKey));
     }
 
     @Override
     public boolean isInstanceOfDatatype(Object value, EDataType type) {
+        ensureDataTypeIndexed(type);
         Object typeKey = toKey(type);
         Set<Object> valMap = instanceStore.getDistinctDataTypeInstances(typeKey);
         return valMap.contains(value);
@@ -336,6 +368,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<Setting> findByAttributeValue(Object value_, Collection<EAttribute> attributes) {
+        ensureFeaturesIndexed(attributes);
         Object value = toCanonicalValueRepresentation(value_);
         Set<Setting> retSet = new HashSet<Setting>();
 
@@ -350,6 +383,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<EObject> findByAttributeValue(Object value_, EAttribute attribute) {
+        ensureFeatureIndexed(attribute);
         Object value = toCanonicalValueRepresentation(value_);
         final Set<EObject> holders = featureData(attribute).getDistinctHoldersOfValue(value);
         return Collections.unmodifiableSet(holders);
@@ -357,17 +391,20 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public void processAllFeatureInstances(EStructuralFeature feature, IStructuralFeatureInstanceProcessor processor) {
+        ensureFeatureIndexed(feature);
         featureData(feature).forEach(processor);
     }
 
     @Override
     public void processDirectInstances(EClass type, IEClassProcessor processor) {
+        ensureInstancesIndexed(type);
         Object typeKey = toKey(type);
         processDirectInstancesInternal(type, processor, typeKey);
     }
 
     @Override
     public void processAllInstances(EClass type, IEClassProcessor processor) {
+        ensureInstancesIndexed(type);
         Object typeKey = toKey(type);
         Set<Object> subTypes = metaStore.getSubTypeMap().get(typeKey);
         if (subTypes != null) {
@@ -380,6 +417,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public void processDataTypeInstances(EDataType type, IEDataTypeProcessor processor) {
+        ensureDataTypeIndexed(type);
         Object typeKey = toKey(type);
         for (Object value : instanceStore.getDistinctDataTypeInstances(typeKey)) {
             processor.process(type, value);
@@ -401,6 +439,7 @@ public class NavigationHelperImpl implements NavigationHelper {
     }
 
     protected Set<Setting> getSettingsForTarget(Object target) {
+        ensureTargetSettingsIndexed(target);
         Set<Setting> retSet = new HashSet<Setting>();
         for (Object featureKey : instanceStore.getFeatureKeysPointingTo(target)) {
             Set<EObject> holders = instanceStore.getFeatureData(featureKey).getDistinctHoldersOfValue(target);
@@ -414,6 +453,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<Setting> getInverseReferences(EObject target, Collection<EReference> references) {
+        ensureFeaturesIndexed(references);
         Set<Setting> retSet = new HashSet<>();
         for (EReference ref : references) {
             final Set<EObject> holders = featureData(ref).getDistinctHoldersOfValue(target);
@@ -427,6 +467,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<EObject> getInverseReferences(EObject target, EReference reference) {
+        ensureFeatureIndexed(reference);
         final Set<EObject> holders = featureData(reference).getDistinctHoldersOfValue(target);
         return Collections.unmodifiableSet(holders);
     }
@@ -440,16 +481,19 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<Object> getFeatureTargets(EObject source, EStructuralFeature _feature) {
+        ensureResourceIndexed(source);
         return Collections.unmodifiableSet(featureData(_feature).getDistinctValuesOfHolder(source));
     }
 
     @Override
     public boolean isFeatureInstance(EObject source, Object target, EStructuralFeature _feature) {
+        ensureResourceIndexed(source);
         return featureData(_feature).isInstance(source, target);
     }
 
     @Override
     public Set<EObject> getDirectInstances(EClass type) {
+        ensureInstancesIndexed(type);
         Object typeKey = toKey(type);
         Set<EObject> valSet = instanceStore.getInstanceSet(typeKey);
         if (valSet == null) {
@@ -474,6 +518,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<EObject> getAllInstances(EClass type) {
+        ensureInstancesIndexed(type);
         Set<EObject> retSet = new HashSet<EObject>();
 
         Object typeKey = toKey(type);
@@ -504,6 +549,7 @@ public class NavigationHelperImpl implements NavigationHelper {
     
     @Override
     public boolean isInstanceOfScoped(EObject object, EClass clazz) {
+        ensureResourceIndexed(object);
         Object typeKey = toKey(object.eClass());
         if (!doCalculateInstanceOf(toKey(clazz), typeKey)) {
             return false;
@@ -522,17 +568,20 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<EObject> findByFeatureValue(Object value_, EStructuralFeature _feature) {
+        ensureFeatureIndexed(_feature);
         Object value = toCanonicalValueRepresentation(value_);
         return Collections.unmodifiableSet(featureData(_feature).getDistinctHoldersOfValue(value));
     }
 
     @Override
     public Set<EObject> getHoldersOfFeature(EStructuralFeature _feature) {
+        ensureFeatureIndexed(_feature);
         Object feature = toKey(_feature);
         return Collections.unmodifiableSet(instanceStore.getHoldersOfFeature(feature));
     }
     @Override
     public Set<Object> getValuesOfFeature(EStructuralFeature _feature) {
+        ensureFeatureIndexed(_feature);
         Object feature = toKey(_feature);
         return Collections.unmodifiableSet(instanceStore.getValuesOfFeature(feature));
     }
@@ -803,6 +852,10 @@ public class NavigationHelperImpl implements NavigationHelper {
             return;
 
         // no veto by filters
+        if (root instanceof Resource && isResourceIndexingDeferred((Resource) root)) {
+            // explicitly requested roots are indexed immediately
+            indexDeferredResourcesInternal(Collections.singletonList((Resource) root));
+        }
         modelRoots.add(root);
         contentAdapter.addAdapter(root);
         notifyBaseIndexChangeListeners();
@@ -1282,6 +1335,220 @@ public class NavigationHelperImpl implements NavigationHelper {
         return null; // no callable -> no further action
     }
 
+    /**
+     * Registers the given resource as deferred if its contents need not be indexed until requested, see
+     * {@link BaseIndexOptions#isLazyResourceIndexing()}.
+     * 
+     * @return true if indexing the contents of the resource is deferred
+     * @since 2.9
+     */
+    protected boolean deferResourceIndexing(Resource resource) {
+        final ResourceSet resourceSet = resource.getResourceSet();
+        if (baseIndexOptions.isLazyResourceIndexing() && resourceSet != null && modelRoots.contains(resourceSet)
+                && !modelRoots.contains(resource)) {
+            if (!requestedContentFilters.isEmpty()) {
+                // earlier scope-wide lookups are not repeated, so the resource is indexed right away if needed by them
+                final boolean contributes = resource.getContents().stream().anyMatch(this::containsRequestedContents);
+                if (contributes) {
+                    return false;
+                }
+                deferredResourceObserver.observe(resource);
+            }
+            deferredResources.add(resource);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the resource was deferred, i.e. its contents are not indexed
+     * @since 2.9
+     */
+    protected boolean forgetDeferredResource(Resource resource) {
+        deferredResourceObserver.forget(resource);
+        return deferredResources.remove(resource);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected boolean isResourceIndexingDeferred(Resource resource) {
+        return !deferredResources.isEmpty() && deferredResources.contains(resource);
+    }
+
+    /**
+     * Ensures that the deferred resources are indexed if they contain model elements contributing to a scope-wide
+     * lookup; called before lookups that are answered from the entire scope. The lookup is identified by the given key,
+     * and the contributing model elements by the given filter of their classes.
+     * <p>
+     * When a kind of lookup is first requested, the contents of the deferred resources are scanned, which is
+     * considerably cheaper than indexing them. Resources containing a contributing element are indexed; the others
+     * remain deferred, but they are observed by a {@link DeferredResourceObserver} from then on, and so are resources
+     * deferred later, so that they are indexed once a contributing element is added to them. Thus later lookups of the
+     * same kind need no scan, and listeners are notified about contributing elements in deferred resources as well.
+     * 
+     * @since 2.9
+     */
+    protected void ensureResourcesIndexed(Object lookupKey, Predicate<EClass> mayContribute) {
+        if (requestedContentFilters.containsKey(lookupKey)) {
+            return;
+        }
+        final Map<EClass, Boolean> contributingClasses = new HashMap<>();
+        final Predicate<EClass> filter = eClass -> contributingClasses.computeIfAbsent(eClass, mayContribute::test);
+        requestedContentFilters.put(lookupKey, filter);
+        final List<Resource> toIndex = new ArrayList<>();
+        for (Resource resource : deferredResources) {
+            if (containsInstance(EcoreUtil.getAllProperContents(resource, false), filter)) {
+                toIndex.add(resource);
+            } else {
+                deferredResourceObserver.observe(resource);
+            }
+        }
+        if (!toIndex.isEmpty()) {
+            indexDeferredResources(toIndex);
+        }
+    }
+
+    private static boolean containsInstance(Iterator<EObject> contents, Predicate<EClass> classFilter) {
+        while (contents.hasNext()) {
+            if (classFilter.test(contents.next().eClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the given model element or its contents contribute to the scope-wide lookups requested so far
+     * @since 2.9
+     */
+    protected boolean containsRequestedContents(EObject root) {
+        final Predicate<EClass> filter = eClass -> requestedContentFilters.values().stream()
+                .anyMatch(requested -> requested.test(eClass));
+        return filter.test(root.eClass()) || containsInstance(EcoreUtil.getAllProperContents(root, false), filter);
+    }
+
+    /**
+     * Indexes a deferred resource to which contents contributing to earlier scope-wide lookups were added.
+     * 
+     * @since 2.9
+     */
+    protected void indexObservedResource(Resource resource) {
+        indexDeferredResources(Collections.singletonList(resource));
+    }
+
+    /**
+     * Indexes the deferred resources that may contain instances of the given class.
+     * 
+     * @since 2.9
+     */
+    protected void ensureInstancesIndexed(EClass type) {
+        if (!baseIndexOptions.isLazyResourceIndexing()) {
+            return;
+        }
+        final Object typeKey = toKey(type);
+        ensureResourcesIndexed(Arrays.asList("instances", typeKey), eClass -> isInstanceOfKey(eClass, typeKey));
+    }
+
+    /**
+     * Unlike {@link #doCalculateInstanceOf(Object, Object)}, it relies on the metamodel instead of the type hierarchy
+     * of the index, as model elements of deferred resources may be of classes not encountered yet.
+     */
+    private boolean isInstanceOfKey(EClass eClass, Object typeKey) {
+        return metaStore.getEObjectClassKey().equals(typeKey) || typeKey.equals(toKey(eClass))
+                || eClass.getEAllSuperTypes().stream().anyMatch(superType -> typeKey.equals(toKey(superType)));
+    }
+
+    /**
+     * Indexes the deferred resources that may contain holders of the given feature.
+     * 
+     * @since 2.9
+     */
+    protected void ensureFeatureIndexed(EStructuralFeature feature) {
+        ensureInstancesIndexed(feature.getEContainingClass());
+    }
+
+    /**
+     * Indexes the deferred resources that may contain holders of any of the given features.
+     * 
+     * @since 2.9
+     */
+    protected void ensureFeaturesIndexed(Collection<? extends EStructuralFeature> features) {
+        for (EStructuralFeature feature : features) {
+            ensureFeatureIndexed(feature);
+        }
+    }
+
+    /**
+     * Indexes the deferred resources that may contain attribute values of the given data type.
+     * 
+     * @since 2.9
+     */
+    protected void ensureDataTypeIndexed(EDataType type) {
+        if (!baseIndexOptions.isLazyResourceIndexing()) {
+            return;
+        }
+        final Object typeKey = toKey(type);
+        ensureResourcesIndexed(Arrays.asList("dataTypeInstances", typeKey),
+                eClass -> eClass.getEAllAttributes().stream()
+                        .anyMatch(attribute -> typeKey.equals(toKey(attribute.getEAttributeType()))));
+    }
+
+    /**
+     * Indexes the deferred resources that may contain holders of features pointing to the given target: references
+     * accepting the target if it is a model element, or attributes otherwise.
+     * 
+     * @since 2.9
+     */
+    protected void ensureTargetSettingsIndexed(Object target) {
+        if (!baseIndexOptions.isLazyResourceIndexing()) {
+            return;
+        } else if (target instanceof EObject) {
+            final EClass targetType = ((EObject) target).eClass();
+            ensureResourcesIndexed(Arrays.asList("referenceSettings", toKey(targetType)),
+                    eClass -> eClass.getEAllReferences().stream().anyMatch(
+                            reference -> isInstanceOfKey(targetType, toKey(reference.getEReferenceType()))));
+        } else {
+            ensureResourcesIndexed(Arrays.asList("attributeSettings"),
+                    eClass -> !eClass.getEAllAttributes().isEmpty());
+        }
+    }
+
+    /**
+     * Indexes the contents of the resource of the given model element if it is deferred; called before lookups
+     * starting from that element.
+     * 
+     * @since 2.9
+     */
+    protected void ensureResourceIndexed(EObject seed) {
+        if (!deferredResources.isEmpty()) {
+            final Resource resource = seed.eResource();
+            if (resource != null && deferredResources.contains(resource)) {
+                indexDeferredResources(Collections.singletonList(resource));
+            }
+        }
+    }
+
+    private void indexDeferredResources(final Collection<Resource> resources) {
+        // unlike type registrations, this is not delayed until the end of a coalescing period, as the lookup
+        // requesting the resources would return partial results otherwise
+        try {
+            coalesceTraversals(() -> indexDeferredResourcesInternal(resources));
+        } catch (InvocationTargetException ex) {
+            processingFatal(ex.getCause(), "Indexing deferred resources");
+        }
+    }
+
+    private void indexDeferredResourcesInternal(final Collection<Resource> resources) {
+        for (Resource resource : resources) {
+            if (deferredResources.remove(resource)) {
+                deferredResourceObserver.forget(resource);
+                contentAdapter.addDeferredResourceContents(resource);
+            }
+        }
+        notifyBaseIndexChangeListeners();
+    }
+
     protected void executeTraversalCallbacks() throws InvocationTargetException{
         final Runnable[] callbacks = traversalCallbacks.toArray(new Runnable[traversalCallbacks.size()]);
         traversalCallbacks.clear();
@@ -1292,12 +1559,26 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     protected void traverse(final NavigationHelperVisitor visitor) {
         // Cloning model roots avoids a concurrent modification exception
-        for (Notifier root : new HashSet<Notifier>(modelRoots)) {
-            comprehension.traverseModel(visitor, root);
+        final Set<Notifier> roots = new HashSet<Notifier>(modelRoots);
+        // cross-resource containment may cause the same subtree to be reached from multiple resources
+        if (baseIndexOptions.getParallelTraversal() > 1 && !traversalDescendsAlongCrossResourceContainment) {
+            getParallelTraversal().traverse(visitor, roots);
+        } else {
+            for (Notifier root : roots) {
+                comprehension.traverseModel(visitor, root);
+            }
         }
         notifyBaseIndexChangeListeners();
     }
 
+    private ParallelModelTraversal getParallelTraversal() {
+        if (parallelTraversal == null) {
+            traversalPool = new ForkJoinPool(baseIndexOptions.getParallelTraversal());
+            parallelTraversal = new ParallelModelTraversal(this, traversalPool);
+        }
+        return parallelTraversal;
+    }
+
     /**
      * Returns a stream of model roots registered to the navigation helper instance
      * @since 2.3
@@ -1387,6 +1668,8 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<EClass> getAllCurrentClasses() {
+        // all model elements are instances of EObject
+        ensureInstancesIndexed(EcorePackage.Literals.EOBJECT);
         return instanceStore.getAllCurrentClasses();
     }
     
@@ -1501,6 +1784,7 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public int countAllInstances(EClass type) {
+        ensureInstancesIndexed(type);
         int result = 0;
 
         Object typeKey = toKey(type);
@@ -1517,18 +1801,30 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public int countDataTypeInstances(EDataType dataType) {
+        ensureDataTypeIndexed(dataType);
         return statsStore.countInstances(toKey(dataType));
     }
 
     @Override
     public int countFeatureTargets(EObject seedSource, EStructuralFeature feature) {
+        ensureResourceIndexed(seedSource);
         return featureData(feature).getDistinctValuesOfHolder(seedSource).size();
     }
 
     @Override
     public int countFeatures(EStructuralFeature feature) {
+        ensureFeatureIndexed(feature);
         return statsStore.countFeatures(toKey(feature));
     }
+    
+    /**
+     * @since 2.9
+     */
+    @Override
+    public Optional<BucketSizeStatistics> getFeatureDegreeStatistics(EStructuralFeature feature) {
+        ensureFeatureIndexed(feature);
+        return statsStore.getDegreeStatistics(toKey(feature));
+    }
 
     protected IndexingLevel getIndexingLevel(Object type) {
         if (type instanceof EClass) {
@@ -191,6 +191,12 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
             return wildcardMode.hasStatistics() || features.containsKey(feature) && features.get(feature).hasStatistics();
         }
 
+        @Override
+        public boolean pruneSubtrees(Resource source) {
+            // resources with deferred indexing are traversed when their contents are first needed
+            return super.pruneSubtrees(source) || navigationHelper.isResourceIndexingDeferred(source);
+        }
+
         @Override
         public boolean avoidTransientContainmentLink(EObject source, EReference reference, EObject targetObject) {
             return !targetObject.eAdapters().contains(navigationHelper.contentAdapter);
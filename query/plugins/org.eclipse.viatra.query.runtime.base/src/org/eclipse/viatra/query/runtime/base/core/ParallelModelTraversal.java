@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.base.comprehension.EMFModelComprehension;
+import org.eclipse.viatra.query.runtime.base.comprehension.EMFVisitor;
+
+/**
+ * Traverses the resources of the model in parallel on behalf of a traversing {@link NavigationHelperVisitor}, see
+ * {@link BaseIndexOptions#withParallelTraversal(int)}.
+ * <p>
+ * Neither the visitor nor the index stores it updates are thread-safe. Therefore each resource is traversed on a worker
+ * thread by a recording visitor that only collects the visited elements, feature values and proxy references; the
+ * recorded visits are then replayed to the original visitor on the calling thread, resource by resource, in the same
+ * order as a sequential traversal would visit them. Thus the index stores are updated and listeners are notified on the
+ * calling thread, once all resources have been traversed.
+ * <p>
+ * Worker threads never resolve proxies; instead, proxy references are replayed to the original visitor on the calling
+ * thread as well, which decides whether to resolve them immediately, at the end of the coalescing period, or not at
+ * all, exactly as in a sequential traversal.
+ */
+class ParallelModelTraversal {
+
+    private static final int ELEMENT = 0;
+    private static final int ATTRIBUTE = 1;
+    private static final int CONTAINMENT = 2;
+    private static final int REFERENCE = 3;
+    private static final int PROXY = 4;
+    private static final int EVENT_SIZE = 4;
+
+    private final EMFModelComprehension comprehension;
+    private final ForkJoinPool pool;
+
+    public ParallelModelTraversal(NavigationHelperImpl navigationHelper, ForkJoinPool pool) {
+        this.comprehension = navigationHelper.getComprehension();
+        this.pool = pool;
+    }
+
+    /**
+     * Traverses the given model roots. The resources of resource set roots and resource roots are traversed in
+     * parallel; object roots are traversed sequentially, as they may share contents via cross-resource containment.
+     */
+    public void traverse(final NavigationHelperVisitor visitor, Collection<Notifier> roots) {
+        final Map<EStructuralFeature, Boolean> prunedFeatures = new ConcurrentHashMap<>();
+        final List<RecordingVisitor> recorders = new ArrayList<>();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Notifier root : roots) {
+            if (root instanceof ResourceSet) {
+                for (final Resource resource : new ArrayList<>(((ResourceSet) root).getResources())) {
+                    if (!visitor.pruneSubtrees(resource)) {
+                        final RecordingVisitor recorder = new RecordingVisitor(visitor, prunedFeatures);
+                        recorders.add(recorder);
+                        tasks.add(ForkJoinTask
+                                .adapt(() -> comprehension.traverseResourceIfUnfiltered(recorder, resource)));
+                    }
+                }
+            } else if (root instanceof Resource) {
+                final Resource resource = (Resource) root;
+                if (!visitor.pruneSubtrees(resource)) {
+                    final RecordingVisitor recorder = new RecordingVisitor(visitor, prunedFeatures);
+                    recorders.add(recorder);
+                    tasks.add(ForkJoinTask.adapt(() -> comprehension.traverseResource(recorder, resource)));
+                }
+            } else {
+                comprehension.traverseModel(visitor, root);
+            }
+        }
+
+        if (tasks.size() == 1) {
+            tasks.get(0).invoke();
+        } else if (!tasks.isEmpty()) {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+
+        for (RecordingVisitor recorder : recorders) {
+            replay(recorder.events, visitor);
+        }
+    }
+
+    private void replay(List<Object> events, NavigationHelperVisitor visitor) {
+        for (int i = 0; i < events.size(); i += EVENT_SIZE) {
+            final int kind = (Integer) events.get(i);
+            final EObject source = (EObject) events.get(i + 1);
+            final Object feature = events.get(i + 2);
+            final Object target = events.get(i + 3);
+            switch (kind) {
+            case ELEMENT:
+                visitor.visitElement(source);
+                break;
+            case ATTRIBUTE:
+                visitor.visitAttribute(source, (EAttribute) feature, target);
+                break;
+            case CONTAINMENT:
+                visitor.visitInternalContainment(source, (EReference) feature, (EObject) target);
+                break;
+            case REFERENCE:
+                visitor.visitNonContainmentReference(source, (EReference) feature, (EObject) target);
+                break;
+            case PROXY:
+                final ProxyTarget proxyTarget = (ProxyTarget) target;
+                visitor.visitProxyReference(source, (EReference) feature, proxyTarget.targetObject,
+                        proxyTarget.position);
+                break;
+            default:
+                throw new IllegalStateException("Unknown visit kind " + kind);
+            }
+        }
+    }
+
+    /**
+     * The target and position of a recorded proxy reference.
+     */
+    private static final class ProxyTarget {
+        final EObject targetObject;
+        final Integer position;
+
+        ProxyTarget(EObject targetObject, Integer position) {
+            this.targetObject = targetObject;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Records the visits of a single resource on a worker thread. Pruning decisions are delegated to the original
+     * visitor, synchronized on it; the decisions for features are cached, as they do not change during a traversal.
+     */
+    private static class RecordingVisitor extends EMFVisitor {
+
+        private final NavigationHelperVisitor delegate;
+        private final Map<EStructuralFeature, Boolean> prunedFeatures;
+        final List<Object> events = new ArrayList<>();
+
+        public RecordingVisitor(NavigationHelperVisitor delegate, Map<EStructuralFeature, Boolean> prunedFeatures) {
+            super(delegate.preOrder());
+            this.delegate = delegate;
+            this.prunedFeatures = prunedFeatures;
+        }
+
+        private void record(int kind, EObject source, Object feature, Object target) {
+            events.add(kind);
+            events.add(source);
+            events.add(feature);
+            events.add(target);
+        }
+
+        @Override
+        public void visitElement(EObject source) {
+            record(ELEMENT, source, null, null);
+        }
+
+        @Override
+        public void visitAttribute(EObject source, EAttribute feature, Object target) {
+            record(ATTRIBUTE, source, feature, target);
+        }
+
+        @Override
+        public void visitInternalContainment(EObject source, EReference feature, EObject target) {
+            record(CONTAINMENT, source, feature, target);
+        }
+
+        @Override
+        public void visitNonContainmentReference(EObject source, EReference feature, EObject target) {
+            record(REFERENCE, source, feature, target);
+        }
+
+        @Override
+        public void visitProxyReference(EObject source, EReference reference, EObject targetObject,
+                Integer position) {
+            record(PROXY, source, reference, new ProxyTarget(targetObject, position));
+        }
+
+        @Override
+        public boolean attemptProxyResolutions(EObject source, EReference feature) {
+            // resolving proxies may load resources, which must not happen on worker threads
+            return false;
+        }
+
+        @Override
+        public boolean pruneFeature(EStructuralFeature feature) {
+            Boolean pruned = prunedFeatures.get(feature);
+            if (pruned == null) {
+                synchronized (delegate) {
+                    pruned = delegate.pruneFeature(feature);
+                }
+                prunedFeatures.put(feature, pruned);
+            }
+            return pruned;
+        }
+
+        @Override
+        public boolean pruneSubtrees(EObject source) {
+            return delegate.pruneSubtrees(source);
+        }
+
+        @Override
+        public boolean pruneSubtrees(Resource source) {
+            // already checked before scheduling the traversal of the resource
+            return false;
+        }
+
+        @Override
+        public boolean avoidTransientContainmentLink(EObject source, EReference reference, EObject targetObject) {
+            return delegate.avoidTransientContainmentLink(source, reference, targetObject);
+        }
+
+        @Override
+        public boolean descendAlongCrossResourceContainments() {
+            return delegate.descendAlongCrossResourceContainments();
+        }
+    }
+
+}
@@ -73,6 +73,16 @@ public interface ISearchContext {
      */
     Logger getLogger();
     
+    /**
+     * Returns the table memoizing the results of pattern calls, or null if the results of pattern calls are not to be
+     * tabled.
+     * 
+     * @since 2.9
+     */
+    default PatternCallTable getPatternCallTable() {
+        return null;
+    }
+    
     /**
      * @noreference This class is not intended to be referenced by clients.
      * @noimplement This interface is not intended to be implemented by clients.
@@ -86,13 +96,27 @@ public interface ISearchContext {
         private final ICache backendLevelCache;
         private final Logger logger;
         private final ResultProviderRequestor resultProviderRequestor;
+        private final PatternCallTable patternCallTable;
         
         /**
          * Initializes a search context using an arbitrary backend context
          */
         public SearchContext(IQueryBackendContext backendContext, ICache backendLevelCache, 
                 ResultProviderRequestor resultProviderRequestor) {
+            this(backendContext, backendLevelCache, resultProviderRequestor, null);
+        }
+        
+        /**
+         * Initializes a search context using an arbitrary backend context
+         * 
+         * @param patternCallTable
+         *            the table memoizing the results of pattern calls, or null if they are not to be tabled
+         * @since 2.9
+         */
+        public SearchContext(IQueryBackendContext backendContext, ICache backendLevelCache, 
+                ResultProviderRequestor resultProviderRequestor, PatternCallTable patternCallTable) {
             this.resultProviderRequestor = resultProviderRequestor;
+            this.patternCallTable = patternCallTable;
             this.runtimeContext = backendContext.getRuntimeContext();
             this.logger = backendContext.getLogger();
             this.navigationHelper = null;
@@ -139,5 +163,10 @@ public interface ISearchContext {
             return logger;
         }
         
+        @Override
+        public PatternCallTable getPatternCallTable() {
+            return patternCallTable;
+        }
+        
     }
 }
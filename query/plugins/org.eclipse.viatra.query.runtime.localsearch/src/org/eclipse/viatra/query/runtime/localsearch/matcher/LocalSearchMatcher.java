@@ -11,26 +11,38 @@ package org.eclipse.viatra.query.runtime.localsearch.matcher;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.eclipse.viatra.query.runtime.localsearch.MatchingFrame;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
+import org.eclipse.viatra.query.runtime.localsearch.operations.IIteratingSearchOperation;
+import org.eclipse.viatra.query.runtime.localsearch.operations.IPatternMatcherOperation;
+import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanDescriptor;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlan;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
 import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
 import org.eclipse.viatra.query.runtime.matchers.tuple.VolatileModifiableMaskedTuple;
 import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
 
@@ -40,6 +52,13 @@ import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
  */
 public final class LocalSearchMatcher implements ILocalSearchAdaptable {
 
+    /**
+     * The number of chunks the seeds of a parallel execution are split into per worker thread; using more chunks than
+     * workers balances the load if the chunks have different costs.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ISearchContext searchContext;
     private final List<SearchPlanExecutor> plan;
     private final IPlanDescriptor planDescriptor;
     private final List<ILocalSearchAdapter> adapters;
@@ -194,24 +213,29 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
         protected boolean initializeMatchingFrame(SearchPlanExecutor nextPlan) {
             frame = new MatchingFrame(nextPlan.getVariableMapping().size());
             parametersOfFrameView = new VolatileModifiableMaskedTuple(frame, nextPlan.getParameterMask());
-            for (int i = 0; i < parameterSeedMask.getSize(); i++) {
-                int index = parameterSeedMask.indices[i];
-                Object valueToSet = parameterValues.get(i);
-                if (valueToSet != null) {
-                    Object oldValue = parametersOfFrameView.get(index);
-                    if (oldValue == null) {
-                        parametersOfFrameView.set(index, valueToSet);
-                    } else if (!Objects.equals(valueToSet, oldValue)) {
-                        // Initial value setting resulted in contradictory values. This can happen because two parameter
-                        // variables have been unified but the call provides different values for the parameters.
-                        return false;
-                    }
-                    // If oldValue is not null but equal to newValue, the setting can be ignored
+            return initializeParameters(parametersOfFrameView, parameterSeedMask, parameterValues);
+        }
+    }
+    
+    private static boolean initializeParameters(VolatileModifiableMaskedTuple parametersOfFrameView,
+            TupleMask parameterSeedMask, ITuple parameterValues) {
+        for (int i = 0; i < parameterSeedMask.getSize(); i++) {
+            int index = parameterSeedMask.indices[i];
+            Object valueToSet = parameterValues.get(i);
+            if (valueToSet != null) {
+                Object oldValue = parametersOfFrameView.get(index);
+                if (oldValue == null) {
+                    parametersOfFrameView.set(index, valueToSet);
+                } else if (!Objects.equals(valueToSet, oldValue)) {
+                    // Initial value setting resulted in contradictory values. This can happen because two parameter
+                    // variables have been unified but the call provides different values for the parameters.
+                    return false;
                 }
+                // If oldValue is not null but equal to newValue, the setting can be ignored
             }
-            
-            return true;
         }
+        
+        return true;
     }
 
     /**
@@ -219,6 +243,7 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
      */
     public LocalSearchMatcher(ISearchContext searchContext, IPlanDescriptor planDescriptor, List<SearchPlan> plan) {
         Preconditions.checkArgument(planDescriptor != null, "Cannot initialize matcher with null query.");
+        this.searchContext = searchContext;
         this.planDescriptor = planDescriptor;
         this.plan = plan.stream().map(p -> new SearchPlanExecutor(p, searchContext)).collect(Collectors.toList());
         this.adapters = new LinkedList<>();
@@ -283,6 +308,146 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
                 Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.DISTINCT), false);
     }
     
+    /**
+     * Computes all matches like {@link #streamMatches(Object[])}, executing the search plans on the given pool, see
+     * {@link LocalSearchHintOptions#PARALLELISM}.
+     * 
+     * @since 2.9
+     */
+    public Stream<Tuple> streamMatchesInParallel(final Object[] parameterValues, ForkJoinPool pool) {
+        return streamMatchesInParallel(TupleMask.identity(parameterValues.length), Tuples.flatTupleOf(parameterValues),
+                pool);
+    }
+    
+    /**
+     * Computes all matches like {@link #streamMatches(TupleMask, ITuple)}, executing the search plans on the given
+     * pool, see {@link LocalSearchHintOptions#PARALLELISM}.
+     * <p>
+     * For each search plan, the operations up to the first iterating operation are executed on the calling thread,
+     * recording the values they bind as <em>seeds</em>; then the seeds are split into chunks, and the remaining
+     * operations are executed for each chunk on the pool. The matches are collected eagerly, in the order of the chunks.
+     * If local search adapters are registered, the matches are streamed sequentially instead; plans that call other
+     * patterns are always executed on the calling thread, as the called matchers are not thread-safe.
+     * 
+     * @since 2.9
+     */
+    public Stream<Tuple> streamMatchesInParallel(TupleMask parameterSeedMask, final ITuple parameterValues,
+            ForkJoinPool pool) {
+        if (!adapters.isEmpty()) {
+            return streamMatches(parameterSeedMask, parameterValues);
+        }
+        Set<Tuple> matches = new LinkedHashSet<>();
+        for (SearchPlanExecutor executor : plan) {
+            MatchingFrame initialFrame = new MatchingFrame(executor.getVariableMapping().size());
+            VolatileModifiableMaskedTuple parametersOfFrameView = 
+                    new VolatileModifiableMaskedTuple(initialFrame, executor.getParameterMask());
+            if (initializeParameters(parametersOfFrameView, parameterSeedMask, parameterValues)) {
+                int splitIndex = getSplitIndex(executor.getSearchPlan());
+                if (splitIndex < 0) {
+                    executor.resetPlan();
+                    while (executor.execute(initialFrame)) {
+                        matches.add(parametersOfFrameView.toImmutable());
+                    }
+                } else {
+                    executeInParallel(executor.getSearchPlan(), splitIndex, initialFrame, pool, matches);
+                }
+            }
+        }
+        return matches.stream();
+    }
+    
+    /**
+     * Returns the index of the first iterating operation of the plan, or -1 if the plan is not to be split.
+     */
+    private static int getSplitIndex(SearchPlan searchPlan) {
+        List<ISearchOperation> operations = searchPlan.getOperations();
+        if (operations.stream().anyMatch(IPatternMatcherOperation.class::isInstance)) {
+            return -1;
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i) instanceof IIteratingSearchOperation) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private void executeInParallel(SearchPlan searchPlan, int splitIndex, MatchingFrame initialFrame,
+            ForkJoinPool pool, Set<Tuple> matches) {
+        List<ISearchOperation> operations = searchPlan.getOperations();
+        Map<PVariable, Integer> variableIndices = searchPlan.getVariableMapping().entrySet().stream()
+                .collect(Collectors.toMap(Entry::getValue, Entry::getKey));
+        
+        // Enumerate the seeds on the calling thread
+        SearchPlan prefix = new SearchPlan(searchPlan.getSourceBody(), operations.subList(0, splitIndex + 1),
+                searchPlan.getParameterMask(), variableIndices);
+        int[] seedPositions = prefix.getOperations().stream()
+                .flatMap(operation -> operation.getVariablePositions().stream())
+                .filter(position -> initialFrame.getValue(position) == null)
+                .mapToInt(Integer::intValue).distinct().toArray();
+        List<Object[]> seeds = new ArrayList<>();
+        SearchPlanExecutor prefixExecutor = new SearchPlanExecutor(prefix, searchContext);
+        MatchingFrame frame = new MatchingFrame(initialFrame);
+        while (prefixExecutor.execute(frame)) {
+            Object[] seed = new Object[seedPositions.length];
+            for (int i = 0; i < seedPositions.length; i++) {
+                seed[i] = frame.getValue(seedPositions[i]);
+            }
+            seeds.add(seed);
+        }
+        
+        // Execute the rest of the plan for chunks of seeds in parallel
+        SearchPlan suffix = new SearchPlan(searchPlan.getSourceBody(),
+                operations.subList(splitIndex + 1, operations.size()), searchPlan.getParameterMask(),
+                variableIndices);
+        int chunkCount = Math.min(seeds.size(), pool.getParallelism() * CHUNKS_PER_WORKER);
+        if (chunkCount <= 1) {
+            matches.addAll(executeChunk(suffix, initialFrame, seedPositions, seeds));
+            return;
+        }
+        final List<ForkJoinTask<List<Tuple>>> tasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            List<Object[]> chunkSeeds = seeds.subList(chunk * seeds.size() / chunkCount,
+                    (chunk + 1) * seeds.size() / chunkCount);
+            tasks.add(ForkJoinTask.adapt(() -> executeChunk(suffix, initialFrame, seedPositions, chunkSeeds)));
+        }
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        for (ForkJoinTask<List<Tuple>> task : tasks) {
+            matches.addAll(task.join());
+        }
+    }
+    
+    private List<Tuple> executeChunk(SearchPlan suffix, MatchingFrame initialFrame, int[] seedPositions,
+            List<Object[]> seeds) {
+        List<Tuple> matches = new ArrayList<>();
+        SearchPlanExecutor executor = suffix.getOperations().isEmpty() ? null
+                : new SearchPlanExecutor(suffix, searchContext);
+        for (Object[] seed : seeds) {
+            MatchingFrame frame = new MatchingFrame(initialFrame);
+            for (int i = 0; i < seedPositions.length; i++) {
+                frame.setValue(seedPositions[i], seed[i]);
+            }
+            VolatileModifiableMaskedTuple parametersOfFrameView = 
+                    new VolatileModifiableMaskedTuple(frame, suffix.getParameterMask());
+            if (executor == null) {
+                matches.add(parametersOfFrameView.toImmutable());
+            } else {
+                executor.resetPlan();
+                while (executor.execute(frame)) {
+                    matches.add(parametersOfFrameView.toImmutable());
+                }
+            }
+        }
+        return matches;
+    }
+    
     /**
      * Returns the query specification this matcher used as source for the implementation
      * @return never null
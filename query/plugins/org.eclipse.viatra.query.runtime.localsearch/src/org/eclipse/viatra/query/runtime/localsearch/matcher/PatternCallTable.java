@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.localsearch.matcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
+import org.eclipse.viatra.query.runtime.localsearch.operations.util.CallInformation;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContextListener;
+import org.eclipse.viatra.query.runtime.matchers.context.IndexingService;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQueries;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+
+/**
+ * Memoizes the results of pattern calls issued by search operations, see
+ * {@link LocalSearchHintOptions#PATTERN_CALL_TABLE_SIZE}. The results are identified by the called matcher and the
+ * values of the bound parameters; the least recently used results are evicted once the table is full.
+ * <p>
+ * The table listens to the changes of all types the observed queries depend on, and it is cleared on any change. A
+ * query is only observed once all types it depends on are indexed, as listening to a type would require indexing it
+ * otherwise; the results of calls to queries that are not observed are not tabled.
+ *
+ * @since 2.9
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class PatternCallTable implements IQueryRuntimeContextListener {
+
+    private enum ResultKind {
+        MATCHES, HAS_MATCH, COUNT
+    }
+
+    private static final class Key {
+        final MatcherReference reference;
+        final ResultKind kind;
+        final Tuple parameters;
+        final int hash;
+
+        Key(MatcherReference reference, ResultKind kind, Tuple parameters) {
+            this.reference = reference;
+            this.kind = kind;
+            this.parameters = parameters;
+            this.hash = Objects.hash(reference, kind, parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && reference.equals(other.reference) && parameters.equals(other.parameters);
+        }
+    }
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final Map<Key, Object> results;
+    private final Set<PQuery> observedQueries = new HashSet<>();
+    private final Map<PQuery, Set<IInputKey>> requiredKeys = new HashMap<>();
+    private final Map<IInputKey, Tuple> observedKeys = new LinkedHashMap<>();
+
+    /**
+     * @param capacity
+     *            the maximum number of results stored in the table
+     */
+    public PatternCallTable(IQueryRuntimeContext runtimeContext, final int capacity) {
+        this.runtimeContext = runtimeContext;
+        this.results = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Starts listening to the changes of the types the given query and the queries it calls depend on, if all these
+     * types are already indexed.
+     * 
+     * @return true if the query is observed, i.e. the results of its calls can be tabled
+     */
+    public boolean observe(PQuery query) {
+        if (observedQueries.contains(query)) {
+            return true;
+        }
+        Set<IInputKey> keys = requiredKeys.computeIfAbsent(query,
+                q -> Stream.concat(Stream.of(q), q.getAllReferredQueries().stream())
+                        .flatMap(referredQuery -> PQueries.directlyRequiredTypesOfQuery(referredQuery, true))
+                        .collect(Collectors.toSet()));
+        if (!keys.stream().allMatch(key -> runtimeContext.isIndexed(key, IndexingService.INSTANCES))) {
+            return false;
+        }
+        for (IInputKey key : keys) {
+            if (!observedKeys.containsKey(key)) {
+                Tuple seed = Tuples.flatTupleOf(new Object[key.getArity()]);
+                observedKeys.put(key, seed);
+                runtimeContext.addUpdateListener(key, seed, this);
+            }
+        }
+        observedQueries.add(query);
+        requiredKeys.remove(query);
+        return true;
+    }
+
+    /**
+     * Returns all matches of the called pattern, calculating them if not tabled yet.
+     */
+    public List<Tuple> getAllMatches(CallInformation information, IQueryResultProvider matcher, ITuple parameters) {
+        return get(information, ResultKind.MATCHES, parameters, () -> matcher
+                .getAllMatches(information.getParameterMask(), parameters).collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    /**
+     * Returns whether the called pattern has a match, calculating it if not tabled yet.
+     */
+    public boolean hasMatch(CallInformation information, IQueryResultProvider matcher, ITuple parameters) {
+        return get(information, ResultKind.HAS_MATCH, parameters,
+                () -> matcher.hasMatch(information.getParameterMask(), parameters));
+    }
+
+    /**
+     * Returns the number of matches of the called pattern, calculating it if not tabled yet.
+     */
+    public int countMatches(CallInformation information, IQueryResultProvider matcher, ITuple parameters) {
+        return get(information, ResultKind.COUNT, parameters,
+                () -> matcher.countMatches(information.getParameterMask(), parameters));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(CallInformation information, ResultKind kind, ITuple parameters, Supplier<T> calculation) {
+        if (!observe(information.getReference().getQuery())) {
+            return calculation.get();
+        }
+        Key key = new Key(information.getReference(), kind, parameters.toImmutable());
+        Object result = results.get(key);
+        if (result == null) {
+            // the calculation may table the results of nested calls, so the table cannot be updated in the meantime
+            result = calculation.get();
+            results.put(key, result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    public void update(IInputKey key, Tuple updateTuple, boolean isInsertion) {
+        if (!results.isEmpty()) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Returns the number of results currently stored in the table.
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Stops listening to model changes and forgets all results.
+     */
+    public void dispose() {
+        for (Map.Entry<IInputKey, Tuple> entry : observedKeys.entrySet()) {
+            runtimeContext.removeUpdateListener(entry.getKey(), entry.getValue(), this);
+        }
+        observedKeys.clear();
+        observedQueries.clear();
+        requiredKeys.clear();
+        results.clear();
+    }
+
+}
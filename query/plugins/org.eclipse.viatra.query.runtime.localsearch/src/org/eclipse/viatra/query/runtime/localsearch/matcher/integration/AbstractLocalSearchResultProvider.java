@@ -32,8 +32,10 @@ import org.eclipse.viatra.query.runtime.localsearch.matcher.CallWithAdornment;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ISearchContext;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.LocalSearchMatcher;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.MatcherReference;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanDescriptor;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanProvider;
+import org.eclipse.viatra.query.runtime.localsearch.plan.PlanCardinalitySnapshot;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlan;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlanForBody;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.IOperationCompiler;
@@ -79,6 +81,11 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     protected final IPlanProvider planProvider;
     private static final String PLAN_CACHE_KEY = AbstractLocalSearchResultProvider.class.getName() + "#planCache"; 
     private final Map<MatcherReference, IPlanDescriptor> planCache;
+    private static final String PLAN_CARDINALITIES_KEY = AbstractLocalSearchResultProvider.class.getName() + "#planCardinalities"; 
+    /**
+     * The cardinalities the cached plans were computed for; only recorded if replanning is enabled
+     */
+    private final Map<MatcherReference, PlanCardinalitySnapshot> planCardinalities;
     protected final ISearchContext searchContext;
     /**
      * @since 2.1
@@ -99,8 +106,11 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
         this.userHints = userHints;
         this.runtimeContext = context.getRuntimeContext();
         this.resultProviderRequestor = backend.getResultProviderRequestor(query, userHints);
-        this.searchContext = new ISearchContext.SearchContext(backendContext, backend.getCache(), resultProviderRequestor);
+        Integer tableSize = overrideDefaultHints(query).getPatternCallTableSize();
+        this.searchContext = new ISearchContext.SearchContext(backendContext, backend.getCache(), resultProviderRequestor,
+                tableSize != null && tableSize > 0 ? backend.getPatternCallTable(tableSize) : null);
         this.planCache = backend.getCache().getValue(PLAN_CACHE_KEY, Map.class, HashMap::new);
+        this.planCardinalities = backend.getCache().getValue(PLAN_CARDINALITIES_KEY, Map.class, HashMap::new);
     }
     
     protected abstract IOperationCompiler getOperationCompiler(IQueryBackendContext backendContext, LocalSearchHints configuration);
@@ -124,23 +134,57 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
             IPlanDescriptor plan = planProvider.getPlan(backendContext, compiler, 
                     resultProviderRequestor, configuration, key);
             planCache.put(key, plan);
+            recordCardinalities(key, plan, configuration);
             return plan;
         }
     }
     
     private IPlanDescriptor getOrCreatePlan(MatcherReference key, IPlanProvider planProvider) {
-        if (planCache.containsKey(key)){
+        LocalSearchHints configuration = overrideDefaultHints(key.getQuery());
+        boolean isCached = planCache.containsKey(key);
+        boolean isOutdated = isCached && isPlanOutdated(key, configuration);
+        if (isCached && !isOutdated){
             return planCache.get(key);
         } else {
-            LocalSearchHints configuration = overrideDefaultHints(key.getQuery());
             IOperationCompiler compiler = getOperationCompiler(backendContext, configuration);
             IPlanDescriptor plan = planProvider.getPlan(backendContext, compiler, 
-                    resultProviderRequestor, configuration, key);
+                    resultProviderRequestor, configuration, key, isOutdated);
             planCache.put(key, plan);
+            recordCardinalities(key, plan, configuration);
             return plan;
         }
     }
     
+    private void recordCardinalities(MatcherReference key, IPlanDescriptor plan, LocalSearchHints configuration) {
+        if (isReplanningEnabled(configuration)) {
+            planCardinalities.put(key, PlanCardinalitySnapshot.take(plan, runtimeContext));
+        } else {
+            planCardinalities.remove(key);
+        }
+    }
+    
+    private static boolean isReplanningEnabled(LocalSearchHints configuration) {
+        Double ratio = configuration.getReplanningCardinalityRatio();
+        return ratio != null && ratio > 1;
+    }
+    
+    /**
+     * Decides whether the model has changed so much since the creation of the cached plan that it should be
+     * recomputed, see {@link LocalSearchHintOptions#REPLANNING_CARDINALITY_RATIO}.
+     */
+    private boolean isPlanOutdated(MatcherReference key, LocalSearchHints configuration) {
+        if (!isReplanningEnabled(configuration)) {
+            return false;
+        }
+        PlanCardinalitySnapshot snapshot = planCardinalities.get(key);
+        if (snapshot == null) {
+            // The plan was created by a result provider with different hints; start observing it from now on
+            planCardinalities.put(key, PlanCardinalitySnapshot.take(planCache.get(key), runtimeContext));
+            return false;
+        }
+        return snapshot.hasDrifted(runtimeContext, configuration.getReplanningCardinalityRatio());
+    }
+    
     private LocalSearchHints overrideDefaultHints(PQuery pQuery) {
         if (hintCache.containsKey(pQuery)) {
             return hintCache.get(pQuery);
@@ -314,6 +358,13 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
             }
         }
         
+        PatternCallTable patternCallTable = searchContext.getPatternCallTable();
+        if (patternCallTable != null) {
+            // Called queries are observed before the search starts if their types are indexed already
+            plan.getPlan().stream().flatMap(body -> body.getDependencies().stream())
+                    .forEach(dependency -> patternCallTable.observe(dependency.getReferredQuery()));
+        }
+        
         LocalSearchMatcher matcher = createMatcher(plan, searchContext);
         matcher.addAdapters(backend.getAdapters());
         return matcher;
@@ -363,14 +414,52 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     public int countMatches(Object[] parameters) {
         final LocalSearchMatcher matcher = initializeMatcher(parameters);
         // Count returns long; casting to int - in case of integer overflow casting will throw the exception
-        return (int) matcher.streamMatches(parameters).count();
+        return (int) streamAllMatches(matcher, parameters).count();
     }
     
     @Override
     public int countMatches(TupleMask parameterSeedMask, ITuple parameters) {
         final LocalSearchMatcher matcher = initializeMatcher(parameterSeedMask);
         // Count returns long; casting to int - in case of integer overflow casting will throw the exception
-        return (int) matcher.streamMatches(parameterSeedMask, parameters).count();
+        return (int) streamAllMatches(matcher, parameterSeedMask, parameters).count();
+    }
+    
+    private Stream<Tuple> streamAllMatches(LocalSearchMatcher matcher, Object[] parameters) {
+        int parallelism = getParallelism();
+        return parallelism > 1 
+                ? matcher.streamMatchesInParallel(parameters, backend.getExecutionPool(parallelism))
+                : matcher.streamMatches(parameters);
+    }
+    
+    private Stream<Tuple> streamAllMatches(LocalSearchMatcher matcher, TupleMask parameterSeedMask, ITuple parameters) {
+        int parallelism = getParallelism();
+        return parallelism > 1 
+                ? matcher.streamMatchesInParallel(parameterSeedMask, parameters, backend.getExecutionPool(parallelism))
+                : matcher.streamMatches(parameterSeedMask, parameters);
+    }
+    
+    /**
+     * Returns the number of worker threads used for computing all matches of the query, see
+     * {@link LocalSearchHintOptions#PARALLELISM}; 1 if the matches are computed sequentially, including the case when
+     * the configuration of the query does not support parallel execution.
+     * 
+     * @since 2.9
+     */
+    public int getParallelism() {
+        LocalSearchHints configuration = overrideDefaultHints(query);
+        Integer parallelism = configuration.getParallelism();
+        return parallelism == null || !isParallelExecutionSupported(configuration) ? 1 : parallelism;
+    }
+    
+    /**
+     * Returns whether the search plans of the query may be executed on multiple threads with the given configuration.
+     * The default implementation requires the base index, as the operations traversing the model without it share
+     * caches that are not thread-safe.
+     * 
+     * @since 2.9
+     */
+    protected boolean isParallelExecutionSupported(LocalSearchHints configuration) {
+        return configuration.isUseBase();
     }
         
     private static final double ESTIMATE_CEILING = Long.MAX_VALUE / 16.0;
@@ -477,13 +566,13 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     @Override
     public Stream<Tuple> getAllMatches(Object[] parameters) {
         final LocalSearchMatcher matcher = initializeMatcher(parameters);
-        return matcher.streamMatches(parameters);
+        return streamAllMatches(matcher, parameters);
     }
     
     @Override
     public Stream<Tuple> getAllMatches(TupleMask parameterSeedMask, ITuple parameters) {
         final LocalSearchMatcher matcher = initializeMatcher(parameterSeedMask);
-        return matcher.streamMatches(parameterSeedMask, parameters);
+        return streamAllMatches(matcher, parameterSeedMask, parameters);
     }
 
     @Override
@@ -517,6 +606,7 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
      */
     public void forgetAllPlans() {
         planCache.clear();
+        planCardinalities.clear();
     }
     
     /**
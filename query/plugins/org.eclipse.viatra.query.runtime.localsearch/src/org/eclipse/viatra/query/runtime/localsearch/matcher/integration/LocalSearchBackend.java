@@ -13,14 +13,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import org.eclipse.viatra.query.runtime.localsearch.exceptions.LocalSearchException;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ILocalSearchAdapter;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanDescriptor;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanProvider;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SimplePlanProvider;
@@ -54,6 +57,16 @@ public abstract class LocalSearchBackend implements IQueryBackend {
     
     private final Map<PQuery, List<AbstractLocalSearchResultProvider>> resultProviderCache = CollectionsFactory.createMap();
     
+    /**
+     * Pools for parallel plan execution, indexed by their parallelism; created on first use
+     */
+    private final Map<Integer, ForkJoinPool> executionPools = new HashMap<>();
+    
+    /**
+     * Tables memoizing pattern call results, indexed by their capacity; created on first use
+     */
+    private final Map<Integer, PatternCallTable> patternCallTables = new HashMap<>();
+    
     
     /**
      * @since 1.5
@@ -123,6 +136,37 @@ public abstract class LocalSearchBackend implements IQueryBackend {
     public void dispose() {  
         resultProviderCache.clear();
         generalCache.purge();
+        for (ForkJoinPool pool : executionPools.values()) {
+            pool.shutdown();
+        }
+        executionPools.clear();
+        for (PatternCallTable table : patternCallTables.values()) {
+            table.dispose();
+        }
+        patternCallTables.clear();
+    }
+    
+    /**
+     * Returns the pool used for executing search plans with the given parallelism, see
+     * {@link LocalSearchHintOptions#PARALLELISM}.
+     * 
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 2.9
+     */
+    public synchronized ForkJoinPool getExecutionPool(int parallelism) {
+        return executionPools.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+    
+    /**
+     * Returns the table memoizing pattern call results with the given capacity, see
+     * {@link LocalSearchHintOptions#PATTERN_CALL_TABLE_SIZE}.
+     * 
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 2.9
+     */
+    public PatternCallTable getPatternCallTable(int capacity) {
+        return patternCallTables.computeIfAbsent(capacity, 
+                size -> new PatternCallTable(context.getRuntimeContext(), size));
     }
 
     @Override
@@ -79,6 +79,73 @@ public final class LocalSearchHintOptions {
     public static final QueryHintOption<Boolean> CONSULT_SURROGATES = 
             hintOption("CONSULT_SURROGATES", false);
     
+    /**
+     * The number of worker threads used for computing all matches of a query, or 1 for a sequential execution.
+     * 
+     * <p>If greater than 1, the domain of the first iterating operation of each search plan is enumerated, split into
+     * chunks, and the rest of the plan is executed for the chunks in parallel; the results are merged in the order of
+     * the chunks. Only the computation of all matches and of the match count is parallelized; plans that call other
+     * patterns, or executions with registered local search adapters are always executed sequentially. Queries
+     * evaluated without the base index (see {@link #USE_BASE_INDEX}), or over a scope with lazy resource indexing are
+     * not parallelized either, as their model traversals are not thread-safe. The model must not be modified while the
+     * matches are computed.
+     * 
+     * <p><strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Integer> PARALLELISM = 
+            hintOption("PARALLELISM", 1);
+    
+    /**
+     * The maximum number of pattern call results memoized by the local search backend, or 0 to disable the memoization.
+     * 
+     * <p>If positive, the results of positive and negative pattern calls and match counts are tabled, identified by the
+     * called pattern, its adornment and the values of its bound parameters; the least recently used results are evicted
+     * if the table is full. The table is cleared whenever a type used by a called pattern changes. Listening to these
+     * changes requires the types to be indexed, hence the default is 0.
+     * 
+     * <p><strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Integer> PATTERN_CALL_TABLE_SIZE = 
+            hintOption("PATTERN_CALL_TABLE_SIZE", 0);
+    
+    /**
+     * The ratio by which the cardinality of a type may grow or shrink after a search plan was computed before the plan
+     * is recomputed, or 0 to keep the plans until they are explicitly recomputed.
+     * 
+     * <p>If set, the estimated cardinalities of the types constrained by the query are recorded when a plan is
+     * computed, and they are compared to the current estimates from time to time when the plan is used; an outdated
+     * plan is recomputed when the next matcher is created, while searches already in progress continue with the old
+     * plan. This allows plans computed for a small model (e.g. right after loading) to adapt as the model grows.
+     * 
+     * <p><strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Double> REPLANNING_CARDINALITY_RATIO = 
+            hintOption("REPLANNING_CARDINALITY_RATIO", 0.0);
+    
+    /**
+     * The directory where computed search plans are stored, or null to keep the plans in memory only.
+     * 
+     * <p>If set, the order of constraints chosen by the planner is saved for each query body and adornment, and it is
+     * reused by later engines (including ones in new sessions) instead of planning again. A stored plan is identified
+     * by the qualified name of the query, the adornment and a hash of the constraints of the normalized body, including
+     * the identifiers of the referenced types, so it is discarded if either the query or the metamodel changes. The
+     * stored plans do not adapt to the model they are used on, so this option is meant for deployments with models of
+     * similar shape; however, if {@link #REPLANNING_CARDINALITY_RATIO} is also set, a plan found outdated is recomputed
+     * for the current model and overwrites the stored one.
+     * 
+     * <p><strong>EXPERIMENTAL</strong>. This option was introduced in 2.9 and its behaviour may change in future versions.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<String> PLAN_STORE_DIRECTORY = 
+            hintOption("PLAN_STORE_DIRECTORY", null);
+    
 
     
     // internal helper for conciseness
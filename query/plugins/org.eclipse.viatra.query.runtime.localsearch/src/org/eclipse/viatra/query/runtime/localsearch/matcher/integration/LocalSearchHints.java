@@ -12,8 +12,12 @@ import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.L
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.CALL_DELEGATION_STRATEGY;
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.CONSULT_SURROGATES;
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.FLATTEN_CALL_PREDICATE;
+import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.PARALLELISM;
+import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.PATTERN_CALL_TABLE_SIZE;
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.PLANNER_COST_FUNCTION;
+import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.PLAN_STORE_DIRECTORY;
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.PLANNER_TABLE_ROW_COUNT;
+import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.REPLANNING_CARDINALITY_RATIO;
 import static org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions.USE_BASE_INDEX;
 import static org.eclipse.viatra.query.runtime.matchers.backend.CommonQueryHintOptions.normalizationTraceCollector;
 
@@ -35,6 +39,7 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.IFlattenCallP
 import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.IRewriterTraceCollector;
 import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.NeverFlattenCallPredicate;
 import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.NopTraceCollector;
+import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
 
 /**
  * Type safe builder and extractor for Local search specific hints
@@ -47,6 +52,14 @@ public final class LocalSearchHints implements IMatcherCapability {
     
     private Boolean consultSurrogates = null;
     
+    private Integer parallelism = null;
+    
+    private Integer patternCallTableSize = null;
+    
+    private Double replanningCardinalityRatio = null;
+    
+    private String planStoreDirectory = null;
+    
     private Boolean useBase = null;
     
     private Integer rowCount = null;
@@ -78,6 +91,10 @@ public final class LocalSearchHints implements IMatcherCapability {
     public static LocalSearchHints getDefault(){
         LocalSearchHints result = new LocalSearchHints();
         result.consultSurrogates = CONSULT_SURROGATES.getDefaultValue();
+        result.parallelism = PARALLELISM.getDefaultValue();
+        result.patternCallTableSize = PATTERN_CALL_TABLE_SIZE.getDefaultValue();
+        result.replanningCardinalityRatio = REPLANNING_CARDINALITY_RATIO.getDefaultValue();
+        result.planStoreDirectory = PLAN_STORE_DIRECTORY.getDefaultValue();
         result.useBase = USE_BASE_INDEX.getDefaultValue();
         result.rowCount = PLANNER_TABLE_ROW_COUNT.getDefaultValue();
         result.costFunction = PLANNER_COST_FUNCTION.getDefaultValue();
@@ -166,6 +183,10 @@ public final class LocalSearchHints implements IMatcherCapability {
         LocalSearchHints result = new LocalSearchHints();
         
         result.consultSurrogates = CONSULT_SURROGATES.getValueOrNull(hint);
+        result.parallelism = PARALLELISM.getValueOrNull(hint);
+        result.patternCallTableSize = PATTERN_CALL_TABLE_SIZE.getValueOrNull(hint);
+        result.replanningCardinalityRatio = REPLANNING_CARDINALITY_RATIO.getValueOrNull(hint);
+        result.planStoreDirectory = PLAN_STORE_DIRECTORY.getValueOrNull(hint);
         result.useBase = USE_BASE_INDEX.getValueOrNull(hint);
         result.rowCount = PLANNER_TABLE_ROW_COUNT.getValueOrNull(hint);
         result.flattenCallPredicate = FLATTEN_CALL_PREDICATE.getValueOrNull(hint);
@@ -183,6 +204,18 @@ public final class LocalSearchHints implements IMatcherCapability {
         if (consultSurrogates != null){
             CONSULT_SURROGATES.insertOverridingValue(map, consultSurrogates); 
         }
+        if (parallelism != null){
+            PARALLELISM.insertOverridingValue(map, parallelism); 
+        }
+        if (patternCallTableSize != null){
+            PATTERN_CALL_TABLE_SIZE.insertOverridingValue(map, patternCallTableSize); 
+        }
+        if (replanningCardinalityRatio != null){
+            REPLANNING_CARDINALITY_RATIO.insertOverridingValue(map, replanningCardinalityRatio); 
+        }
+        if (planStoreDirectory != null){
+            PLAN_STORE_DIRECTORY.insertOverridingValue(map, planStoreDirectory); 
+        }
         if (useBase != null){
             USE_BASE_INDEX.insertOverridingValue(map, useBase); 
         }
@@ -238,6 +271,34 @@ public final class LocalSearchHints implements IMatcherCapability {
         return consultSurrogates;
     }
     
+    /**
+     * @since 2.9
+     */
+    public Integer getParallelism() {
+        return parallelism;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public Integer getPatternCallTableSize() {
+        return patternCallTableSize;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public Double getReplanningCardinalityRatio() {
+        return replanningCardinalityRatio;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public String getPlanStoreDirectory() {
+        return planStoreDirectory;
+    }
+    
     public boolean isUseBase() {
         return useBase;
     }
@@ -283,6 +344,43 @@ public final class LocalSearchHints implements IMatcherCapability {
         return this;
     }
     
+    /**
+     * @since 2.9
+     */
+    public LocalSearchHints setParallelism(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive, got %d", parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public LocalSearchHints setPatternCallTableSize(int patternCallTableSize) {
+        Preconditions.checkArgument(patternCallTableSize >= 0, "Table size must not be negative, got %d",
+                patternCallTableSize);
+        this.patternCallTableSize = patternCallTableSize;
+        return this;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public LocalSearchHints setReplanningCardinalityRatio(double replanningCardinalityRatio) {
+        Preconditions.checkArgument(replanningCardinalityRatio == 0 || replanningCardinalityRatio > 1,
+                "Replanning ratio must be 0 or greater than 1, got %s", replanningCardinalityRatio);
+        this.replanningCardinalityRatio = replanningCardinalityRatio;
+        return this;
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public LocalSearchHints setPlanStoreDirectory(String planStoreDirectory) {
+        this.planStoreDirectory = planStoreDirectory;
+        return this;
+    }
+    
     public LocalSearchHints setUseBase(boolean useBase) {
         this.useBase = useBase;
         return this;
@@ -332,6 +430,34 @@ public final class LocalSearchHints implements IMatcherCapability {
         return new LocalSearchHints().setUseBase(useBase);
     }
     
+    /**
+     * @since 2.9
+     */
+    public static LocalSearchHints customizeParallelism(int parallelism){
+        return new LocalSearchHints().setParallelism(parallelism);
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public static LocalSearchHints customizePatternCallTableSize(int patternCallTableSize){
+        return new LocalSearchHints().setPatternCallTableSize(patternCallTableSize);
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public static LocalSearchHints customizeReplanningCardinalityRatio(double replanningCardinalityRatio){
+        return new LocalSearchHints().setReplanningCardinalityRatio(replanningCardinalityRatio);
+    }
+    
+    /**
+     * @since 2.9
+     */
+    public static LocalSearchHints customizePlanStoreDirectory(String planStoreDirectory){
+        return new LocalSearchHints().setPlanStoreDirectory(planStoreDirectory);
+    }
+    
     public static LocalSearchHints customizeRowCount(int rowCount){
         return new LocalSearchHints().setRowCount(rowCount);
     }
@@ -8,6 +8,7 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.localsearch.matcher.integration;
 
+import org.eclipse.viatra.query.runtime.emf.EMFQueryRuntimeContext;
 import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanProvider;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.EMFOperationCompiler;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.IOperationCompiler;
@@ -53,4 +54,14 @@ public class LocalSearchResultProvider extends AbstractLocalSearchResultProvider
             LocalSearchHints configuration) {
         return new EMFOperationCompiler(runtimeContext, configuration.isUseBase());
     }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    protected boolean isParallelExecutionSupported(LocalSearchHints configuration) {
+        // resources indexed lazily would be indexed concurrently by the worker threads reaching them
+        return super.isParallelExecutionSupported(configuration)
+                && !((EMFQueryRuntimeContext) runtimeContext).getEmfScope().getOptions().isLazyResourceIndexing();
+    }
 }
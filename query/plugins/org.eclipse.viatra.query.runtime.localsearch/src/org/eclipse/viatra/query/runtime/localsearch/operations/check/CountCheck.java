@@ -14,6 +14,7 @@ import java.util.function.Function;
 
 import org.eclipse.viatra.query.runtime.localsearch.MatchingFrame;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.operations.CheckOperationExecutor;
 import org.eclipse.viatra.query.runtime.localsearch.operations.IPatternMatcherOperation;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
@@ -47,7 +48,9 @@ public class CountCheck implements ISearchOperation, IPatternMatcherOperation {
         
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
-            int count = matcher.countMatches(information.getParameterMask(), maskedTuple);
+            PatternCallTable table = context.getPatternCallTable();
+            int count = table == null ? matcher.countMatches(information.getParameterMask(), maskedTuple)
+                    : table.countMatches(information, matcher, maskedTuple);
             return ((Integer)frame.getValue(position)) == count;
         }
         
@@ -13,6 +13,7 @@ import java.util.function.Function;
 
 import org.eclipse.viatra.query.runtime.localsearch.MatchingFrame;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.operations.CheckOperationExecutor;
 import org.eclipse.viatra.query.runtime.localsearch.operations.IPatternMatcherOperation;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
@@ -43,6 +44,10 @@ public class NACOperation implements ISearchOperation, IPatternMatcherOperation
         
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
+            PatternCallTable table = context.getPatternCallTable();
+            if (table != null) {
+                return !table.hasMatch(information, matcher, maskedTuple);
+            }
             return !matcher.hasMatch(information.getParameterMask(), maskedTuple);
         }
         
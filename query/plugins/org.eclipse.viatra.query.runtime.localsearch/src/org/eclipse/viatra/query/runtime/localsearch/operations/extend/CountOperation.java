@@ -15,6 +15,7 @@ import java.util.function.Function;
 
 import org.eclipse.viatra.query.runtime.localsearch.MatchingFrame;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.operations.IPatternMatcherOperation;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
 import org.eclipse.viatra.query.runtime.localsearch.operations.util.CallInformation;
@@ -41,7 +42,10 @@ public class CountOperation implements ISearchOperation, IPatternMatcherOperatio
         public Iterator<Integer> getIterator(MatchingFrame frame, ISearchContext context) {
             matcher = context.getMatcher(information.getCallWithAdornment());
             maskedTuple.updateTuple(frame);
-            return Collections.singletonList(matcher.countMatches(information.getParameterMask(), maskedTuple)).iterator();
+            PatternCallTable table = context.getPatternCallTable();
+            int count = table == null ? matcher.countMatches(information.getParameterMask(), maskedTuple)
+                    : table.countMatches(information, matcher, maskedTuple);
+            return Collections.singletonList(count).iterator();
         }
         
         @Override
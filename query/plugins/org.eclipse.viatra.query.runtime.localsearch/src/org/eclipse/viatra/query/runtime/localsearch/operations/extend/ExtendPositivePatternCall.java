@@ -14,6 +14,7 @@ import java.util.function.Function;
 
 import org.eclipse.viatra.query.runtime.localsearch.MatchingFrame;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ExtendOperationExecutor;
 import org.eclipse.viatra.query.runtime.localsearch.operations.IPatternMatcherOperation;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
@@ -41,6 +42,10 @@ public class ExtendPositivePatternCall implements ISearchOperation, IPatternMatc
         protected Iterator<? extends Tuple> getIterator(MatchingFrame frame, ISearchContext context) {
             maskedTuple.updateTuple(frame);
             IQueryResultProvider matcher = context.getMatcher(information.getCallWithAdornment());
+            PatternCallTable table = context.getPatternCallTable();
+            if (table != null) {
+                return table.getAllMatches(information, matcher, maskedTuple).iterator();
+            }
             return matcher.getAllMatches(information.getParameterMask(), maskedTuple).iterator();
         }
         
@@ -9,6 +9,7 @@
 package org.eclipse.viatra.query.runtime.localsearch.plan;
 
 import org.eclipse.viatra.query.runtime.localsearch.matcher.MatcherReference;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.IOperationCompiler;
 import org.eclipse.viatra.query.runtime.matchers.ViatraQueryRuntimeException;
@@ -30,4 +31,20 @@ public interface IPlanProvider {
             ResultProviderRequestor resultProviderRequestor,
             LocalSearchHints configuration, MatcherReference key);
     
+    /**
+     * Returns a plan for the given matcher reference like
+     * {@link #getPlan(IQueryBackendContext, IOperationCompiler, ResultProviderRequestor, LocalSearchHints, MatcherReference)}.
+     * If <code>replanning</code> is true, the previously provided plan was found outdated (see
+     * {@link LocalSearchHintOptions#REPLANNING_CARDINALITY_RATIO}), so the plan must be computed for the current model
+     * instead of being reused.
+     * 
+     * @throws ViatraQueryRuntimeException
+     * @since 2.9
+     */
+    public default IPlanDescriptor getPlan(IQueryBackendContext backend, IOperationCompiler compiler, 
+            ResultProviderRequestor resultProviderRequestor,
+            LocalSearchHints configuration, MatcherReference key, boolean replanning) {
+        return getPlan(backend, compiler, resultProviderRequestor, configuration, key);
+    }
+    
 }
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.localsearch.plan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
+import org.eclipse.viatra.query.runtime.matchers.psystem.EnumerablePConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IQueryReference;
+import org.eclipse.viatra.query.runtime.matchers.psystem.ITypeConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
+import org.eclipse.viatra.query.runtime.matchers.psystem.TypeJudgement;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PParameter;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+
+/**
+ * Stores the search plans of queries in a directory, see {@link LocalSearchHintOptions#PLAN_STORE_DIRECTORY}.
+ * <p>
+ * The plans of a query and adornment are kept in a separate text file; each line describes the plan of a normalized
+ * body by the hash of its constraints, the cost of the plan and the order in which the constraints are applied. The
+ * constraints are identified by their position in a canonical ordering of the body, so that the plan can be replayed
+ * on the equivalent body created by another engine. The files are loaded lazily and cached; I/O errors are logged
+ * and otherwise ignored, as the plans can always be recomputed.
+ *
+ * @since 2.9
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class PersistentPlanStore {
+
+    private static final String FILE_EXTENSION = ".plan";
+
+    /**
+     * The stored plan of a single body.
+     */
+    public static final class BodyPlan {
+        private final int[] constraintOrder;
+        private final double cost;
+
+        /**
+         * @param constraintOrder
+         *            the indices of the applied constraints in the canonical ordering of the body, see
+         *            {@link PersistentPlanStore#canonicalConstraints(PBody)}
+         */
+        public BodyPlan(int[] constraintOrder, double cost) {
+            this.constraintOrder = constraintOrder.clone();
+            this.cost = cost;
+        }
+
+        public int[] getConstraintOrder() {
+            return constraintOrder.clone();
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(constraintOrder) + Double.hashCode(cost);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BodyPlan)) {
+                return false;
+            }
+            BodyPlan other = (BodyPlan) obj;
+            return Arrays.equals(constraintOrder, other.constraintOrder)
+                    && Double.compare(cost, other.cost) == 0;
+        }
+    }
+
+    private final Path directory;
+    private final Logger logger;
+    private final Map<Path, Map<String, BodyPlan>> loadedPlans = new HashMap<>();
+
+    public PersistentPlanStore(Path directory, Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the stored plans of the given query and adornment, indexed by {@link #signatureOf(List)}; the result is
+     * a copy that may be modified freely.
+     */
+    public synchronized Map<String, BodyPlan> load(PQuery query, Set<PParameter> adornment) {
+        Path file = getFile(query, adornment);
+        Map<String, BodyPlan> plans = loadedPlans.computeIfAbsent(file, this::read);
+        return new LinkedHashMap<>(plans);
+    }
+
+    /**
+     * Replaces the stored plans of the given query and adornment, if they were changed.
+     */
+    public synchronized void save(PQuery query, Set<PParameter> adornment, Map<String, BodyPlan> plans) {
+        Path file = getFile(query, adornment);
+        if (Objects.equals(loadedPlans.get(file), plans)) {
+            return;
+        }
+        loadedPlans.put(file, new LinkedHashMap<>(plans));
+        write(file, plans);
+    }
+
+    private Path getFile(PQuery query, Set<PParameter> adornment) {
+        String adornmentNames = adornment.stream().map(PParameter::getName).sorted().collect(Collectors.joining(","));
+        return directory.resolve(query.getFullyQualifiedName() + "(" + adornmentNames + ")" + FILE_EXTENSION);
+    }
+
+    private Map<String, BodyPlan> read(Path file) {
+        Map<String, BodyPlan> plans = new LinkedHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return plans;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.trim().split(" ");
+                if (fields.length >= 2) {
+                    int[] order = new int[fields.length - 2];
+                    for (int i = 0; i < order.length; i++) {
+                        order[i] = Integer.parseInt(fields[i + 2]);
+                    }
+                    plans.put(fields[0], new BodyPlan(order, Double.parseDouble(fields[1])));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read stored search plans from " + file, e);
+            plans.clear();
+        }
+        return plans;
+    }
+
+    private void write(Path file, Map<String, BodyPlan> plans) {
+        List<String> lines = new ArrayList<>(plans.size());
+        for (Map.Entry<String, BodyPlan> entry : plans.entrySet()) {
+            StringBuilder line = new StringBuilder(entry.getKey()).append(' ').append(entry.getValue().cost);
+            for (int index : entry.getValue().constraintOrder) {
+                line.append(' ').append(index);
+            }
+            lines.add(line.toString());
+        }
+        try {
+            Files.createDirectories(directory);
+            // written to a temporary file first, so that concurrent readers never see a partial file
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not store search plans to " + file, e);
+        }
+    }
+
+    /**
+     * Returns the constraints of the given body in an order that only depends on the structure of the body, i.e.
+     * equivalent bodies created by different engines have their constraints in the same order.
+     */
+    public static List<PConstraint> canonicalConstraints(PBody body) {
+        List<PConstraint> constraints = new ArrayList<>(body.getConstraints());
+        Map<PConstraint, String> signatures = new HashMap<>();
+        for (PConstraint constraint : constraints) {
+            signatures.put(constraint, signatureOf(constraint));
+        }
+        constraints.sort(Comparator.comparing(signatures::get));
+        return constraints;
+    }
+
+    /**
+     * Returns a hash identifying the given canonically ordered constraints, see
+     * {@link #canonicalConstraints(PBody)}. The hash covers the kinds of the constraints, the names of their
+     * variables, the identifiers of the types they refer to and the names of the called queries.
+     */
+    public static String signatureOf(List<PConstraint> canonicalConstraints) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (PConstraint constraint : canonicalConstraints) {
+                digest.update(signatureOf(constraint).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest()) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String signatureOf(PConstraint constraint) {
+        StringBuilder signature = new StringBuilder(constraint.getClass().getSimpleName());
+        if (constraint instanceof ITypeConstraint) {
+            TypeJudgement judgement = ((ITypeConstraint) constraint).getEquivalentJudgement();
+            signature.append('[').append(judgement.getInputKey().getStringID()).append('/')
+                    .append(judgement.getInputKey().getArity()).append(']');
+            appendVariables(signature, judgement.getVariablesTuple());
+        } else if (constraint instanceof EnumerablePConstraint) {
+            appendVariables(signature, ((EnumerablePConstraint) constraint).getVariablesTuple());
+        }
+        if (constraint instanceof IQueryReference) {
+            signature.append('<').append(((IQueryReference) constraint).getReferredQuery().getFullyQualifiedName())
+                    .append('>');
+        }
+        // the order of the affected variables is not defined, but their roles are mostly captured by the tuples above
+        List<String> variableNames = constraint.getAffectedVariables().stream().map(PVariable::getName).sorted()
+                .collect(Collectors.toList());
+        signature.append(variableNames);
+        return signature.toString();
+    }
+
+    private static void appendVariables(StringBuilder signature, Tuple variables) {
+        signature.append('(');
+        for (int i = 0; i < variables.getSize(); i++) {
+            Object element = variables.get(i);
+            signature.append(i == 0 ? "" : ",")
+                    .append(element instanceof PVariable ? ((PVariable) element).getName() : String.valueOf(element));
+        }
+        signature.append(')');
+    }
+
+    /**
+     * Forgets the cached contents of the stored files; they are reloaded on the next access.
+     */
+    public synchronized void clearCache() {
+        loadedPlans.clear();
+    }
+
+    /**
+     * Returns the directory the plans are stored in
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.localsearch.plan;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+
+/**
+ * The cardinalities of the input keys a search plan was computed for, used to detect if the model has changed so much
+ * that the plan should be recomputed, see {@link LocalSearchHintOptions#REPLANNING_CARDINALITY_RATIO}.
+ * <p>
+ * The cardinalities are estimated by the runtime context for the enumerable types constrained by the planned bodies;
+ * these are the statistics the cost functions of the planner rely on.
+ *
+ * @since 2.9
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class PlanCardinalitySnapshot {
+
+    /**
+     * The number of {@link #hasDrifted(IQueryRuntimeContext, double)} calls between actual comparisons; matchers are
+     * created for each pattern call, so comparing the cardinalities every time would be too expensive
+     */
+    private static final int CHECK_INTERVAL = 64;
+
+    private final Map<IInputKey, Long> cardinalities;
+    private int callsUntilCheck = CHECK_INTERVAL;
+
+    private PlanCardinalitySnapshot(Map<IInputKey, Long> cardinalities) {
+        this.cardinalities = cardinalities;
+    }
+
+    /**
+     * Records the current cardinalities of the types the given plan depends on.
+     */
+    public static PlanCardinalitySnapshot take(IPlanDescriptor plan, IQueryRuntimeContext runtimeContext) {
+        Map<IInputKey, Long> cardinalities = new HashMap<>();
+        for (SearchPlanForBody bodyPlan : plan.getPlan()) {
+            for (TypeConstraint constraint : bodyPlan.getBody().getConstraintsOfType(TypeConstraint.class)) {
+                IInputKey key = constraint.getSupplierKey();
+                if (key.isEnumerable() && !cardinalities.containsKey(key)) {
+                    estimate(runtimeContext, key).ifPresent(cardinality -> cardinalities.put(key, cardinality));
+                }
+            }
+        }
+        return new PlanCardinalitySnapshot(cardinalities);
+    }
+
+    private static Optional<Long> estimate(IQueryRuntimeContext runtimeContext, IInputKey key) {
+        return runtimeContext.estimateCardinality(key, TupleMask.identity(key.getArity()), Accuracy.APPROXIMATION);
+    }
+
+    /**
+     * Decides whether the cardinality of any recorded type has grown or shrunk by more than the given ratio. For
+     * efficiency, the cardinalities are only compared at every few calls; otherwise false is returned.
+     */
+    public boolean hasDrifted(IQueryRuntimeContext runtimeContext, double ratio) {
+        if (--callsUntilCheck > 0) {
+            return false;
+        }
+        callsUntilCheck = CHECK_INTERVAL;
+        for (Map.Entry<IInputKey, Long> entry : cardinalities.entrySet()) {
+            Optional<Long> current = estimate(runtimeContext, entry.getKey());
+            if (current.isPresent()) {
+                // smoothed to tolerate changes of empty or very small types
+                double recorded = entry.getValue() + 1.0;
+                double actual = current.get() + 1.0;
+                if (Math.max(recorded, actual) / Math.min(recorded, actual) > ratio) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the recorded cardinalities
+     */
+    public Map<IInputKey, Long> getCardinalities() {
+        return Collections.unmodifiableMap(cardinalities);
+    }
+
+}
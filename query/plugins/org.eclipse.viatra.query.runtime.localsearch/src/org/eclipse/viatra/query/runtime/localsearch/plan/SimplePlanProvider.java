@@ -8,11 +8,15 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.localsearch.plan;
 
+import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.MatcherReference;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.localsearch.plan.PersistentPlanStore.BodyPlan;
 import org.eclipse.viatra.query.runtime.localsearch.planner.LocalSearchPlanner;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.IOperationCompiler;
 import org.eclipse.viatra.query.runtime.matchers.backend.ResultProviderRequestor;
@@ -28,6 +32,7 @@ import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
 public class SimplePlanProvider implements IPlanProvider {
 
     private final Logger logger;
+    private final Map<String, PersistentPlanStore> planStores = new HashMap<>();
     
     public SimplePlanProvider(Logger logger) {
         this.logger = logger;
@@ -37,13 +42,38 @@ public class SimplePlanProvider implements IPlanProvider {
     public IPlanDescriptor getPlan(IQueryBackendContext backend, IOperationCompiler compiler, 
             final ResultProviderRequestor resultRequestor,
             final LocalSearchHints configuration, MatcherReference key) {
+        return getPlan(backend, compiler, resultRequestor, configuration, key, false);
+    }
+    
+    /**
+     * @since 2.9
+     */
+    @Override
+    public IPlanDescriptor getPlan(IQueryBackendContext backend, IOperationCompiler compiler, 
+            final ResultProviderRequestor resultRequestor,
+            final LocalSearchHints configuration, MatcherReference key, boolean replanning) {
         
         LocalSearchPlanner planner = new LocalSearchPlanner(backend, compiler, logger, configuration, resultRequestor);
         
-        Collection<SearchPlanForBody> plansForBodies = planner.plan(key.getQuery(), key.getAdornment());
+        Collection<SearchPlanForBody> plansForBodies;
+        String planStoreDirectory = configuration.getPlanStoreDirectory();
+        if (planStoreDirectory == null) {
+            plansForBodies = planner.plan(key.getQuery(), key.getAdornment());
+        } else {
+            PersistentPlanStore planStore = getPlanStore(planStoreDirectory);
+            // an outdated plan is not replayed, but overwritten with the one computed for the current model
+            Map<String, BodyPlan> storedPlans = replanning ? new HashMap<>()
+                    : planStore.load(key.getQuery(), key.getAdornment());
+            plansForBodies = planner.plan(key.getQuery(), key.getAdornment(), storedPlans);
+            planStore.save(key.getQuery(), key.getAdornment(), storedPlans);
+        }
       
         IPlanDescriptor plan = new PlanDescriptor(key.getQuery(), plansForBodies, key.getAdornment());
         return plan;
     }
+    
+    private synchronized PersistentPlanStore getPlanStore(String directory) {
+        return planStores.computeIfAbsent(directory, d -> new PersistentPlanStore(Paths.get(d), logger));
+    }
 
 }
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,6 +21,8 @@ import org.apache.log4j.Logger;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHintOptions;
 import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
 import org.eclipse.viatra.query.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.viatra.query.runtime.localsearch.plan.PersistentPlanStore;
+import org.eclipse.viatra.query.runtime.localsearch.plan.PersistentPlanStore.BodyPlan;
 import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlanForBody;
 import org.eclipse.viatra.query.runtime.localsearch.planner.compiler.IOperationCompiler;
 import org.eclipse.viatra.query.runtime.matchers.backend.ResultProviderRequestor;
@@ -27,6 +30,7 @@ import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
 import org.eclipse.viatra.query.runtime.matchers.planning.SubPlan;
 import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PConstraint;
 import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
 import org.eclipse.viatra.query.runtime.matchers.psystem.basicdeferred.ExportedParameter;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PParameter;
@@ -120,20 +124,93 @@ public class LocalSearchPlanner implements ILocalSearchPlanner {
             Set<PVariable> boundVariables = calculatePatternAdornmentForPlanner(boundParameters, normalizedBody);
             PlanState searchPlanInternal = plannerStrategy.plan(normalizedBody, boundVariables, context, resultRequestor, configuration);
             SubPlan plan = plannerStrategy.convertPlan(boundVariables, searchPlanInternal);
-            // 3. PConstraint -> POperation compilation step
-            // * Pay extra caution to extend operations, when more than one variables are unbound
-            List<ISearchOperation> compiledOperations = operationCompiler.compile(plan, boundParameters);
-            // Store the variable mappings for the plans for debug purposes (traceability information)
-            SearchPlanForBody compiledPlan = new SearchPlanForBody(normalizedBody,
-                    operationCompiler.getVariableMappings(), plan, compiledOperations,
-                    operationCompiler.getDependencies(), 
-                    searchPlanInternal, searchPlanInternal.getCost());
-
-            plansForBodies.add(compiledPlan);
+            plansForBodies.add(compile(normalizedBody, plan, boundParameters, searchPlanInternal, searchPlanInternal.getCost()));
         }
 
         return plansForBodies;
     }
+    
+    /**
+     * Creates executable plans for the provided query, reusing the given stored plans of the bodies where possible
+     * instead of calculating new plans. The stored plans are indexed by the signature of the body, see
+     * {@link PersistentPlanStore#signatureOf(List)}.
+     * 
+     * @param storedPlans
+     *            the previously stored plans; when the method returns, it contains exactly the plans of the current
+     *            bodies of the query
+     * @since 2.9
+     */
+    public Collection<SearchPlanForBody> plan(PQuery querySpec, Set<PParameter> boundParameters, Map<String, BodyPlan> storedPlans) {
+        preprocessor.setTraceCollector(configuration.getTraceCollector());
+        Set<PBody> normalizedBodies = preprocessor.rewrite(querySpec.getDisjunctBodies()).getBodies();
+
+        List<SearchPlanForBody> plansForBodies = new ArrayList<>(normalizedBodies.size());
+        Map<String, BodyPlan> usedPlans = new LinkedHashMap<>();
+
+        for (PBody normalizedBody : normalizedBodies) {
+            Set<PVariable> boundVariables = calculatePatternAdornmentForPlanner(boundParameters, normalizedBody);
+            List<PConstraint> canonicalConstraints = PersistentPlanStore.canonicalConstraints(normalizedBody);
+            String signature = PersistentPlanStore.signatureOf(canonicalConstraints);
+            BodyPlan storedPlan = storedPlans.get(signature);
+            List<PConstraint> storedOrder = storedPlan == null ? null
+                    : replayConstraintOrder(storedPlan, canonicalConstraints, normalizedBody, boundVariables);
+            if (storedOrder != null) {
+                SubPlan plan = plannerStrategy.convertPlan(boundVariables, normalizedBody, storedOrder);
+                plansForBodies.add(compile(normalizedBody, plan, boundParameters, null, storedPlan.getCost()));
+                usedPlans.put(signature, storedPlan);
+            } else {
+                PlanState searchPlanInternal = plannerStrategy.plan(normalizedBody, boundVariables, context, resultRequestor, configuration);
+                SubPlan plan = plannerStrategy.convertPlan(boundVariables, searchPlanInternal);
+                plansForBodies.add(compile(normalizedBody, plan, boundParameters, searchPlanInternal, searchPlanInternal.getCost()));
+                usedPlans.put(signature, recordConstraintOrder(searchPlanInternal, canonicalConstraints));
+            }
+        }
+
+        storedPlans.clear();
+        storedPlans.putAll(usedPlans);
+        return plansForBodies;
+    }
+
+    private SearchPlanForBody compile(PBody normalizedBody, SubPlan plan, Set<PParameter> boundParameters,
+            Object searchPlanInternal, double cost) {
+        // 3. PConstraint -> POperation compilation step
+        // * Pay extra caution to extend operations, when more than one variables are unbound
+        List<ISearchOperation> compiledOperations = operationCompiler.compile(plan, boundParameters);
+        // Store the variable mappings for the plans for debug purposes (traceability information)
+        return new SearchPlanForBody(normalizedBody,
+                operationCompiler.getVariableMappings(), plan, compiledOperations,
+                operationCompiler.getDependencies(), 
+                searchPlanInternal, cost);
+    }
+    
+    private BodyPlan recordConstraintOrder(PlanState searchPlan, List<PConstraint> canonicalConstraints) {
+        Map<PConstraint, Integer> indices = new HashMap<>();
+        for (int i = 0; i < canonicalConstraints.size(); i++) {
+            indices.put(canonicalConstraints.get(i), i);
+        }
+        return new BodyPlan(searchPlan.getOperations().stream()
+                .mapToInt(info -> indices.getOrDefault(info.getConstraint(), -1))
+                .toArray(), searchPlan.getCost());
+    }
+    
+    /**
+     * Returns the constraints in the stored order, or null if the stored plan is not applicable to the body
+     */
+    private List<PConstraint> replayConstraintOrder(BodyPlan storedPlan, List<PConstraint> canonicalConstraints, 
+            PBody normalizedBody, Set<PVariable> boundVariables) {
+        List<PConstraint> order = new ArrayList<>();
+        Set<PVariable> deducedVariables = new HashSet<>(boundVariables);
+        Set<Integer> usedIndices = new HashSet<>();
+        for (int index : storedPlan.getConstraintOrder()) {
+            if (index < 0 || index >= canonicalConstraints.size() || !usedIndices.add(index)) {
+                return null;
+            }
+            PConstraint constraint = canonicalConstraints.get(index);
+            order.add(constraint);
+            deducedVariables.addAll(constraint.getDeducedVariables());
+        }
+        return deducedVariables.containsAll(normalizedBody.getUniqueVariables()) ? order : null;
+    }
 
     private Set<PVariable> calculatePatternAdornmentForPlanner(Set<PParameter> boundParameters, PBody normalizedBody) {
         Map<PParameter, PVariable> parameterMapping = new HashMap<>();
@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
 import org.eclipse.viatra.query.runtime.localsearch.planner.cost.ICostFunction;
@@ -53,18 +54,24 @@ public class LocalSearchRuntimeBasedStrategy {
      * Converts a plan to the standard format
      */
     protected SubPlan convertPlan(Set<PVariable> initialBoundVariables, PlanState searchPlan) {
-        PBody pBody;
-        pBody = searchPlan.getAssociatedPBody();
-        
+        List<PConstraint> constraints = searchPlan.getOperations().stream()
+                .map(PConstraintInfo::getConstraint)
+                .collect(Collectors.toList());
+        return convertPlan(initialBoundVariables, searchPlan.getAssociatedPBody(), constraints);
+    }
+    
+    /**
+     * Converts a sequence of constraint applications to the standard format
+     * @since 2.9
+     */
+    protected SubPlan convertPlan(Set<PVariable> initialBoundVariables, PBody pBody, List<PConstraint> constraints) {
         // Create a starting plan
         SubPlanFactory subPlanFactory = new SubPlanFactory(pBody);
 
         // We assume that the adornment (now the bound variables) is previously set
         SubPlan plan = subPlanFactory.createSubPlan(new PStart(initialBoundVariables));
 
-        List<PConstraintInfo> operations = searchPlan.getOperations();
-        for (PConstraintInfo pConstraintPlanInfo : operations) {
-            PConstraint pConstraint = pConstraintPlanInfo.getConstraint();
+        for (PConstraint pConstraint : constraints) {
             plan = subPlanFactory.createSubPlan(new PApply(pConstraint), plan);
         }
 
@@ -11,6 +11,7 @@ package org.eclipse.viatra.query.runtime.localsearch.planner.cost.impl;
 import java.util.Optional;
 
 import org.eclipse.viatra.query.runtime.localsearch.planner.cost.IConstraintEvaluationContext;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
@@ -46,4 +47,12 @@ public class IndexerBasedConstraintCostFunction extends StatisticsBasedConstrain
         return input.getRuntimeContext().estimateCardinality(supplierKey, groupMask, requiredAccuracy);
     }
     
+    /**
+     * @since 2.9
+     */
+    @Override
+    public Optional<BucketSizeStatistics> bucketSizeStatistics(IConstraintEvaluationContext input, IInputKey supplierKey, TupleMask groupMask) {
+        return input.getRuntimeContext().estimateBucketSizeStatistics(supplierKey, groupMask);
+    }
+    
 }
@@ -24,6 +24,7 @@ import org.eclipse.viatra.query.runtime.localsearch.planner.cost.IConstraintEval
 import org.eclipse.viatra.query.runtime.localsearch.planner.cost.ICostFunction;
 import org.eclipse.viatra.query.runtime.matchers.ViatraQueryRuntimeException;
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
 import org.eclipse.viatra.query.runtime.matchers.planning.helpers.FunctionalDependencyHelper;
 import org.eclipse.viatra.query.runtime.matchers.psystem.IQueryReference;
@@ -52,7 +53,8 @@ import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
  * 
  * <p> To provide custom statistics, override 
  *  {@link #projectionSize(IConstraintEvaluationContext, IInputKey, TupleMask, Accuracy)} 
- *  and {@link #bucketSize(IQueryReference, IConstraintEvaluationContext, TupleMask)}.
+ *  and {@link #bucketSize(IQueryReference, IConstraintEvaluationContext, TupleMask)}, and optionally
+ *  {@link #bucketSizeStatistics(IConstraintEvaluationContext, IInputKey, TupleMask)}.
  * 
  * @author Grill Balázs
  * @since 1.4
@@ -108,6 +110,17 @@ public abstract class StatisticsBasedConstraintCostFunction implements ICostFunc
         return legacyCount < 0 ? Optional.empty() : Optional.of(legacyCount);
     }
 
+    /**
+     * Override this to provide the distribution of the number of edges per node, used to estimate the cost of
+     * navigating from a bound node along edges whose counts are skewed. By default, no such statistics are available
+     * and only the average number of edges per node is considered.
+     * @since 2.9
+     */
+    public Optional<BucketSizeStatistics> bucketSizeStatistics(final IConstraintEvaluationContext input,
+            final IInputKey supplierKey, final TupleMask groupMask) {
+        return Optional.empty();
+    }
+
     /**
      * Override this to provide custom estimates for match set sizes of called patterns.
      * @since 2.1
@@ -211,16 +224,24 @@ public abstract class StatisticsBasedConstraintCostFunction implements ICostFunc
             
             Optional<Double> costEstimate = Optional.empty();
             
+            Optional<BucketSizeStatistics> edgesPerNode = Optional.empty();
             if (!freeMaskVariables.contains(srcVariable) && !freeMaskVariables.contains(dstVariable)) {
                 // both variables bound, this is a simple check
                 costEstimate = min(costEstimate, 0.9);
-            } // TODO use bucket size estimation in the runtime context
-            costEstimate = min(costEstimate, 
-                edgeUpper.flatMap(edges -> 
-                nodeLower.get(from).map(fromNodes ->
-                    // amortize edges over start nodes
-                    (fromNodes == 0) ? 0.0 : (((double) edges) / fromNodes)
-            )));
+            } else {
+                edgesPerNode = bucketSizeStatistics(input, supplierKey, TupleMask.selectSingle(from, 2));
+            }
+            if (edgesPerNode.isPresent()) {
+                // accounts for nodes with much more edges than the average
+                costEstimate = min(costEstimate, estimateSkewedFanOut(edgesPerNode.get()));
+            } else {
+                costEstimate = min(costEstimate, 
+                    edgeUpper.flatMap(edges -> 
+                    nodeLower.get(from).map(fromNodes ->
+                        // amortize edges over start nodes
+                        (fromNodes == 0) ? 0.0 : (((double) edges) / fromNodes)
+                )));
+            }
             if (navigatesThroughFunctionalDependencyInverse(input, constraint)) {
                 costEstimate = min(costEstimate, nodeUpper.get(to).flatMap(toNodes -> 
                         nodeLower.get(from).map(fromNodes ->
@@ -249,6 +270,18 @@ public abstract class StatisticsBasedConstraintCostFunction implements ICostFunc
         }
     }
 
+    /**
+     * Estimates the number of edges to be enumerated when navigating from a bound node. The average number of edges
+     * per node is only accurate if the bound node is chosen uniformly; a node reached along other edges is more likely
+     * to be a hub with many edges, in which case the expected number is the size-biased average. As the way the node is
+     * bound is not known here, the geometric mean of the two is used; it equals the average if the edges are evenly
+     * distributed.
+     * @since 2.9
+     */
+    protected double estimateSkewedFanOut(BucketSizeStatistics edgesPerNode) {
+        return Math.sqrt(edgesPerNode.getAverageBucketSize() * edgesPerNode.getSizeBiasedAverageBucketSize());
+    }
+
     /**
      * @since 1.7
      */
@@ -17,7 +17,7 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetA
  * @author Zoltan Ujhelyi
  * @since 2.0
  */
-public class DoubleAverageOperator implements IMultisetAggregationOperator<Double, AverageAccumulator<Double>, Double> {
+public class DoubleAverageOperator implements IMultisetAggregationOperator<Double, DoubleSumAccumulator, Double> {
 
     public static final DoubleAverageOperator INSTANCE = new DoubleAverageOperator();
     
@@ -36,33 +36,27 @@ public class DoubleAverageOperator implements IMultisetAggregationOperator<Doubl
     }
 
     @Override
-    public AverageAccumulator<Double> createNeutral() {
-        return new AverageAccumulator<Double>(0d, 0l);
+    public DoubleSumAccumulator createNeutral() {
+        return new DoubleSumAccumulator(0, 0l);
     }
 
     @Override
-    public boolean isNeutral(AverageAccumulator<Double> result) {
+    public boolean isNeutral(DoubleSumAccumulator result) {
         return result.count == 0l;
     }
 
     @Override
-    public AverageAccumulator<Double> update(AverageAccumulator<Double> oldResult, Double updateValue,
+    public DoubleSumAccumulator update(DoubleSumAccumulator oldResult, Double updateValue,
             boolean isInsertion) {
-        if (isInsertion) {
-            oldResult.value += updateValue;
-            oldResult.count++;
-        } else {
-            oldResult.value -= updateValue;
-            oldResult.count--;
-        }
+        oldResult.update(updateValue, isInsertion);
         return oldResult;
     }
 
     @Override
-    public Double getAggregate(AverageAccumulator<Double> result) {
+    public Double getAggregate(DoubleSumAccumulator result) {
         return (result.count == 0)
                 ? null
-                : result.value/result.count;
+                : result.sum / result.count;
     }
 
     @Override
@@ -75,8 +69,8 @@ public class DoubleAverageOperator implements IMultisetAggregationOperator<Doubl
      * @since 2.4
      */
     @Override
-    public AverageAccumulator<Double> clone(AverageAccumulator<Double> original) {
-        return new AverageAccumulator<Double>(original.value, original.count);
+    public DoubleSumAccumulator clone(DoubleSumAccumulator original) {
+        return new DoubleSumAccumulator(original.sum, original.count);
     }
     
 }
\ No newline at end of file
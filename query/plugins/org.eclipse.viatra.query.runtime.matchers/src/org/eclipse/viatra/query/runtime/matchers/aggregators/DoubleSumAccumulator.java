@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+/**
+ * Mutable accumulator of the sum and the number of floating point values, without boxing.
+ * 
+ * @since 2.9
+ */
+class DoubleSumAccumulator {
+    double sum;
+    long count;
+
+    public DoubleSumAccumulator(double sum, long count) {
+        super();
+        this.sum = sum;
+        this.count = count;
+    }
+
+    void update(double value, boolean isInsertion) {
+        if (isInsertion) {
+            sum += value;
+            count++;
+        } else {
+            sum -= value;
+            count--;
+        }
+    }
+
+    /**
+     * Whether the accumulator is neutral for a sum: as in {@link DoubleSumOperator}, a sum equal to 0.0 (but not -0.0)
+     * is neutral regardless of the count, so groups whose values cancel out are not stored.
+     */
+    boolean isNeutral() {
+        return Double.doubleToLongBits(sum) == 0l;
+    }
+
+    @Override
+    public String toString() {
+        return "sum=" + sum + ", count=" + count;
+    }
+
+}
@@ -17,7 +17,7 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetA
  * @author Zoltan Ujhelyi
  * @since 2.0
  */
-public class IntegerAverageOperator implements IMultisetAggregationOperator<Integer, AverageAccumulator<Integer>, Double> {
+public class IntegerAverageOperator implements IMultisetAggregationOperator<Integer, LongSumAccumulator, Double> {
 
     public static final IntegerAverageOperator INSTANCE = new IntegerAverageOperator();
     
@@ -36,33 +36,27 @@ public class IntegerAverageOperator implements IMultisetAggregationOperator<Inte
     }
 
     @Override
-    public AverageAccumulator<Integer> createNeutral() {
-        return new AverageAccumulator<Integer>(0, 0l);
+    public LongSumAccumulator createNeutral() {
+        return new LongSumAccumulator(0, 0l);
     }
 
     @Override
-    public boolean isNeutral(AverageAccumulator<Integer> result) {
+    public boolean isNeutral(LongSumAccumulator result) {
         return result.count == 0l;
     }
 
     @Override
-    public AverageAccumulator<Integer> update(AverageAccumulator<Integer> oldResult, Integer updateValue,
+    public LongSumAccumulator update(LongSumAccumulator oldResult, Integer updateValue,
             boolean isInsertion) {
-        if (isInsertion) {
-            oldResult.value += updateValue;
-            oldResult.count++;
-        } else {
-            oldResult.value -= updateValue;
-            oldResult.count--;
-        }
+        oldResult.update(updateValue, isInsertion);
         return oldResult;
     }
 
     @Override
-    public Double getAggregate(AverageAccumulator<Integer> result) {
+    public Double getAggregate(LongSumAccumulator result) {
         return (result.count == 0)
                 ? null
-                : ((double)result.value)/result.count;
+                : ((double) result.sum) / result.count;
     }
 
     @Override
@@ -75,8 +69,8 @@ public class IntegerAverageOperator implements IMultisetAggregationOperator<Inte
      * @since 2.4
      */
     @Override
-    public AverageAccumulator<Integer> clone(AverageAccumulator<Integer> original) {
-        return new AverageAccumulator<Integer>(original.value, original.count);
+    public LongSumAccumulator clone(LongSumAccumulator original) {
+        return new LongSumAccumulator(original.sum, original.count);
     }
     
 }
\ No newline at end of file
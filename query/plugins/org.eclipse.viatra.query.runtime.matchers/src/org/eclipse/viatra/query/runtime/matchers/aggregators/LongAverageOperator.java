@@ -17,7 +17,7 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetA
  * @author Zoltan Ujhelyi
  * @since 2.0
  */
-public class LongAverageOperator implements IMultisetAggregationOperator<Long, AverageAccumulator<Long>, Double> {
+public class LongAverageOperator implements IMultisetAggregationOperator<Long, LongSumAccumulator, Double> {
 
     public static final LongAverageOperator INSTANCE = new LongAverageOperator();
     
@@ -36,33 +36,27 @@ public class LongAverageOperator implements IMultisetAggregationOperator<Long, A
     }
 
     @Override
-    public AverageAccumulator<Long> createNeutral() {
-        return new AverageAccumulator<Long>(0l, 0l);
+    public LongSumAccumulator createNeutral() {
+        return new LongSumAccumulator(0, 0l);
     }
 
     @Override
-    public boolean isNeutral(AverageAccumulator<Long> result) {
+    public boolean isNeutral(LongSumAccumulator result) {
         return result.count == 0l;
     }
 
     @Override
-    public AverageAccumulator<Long> update(AverageAccumulator<Long> oldResult, Long updateValue,
+    public LongSumAccumulator update(LongSumAccumulator oldResult, Long updateValue,
             boolean isInsertion) {
-        if (isInsertion) {
-            oldResult.value += updateValue;
-            oldResult.count++;
-        } else {
-            oldResult.value -= updateValue;
-            oldResult.count--;
-        }
+        oldResult.update(updateValue, isInsertion);
         return oldResult;
     }
 
     @Override
-    public Double getAggregate(AverageAccumulator<Long> result) {
+    public Double getAggregate(LongSumAccumulator result) {
         return (result.count == 0)
                 ? null
-                : ((double)result.value)/result.count;
+                : ((double) result.sum) / result.count;
     }
 
     @Override
@@ -75,8 +69,8 @@ public class LongAverageOperator implements IMultisetAggregationOperator<Long, A
      * @since 2.4
      */
     @Override
-    public AverageAccumulator<Long> clone(AverageAccumulator<Long> original) {
-        return new AverageAccumulator<Long>(original.value, original.count);
+    public LongSumAccumulator clone(LongSumAccumulator original) {
+        return new LongSumAccumulator(original.sum, original.count);
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+
+/**
+ * Incrementally computes the sum of java.lang.Double values. Unlike {@link DoubleSumOperator}, the sum is
+ * accumulated in a mutable primitive accumulator, so updates do not allocate boxed intermediate results.
+ * 
+ * @since 2.9
+ */
+public class PrimitiveDoubleSumOperator implements IMultisetAggregationOperator<Double, DoubleSumAccumulator, Double> {
+
+    public static final PrimitiveDoubleSumOperator INSTANCE = new PrimitiveDoubleSumOperator();
+
+    private PrimitiveDoubleSumOperator() {
+        // Singleton, do not call.
+    }
+
+    @Override
+    public String getShortDescription() {
+        return "sum<Double> incrementally computes the sum of java.lang.Double values";
+    }
+
+    @Override
+    public String getName() {
+        return "sum<Double>";
+    }
+
+    @Override
+    public DoubleSumAccumulator createNeutral() {
+        return new DoubleSumAccumulator(0, 0l);
+    }
+
+    @Override
+    public boolean isNeutral(DoubleSumAccumulator result) {
+        return result.isNeutral();
+    }
+
+    @Override
+    public DoubleSumAccumulator update(DoubleSumAccumulator oldResult, Double updateValue, boolean isInsertion) {
+        oldResult.update(updateValue, isInsertion);
+        return oldResult;
+    }
+
+    @Override
+    public Double getAggregate(DoubleSumAccumulator result) {
+        return result.sum;
+    }
+
+    @Override
+    public Double aggregateStream(Stream<Double> stream) {
+        return stream.mapToDouble(Double::doubleValue).sum();
+    }
+
+    @Override
+    public DoubleSumAccumulator clone(DoubleSumAccumulator original) {
+        return new DoubleSumAccumulator(original.sum, original.count);
+    }
+
+}
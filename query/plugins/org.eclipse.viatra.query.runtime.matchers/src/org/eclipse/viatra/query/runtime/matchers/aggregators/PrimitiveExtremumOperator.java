@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.aggregators.ExtremumOperator.Extreme;
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+
+/**
+ * Incrementally computes the minimum or maximum of values of a Java primitive wrapper type. Unlike
+ * {@link ExtremumOperator}, the values of a group are stored unboxed in a sorted primitive multiset; each value is
+ * encoded as a long whose natural ordering is consistent with the default comparison of the wrapper type (e.g.
+ * {@link Double#compare(double, double)} for doubles).
+ *
+ * @since 2.9
+ */
+public class PrimitiveExtremumOperator<T extends Comparable<T>>
+        implements IMultisetAggregationOperator<T, SortedLongMultiset, T> {
+
+    private static final Map<Class<?>, PrimitiveExtremumOperator<?>> MIN_OPERATORS = new HashMap<>();
+    private static final Map<Class<?>, PrimitiveExtremumOperator<?>> MAX_OPERATORS = new HashMap<>();
+
+    static {
+        register(Integer.class, Integer::longValue, value -> (int) value);
+        register(Long.class, Long::longValue, value -> value);
+        register(Short.class, Short::longValue, value -> (short) value);
+        register(Byte.class, Byte::longValue, value -> (byte) value);
+        register(Character.class, character -> character.charValue(), value -> (char) value);
+        register(Boolean.class, bool -> bool ? 1l : 0l, value -> value != 0l);
+        register(Double.class, PrimitiveExtremumOperator::encodeDouble, PrimitiveExtremumOperator::decodeDouble);
+        register(Float.class, PrimitiveExtremumOperator::encodeFloat, PrimitiveExtremumOperator::decodeFloat);
+    }
+
+    private static <T extends Comparable<T>> void register(Class<T> domainClass, ToLongFunction<T> encoder,
+            LongFunction<T> decoder) {
+        MIN_OPERATORS.put(domainClass, new PrimitiveExtremumOperator<>(Extreme.MIN, encoder, decoder));
+        MAX_OPERATORS.put(domainClass, new PrimitiveExtremumOperator<>(Extreme.MAX, encoder, decoder));
+    }
+
+    /**
+     * Returns the minimum operator for the given primitive wrapper type, or null if the type is not supported.
+     */
+    public static PrimitiveExtremumOperator<?> getMin(Class<?> domainClass) {
+        return MIN_OPERATORS.get(domainClass);
+    }
+
+    /**
+     * Returns the maximum operator for the given primitive wrapper type, or null if the type is not supported.
+     */
+    public static PrimitiveExtremumOperator<?> getMax(Class<?> domainClass) {
+        return MAX_OPERATORS.get(domainClass);
+    }
+
+    private final Extreme extreme;
+    private final ToLongFunction<T> encoder;
+    private final LongFunction<T> decoder;
+
+    private PrimitiveExtremumOperator(Extreme extreme, ToLongFunction<T> encoder, LongFunction<T> decoder) {
+        this.extreme = extreme;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public String getShortDescription() {
+        String opName = getName();
+        return String.format(
+                "%s incrementally computes the %simum of primitive wrapper values, using the default comparison",
+                opName, opName);
+    }
+
+    @Override
+    public String getName() {
+        return extreme.name().toLowerCase();
+    }
+
+    @Override
+    public SortedLongMultiset createNeutral() {
+        return new SortedLongMultiset();
+    }
+
+    @Override
+    public boolean isNeutral(SortedLongMultiset result) {
+        return result.isEmpty();
+    }
+
+    @Override
+    public SortedLongMultiset update(SortedLongMultiset oldResult, T updateValue, boolean isInsertion) {
+        oldResult.update(encoder.applyAsLong(updateValue), isInsertion);
+        return oldResult;
+    }
+
+    @Override
+    public T getAggregate(SortedLongMultiset result) {
+        if (result.isEmpty()) {
+            return null;
+        }
+        return decoder.apply(extreme == Extreme.MIN ? result.getMin() : result.getMax());
+    }
+
+    @Override
+    public T aggregateStream(Stream<T> stream) {
+        OptionalLong extremum = extreme == Extreme.MIN
+                ? stream.mapToLong(encoder).min()
+                : stream.mapToLong(encoder).max();
+        return extremum.isPresent() ? decoder.apply(extremum.getAsLong()) : null;
+    }
+
+    @Override
+    public SortedLongMultiset clone(SortedLongMultiset original) {
+        return new SortedLongMultiset(original);
+    }
+
+    @Override
+    public boolean contains(T value, SortedLongMultiset accumulator) {
+        return accumulator.contains(encoder.applyAsLong(value));
+    }
+
+    @Override
+    public String prettyPrint(SortedLongMultiset accumulator) {
+        return accumulator.toString(decoder);
+    }
+
+    /*
+     * The IEEE 754 bit patterns of non-negative values are ordered as signed longs; the bits of negative values other
+     * than the sign are flipped to reverse their order. NaN is canonicalized and ordered after positive infinity, and
+     * -0.0 before 0.0, as in Double.compare().
+     */
+    private static long encodeDouble(Double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static Double decodeDouble(long encoded) {
+        return Double.longBitsToDouble(encoded ^ ((encoded >> 63) & Long.MAX_VALUE));
+    }
+
+    private static long encodeFloat(Float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    private static Float decodeFloat(long encoded) {
+        int bits = (int) encoded;
+        return Float.intBitsToFloat(bits ^ ((bits >> 31) & Integer.MAX_VALUE));
+    }
+
+}
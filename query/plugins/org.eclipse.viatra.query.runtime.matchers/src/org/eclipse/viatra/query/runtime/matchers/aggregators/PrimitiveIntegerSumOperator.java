@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+
+/**
+ * Incrementally computes the sum of java.lang.Integer values. Unlike {@link IntegerSumOperator}, the sum is
+ * accumulated in a mutable primitive accumulator, so updates do not allocate boxed intermediate results.
+ * 
+ * @since 2.9
+ */
+public class PrimitiveIntegerSumOperator implements IMultisetAggregationOperator<Integer, LongSumAccumulator, Integer> {
+
+    public static final PrimitiveIntegerSumOperator INSTANCE = new PrimitiveIntegerSumOperator();
+
+    private PrimitiveIntegerSumOperator() {
+        // Singleton, do not call.
+    }
+
+    @Override
+    public String getShortDescription() {
+        return "sum<Integer> incrementally computes the sum of java.lang.Integer values";
+    }
+
+    @Override
+    public String getName() {
+        return "sum<Integer>";
+    }
+
+    @Override
+    public LongSumAccumulator createNeutral() {
+        return new LongSumAccumulator(0, 0l);
+    }
+
+    @Override
+    public boolean isNeutral(LongSumAccumulator result) {
+        return result.isNeutral();
+    }
+
+    @Override
+    public LongSumAccumulator update(LongSumAccumulator oldResult, Integer updateValue, boolean isInsertion) {
+        oldResult.update(updateValue, isInsertion);
+        return oldResult;
+    }
+
+    @Override
+    public Integer getAggregate(LongSumAccumulator result) {
+        return (int) result.sum;
+    }
+
+    @Override
+    public Integer aggregateStream(Stream<Integer> stream) {
+        return stream.mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public LongSumAccumulator clone(LongSumAccumulator original) {
+        return new LongSumAccumulator(original.sum, original.count);
+    }
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+
+/**
+ * Incrementally computes the sum of java.lang.Long values. Unlike {@link LongSumOperator}, the sum is
+ * accumulated in a mutable primitive accumulator, so updates do not allocate boxed intermediate results.
+ * 
+ * @since 2.9
+ */
+public class PrimitiveLongSumOperator implements IMultisetAggregationOperator<Long, LongSumAccumulator, Long> {
+
+    public static final PrimitiveLongSumOperator INSTANCE = new PrimitiveLongSumOperator();
+
+    private PrimitiveLongSumOperator() {
+        // Singleton, do not call.
+    }
+
+    @Override
+    public String getShortDescription() {
+        return "sum<Long> incrementally computes the sum of java.lang.Long values";
+    }
+
+    @Override
+    public String getName() {
+        return "sum<Long>";
+    }
+
+    @Override
+    public LongSumAccumulator createNeutral() {
+        return new LongSumAccumulator(0, 0l);
+    }
+
+    @Override
+    public boolean isNeutral(LongSumAccumulator result) {
+        return result.isNeutral();
+    }
+
+    @Override
+    public LongSumAccumulator update(LongSumAccumulator oldResult, Long updateValue, boolean isInsertion) {
+        oldResult.update(updateValue, isInsertion);
+        return oldResult;
+    }
+
+    @Override
+    public Long getAggregate(LongSumAccumulator result) {
+        return result.sum;
+    }
+
+    @Override
+    public Long aggregateStream(Stream<Long> stream) {
+        return stream.mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public LongSumAccumulator clone(LongSumAccumulator original) {
+        return new LongSumAccumulator(original.sum, original.count);
+    }
+
+}
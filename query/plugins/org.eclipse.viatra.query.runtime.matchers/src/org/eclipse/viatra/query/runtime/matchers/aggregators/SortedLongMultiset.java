@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.aggregators;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+/**
+ * A multiset of long values. Similarly to the {@link java.util.SortedMap} accumulators of {@link ExtremumOperator},
+ * counts may become negative temporarily, and values with a zero count are removed.
+ * <p>
+ * Small multisets are stored as parallel primitive arrays of the distinct values (in ascending order) and their counts,
+ * where updates shift the arrays. Once the number of distinct values exceeds {@link #TREE_THRESHOLD}, the multiset
+ * switches to a {@link TreeMap} for the rest of its life, so that updates take logarithmic time.
+ * 
+ * @since 2.9
+ */
+class SortedLongMultiset {
+    private static final int INITIAL_CAPACITY = 4;
+    static final int TREE_THRESHOLD = 64;
+
+    private long[] values;
+    private int[] counts;
+    private int size;
+    // non-null once the multiset outgrew the arrays
+    private TreeMap<Long, Integer> tree;
+
+    public SortedLongMultiset() {
+        this.values = new long[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+    }
+
+    public SortedLongMultiset(SortedLongMultiset original) {
+        if (original.tree != null) {
+            this.tree = new TreeMap<>(original.tree);
+        } else {
+            this.values = Arrays.copyOf(original.values, Math.max(original.size, INITIAL_CAPACITY));
+            this.counts = Arrays.copyOf(original.counts, Math.max(original.size, INITIAL_CAPACITY));
+            this.size = original.size;
+        }
+    }
+
+    public void update(long value, boolean isInsertion) {
+        int delta = isInsertion ? 1 : -1;
+        if (tree != null) {
+            tree.compute(value, (key, count) -> {
+                int newCount = (count == null ? 0 : count) + delta;
+                return newCount == 0 ? null : Integer.valueOf(newCount);
+            });
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            counts[index] += delta;
+            if (counts[index] == 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+                size--;
+            }
+        } else {
+            if (size == TREE_THRESHOLD) {
+                switchToTree();
+                tree.put(value, delta);
+                return;
+            }
+            int insertionPoint = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint);
+            System.arraycopy(counts, insertionPoint, counts, insertionPoint + 1, size - insertionPoint);
+            values[insertionPoint] = value;
+            counts[insertionPoint] = delta;
+            size++;
+        }
+    }
+
+    private void switchToTree() {
+        tree = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            tree.put(values[i], counts[i]);
+        }
+        values = null;
+        counts = null;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return tree != null ? tree.isEmpty() : size == 0;
+    }
+
+    public boolean contains(long value) {
+        return tree != null ? tree.containsKey(value) : Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * Precondition: the multiset is not empty.
+     */
+    public long getMin() {
+        return tree != null ? tree.firstKey() : values[0];
+    }
+
+    /**
+     * Precondition: the multiset is not empty.
+     */
+    public long getMax() {
+        return tree != null ? tree.lastKey() : values[size - 1];
+    }
+
+    /**
+     * Prints the multiset with its values decoded by the given function.
+     */
+    public String toString(LongFunction<?> decoder) {
+        StringBuilder sb = new StringBuilder("{");
+        if (tree != null) {
+            for (Entry<Long, Integer> entry : tree.entrySet()) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(decoder.apply(entry.getKey())).append('=').append(entry.getValue());
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(decoder.apply(values[i])).append('=').append(counts[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(Long::valueOf);
+    }
+
+}
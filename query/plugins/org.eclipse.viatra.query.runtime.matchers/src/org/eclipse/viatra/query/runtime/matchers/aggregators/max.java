@@ -36,6 +36,9 @@ public final class max implements IAggregatorFactory {
 
     @Override
     public BoundAggregator getAggregatorLogic(Class<?> domainClass) {
+        PrimitiveExtremumOperator<?> primitiveOperator = PrimitiveExtremumOperator.getMax(domainClass);
+        if (primitiveOperator != null)
+            return new BoundAggregator(primitiveOperator, domainClass, domainClass);
         if (Comparable.class.isAssignableFrom(domainClass))
             return new BoundAggregator(ExtremumOperator.getMax(), domainClass, domainClass);
         else throw new IllegalArgumentException();
@@ -29,11 +29,11 @@ public final class sum implements IAggregatorFactory {
     @Override
     public BoundAggregator getAggregatorLogic(Class<?> domainClass) {
         if (Integer.class.equals(domainClass))
-            return new BoundAggregator(IntegerSumOperator.INSTANCE, Integer.class, Integer.class);
+            return new BoundAggregator(PrimitiveIntegerSumOperator.INSTANCE, Integer.class, Integer.class);
         if (Double.class.equals(domainClass))
-            return new BoundAggregator(DoubleSumOperator.INSTANCE, Double.class, Double.class);
+            return new BoundAggregator(PrimitiveDoubleSumOperator.INSTANCE, Double.class, Double.class);
         if (Long.class.equals(domainClass))
-            return new BoundAggregator(LongSumOperator.INSTANCE, Long.class, Long.class);
+            return new BoundAggregator(PrimitiveLongSumOperator.INSTANCE, Long.class, Long.class);
         else throw new IllegalArgumentException();
     }
 }
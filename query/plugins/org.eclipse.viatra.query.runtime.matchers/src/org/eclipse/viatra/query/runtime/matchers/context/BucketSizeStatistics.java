@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.context;
+
+import java.util.Arrays;
+
+/**
+ * An immutable summary of the distribution of the sizes of the groups (buckets) the tuples of a relation are projected
+ * into, see {@link IQueryRuntimeContext#estimateBucketSizeStatistics(IInputKey, org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask)}.
+ * E.g. for the source projection of an edge relation, the buckets are the sources and the bucket sizes are their
+ * out-degrees.
+ * <p>
+ * Besides the average bucket size, the summary describes the skew of the distribution: a few large buckets (hubs)
+ * barely influence the average, but they dominate the work of navigating from a source reached along other edges.
+ *
+ * @since 2.9
+ */
+public final class BucketSizeStatistics {
+
+    private final long bucketCount;
+    private final long tupleCount;
+    private final double sumOfSquaredSizes;
+    private final long[] histogram;
+
+    /**
+     * @param bucketCount
+     *            the number of non-empty buckets
+     * @param tupleCount
+     *            the total number of tuples, i.e. the sum of the bucket sizes
+     * @param sumOfSquaredSizes
+     *            the sum of the squares of the bucket sizes
+     * @param histogram
+     *            the number of buckets with a size in the range [2<sup>i</sup>, 2<sup>i+1</sup>) at index i
+     */
+    public BucketSizeStatistics(long bucketCount, long tupleCount, double sumOfSquaredSizes, long[] histogram) {
+        this.bucketCount = bucketCount;
+        this.tupleCount = tupleCount;
+        this.sumOfSquaredSizes = sumOfSquaredSizes;
+        this.histogram = histogram.clone();
+    }
+
+    /**
+     * Returns the number of non-empty buckets.
+     */
+    public long getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the total number of tuples in the buckets.
+     */
+    public long getTupleCount() {
+        return tupleCount;
+    }
+
+    /**
+     * Returns the average size of the non-empty buckets, i.e. the expected size of a uniformly chosen bucket.
+     */
+    public double getAverageBucketSize() {
+        return bucketCount == 0 ? 0.0 : ((double) tupleCount) / bucketCount;
+    }
+
+    /**
+     * Returns the expected size of the bucket a uniformly chosen tuple belongs to; this is at least the average bucket
+     * size, and the two are equal if all buckets have the same size.
+     */
+    public double getSizeBiasedAverageBucketSize() {
+        return tupleCount == 0 ? 0.0 : sumOfSquaredSizes / tupleCount;
+    }
+
+    /**
+     * Returns an upper bound for the size of the largest bucket, which is at most twice the actual size.
+     */
+    public long getMaximumBucketSize() {
+        for (int i = histogram.length - 1; i >= 0; i--) {
+            if (histogram[i] > 0) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of buckets with a size in the range [2<sup>i</sup>, 2<sup>i+1</sup>) at index i.
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "BucketSizeStatistics[buckets=" + bucketCount + ", tuples=" + tupleCount + ", histogram="
+                + Arrays.toString(histogram) + "]";
+    }
+
+}
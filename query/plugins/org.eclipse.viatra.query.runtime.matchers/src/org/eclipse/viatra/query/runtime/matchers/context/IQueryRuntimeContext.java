@@ -133,6 +133,25 @@ public interface IQueryRuntimeContext {
         } else return groupMask.isIdentity() ? Optional.of(1.0) : Optional.empty();
     }
     
+    /**
+     * Gives statistics on the distribution of the sizes of the different groups the tuples of the given relation are
+     * projected into by the given mask, if the context maintains them. Unlike
+     * {@link #estimateAverageBucketSize(IInputKey, TupleMask, Accuracy)}, these statistics reveal if a few groups are
+     * much larger than the rest.
+     * 
+     * <p> Must accept any input key, even non-enumerables or those not recognized by this runtime context. 
+     * The default implementation maintains no such statistics, and always returns {@link Optional#empty()}.
+     * 
+     * <p> PRE: {@link TupleMask#isNonrepeating()} must hold for the group mask.
+     * 
+     * @return if available, the distribution of the sizes of the projection groups of the given extensional relation
+     * 
+     * @since 2.9
+     */
+    public default Optional<BucketSizeStatistics> estimateBucketSizeStatistics(IInputKey key, TupleMask groupMask) {
+        return Optional.empty();
+    }
+    
     
     /**
      * Returns the tuples in the extensional relation identified by the input key, optionally seeded with the given tuple.
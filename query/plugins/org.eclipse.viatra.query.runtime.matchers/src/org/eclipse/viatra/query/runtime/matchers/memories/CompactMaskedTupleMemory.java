@@ -0,0 +1,452 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.memories;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
+import org.eclipse.viatra.query.runtime.matchers.util.IMemory;
+import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
+
+/**
+ * Memory-efficient implementation for indexers where most signatures only have a few tuples, selected by
+ * {@link MemoryType#COMPACT_SETS}.
+ * <p>
+ * The signatures of all buckets are stored in a single open-addressing hash table (with linear probing), instead of a
+ * hash map and a separate hash set per bucket. A bucket with a single tuple is stored as the tuple itself, a bucket of
+ * at most {@value #INLINE_BUCKET_CAPACITY} tuples as a small array; only larger buckets are stored as hash sets. For
+ * unary masks, the table is keyed by the value of the indexed column instead of a signature tuple.
+ *
+ * @since 2.9
+ */
+public final class CompactMaskedTupleMemory<Timestamp extends Comparable<Timestamp>>
+        extends MaskedTupleMemory<Timestamp> {
+
+    /**
+     * Buckets with at most this many tuples are stored as arrays, without hashing.
+     */
+    static final int INLINE_BUCKET_CAPACITY = 4;
+
+    private static final int INITIAL_TABLE_CAPACITY = 4;
+
+    /**
+     * Substitutes null values of the indexed column of unary masks, as null marks the free slots of the table.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final boolean unary;
+    /**
+     * The indexed column of unary masks, so that their keys are read from the tuples without computing signatures;
+     * -1 for other masks.
+     */
+    private final int keyPosition;
+
+    /**
+     * The keys stored in the table (signatures, or column values for unary masks); null for free slots.
+     */
+    private Object[] keys;
+    /**
+     * The bucket associated with the key in the same slot: a single {@link Tuple}, an {@link InlineBucket} or an
+     * {@link IMemory} of tuples.
+     */
+    private Object[] buckets;
+    private int keyCount;
+    private int tupleCount;
+
+    /**
+     * @param mask
+     *            The mask used to index the matchings
+     * @param owner
+     *            the object "owning" this memory
+     */
+    public CompactMaskedTupleMemory(TupleMask mask, Object owner) {
+        super(mask, owner);
+        if (0 == mask.getSize()) throw new IllegalArgumentException(mask.toString());
+        unary = 1 == mask.getSize();
+        keyPosition = unary ? mask.indices[0] : -1;
+        clear();
+    }
+
+    @Override
+    public boolean add(Tuple tuple) {
+        return addWithKey(tuple, unary ? keyOfValue(tuple.get(keyPosition)) : mask.transform(tuple));
+    }
+
+    @Override
+    public boolean add(Tuple tuple, Tuple signature) {
+        return addWithKey(tuple, keyOf(signature));
+    }
+
+    private boolean addWithKey(Tuple tuple, Object key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            if ((keyCount + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+                slot = findSlot(key);
+            }
+            slot = -slot - 1;
+            keys[slot] = key;
+            buckets[slot] = tuple;
+            keyCount++;
+            tupleCount++;
+            return true;
+        }
+        Object bucket = buckets[slot];
+        if (bucket instanceof Tuple) {
+            if (bucket.equals(tuple)) {
+                throw raiseDuplicateInsertion(tuple);
+            }
+            buckets[slot] = new InlineBucket((Tuple) bucket, tuple);
+        } else if (bucket instanceof InlineBucket) {
+            InlineBucket inlineBucket = (InlineBucket) bucket;
+            if (inlineBucket.contains(tuple)) {
+                throw raiseDuplicateInsertion(tuple);
+            }
+            if (inlineBucket.size < INLINE_BUCKET_CAPACITY) {
+                inlineBucket.append(tuple);
+            } else {
+                IMemory<Tuple> hashBucket = CollectionsFactory.createMemory(Object.class, MemoryType.SETS);
+                for (Tuple inlineTuple : inlineBucket) {
+                    hashBucket.addOne(inlineTuple);
+                }
+                hashBucket.addOne(tuple);
+                buckets[slot] = hashBucket;
+            }
+        } else if (!asMemory(bucket).addOne(tuple)) {
+            throw raiseDuplicateInsertion(tuple);
+        }
+        tupleCount++;
+        return false;
+    }
+
+    @Override
+    public boolean remove(Tuple tuple) {
+        return removeWithKey(tuple, unary ? keyOfValue(tuple.get(keyPosition)) : mask.transform(tuple));
+    }
+
+    @Override
+    public boolean remove(Tuple tuple, Tuple signature) {
+        return removeWithKey(tuple, keyOf(signature));
+    }
+
+    private boolean removeWithKey(Tuple tuple, Object key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            throw raiseDuplicateDeletion(tuple);
+        }
+        Object bucket = buckets[slot];
+        if (bucket instanceof Tuple) {
+            if (!bucket.equals(tuple)) {
+                throw raiseDuplicateDeletion(tuple);
+            }
+            removeSlot(slot);
+            keyCount--;
+            tupleCount--;
+            return true;
+        } else if (bucket instanceof InlineBucket) {
+            InlineBucket inlineBucket = (InlineBucket) bucket;
+            if (!inlineBucket.delete(tuple)) {
+                throw raiseDuplicateDeletion(tuple);
+            }
+            if (inlineBucket.size == 1) {
+                buckets[slot] = inlineBucket.elements[0];
+            }
+        } else {
+            IMemory<Tuple> hashBucket = asMemory(bucket);
+            if (!hashBucket.removeOneOrNop(tuple)) {
+                throw raiseDuplicateDeletion(tuple);
+            }
+            // shrink only well below the capacity of inline buckets, to avoid converting back and forth
+            if (hashBucket.size() <= INLINE_BUCKET_CAPACITY / 2) {
+                buckets[slot] = new InlineBucket(hashBucket);
+            }
+        }
+        tupleCount--;
+        return false;
+    }
+
+    @Override
+    public Map<Tuple, Timeline<Timestamp>> getWithTimeline(ITuple signature) {
+        throw new UnsupportedOperationException("Timeless memories do not support timestamp-based lookup!");
+    }
+
+    @Override
+    public Collection<Tuple> get(ITuple signature) {
+        int slot = findSlot(keyOf(signature));
+        if (slot < 0) {
+            return null;
+        }
+        Object bucket = buckets[slot];
+        if (bucket instanceof Tuple) {
+            return Collections.singleton((Tuple) bucket);
+        } else if (bucket instanceof InlineBucket) {
+            return (InlineBucket) bucket;
+        } else {
+            return asMemory(bucket).distinctValues();
+        }
+    }
+
+    @Override
+    public void clear() {
+        keys = new Object[INITIAL_TABLE_CAPACITY];
+        buckets = new Object[INITIAL_TABLE_CAPACITY];
+        keyCount = 0;
+        tupleCount = 0;
+    }
+
+    @Override
+    public Iterable<Tuple> getSignatures() {
+        return () -> new SlotIterator<Tuple>() {
+            @Override
+            protected Tuple current() {
+                Object key = keys[slot];
+                if (unary) {
+                    return Tuples.staticArityFlatTupleOf(key == NULL_KEY ? null : key);
+                } else {
+                    return (Tuple) key;
+                }
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Tuple> iterator() {
+        return new Iterator<Tuple>() {
+            final SlotIterator<Iterator<Tuple>> bucketIterator = new SlotIterator<Iterator<Tuple>>() {
+                @Override
+                protected Iterator<Tuple> current() {
+                    Object bucket = buckets[slot];
+                    if (bucket instanceof Tuple) {
+                        return Collections.singleton((Tuple) bucket).iterator();
+                    } else if (bucket instanceof InlineBucket) {
+                        return ((InlineBucket) bucket).iterator();
+                    } else {
+                        return asMemory(bucket).iterator();
+                    }
+                }
+            };
+            Iterator<Tuple> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && bucketIterator.hasNext()) {
+                    current = bucketIterator.next();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Tuple next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    @Override
+    public int getTotalSize() {
+        return tupleCount;
+    }
+
+    @Override
+    public int getKeysetSize() {
+        return keyCount;
+    }
+
+    private Object keyOf(ITuple signature) {
+        return unary ? keyOfValue(signature.get(0)) : signature;
+    }
+
+    private static Object keyOfValue(Object value) {
+        return value == null ? NULL_KEY : value;
+    }
+
+    private int homeSlotOf(Object key, int tableCapacity) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (tableCapacity - 1);
+    }
+
+    /**
+     * @return the slot of the key if present, or -(s+1) where s is the free slot where it should be inserted
+     */
+    private int findSlot(Object key) {
+        int indexMask = keys.length - 1;
+        int slot = homeSlotOf(key, keys.length);
+        while (true) {
+            Object candidate = keys[slot];
+            if (candidate == null) {
+                return -slot - 1;
+            } else if (candidate == key || candidate.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    /**
+     * Frees the given slot, shifting back the subsequent keys of the probe sequence, so that no tombstones are needed.
+     */
+    private void removeSlot(int slot) {
+        int indexMask = keys.length - 1;
+        int free = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & indexMask;
+            Object key = keys[next];
+            if (key == null) {
+                break;
+            }
+            int home = homeSlotOf(key, keys.length);
+            // the key may be moved to the free slot if its home slot is not cyclically within (free, next]
+            boolean reachable = free <= next ? (free < home && home <= next) : (free < home || home <= next);
+            if (!reachable) {
+                keys[free] = key;
+                buckets[free] = buckets[next];
+                free = next;
+            }
+        }
+        keys[free] = null;
+        buckets[free] = null;
+    }
+
+    private void resize(int newCapacity) {
+        Object[] oldKeys = keys;
+        Object[] oldBuckets = buckets;
+        keys = new Object[newCapacity];
+        buckets = new Object[newCapacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = -findSlot(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IMemory<Tuple> asMemory(Object bucket) {
+        return (IMemory<Tuple>) bucket;
+    }
+
+    /**
+     * Iterates over the occupied slots of the table.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        protected int slot = -1;
+        private int nextSlot = advance(0);
+
+        private int advance(int from) {
+            int candidate = from;
+            while (candidate < keys.length && keys[candidate] == null) {
+                candidate++;
+            }
+            return candidate;
+        }
+
+        protected abstract T current();
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < keys.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            slot = nextSlot;
+            nextSlot = advance(slot + 1);
+            return current();
+        }
+    }
+
+    /**
+     * A read-only set of a few tuples stored in an array, checked by linear search.
+     */
+    private static final class InlineBucket extends AbstractSet<Tuple> {
+        private final Tuple[] elements = new Tuple[INLINE_BUCKET_CAPACITY];
+        private int size;
+
+        InlineBucket(Tuple first, Tuple second) {
+            elements[0] = first;
+            elements[1] = second;
+            size = 2;
+        }
+
+        InlineBucket(IMemory<Tuple> tuples) {
+            for (Tuple tuple : tuples) {
+                elements[size++] = tuple;
+            }
+        }
+
+        void append(Tuple tuple) {
+            elements[size++] = tuple;
+        }
+
+        boolean delete(Tuple tuple) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].equals(tuple)) {
+                    elements[i] = elements[--size];
+                    elements[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Tuple> iterator() {
+            return new Iterator<Tuple>() {
+                int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public Tuple next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return elements[index++];
+                }
+            };
+        }
+    }
+
+}
@@ -78,7 +78,7 @@ public abstract class MaskedTupleMemory<Timestamp extends Comparable<Timestamp>>
     public static <T extends Comparable<T>> MaskedTupleMemory<T> create(final TupleMask mask,
             final MemoryType bucketType, final Object owner, final boolean isTimely, final boolean isLazy) {
         if (isTimely) {
-            if (bucketType != MemoryType.SETS) {
+            if (bucketType != MemoryType.SETS && bucketType != MemoryType.COMPACT_SETS) {
                 throw new IllegalArgumentException("Timely memories only support SETS as the bucket type!");
             }
             if (mask.isIdentity()) {
@@ -98,6 +98,8 @@ public abstract class MaskedTupleMemory<Timestamp extends Comparable<Timestamp>>
                 return new IdentityMaskedTupleMemory<T>(mask, bucketType, owner);
             } else if (0 == mask.getSize()) {
                 return new NullaryMaskedTupleMemory<T>(mask, bucketType, owner);
+            } else if (bucketType == MemoryType.COMPACT_SETS) {
+                return new CompactMaskedTupleMemory<T>(mask, owner);
             } else if (1 == mask.getSize()) {
                 return new UnaryMaskedTupleMemory<T>(mask, bucketType, owner);
             } else {
@@ -8,6 +8,11 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.matchers.psystem;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
+
 /**
  * An expression evaluator is used to execute arbitrary Java code during pattern matching. In order to include the
  * evaluation in the planning seemlessly it is expected from the evaluator implementors to report all used PVariables by
@@ -23,6 +28,17 @@ public interface IExpressionEvaluator {
      */
     String getShortDescription();
 
+    /**
+     * A textual representation of the code of the expression, such as its source text, used to detect changes of the
+     * expression. Evaluators with the same class, input parameters and non-null source are expected to compute the
+     * same function. The default implementation returns null, meaning that the source is not known.
+     * 
+     * @since 2.9
+     */
+    default String getExpressionSource() {
+        return null;
+    }
+
     /**
      * All input parameter names should be reported correctly.
      */
@@ -39,4 +55,40 @@ public interface IExpressionEvaluator {
      * @throws Exception
      */
     Object evaluateExpression(IValueProvider provider) throws Exception;
+
+    /**
+     * Evaluates the expression for a batch of inputs given in a columnar layout.
+     * <p>
+     * The default implementation calls {@link #evaluateExpression(IValueProvider)} for each row, reusing a single
+     * value provider; implementations are encouraged to override it with a loop reading the columns directly.
+     * 
+     * @param columns
+     *            the values of the input parameters, in the order of {@link #getInputParameterNames()}; the value of
+     *            the i-th parameter in a given row is <code>columns[i][row]</code>
+     * @param rowCount
+     *            the number of rows to evaluate; the columns and the results array contain at least this many elements
+     * @param results
+     *            the result of the expression for each row is stored in this array, as it would be returned by
+     *            {@link #evaluateExpression(IValueProvider)}
+     * @throws Exception
+     *             if the evaluation of any of the rows fails; in this case the contents of the results array are
+     *             undefined
+     * @since 2.9
+     */
+    default void evaluateExpressions(Object[][] columns, int rowCount, Object[] results) throws Exception {
+        final Map<String, Integer> columnIndices = new HashMap<>();
+        int index = 0;
+        for (String parameterName : getInputParameterNames()) {
+            columnIndices.putIfAbsent(parameterName, index++);
+        }
+        final int[] currentRow = new int[1];
+        final IValueProvider rowValues = variableName -> {
+            Integer column = columnIndices.get(variableName);
+            Preconditions.checkArgument(column != null, "Could not find variable %s", variableName);
+            return columns[column][currentRow[0]];
+        };
+        for (currentRow[0] = 0; currentRow[0] < rowCount; currentRow[0]++) {
+            results[currentRow[0]] = evaluateExpression(rowValues);
+        }
+    }
 }
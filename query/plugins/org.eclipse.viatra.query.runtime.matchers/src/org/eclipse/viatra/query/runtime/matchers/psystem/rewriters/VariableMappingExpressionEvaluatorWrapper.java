@@ -28,6 +28,10 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
 
     private final IExpressionEvaluator wrapped;
     private final Map<String, String> variableMapping;
+    /**
+     * True if each input parameter of the wrapped evaluator is mapped, so the columns of batch evaluations line up.
+     */
+    private final boolean mapsAllParameters;
     
     public VariableMappingExpressionEvaluatorWrapper(IExpressionEvaluator wrapped,
             Map<PVariable, PVariable> variableMapping) {
@@ -54,6 +58,7 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
         }
 
         // Populate mapping
+        boolean allMapped = true;
         for (String inputParameterName : this.wrapped.getInputParameterNames()) {
             String parameterName = rewrap ? previousMapping.get(inputParameterName) : inputParameterName;
             Preconditions.checkArgument(parameterName != null);
@@ -62,8 +67,11 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
             PVariable mapped = variableMapping.get(original);
             if (mapped != null){
                 this.variableMapping.put(inputParameterName, mapped.getName());
+            } else {
+                allMapped = false;
             }
         }
+        this.mapsAllParameters = allMapped;
     }
 
     @Override
@@ -71,6 +79,11 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
         return wrapped.getShortDescription();
     }
 
+    @Override
+    public String getExpressionSource() {
+        return wrapped.getExpressionSource();
+    }
+
     @Override
     public Iterable<String> getInputParameterNames() {
         return variableMapping.values();
@@ -85,4 +98,14 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
         });
     }
 
+    @Override
+    public void evaluateExpressions(Object[][] columns, int rowCount, Object[] results) throws Exception {
+        if (mapsAllParameters) {
+            // the columns are given in the order of the wrapped parameters, only their names differ
+            wrapped.evaluateExpressions(columns, rowCount, results);
+        } else {
+            IExpressionEvaluator.super.evaluateExpressions(columns, rowCount, results);
+        }
+    }
+
 }
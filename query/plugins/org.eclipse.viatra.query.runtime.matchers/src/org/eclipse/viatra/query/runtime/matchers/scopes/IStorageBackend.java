@@ -48,6 +48,14 @@ public interface IStorageBackend {
      * @param unique client promises to only insert a given tuple with multiplicity one
 	 */
 	ITableWriterBinary.Table<Object,Object> createBinaryTable(IInputKey key, ITableContext tableContext, boolean unique);
+
+	/**
+	 * Releases the resources held by the tables created by this backend; the tables must not be used afterwards.
+	 * @since 2.9
+	 */
+	default void dispose() {
+		// NOP
+	}
 	
 
 }
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableContext;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapBinaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapUnaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ValueDictionary;
+
+/**
+ * Storage backend that keeps the rows of its tables in off-heap memory, so that very large base relations do not
+ * increase garbage collection pauses. Only the distinct values referenced by the rows are kept on the heap, in a
+ * {@link ValueDictionary} shared by all tables of the backend.
+ * <p>
+ * The off-heap memory of the tables is released by {@link #dispose()}.
+ * 
+ * <p><strong>EXPERIMENTAL</strong>. This class or interface has been added as
+ * part of a work in progress. There is no guarantee that this API will
+ * work or that it will remain the same.
+ * 
+ * @since 2.9
+ */
+public class OffHeapStorageBackend implements IStorageBackend {
+
+	private final ValueDictionary dictionary = new ValueDictionary();
+	private final List<OffHeapUnaryTable<Object>> unaryTables = new ArrayList<>();
+	private final List<OffHeapBinaryTable<Object, Object>> binaryTables = new ArrayList<>();
+
+	@Override
+	public void startTransaction() {
+		// NOP
+	}
+
+	@Override
+	public void finishTransaction() {
+		// NOP
+	}
+
+	@Override
+	public OffHeapUnaryTable<Object> createUnaryTable(IInputKey key, ITableContext tableContext, boolean unique) {
+		OffHeapUnaryTable<Object> table = new OffHeapUnaryTable<>(key, tableContext, dictionary, unique);
+		unaryTables.add(table);
+		return table;
+	}
+
+	@Override
+	public OffHeapBinaryTable<Object, Object> createBinaryTable(IInputKey key, ITableContext tableContext,
+			boolean unique) {
+		OffHeapBinaryTable<Object, Object> table = new OffHeapBinaryTable<>(key, tableContext, dictionary, unique);
+		binaryTables.add(table);
+		return table;
+	}
+
+	/**
+	 * Releases the off-heap memory of all tables created by this backend; the tables are empty afterwards.
+	 */
+	@Override
+	public void dispose() {
+		unaryTables.forEach(OffHeapUnaryTable::dispose);
+		binaryTables.forEach(OffHeapBinaryTable::dispose);
+		unaryTables.clear();
+		binaryTables.clear();
+	}
+
+	public ValueDictionary getDictionary() {
+		return dictionary;
+	}
+
+}
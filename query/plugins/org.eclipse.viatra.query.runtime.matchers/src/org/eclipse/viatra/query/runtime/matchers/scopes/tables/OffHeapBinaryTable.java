@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes.tables;
+
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+
+/**
+ * Source-target bidirectional mapping stored off-heap.
+ * <p>
+ * Source and target values are represented by their id in a {@link ValueDictionary}. Each distinct row is a fixed
+ * size record in {@link OffHeapPages}, and rows are indexed by off-heap hash tables for each supported projection:
+ * the full row, the source column and the target column. Rows sharing the same source (resp. target) are chained in a
+ * doubly linked list, so that lookups by a single column enumerate exactly the matching rows.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as
+ * part of a work in progress. There is no guarantee that this API will
+ * work or that it will remain the same.
+ *
+ * @see SimpleBinaryTable
+ * @since 2.9
+ */
+public class OffHeapBinaryTable<Source, Target> extends AbstractIndexTable
+        implements ITableWriterBinary.Table<Source, Target> {
+
+    // row record layout
+    private static final int ROW_SIZE = 32;
+    private static final int SOURCE = 0;
+    private static final int TARGET = 4;
+    private static final int COUNT = 8;
+    private static final int NEXT_BY_SOURCE = 12;
+    private static final int PREV_BY_SOURCE = 16;
+    private static final int NEXT_BY_TARGET = 20;
+    private static final int PREV_BY_TARGET = 24;
+    private static final int NEXT_FREE = 28;
+
+    /**
+     * Row slot 0 is never used, so that it can stand for the end of a chain
+     */
+    private static final int NIL = 0;
+
+    private final ValueDictionary dictionary;
+    private final OffHeapPages rows = new OffHeapPages();
+    private int nextUnusedSlot = 1;
+    private int firstFreeSlot = NIL;
+
+    /**
+     * (source id, target id) -> row slot
+     */
+    private final OffHeapLongLongMap rowIndex = new OffHeapLongLongMap();
+    /**
+     * source id -> (first row slot, number of rows)
+     */
+    private final OffHeapLongLongMap sourceIndex = new OffHeapLongLongMap();
+    /**
+     * target id -> (first row slot, number of rows)
+     */
+    private final OffHeapLongLongMap targetIndex = new OffHeapLongLongMap();
+
+    private int totalRowCount = 0;
+    private boolean unique;
+
+    /**
+     * @param unique
+     *            client promises to only insert a given tuple with multiplicity one
+     */
+    public OffHeapBinaryTable(IInputKey inputKey, ITableContext tableContext, ValueDictionary dictionary,
+            boolean unique) {
+        super(inputKey, tableContext);
+        this.dictionary = dictionary;
+        this.unique = unique;
+        if (2 != inputKey.getArity())
+            throw new IllegalArgumentException(inputKey.toString());
+    }
+
+    @Override
+    public void write(Direction direction, Source holder, Target value) {
+        if (direction == Direction.INSERT) {
+            int slot = findRow(holder, value);
+            if (slot != NIL) {
+                if (unique) {
+                    String msg = String.format(
+                            "Error: trying to add duplicate value %s to the unique feature %s of host object %s. This indicates some errors in underlying model representation.",
+                            value, getInputKey().getPrettyPrintableName(), holder);
+                    logError(msg);
+                } else {
+                    setField(slot, COUNT, getField(slot, COUNT) + 1);
+                }
+            } else {
+                // each row holds a reference to its source and target value
+                insertRow(dictionary.acquire(holder), dictionary.acquire(value));
+                totalRowCount++;
+                if (emitNotifications) {
+                    deliverChangeNotifications(Tuples.staticArityFlatTupleOf(holder, value), true);
+                }
+            }
+        } else { // DELETE
+            int slot = findRow(holder, value);
+            if (slot == NIL) {
+                String msg = String.format(
+                        "Error: trying to remove non-existing value %s from the feature %s of host object %s. This indicates some errors in underlying model representation.",
+                        value, getInputKey().getPrettyPrintableName(), holder);
+                logError(msg);
+            } else if (getField(slot, COUNT) > 1) {
+                setField(slot, COUNT, getField(slot, COUNT) - 1);
+            } else {
+                removeRow(slot);
+                totalRowCount--;
+                if (emitNotifications) {
+                    deliverChangeNotifications(Tuples.staticArityFlatTupleOf(holder, value), false);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int countTuples(TupleMask seedMask, ITuple seed) {
+        switch (seedMask.getSize()) {
+        case 0: // unseeded
+            return totalRowCount;
+        case 1: // lookup by source or target
+            int seedIndex = seedMask.indices[0];
+            if (seedIndex == 0) { // lookup by source
+                return groupSize(sourceIndex, seed.get(0));
+            } else if (seedIndex == 1) { // lookup by target
+                return groupSize(targetIndex, seed.get(0));
+            } else
+                throw new IllegalArgumentException(seedMask.toString());
+        case 2: // containment check
+            // hack: if mask is not identity, then it is [1,0]/2, which is its own inverse
+            Source source = (Source) seedMask.getValue(seed, 0);
+            Target target = (Target) seedMask.getValue(seed, 1);
+            return containsRow(source, target) ? 1 : 0;
+        default:
+            throw new IllegalArgumentException(seedMask.toString());
+        }
+    }
+
+    @Override
+    public Optional<Long> estimateProjectionSize(TupleMask groupMask, Accuracy requiredAccuracy) {
+        // always exact count
+        if (groupMask.getSize() == 0) {
+            return totalRowCount == 0 ? Optional.of(0L) : Optional.of(1L);
+        } else if (groupMask.getSize() == 2) {
+            return Optional.of((long) totalRowCount);
+        } else if (groupMask.indices[0] == 0) { // project to holder
+            return Optional.of(sourceIndex.size());
+        } else { // project to value
+            return Optional.of(targetIndex.size());
+        }
+    }
+
+    @Override
+    public Stream<? extends Tuple> streamTuples(TupleMask seedMask, ITuple seed) {
+        switch (seedMask.getSize()) {
+        case 0: // unseeded
+            return IntStream.range(1, nextUnusedSlot).filter(slot -> getField(slot, COUNT) > 0)
+                    .mapToObj(this::rowToTuple);
+        case 1: // lookup by source or target
+            int seedIndex = seedMask.indices[0];
+            if (seedIndex == 0) { // lookup by source
+                return streamChain(sourceIndex, dictionary.getId(seed.get(0)), NEXT_BY_SOURCE)
+                        .mapToObj(this::rowToTuple);
+            } else if (seedIndex == 1) { // lookup by target
+                return streamChain(targetIndex, dictionary.getId(seed.get(0)), NEXT_BY_TARGET)
+                        .mapToObj(this::rowToTuple);
+            } else
+                throw new IllegalArgumentException(seedMask.toString());
+        case 2: // containment check
+            // hack: if mask is not identity, then it is [1,0]/2, which is its own inverse
+            Object source = seedMask.getValue(seed, 0);
+            Object target = seedMask.getValue(seed, 1);
+            if (findRow(source, target) != NIL)
+                return Stream.of(Tuples.staticArityFlatTupleOf(source, target));
+            else
+                return Stream.empty();
+        default:
+            throw new IllegalArgumentException(seedMask.toString());
+        }
+    }
+
+    @Override
+    public Stream<? extends Object> streamValues(TupleMask seedMask, ITuple seed) {
+        if (seedMask.getSize() != 1)
+            throw new IllegalArgumentException(seedMask.toString());
+
+        int seedIndex = seedMask.indices[0];
+        if (seedIndex == 0) { // lookup by source
+            return streamChain(sourceIndex, dictionary.getId(seed.get(0)), NEXT_BY_SOURCE)
+                    .mapToObj(slot -> dictionary.getValue(getField(slot, TARGET)));
+        } else if (seedIndex == 1) { // lookup by target
+            return streamChain(targetIndex, dictionary.getId(seed.get(0)), NEXT_BY_TARGET)
+                    .mapToObj(slot -> dictionary.getValue(getField(slot, SOURCE)));
+        } else
+            throw new IllegalArgumentException(seedMask.toString());
+    }
+
+    @Override
+    public boolean containsTuple(ITuple seed) {
+        return findRow(seed.get(0), seed.get(1)) != NIL;
+    }
+
+    public boolean containsRow(Source source, Target target) {
+        return findRow(source, target) != NIL;
+    }
+
+    /**
+     * Releases the off-heap memory of this table and its references to the values of the dictionary; the table is
+     * empty afterwards.
+     */
+    public void dispose() {
+        for (int slot = 1; slot < nextUnusedSlot; slot++) {
+            if (getField(slot, COUNT) > 0) {
+                dictionary.release(getField(slot, SOURCE));
+                dictionary.release(getField(slot, TARGET));
+            }
+        }
+        rows.release();
+        rowIndex.release();
+        sourceIndex.release();
+        targetIndex.release();
+        nextUnusedSlot = 1;
+        firstFreeSlot = NIL;
+        totalRowCount = 0;
+    }
+
+    private static long rowKey(int sourceId, int targetId) {
+        return (((long) sourceId) << 32) | (targetId & 0xFFFFFFFFL);
+    }
+
+    private int findRow(Object source, Object target) {
+        int sourceId = dictionary.getId(source);
+        int targetId = dictionary.getId(target);
+        if (sourceId == ValueDictionary.NO_ID || targetId == ValueDictionary.NO_ID) {
+            return NIL;
+        }
+        return (int) rowIndex.get(rowKey(sourceId, targetId), NIL);
+    }
+
+    private Tuple rowToTuple(int slot) {
+        return Tuples.staticArityFlatTupleOf(dictionary.getValue(getField(slot, SOURCE)),
+                dictionary.getValue(getField(slot, TARGET)));
+    }
+
+    private int getField(int slot, int field) {
+        return rows.getInt(((long) slot) * ROW_SIZE + field);
+    }
+
+    private void setField(int slot, int field, int value) {
+        rows.putInt(((long) slot) * ROW_SIZE + field, value);
+    }
+
+    private void insertRow(int sourceId, int targetId) {
+        int slot;
+        if (firstFreeSlot != NIL) {
+            slot = firstFreeSlot;
+            firstFreeSlot = getField(slot, NEXT_FREE);
+        } else {
+            slot = nextUnusedSlot++;
+            rows.ensureCapacity(((long) nextUnusedSlot) * ROW_SIZE);
+        }
+        setField(slot, SOURCE, sourceId);
+        setField(slot, TARGET, targetId);
+        setField(slot, COUNT, 1);
+        setField(slot, NEXT_FREE, NIL);
+        link(sourceIndex, sourceId, slot, NEXT_BY_SOURCE, PREV_BY_SOURCE);
+        link(targetIndex, targetId, slot, NEXT_BY_TARGET, PREV_BY_TARGET);
+        rowIndex.put(rowKey(sourceId, targetId), slot);
+    }
+
+    private void removeRow(int slot) {
+        int sourceId = getField(slot, SOURCE);
+        int targetId = getField(slot, TARGET);
+        rowIndex.remove(rowKey(sourceId, targetId));
+        unlink(sourceIndex, sourceId, slot, NEXT_BY_SOURCE, PREV_BY_SOURCE);
+        unlink(targetIndex, targetId, slot, NEXT_BY_TARGET, PREV_BY_TARGET);
+        setField(slot, COUNT, 0);
+        setField(slot, NEXT_FREE, firstFreeSlot);
+        firstFreeSlot = slot;
+        dictionary.release(sourceId);
+        dictionary.release(targetId);
+    }
+
+    /**
+     * Inserts the row at the head of the chain of the given key
+     */
+    private void link(OffHeapLongLongMap index, int key, int slot, int nextField, int prevField) {
+        long group = index.get(key, 0L);
+        int head = groupHead(group);
+        setField(slot, nextField, head);
+        setField(slot, prevField, NIL);
+        if (head != NIL) {
+            setField(head, prevField, slot);
+        }
+        index.put(key, group(slot, groupSize(group) + 1));
+    }
+
+    private void unlink(OffHeapLongLongMap index, int key, int slot, int nextField, int prevField) {
+        long group = index.get(key, 0L);
+        int size = groupSize(group) - 1;
+        int next = getField(slot, nextField);
+        int prev = getField(slot, prevField);
+        if (next != NIL) {
+            setField(next, prevField, prev);
+        }
+        if (prev != NIL) {
+            setField(prev, nextField, next);
+        }
+        if (size == 0) {
+            index.remove(key);
+        } else {
+            index.put(key, group(prev == NIL ? next : groupHead(group), size));
+        }
+    }
+
+    private static long group(int head, int size) {
+        return (((long) head) << 32) | (size & 0xFFFFFFFFL);
+    }
+
+    private static int groupHead(long group) {
+        return (int) (group >>> 32);
+    }
+
+    private static int groupSize(long group) {
+        return (int) group;
+    }
+
+    private int groupSize(OffHeapLongLongMap index, Object value) {
+        int id = dictionary.getId(value);
+        return id == ValueDictionary.NO_ID ? 0 : groupSize(index.get(id, 0L));
+    }
+
+    /**
+     * The row slots in the chain of the given key; the table must not be modified while the stream is consumed.
+     */
+    private IntStream streamChain(OffHeapLongLongMap index, long key, int nextField) {
+        if (key == ValueDictionary.NO_ID) {
+            return IntStream.empty();
+        }
+        long group = index.get(key, 0L);
+        if (groupSize(group) == 0) {
+            return IntStream.empty();
+        }
+        PrimitiveIterator.OfInt iterator = new PrimitiveIterator.OfInt() {
+            int current = groupHead(group);
+
+            @Override
+            public boolean hasNext() {
+                return current != NIL;
+            }
+
+            @Override
+            public int nextInt() {
+                int slot = current;
+                current = getField(slot, nextField);
+                return slot;
+            }
+        };
+        return StreamSupport.intStream(Spliterators.spliterator(iterator, groupSize(group),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED), false);
+    }
+
+}
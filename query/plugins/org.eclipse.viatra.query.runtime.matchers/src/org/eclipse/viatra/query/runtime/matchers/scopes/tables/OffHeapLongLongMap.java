@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes.tables;
+
+import java.util.stream.LongStream;
+
+/**
+ * Open addressing hash map from non-negative long keys to long values, stored in {@link OffHeapPages}.
+ * <p>
+ * Each entry occupies 16 bytes: the key incremented by one (so that zeroed memory reads as an empty slot) and the
+ * value. Collisions are resolved by linear probing, removal uses backward shifting instead of tombstones.
+ *
+ * @since 2.9
+ */
+final class OffHeapLongLongMap {
+
+    private static final int ENTRY_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private OffHeapPages entries = new OffHeapPages();
+    private long capacity;
+    private long mask;
+    private long size = 0;
+
+    OffHeapLongLongMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * @return the value associated with the key, or the given default if none
+     */
+    long get(long key, long defaultValue) {
+        long slot = findSlot(key);
+        return slot < 0 ? defaultValue : entries.getLong(slot * ENTRY_SIZE + 8);
+    }
+
+    void put(long key, long value) {
+        long storedKey = key + 1;
+        long slot = indexFor(storedKey);
+        while (true) {
+            long current = entries.getLong(slot * ENTRY_SIZE);
+            if (current == 0) {
+                entries.putLong(slot * ENTRY_SIZE, storedKey);
+                entries.putLong(slot * ENTRY_SIZE + 8, value);
+                if (++size * 2 > capacity) {
+                    rehash(capacity * 2);
+                }
+                return;
+            } else if (current == storedKey) {
+                entries.putLong(slot * ENTRY_SIZE + 8, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    boolean remove(long key) {
+        long slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        // backward shift deletion: move later entries of the probe sequence into the hole
+        long hole = slot;
+        long next = (hole + 1) & mask;
+        while (true) {
+            long nextKey = entries.getLong(next * ENTRY_SIZE);
+            if (nextKey == 0) {
+                break;
+            }
+            long home = indexFor(nextKey);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                entries.putLong(hole * ENTRY_SIZE, nextKey);
+                entries.putLong(hole * ENTRY_SIZE + 8, entries.getLong(next * ENTRY_SIZE + 8));
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        entries.putLong(hole * ENTRY_SIZE, 0);
+        entries.putLong(hole * ENTRY_SIZE + 8, 0);
+        size--;
+        return true;
+    }
+
+    /**
+     * The keys currently in the map; the map must not be modified while the stream is consumed.
+     */
+    LongStream keys() {
+        return LongStream.range(0, capacity).map(slot -> entries.getLong(slot * ENTRY_SIZE)).filter(key -> key != 0)
+                .map(key -> key - 1);
+    }
+
+    void release() {
+        entries.release();
+        size = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private long findSlot(long key) {
+        long storedKey = key + 1;
+        long slot = indexFor(storedKey);
+        while (true) {
+            long current = entries.getLong(slot * ENTRY_SIZE);
+            if (current == storedKey) {
+                return slot;
+            } else if (current == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private long indexFor(long storedKey) {
+        long hash = storedKey * 0x9E3779B97F4A7C15L;
+        return (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(long newCapacity) {
+        entries = new OffHeapPages();
+        entries.ensureCapacity(newCapacity * ENTRY_SIZE);
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+    }
+
+    private void rehash(long newCapacity) {
+        OffHeapPages oldEntries = entries;
+        long oldCapacity = capacity;
+        allocate(newCapacity);
+        size = 0;
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            long storedKey = oldEntries.getLong(slot * ENTRY_SIZE);
+            if (storedKey != 0) {
+                put(storedKey - 1, oldEntries.getLong(slot * ENTRY_SIZE + 8));
+            }
+        }
+        oldEntries.release();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes.tables;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Growable, zero-initialized memory area allocated outside of the Java heap, addressed by byte offsets.
+ * <p>
+ * The area consists of direct buffers of a fixed page size. Small areas are kept in a single, smaller buffer that is
+ * doubled on demand, so that the many small tables of a model do not waste a full page each. Accesses must be aligned
+ * to their own size, so that no value straddles a page boundary.
+ *
+ * @since 2.9
+ */
+final class OffHeapPages {
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final long OFFSET_MASK = PAGE_SIZE - 1L;
+    private static final int MIN_SIZE = 64;
+
+    private ByteBuffer[] pages = new ByteBuffer[0];
+    private long capacity = 0;
+
+    /**
+     * Makes sure that the byte offsets below the given limit are addressable. Newly added memory is zeroed.
+     */
+    void ensureCapacity(long bytes) {
+        if (bytes <= capacity) {
+            return;
+        }
+        if (bytes <= PAGE_SIZE) {
+            int newSize = Math.max(MIN_SIZE, Integer.highestOneBit((int) bytes - 1) << 1);
+            ByteBuffer newPage = allocate(newSize);
+            if (pages.length > 0) {
+                ByteBuffer oldPage = pages[0].duplicate();
+                oldPage.clear();
+                newPage.put(oldPage);
+                newPage.clear();
+            } else {
+                pages = new ByteBuffer[1];
+            }
+            pages[0] = newPage;
+            capacity = newSize;
+        } else {
+            ensureCapacity(PAGE_SIZE);
+            int pageCount = (int) ((bytes + OFFSET_MASK) >>> PAGE_BITS);
+            int oldPageCount = pages.length;
+            pages = Arrays.copyOf(pages, pageCount);
+            for (int i = oldPageCount; i < pageCount; i++) {
+                pages[i] = allocate(PAGE_SIZE);
+            }
+            capacity = ((long) pageCount) << PAGE_BITS;
+        }
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    int getInt(long offset) {
+        return pages[(int) (offset >>> PAGE_BITS)].getInt((int) (offset & OFFSET_MASK));
+    }
+
+    void putInt(long offset, int value) {
+        pages[(int) (offset >>> PAGE_BITS)].putInt((int) (offset & OFFSET_MASK), value);
+    }
+
+    long getLong(long offset) {
+        return pages[(int) (offset >>> PAGE_BITS)].getLong((int) (offset & OFFSET_MASK));
+    }
+
+    void putLong(long offset, long value) {
+        pages[(int) (offset >>> PAGE_BITS)].putLong((int) (offset & OFFSET_MASK), value);
+    }
+
+    /**
+     * Drops all allocated pages; the memory is given back once the buffers are collected.
+     */
+    void release() {
+        pages = new ByteBuffer[0];
+        capacity = 0;
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+    }
+
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes.tables;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+
+/**
+ * Simple value set stored off-heap.
+ * <p>
+ * Values are represented by their id in a {@link ValueDictionary}; the multiplicities of the ids are kept in an
+ * off-heap hash table, so the rows themselves do not burden the garbage collector.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as
+ * part of a work in progress. There is no guarantee that this API will
+ * work or that it will remain the same.
+ *
+ * @see SimpleUnaryTable
+ * @since 2.9
+ */
+public class OffHeapUnaryTable<Value> extends AbstractIndexTable implements ITableWriterUnary.Table<Value> {
+
+    private final ValueDictionary dictionary;
+    /**
+     * value id -> multiplicity
+     */
+    private final OffHeapLongLongMap values = new OffHeapLongLongMap();
+
+    private boolean unique;
+
+    /**
+     * @param unique
+     *            client promises to only insert a given tuple with multiplicity one
+     */
+    public OffHeapUnaryTable(IInputKey inputKey, ITableContext tableContext, ValueDictionary dictionary,
+            boolean unique) {
+        super(inputKey, tableContext);
+        this.dictionary = dictionary;
+        this.unique = unique;
+        if (1 != inputKey.getArity())
+            throw new IllegalArgumentException(inputKey.toString());
+    }
+
+    @Override
+    public void write(Direction direction, Value value) {
+        if (direction == Direction.INSERT) {
+            int id = dictionary.getId(value);
+            long count = id == ValueDictionary.NO_ID ? 0 : values.get(id, 0);
+            boolean changed = count == 0;
+            if (unique && !changed) {
+                String msg = String.format(
+                        "Error: trying to add duplicate value %s to the unique set %s. This indicates some errors in underlying model representation.",
+                        value, getInputKey().getPrettyPrintableName());
+                logError(msg);
+            }
+            if (changed) {
+                // each stored value holds a reference in the dictionary
+                id = dictionary.acquire(value);
+            }
+            values.put(id, count + 1);
+            if (changed && emitNotifications) {
+                deliverChangeNotifications(Tuples.staticArityFlatTupleOf(value), true);
+            }
+        } else { // DELETE
+            int id = dictionary.getId(value);
+            long count = id == ValueDictionary.NO_ID ? 0 : values.get(id, 0);
+            boolean changed = count == 1;
+            if (unique && !changed) {
+                String msg = String.format(
+                        "Error: trying to remove duplicate value %s from the unique set %s. This indicates some errors in underlying model representation.",
+                        value, getInputKey().getPrettyPrintableName());
+                logError(msg);
+            }
+            if (count > 1) {
+                values.put(id, count - 1);
+            } else if (count == 1) {
+                values.remove(id);
+                dictionary.release(id);
+            }
+            if (changed && emitNotifications) {
+                deliverChangeNotifications(Tuples.staticArityFlatTupleOf(value), false);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsTuple(ITuple seed) {
+        return containsValue(seed.get(0));
+    }
+
+    private boolean containsValue(Object value) {
+        long id = dictionary.getId(value);
+        return id != ValueDictionary.NO_ID && values.containsKey(id);
+    }
+
+    @Override
+    public int countTuples(TupleMask seedMask, ITuple seed) {
+        if (seedMask.getSize() == 0) { // unseeded
+            return (int) values.size();
+        } else {
+            return containsValue(seed.get(0)) ? 1 : 0;
+        }
+    }
+
+    @Override
+    public Optional<Long> estimateProjectionSize(TupleMask groupMask, Accuracy requiredAccuracy) {
+        // always exact count
+        if (groupMask.getSize() == 0) {
+            return values.isEmpty() ? Optional.of(0L) : Optional.of(1L);
+        } else {
+            return Optional.of(values.size());
+        }
+    }
+
+    @Override
+    public Stream<? extends Tuple> streamTuples(TupleMask seedMask, ITuple seed) {
+        if (seedMask.getSize() == 0) { // unseeded
+            return streamAllValues().map(Tuples::staticArityFlatTupleOf);
+        } else {
+            Object value = seed.get(0);
+            if (containsValue(value))
+                return Stream.of(Tuples.staticArityFlatTupleOf(value));
+            else
+                return Stream.empty();
+        }
+    }
+
+    @Override
+    public Stream<? extends Object> streamValues(TupleMask seedMask, ITuple seed) {
+        if (seedMask.getSize() == 0) { // unseeded
+            return streamAllValues();
+        } else {
+            throw new IllegalArgumentException(seedMask.toString());
+        }
+    }
+
+    /**
+     * Releases the off-heap memory of this table and its references to the values of the dictionary; the table is
+     * empty afterwards.
+     */
+    public void dispose() {
+        values.keys().forEach(id -> dictionary.release((int) id));
+        values.release();
+    }
+
+    private Stream<Object> streamAllValues() {
+        return values.keys().mapToObj(id -> dictionary.getValue((int) id));
+    }
+
+}
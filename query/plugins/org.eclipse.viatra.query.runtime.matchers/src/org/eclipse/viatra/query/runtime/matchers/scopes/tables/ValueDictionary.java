@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.matchers.scopes.tables;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+
+/**
+ * Assigns dense, non-negative integer surrogate ids to the values stored in off-heap tables.
+ * <p>
+ * Only distinct values are kept on the heap (once per dictionary, shared by all tables using it), while the rows
+ * referring to them are stored as ids off-heap. The ids are reference counted by the tables: once no table refers to a
+ * value anymore, the value is forgotten and its id is reused for the next new value. Thus an id is only stable as long
+ * as it is referenced.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as
+ * part of a work in progress. There is no guarantee that this API will
+ * work or that it will remain the same.
+ *
+ * @see OffHeapUnaryTable
+ * @see OffHeapBinaryTable
+ * @since 2.9
+ */
+public class ValueDictionary {
+
+    /**
+     * Returned by {@link #getId(Object)} for values that are not stored.
+     */
+    public static final int NO_ID = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Object, Integer> ids = CollectionsFactory.createMap();
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int[] referenceCounts = new int[INITIAL_CAPACITY];
+    /**
+     * The number of ids ever assigned, i.e. the ids below this limit are either in use or free
+     */
+    private int assignedIds = 0;
+    /**
+     * Stack of the ids that were released and can be reused
+     */
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeIdCount = 0;
+
+    /**
+     * Registers a reference to the given value.
+     *
+     * @return the id of the given value, assigning a fresh or reused one if necessary
+     */
+    public int acquire(Object value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = allocateId();
+            values[id] = value;
+            ids.put(value, id);
+        }
+        referenceCounts[id]++;
+        return id;
+    }
+
+    /**
+     * Unregisters a reference to the value of the given id, previously registered by {@link #acquire(Object)}. If
+     * there are no references left, the value is forgotten and the id may be reused.
+     */
+    public void release(int id) {
+        if (--referenceCounts[id] == 0) {
+            ids.remove(values[id]);
+            values[id] = null;
+            if (freeIdCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+            }
+            freeIds[freeIdCount++] = id;
+        }
+    }
+
+    /**
+     * @return the id of the given value, or {@link #NO_ID} if it is not stored
+     */
+    public int getId(Object value) {
+        Integer id = ids.get(value);
+        return id == null ? NO_ID : id;
+    }
+
+    public Object getValue(int id) {
+        return values[id];
+    }
+
+    /**
+     * @return the number of distinct values that are currently referenced
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    private int allocateId() {
+        if (freeIdCount > 0) {
+            return freeIds[--freeIdCount];
+        }
+        if (assignedIds == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            referenceCounts = Arrays.copyOf(referenceCounts, referenceCounts.length * 2);
+        }
+        return assignedIds++;
+    }
+
+}
@@ -147,7 +147,15 @@ public final class CollectionsFactory
        /**
         * Duplicate key-value pairs allowed
         */
-       MULTISETS
+       MULTISETS,
+       /**
+        * A single key-value pair is stored at most once, like {@link #SETS}; memories of tuple indexers store small
+        * buckets in a compact representation, see
+        * {@link org.eclipse.viatra.query.runtime.matchers.memories.CompactMaskedTupleMemory}. Other collections treat
+        * it as {@link #SETS}.
+        * @since 2.9
+        */
+       COMPACT_SETS
    }
    
     /**
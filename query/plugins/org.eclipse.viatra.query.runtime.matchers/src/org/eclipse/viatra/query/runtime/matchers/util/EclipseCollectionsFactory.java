@@ -93,6 +93,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
                 case MULTISETS:
                     return (IMultiLookup<K, V>) new EclipseCollectionsMultiLookup.FromLongs.ToMultisets.OfLongs();
                 case SETS:
+                case COMPACT_SETS:
                     return (IMultiLookup<K, V>) new EclipseCollectionsMultiLookup.FromLongs.ToSets.OfLongs();
                 default:
                     throw new IllegalArgumentException(toBuckets.toString());
@@ -102,6 +103,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
                 case MULTISETS:
                     return new EclipseCollectionsMultiLookup.FromLongs.ToMultisets.OfObjects();
                 case SETS:
+                case COMPACT_SETS:
                     return new EclipseCollectionsMultiLookup.FromLongs.ToSets.OfObjects();
                 default:
                     throw new IllegalArgumentException(toBuckets.toString());
@@ -113,6 +115,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
                 case MULTISETS:
                     return new EclipseCollectionsMultiLookup.FromObjects.ToMultisets.OfLongs();
                 case SETS:
+                case COMPACT_SETS:
                     return new EclipseCollectionsMultiLookup.FromObjects.ToSets.OfLongs();
                 default:
                     throw new IllegalArgumentException(toBuckets.toString());
@@ -122,6 +125,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
                 case MULTISETS:
                     return new EclipseCollectionsMultiLookup.FromObjects.ToMultisets.OfObjects();
                 case SETS:
+                case COMPACT_SETS:
                     return new EclipseCollectionsMultiLookup.FromObjects.ToSets.OfObjects();
                 default:
                     throw new IllegalArgumentException(toBuckets.toString());
@@ -138,6 +142,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
             case MULTISETS:
                 return (IMemory<T>) new EclipseCollectionsLongMultiset();
             case SETS:
+            case COMPACT_SETS:
                 return (IMemory<T>) new EclipseCollectionsLongSetMemory();
             default:
                 throw new IllegalArgumentException(memoryType.toString());
@@ -147,6 +152,7 @@ public class EclipseCollectionsFactory implements ICollectionsFramework {
             case MULTISETS:
                 return new EclipseCollectionsMultiset<>();
             case SETS:
+            case COMPACT_SETS:
                 return new EclipseCollectionsSetMemory<>();
             default:
                 throw new IllegalArgumentException(memoryType.toString());
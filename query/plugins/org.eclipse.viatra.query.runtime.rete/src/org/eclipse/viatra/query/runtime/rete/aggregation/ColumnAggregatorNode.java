@@ -8,8 +8,15 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.aggregation;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.viatra.query.runtime.matchers.context.IPosetComparator;
 import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
@@ -34,6 +41,9 @@ import org.eclipse.viatra.query.runtime.rete.network.mailbox.timeless.PosetAware
  * The node is capable of operating in the delete and re-derive mode. In this mode, it is also possible to equip the
  * node with an {@link IPosetComparator} to identify monotone changes; thus, ensuring that a fix-point can be reached
  * during the evaluation.
+ * <p>
+ * Outside of the delete and re-derive mode, batches of updates are folded group by group, and the groups touched by a
+ * large batch are folded in parallel if the engine has a propagation pool.
  * 
  * @author Gabor Bergmann
  * @author Tamas Szabo
@@ -68,6 +78,13 @@ public class ColumnAggregatorNode<Domain, Accumulator, AggregateResult>
      */
     protected CommunicationGroup currentGroup;
 
+    /**
+     * The minimum number of groups a batch of updates has to touch for the groups to be folded in parallel.
+     * 
+     * @since 2.9
+     */
+    protected static final int PARALLEL_AGGREGATION_THRESHOLD = 256;
+
     /**
      * Creates a new column aggregator node.
      * 
@@ -175,6 +192,110 @@ public class ColumnAggregatorNode<Domain, Accumulator, AggregateResult>
         updateWithPosetInfo(direction, update, false);
     }
 
+    /**
+     * Folds the updates of the batch into the accumulators group by group, and propagates at most one change of the
+     * aggregate result per group, in the order the groups first appear in the batch. If the engine has a propagation
+     * pool and the batch touches at least {@link #PARALLEL_AGGREGATION_THRESHOLD} groups, the groups are folded
+     * concurrently; the accumulators are stored and the results are propagated on the calling thread afterwards.
+     * <p>
+     * In delete and re-derive mode, the updates are processed one by one.
+     * 
+     * @since 2.9
+     */
+    @Override
+    public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+        if (this.deleteRederiveEvaluation) {
+            super.batchUpdate(updates, timestamp);
+            return;
+        }
+        final Map<Tuple, GroupFold> folds = new LinkedHashMap<>();
+        for (final Entry<Tuple, Integer> entry : updates) {
+            final Tuple update = entry.getKey();
+            final Tuple key = groupMask.transform(update);
+            @SuppressWarnings("unchecked")
+            final Domain aggregableValue = (Domain) runtimeContext.unwrapElement(columnMask.transform(update).get(0));
+            folds.computeIfAbsent(key, k -> new GroupFold(k, getMainAccumulator(k))).add(aggregableValue,
+                    entry.getValue());
+        }
+
+        final List<GroupFold> groupFolds = new ArrayList<>(folds.values());
+        final ForkJoinPool pool = reteContainer.getNetwork().getEngine().getPropagationPool();
+        if (pool != null && groupFolds.size() >= PARALLEL_AGGREGATION_THRESHOLD) {
+            foldConcurrently(groupFolds, pool);
+        } else {
+            for (final GroupFold fold : groupFolds) {
+                fold.fold();
+            }
+        }
+
+        for (final GroupFold fold : groupFolds) {
+            storeIfNotNeutral(fold.key, fold.newAccumulator, memory);
+            propagateAggregateResultUpdate(fold.key, fold.oldValue, fold.newValue, timestamp);
+        }
+    }
+
+    private void foldConcurrently(final List<GroupFold> groupFolds, final ForkJoinPool pool) {
+        final int chunkCount = Math.min(groupFolds.size(), 4 * pool.getParallelism());
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            final List<GroupFold> chunk = groupFolds.subList(i * groupFolds.size() / chunkCount,
+                    (i + 1) * groupFolds.size() / chunkCount);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (final GroupFold fold : chunk) {
+                    fold.fold();
+                }
+            }));
+        }
+        if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+    }
+
+    /**
+     * The updates of a batch falling into the same group; folding only touches the accumulator of the group, so
+     * different groups can be folded concurrently.
+     */
+    private final class GroupFold {
+        final Tuple key;
+        final List<Domain> values = new ArrayList<>(1);
+        final List<Integer> counts = new ArrayList<>(1);
+        Accumulator newAccumulator;
+        AggregateResult oldValue;
+        AggregateResult newValue;
+
+        GroupFold(final Tuple key, final Accumulator oldAccumulator) {
+            this.key = key;
+            this.newAccumulator = oldAccumulator;
+        }
+
+        void add(final Domain value, final int count) {
+            values.add(value);
+            counts.add(count);
+        }
+
+        void fold() {
+            // the old aggregate must be computed before the accumulator is updated, possibly in place
+            oldValue = operator.getAggregate(newAccumulator);
+            for (int i = 0; i < values.size(); i++) {
+                final int count = counts.get(i);
+                final boolean isInsertion = count > 0;
+                for (int j = 0; j < Math.abs(count); j++) {
+                    newAccumulator = operator.update(newAccumulator, values.get(i), isInsertion);
+                }
+            }
+            newValue = operator.getAggregate(newAccumulator);
+        }
+    }
+
     /**
      * @since 2.4
      */
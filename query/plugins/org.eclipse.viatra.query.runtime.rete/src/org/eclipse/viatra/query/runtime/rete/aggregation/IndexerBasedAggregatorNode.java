@@ -22,6 +22,7 @@ import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
 import org.eclipse.viatra.query.runtime.rete.index.DefaultIndexerListener;
 import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.index.IndexerListener;
 import org.eclipse.viatra.query.runtime.rete.index.ProjectionIndexer;
 import org.eclipse.viatra.query.runtime.rete.index.StandardIndexer;
 import org.eclipse.viatra.query.runtime.rete.network.Node;
@@ -45,6 +46,7 @@ public abstract class IndexerBasedAggregatorNode extends StandardNode implements
     IndexerBasedAggregatorNode me;
     int sourceWidth;
     Map<Tuple, Object> mainAggregates;
+    IndexerListener projectionListener;
 
     AggregatorOuterIndexer aggregatorOuterIndexer = null;
     AggregatorOuterIdentityIndexer[] aggregatorOuterIdentityIndexers = null;
@@ -77,12 +79,49 @@ public abstract class IndexerBasedAggregatorNode extends StandardNode implements
         for (Tuple signature : projection.getSignatures()) {
             mainAggregates.put(signature, aggregateGroup(signature, projection.get(signature)));
         }
-        projection.attachListener(new DefaultIndexerListener(this) {
+        projectionListener = new DefaultIndexerListener(this) {
             @Override
             public void notifyIndexerUpdate(Direction direction, Tuple updateElement, Tuple signature, boolean change, Timestamp timestamp) {
                 aggregateUpdate(direction, updateElement, signature, change);
             }
-        });
+
+            @Override
+            public void notifyIndexerBatchUpdate(Direction direction, Collection<Tuple> updateElements,
+                    Tuple signature, boolean change, Timestamp timestamp) {
+                if (updateElements.size() == 1) {
+                    aggregateUpdate(direction, updateElements.iterator().next(), signature, change);
+                } else {
+                    aggregateBatchUpdate(signature);
+                }
+            }
+
+            @Override
+            public boolean supportsBatchUpdates() {
+                return true;
+            }
+        };
+        projection.attachListener(projectionListener);
+    }
+
+    /**
+     * Detaches this node from the projection indexer it was initialized with, so that the node can be discarded. The
+     * projection is kept, so that {@link #getProjection()} still returns it.
+     * 
+     * @since 2.9
+     */
+    public void disconnectFromProjection() {
+        if (projectionListener != null) {
+            projection.detachListener(projectionListener);
+            projectionListener = null;
+        }
+    }
+
+    /**
+     * @return the projection indexer whose tuple groups are aggregated, or null if not initialized yet
+     * @since 2.9
+     */
+    public ProjectionIndexer getProjection() {
+        return projection;
     }
 
     /**
@@ -160,6 +199,26 @@ public abstract class IndexerBasedAggregatorNode extends StandardNode implements
                                                                                                                  * non-null
                                                                                                                  */,
                 direction, updateElement, change);
+        replaceAggregate(signature, oldAggregate, safeOldAggregate, newAggregate, empty);
+    }
+
+    /**
+     * Reaggregates a group after a batch of updates with the same signature, propagating a single change of the
+     * aggregate instead of one per update.
+     * 
+     * @since 2.9
+     */
+    protected void aggregateBatchUpdate(Tuple signature) {
+        Collection<Tuple> currentGroup = projection.get(signature);
+        Object oldAggregate = mainAggregates.get(signature);
+        Object safeOldAggregate = oldAggregate == null ? aggregateGroup(signature, null) : oldAggregate;
+        boolean empty = currentGroup == null || currentGroup.isEmpty();
+        Object newAggregate = empty ? null : aggregateGroup(signature, currentGroup);
+        replaceAggregate(signature, oldAggregate, safeOldAggregate, newAggregate, empty);
+    }
+
+    private void replaceAggregate(Tuple signature, Object oldAggregate, Object safeOldAggregate, Object newAggregate,
+            boolean empty) {
         if (!empty)
             mainAggregates.put(signature, newAggregate);
         else
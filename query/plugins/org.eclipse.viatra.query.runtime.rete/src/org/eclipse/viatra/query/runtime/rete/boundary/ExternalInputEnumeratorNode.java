@@ -11,6 +11,7 @@ package org.eclipse.viatra.query.runtime.rete.boundary;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
@@ -53,6 +54,12 @@ public class ExternalInputEnumeratorNode extends StandardNode
     private Network network;
     private Address<? extends Receiver> myAddress;
     private boolean parallelExecutionEnabled;
+    private InputTupleInterner interner;
+    /**
+     * Whether the current contents were registered at the interner; this happens at the first pull, as the pulled
+     * contents already reflect all earlier updates.
+     */
+    private boolean contentsAcquired = false;
     /**
      * @since 1.6
      */
@@ -101,6 +108,7 @@ public class ExternalInputEnumeratorNode extends StandardNode
 
         this.context = context;
         this.parallelExecutionEnabled = engine.isParallelExecutionEnabled();
+        this.interner = inputConnector.getInterner();
 
         engine.addDisconnectable(this);
         context.addUpdateListener(inputKey, globalSeed, this);
@@ -137,8 +145,9 @@ public class ExternalInputEnumeratorNode extends StandardNode
     public void pullInto(final Collection<Tuple> collector, final boolean flush) {
         final Iterable<Tuple> tuples = getTuplesInternal();
         if (tuples != null) {
+            final boolean acquire = startAcquiring();
             for (final Tuple tuple : tuples) {
-                collector.add(tuple);
+                collector.add(acquire ? interner.acquire(tuple) : lookup(tuple));
             }            
         }
     }
@@ -147,15 +156,57 @@ public class ExternalInputEnumeratorNode extends StandardNode
     public void pullIntoWithTimeline(final Map<Tuple, Timeline<Timestamp>> collector, final boolean flush) {
         final Iterable<Tuple> tuples = getTuplesInternal();
         if (tuples != null) {
+            final boolean acquire = startAcquiring();
             for (final Tuple tuple : tuples) {
-                collector.put(tuple, Timestamp.INSERT_AT_ZERO_TIMELINE);
+                collector.put(acquire ? interner.acquire(tuple) : lookup(tuple), Timestamp.INSERT_AT_ZERO_TIMELINE);
             }            
         }
     }
 
+    /**
+     * @return true if the contents being pulled are to be registered at the interner
+     */
+    private boolean startAcquiring() {
+        if (interner != null && !contentsAcquired) {
+            contentsAcquired = true;
+            return true;
+        }
+        return false;
+    }
+
+    private Tuple lookup(final Tuple tuple) {
+        return interner == null ? tuple : interner.lookup(tuple);
+    }
+
+    private Tuple intern(final Tuple tuple, final boolean isInsertion) {
+        if (interner == null) {
+            return tuple;
+        } else if (!contentsAcquired) {
+            // the update will be registered by the first pull, if it is still in effect
+            return interner.lookup(tuple);
+        } else {
+            return isInsertion ? interner.acquire(tuple) : interner.release(tuple);
+        }
+    }
+
     /* Update from runtime context */
     @Override
-    public void update(IInputKey key, Tuple update, boolean isInsertion) {
+    public void update(IInputKey key, Tuple rawUpdate, boolean isInsertion) {
+        final Lock updateLock = network.getEngine().getUpdateLock();
+        if (updateLock == null) {
+            updateInternal(rawUpdate, isInsertion);
+        } else {
+            updateLock.lock();
+            try {
+                updateInternal(rawUpdate, isInsertion);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void updateInternal(Tuple rawUpdate, boolean isInsertion) {
+        final Tuple update = intern(rawUpdate, isInsertion);
         if (parallelExecutionEnabled) {
             // send back to myself as an official external update, and then propagate it transparently
             network.sendExternalUpdate(myAddress, direction(isInsertion), update);
@@ -34,6 +34,8 @@ public final class InputConnector {
     
     private Map<IInputKey, Map<Tuple, Address<ExternalInputEnumeratorNode>>> externalInputRoots = CollectionsFactory.createMap();
     
+    private InputTupleInterner interner = null;
+    
 //    /*
 //     * arity:1 used as simple entity constraints label is the object representing the type null label means all entities
 //     * regardless of type (global supertype), if allowed
@@ -68,6 +70,28 @@ public final class InputConnector {
         return network;
     }
 
+    /**
+     * Enables the interning of data values in the tuples entering the network through input nodes connected from now
+     * on. Input nodes that are already connected are not affected; as interning does not change tuple equality, this
+     * does not influence the query results.
+     * 
+     * @see InputTupleInterner
+     * @since 2.9
+     */
+    public void enableInterning() {
+        if (interner == null) {
+            interner = new InputTupleInterner();
+        }
+    }
+
+    /**
+     * @return the interner applied to incoming tuples, or null if interning is disabled
+     * @since 2.9
+     */
+    public InputTupleInterner getInterner() {
+        return interner;
+    }
+
 
     /**
      * Connects a given input filter node to the external input source.
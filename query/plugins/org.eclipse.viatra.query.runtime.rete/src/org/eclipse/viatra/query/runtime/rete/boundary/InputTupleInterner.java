@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.boundary;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+
+/**
+ * Replaces the data values (boxed primitives and strings) of the tuples entering the Rete network with canonical
+ * instances, so that equal values stored in different node memories share a single wrapper object.
+ *
+ * <p>
+ * Interning only deduplicates the value objects themselves: the tuples and the node memories keep their size, and
+ * hashing costs are unchanged. It pays off for models where many attribute values are equal but stored as separate
+ * objects, e.g. strings loaded from a serialized model or boxed numbers outside the range cached by the JDK.
+ *
+ * <p>
+ * The canonical instances are reference counted by the occurrences of values in the tuples acquired by the input
+ * nodes; a value is released as soon as the last tuple containing it is deleted, so the interner never keeps values
+ * that are no longer in the model.
+ *
+ * @since 2.9
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class InputTupleInterner {
+
+    private static final class Entry {
+        final Object canonical;
+        int count;
+
+        Entry(Object canonical) {
+            this.canonical = canonical;
+        }
+    }
+
+    private final Map<Object, Entry> entries = new HashMap<>();
+
+    /**
+     * Registers an occurrence of each data value of the given tuple.
+     *
+     * @return a tuple equal to the given one, with data values replaced by their canonical instances; the argument
+     *         itself if no replacement was necessary
+     */
+    public Tuple acquire(Tuple tuple) {
+        Object[] elements = null;
+        final int size = tuple.getSize();
+        for (int i = 0; i < size; i++) {
+            final Object element = tuple.get(i);
+            if (isInternable(element)) {
+                final Entry entry = entries.computeIfAbsent(element, Entry::new);
+                entry.count++;
+                elements = replace(tuple, elements, i, element, entry.canonical);
+            }
+        }
+        return elements == null ? tuple : Tuples.flatTupleOf(elements);
+    }
+
+    /**
+     * Unregisters an occurrence of each data value of the given tuple; values without remaining occurrences are
+     * forgotten.
+     *
+     * @return a tuple equal to the given one, with data values replaced by their canonical instances if still known
+     */
+    public Tuple release(Tuple tuple) {
+        Object[] elements = null;
+        final int size = tuple.getSize();
+        for (int i = 0; i < size; i++) {
+            final Object element = tuple.get(i);
+            if (isInternable(element)) {
+                final Entry entry = entries.get(element);
+                if (entry != null) {
+                    if (--entry.count == 0) {
+                        entries.remove(element);
+                    }
+                    elements = replace(tuple, elements, i, element, entry.canonical);
+                }
+            }
+        }
+        return elements == null ? tuple : Tuples.flatTupleOf(elements);
+    }
+
+    /**
+     * Replaces the data values of the given tuple with their canonical instances, without registering occurrences.
+     */
+    public Tuple lookup(Tuple tuple) {
+        Object[] elements = null;
+        final int size = tuple.getSize();
+        for (int i = 0; i < size; i++) {
+            final Object element = tuple.get(i);
+            if (isInternable(element)) {
+                final Entry entry = entries.get(element);
+                if (entry != null) {
+                    elements = replace(tuple, elements, i, element, entry.canonical);
+                }
+            }
+        }
+        return elements == null ? tuple : Tuples.flatTupleOf(elements);
+    }
+
+    /**
+     * @return the number of distinct values currently interned
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static Object[] replace(Tuple tuple, Object[] elements, int index, Object element, Object canonical) {
+        if (canonical == element) {
+            return elements;
+        }
+        // the elements of the tuple are not modified, as they may be shared with the tuple itself
+        final Object[] result = elements == null ? tuple.getElements().clone() : elements;
+        result[index] = canonical;
+        return result;
+    }
+
+    private static boolean isInternable(Object element) {
+        return element instanceof Number || element instanceof String || element instanceof Character;
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -61,6 +62,7 @@ import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.Consta
 import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.PositivePatternCall;
 import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.TypeConstraint;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PParameter;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PDisjunction;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PVisibility;
 import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.IRewriterTraceCollector;
@@ -192,6 +194,51 @@ public class ReteRecipeCompiler {
         compilerBackTrace.clear();
     }
 
+    /**
+     * Forgets the compiled form and the plans of the bodies of the given query, so that the query is planned and
+     * compiled again when its compiled form is requested next time. Compiled forms of other queries are kept, including
+     * those referring to the forgotten compiled form.
+     * <p>
+     * Recursive queries and queries being compiled are not forgotten.
+     *
+     * @return true if the compiled form of the query was forgotten
+     * @since 2.9
+     */
+    public boolean forgetCompiledForm(PQuery query) {
+        if (compilationInProgress.contains(query) || !recursionCutoffPoints.lookupOrEmpty(query).isEmpty()
+                || queryCompilerCache.remove(query) == null) {
+            return false;
+        }
+        plannerCache.keySet().removeIf(body -> body.getPattern().equals(query));
+        Iterator<Entry<SubPlan, CompiledSubPlan>> compiledPlans = subPlanCompilerCache.entrySet().iterator();
+        while (compiledPlans.hasNext()) {
+            Entry<SubPlan, CompiledSubPlan> entry = compiledPlans.next();
+            if (entry.getKey().getBody().getPattern().equals(query)) {
+                compilerBackTrace.remove(entry.getValue().getRecipe());
+                compiledPlans.remove();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plans the bodies of the given query again, without replacing their cached plans, and returns whether any new
+     * plan differs from the cached one, e.g. because the statistics used by the planner have changed since.
+     *
+     * @return true if the query would be compiled from a different plan
+     * @since 2.9
+     */
+    public boolean isPlanOutdated(PQuery query) {
+        for (Entry<PBody, SubPlan> entry : plannerCache.entrySet()) {
+            PBody pBody = entry.getKey();
+            if (pBody.getPattern().equals(query)
+                    && !plannerStrategy.plan(pBody, logger, metaContext).equals(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns a {@link CompiledQuery} compiled from a query
      * @throws ViatraQueryRuntimeException
@@ -866,6 +913,8 @@ public class ReteRecipeCompiler {
         // Calculate irreflexive transitive closure
         final TransitiveClosureRecipe tcRecipe = FACTORY.createTransitiveClosureRecipe();
         tcRecipe.setParent(callTrace.getRecipe());
+        tcRecipe.setOnDemandReachability(ReteHintOptions.onDemandTransitiveClosure.getValueOrDefault(getHints(plan)));
+        tcRecipe.setCompactGraph(ReteHintOptions.compactTransitiveClosureGraph.getValueOrDefault(getHints(plan)));
         final PlanningTrace tcTrace = new PlanningTrace(plan, CompilerHelper.convertVariablesTuple(constraint), tcRecipe, callTrace);
                 
         // Enumerate universe type
@@ -894,6 +943,8 @@ public class ReteRecipeCompiler {
 
         final TransitiveClosureRecipe recipe = FACTORY.createTransitiveClosureRecipe();
         recipe.setParent(callTrace.getRecipe());
+        recipe.setOnDemandReachability(ReteHintOptions.onDemandTransitiveClosure.getValueOrDefault(getHints(plan)));
+        recipe.setCompactGraph(ReteHintOptions.compactTransitiveClosureGraph.getValueOrDefault(getHints(plan)));
 
         return new PlanningTrace(plan, CompilerHelper.convertVariablesTuple(constraint), recipe, callTrace);
     }
@@ -986,6 +1037,15 @@ public class ReteRecipeCompiler {
         return Collections.unmodifiableMap(plannerCache);
     }
 
+    /**
+     * Returns the normalized bodies of the query, as they are compiled into recipes.
+     * 
+     * @since 2.9
+     */
+    public PDisjunction getNormalizedDisjunction(PQuery query) {
+        return normalizer.rewrite(query);
+    }
+
     private QueryEvaluationHint getHints(SubPlan plan) {
         return getHints(plan.getBody().getPattern());
     }
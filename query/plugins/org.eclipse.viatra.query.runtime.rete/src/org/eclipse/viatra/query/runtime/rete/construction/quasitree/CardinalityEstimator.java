@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.construction.quasitree;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.planning.SubPlan;
+import org.eclipse.viatra.query.runtime.matchers.planning.operations.PEnumerate;
+import org.eclipse.viatra.query.runtime.matchers.planning.operations.PJoin;
+import org.eclipse.viatra.query.runtime.matchers.planning.operations.PStart;
+import org.eclipse.viatra.query.runtime.matchers.psystem.EnumerablePConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.ConstantValue;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+
+/**
+ * Estimates the number of tuples computed by query plans, for cardinality-based join ordering in
+ * {@link JoinOrderingHeuristics}.
+ * <p>
+ * Cardinalities observed in a running network (see {@link ObservedCardinalities}) take precedence; otherwise the
+ * sizes of enumerated input relations are taken from the statistics of the runtime context, and join sizes are
+ * estimated assuming independent, uniformly distributed join variables. Filters and projections are estimated by the
+ * size of their input, which is an upper bound. Plans involving relations without statistics (e.g. pattern calls that
+ * were not observed yet) have no estimate.
+ * <p>
+ * Estimates are cached, therefore an instance should only be used during the planning of a single pattern body.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class is part of an experimental API, and may change in future versions.
+ *
+ * @since 2.9
+ */
+public class CardinalityEstimator {
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final ObservedCardinalities observedCardinalities;
+    private final Map<SubPlan, Optional<Double>> estimates = new HashMap<>();
+
+    /**
+     * @param observedCardinalities
+     *            the cardinalities observed in a running network, or null if not available
+     */
+    public CardinalityEstimator(IQueryRuntimeContext runtimeContext, ObservedCardinalities observedCardinalities) {
+        this.runtimeContext = runtimeContext;
+        this.observedCardinalities = observedCardinalities;
+    }
+
+    /**
+     * Returns the estimated number of tuples computed by the given plan, if it can be estimated.
+     */
+    public Optional<Double> estimateCardinality(SubPlan plan) {
+        Optional<Double> estimate = estimates.get(plan);
+        if (estimate == null) {
+            estimate = doEstimateCardinality(plan);
+            estimates.put(plan, estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimated number of tuples computed by the natural join of the given plans, if it can be estimated.
+     */
+    public Optional<Double> estimateJoinCardinality(SubPlan primary, SubPlan secondary) {
+        Optional<Double> primaryEstimate = estimateCardinality(primary);
+        Optional<Double> secondaryEstimate = estimateCardinality(secondary);
+        if (!primaryEstimate.isPresent() || !secondaryEstimate.isPresent()) {
+            return Optional.empty();
+        }
+        double result = primaryEstimate.get() * secondaryEstimate.get();
+        Set<PVariable> commonVariables = CollectionsFactory.createSet(primary.getVisibleVariables());
+        commonVariables.retainAll(secondary.getVisibleVariables());
+        for (PVariable variable : commonVariables) {
+            double distinctValues = Math.max(estimateDistinctValues(primary, variable, primaryEstimate.get()),
+                    estimateDistinctValues(secondary, variable, secondaryEstimate.get()));
+            result /= Math.max(distinctValues, 1.0);
+        }
+        return Optional.of(result);
+    }
+
+    private Optional<Double> doEstimateCardinality(SubPlan plan) {
+        if (observedCardinalities != null) {
+            Optional<Long> observed = observedCardinalities.get(plan);
+            if (observed.isPresent()) {
+                return Optional.of(observed.get().doubleValue());
+            }
+        }
+        final List<? extends SubPlan> parentPlans = plan.getParentPlans();
+        if (plan.getOperation() instanceof PEnumerate) {
+            return estimateEnumerable(((PEnumerate) plan.getOperation()).getEnumerablePConstraint());
+        } else if (plan.getOperation() instanceof PStart) {
+            return Optional.of(1.0);
+        } else if (plan.getOperation() instanceof PJoin) {
+            return estimateJoinCardinality(parentPlans.get(0), parentPlans.get(1));
+        } else if (parentPlans.size() == 1) {
+            // filtering and projection never increase the size of the input
+            return estimateCardinality(parentPlans.get(0));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Double> estimateEnumerable(EnumerablePConstraint constraint) {
+        if (constraint instanceof ConstantValue) {
+            return Optional.of(1.0);
+        } else if (constraint instanceof TypeConstraint) {
+            TypeConstraint typeConstraint = (TypeConstraint) constraint;
+            return runtimeContext
+                    .estimateCardinality(typeConstraint.getSupplierKey(),
+                            TupleMask.identity(typeConstraint.getVariablesTuple().getSize()), Accuracy.APPROXIMATION)
+                    .map(Long::doubleValue);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values of the variable in the result of the plan, based on the enumerated
+     * input relations binding the variable; the estimated size of the plan is an upper bound.
+     */
+    private double estimateDistinctValues(SubPlan plan, PVariable variable, double planEstimate) {
+        double result = planEstimate;
+        for (PConstraint constraint : plan.getAllEnforcedConstraints()) {
+            if (constraint instanceof TypeConstraint) {
+                Tuple variablesTuple = ((TypeConstraint) constraint).getVariablesTuple();
+                for (int index = 0; index < variablesTuple.getSize(); index++) {
+                    if (variable.equals(variablesTuple.get(index))) {
+                        Optional<Long> distinctValues = runtimeContext.estimateCardinality(
+                                ((TypeConstraint) constraint).getSupplierKey(),
+                                TupleMask.selectSingle(index, variablesTuple.getSize()), Accuracy.APPROXIMATION);
+                        if (distinctValues.isPresent()) {
+                            result = Math.min(result, distinctValues.get());
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -10,6 +10,7 @@
 package org.eclipse.viatra.query.runtime.rete.construction.quasitree;
 
 import java.util.Comparator;
+import java.util.Optional;
 
 import org.eclipse.viatra.query.runtime.rete.util.Options;
 import org.eclipse.viatra.query.runtime.rete.util.OrderingCompareAgent;
@@ -20,6 +21,21 @@ import org.eclipse.viatra.query.runtime.rete.util.OrderingCompareAgent;
  */
 public class JoinOrderingHeuristics implements Comparator<JoinCandidate> {
 
+    private final CardinalityEstimator estimator;
+
+    public JoinOrderingHeuristics() {
+        this(null);
+    }
+
+    /**
+     * @param estimator
+     *            if not null, joins with smaller estimated results are preferred
+     * @since 2.9
+     */
+    public JoinOrderingHeuristics(CardinalityEstimator estimator) {
+        this.estimator = estimator;
+    }
+
     @Override
     public int compare(JoinCandidate jc1, JoinCandidate jc2) {
         return new OrderingCompareAgent<JoinCandidate>(jc1, jc2) {
@@ -36,6 +52,7 @@ public class JoinOrderingHeuristics implements Comparator<JoinCandidate> {
                         && consider(preferFalse(a.isDescartes(), b.isDescartes()))
 
                         // TODO main heuristic decisions
+                        && consider(preferSmallerEstimate(a, b))
 
                         // tie breaking
                         && consider(preferLess(a.getConsPrimary(), b.getConsPrimary(), TieBreaker.CONSTRAINT_LIST_COMPARATOR))
@@ -46,4 +63,16 @@ public class JoinOrderingHeuristics implements Comparator<JoinCandidate> {
 
     }
 
+    private int preferSmallerEstimate(JoinCandidate a, JoinCandidate b) {
+        if (estimator == null) {
+            return 0;
+        }
+        Optional<Double> estimateA = estimator.estimateJoinCardinality(a.getPrimary(), a.getSecondary());
+        Optional<Double> estimateB = estimator.estimateJoinCardinality(b.getPrimary(), b.getSecondary());
+        if (!estimateA.isPresent() || !estimateB.isPresent()) {
+            return 0;
+        }
+        return Double.compare(estimateA.get(), estimateB.get());
+    }
+
 }
\ No newline at end of file
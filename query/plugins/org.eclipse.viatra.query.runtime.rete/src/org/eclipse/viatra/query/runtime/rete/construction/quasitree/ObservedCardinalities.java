@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.construction.quasitree;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.viatra.query.runtime.matchers.planning.SubPlan;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
+
+/**
+ * Stores the sizes of intermediate results observed in a running Rete network, so that they can be used instead of
+ * static estimates when the query is planned again (see {@link CardinalityEstimator}).
+ * <p>
+ * Plans are identified by the pattern, the enforced constraints and the visible variables; these are stable across
+ * compilations of the same query, therefore the observations remain valid after the Rete network is rebuilt.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class is part of an experimental API, and may change in future versions.
+ *
+ * @since 2.9
+ */
+public class ObservedCardinalities {
+
+    private final Map<String, Long> cardinalities = new ConcurrentHashMap<>();
+
+    /**
+     * Records the observed number of tuples computed by the given plan.
+     */
+    public void record(SubPlan plan, long cardinality) {
+        cardinalities.put(signatureOf(plan), cardinality);
+    }
+
+    /**
+     * Returns the last observed number of tuples computed by the given plan, if known.
+     */
+    public Optional<Long> get(SubPlan plan) {
+        return Optional.ofNullable(cardinalities.get(signatureOf(plan)));
+    }
+
+    /**
+     * Returns the number of plans with an observed cardinality.
+     */
+    public int size() {
+        return cardinalities.size();
+    }
+
+    public void clear() {
+        cardinalities.clear();
+    }
+
+    private static String signatureOf(SubPlan plan) {
+        String constraints = plan.getAllEnforcedConstraints().stream().map(Object::toString).sorted()
+                .collect(Collectors.joining(","));
+        String variables = plan.getVisibleVariables().stream().map(PVariable::getName).sorted()
+                .collect(Collectors.joining(","));
+        return plan.getBody().getPattern().getFullyQualifiedName() + "/" + constraints + "/" + variables;
+    }
+
+}
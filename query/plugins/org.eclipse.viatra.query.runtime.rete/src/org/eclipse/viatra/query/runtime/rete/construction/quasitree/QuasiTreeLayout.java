@@ -117,11 +117,11 @@ public class QuasiTreeLayout implements IQueryPlannerStrategy {
                 }
 
                 // JOIN FOREFRONT PLANS WHILE POSSIBLE
+                JoinOrderingHeuristics ordering = createJoinOrdering();
                 while (forefront.size() > 1) {
                     // TODO QUASI-TREE TRIVIAL JOINS?
 
                     List<JoinCandidate> candidates = generateJoinCandidates();
-                    JoinOrderingHeuristics ordering = new JoinOrderingHeuristics();
                     JoinCandidate selectedJoin = Collections.min(candidates, ordering);
                     doJoin(selectedJoin);
                 }
@@ -147,6 +147,14 @@ public class QuasiTreeLayout implements IQueryPlannerStrategy {
             }
         }
 
+        private JoinOrderingHeuristics createJoinOrdering() {
+            if (ReteHintOptions.cardinalityBasedJoinOrdering.getValueOrDefault(hints)) {
+                return new JoinOrderingHeuristics(new CardinalityEstimator(backendContext.getRuntimeContext(),
+                        ReteHintOptions.observedCardinalities.getValueOrDefault(hints)));
+            }
+            return new JoinOrderingHeuristics();
+        }
+
         public List<JoinCandidate> generateJoinCandidates() {
             List<JoinCandidate> candidates = new ArrayList<JoinCandidate>();
             int bIndex = 0;
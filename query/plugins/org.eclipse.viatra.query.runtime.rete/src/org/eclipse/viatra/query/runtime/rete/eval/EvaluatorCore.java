@@ -8,10 +8,13 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.eval;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 import org.apache.log4j.Logger;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
@@ -39,6 +42,11 @@ public abstract class EvaluatorCore {
     private Map<String, Integer> parameterPositions;
     protected IQueryRuntimeContext runtimeContext;
     protected IEvaluatorNode evaluatorNode;
+    /**
+     * The positions of the input parameters of the evaluator in the source tuples, in the order of the columns of
+     * batch evaluation.
+     */
+    private final int[] columnPositions;
 
     public EvaluatorCore(final Logger logger, final IExpressionEvaluator evaluator,
             final Map<String, Integer> parameterPositions, final int sourceTupleWidth) {
@@ -46,6 +54,12 @@ public abstract class EvaluatorCore {
         this.evaluator = evaluator;
         this.parameterPositions = parameterPositions;
         this.sourceTupleWidth = sourceTupleWidth;
+        final List<Integer> positions = new ArrayList<>();
+        for (final String parameterName : evaluator.getInputParameterNames()) {
+            positions.add(parameterPositions.get(parameterName));
+        }
+        this.columnPositions = positions.contains(null) ? null
+                : positions.stream().mapToInt(Integer::intValue).toArray();
     }
 
     public void init(final IEvaluatorNode evaluatorNode) {
@@ -58,6 +72,22 @@ public abstract class EvaluatorCore {
      */
     public abstract Iterable<Tuple> performEvaluation(final Tuple input);
 
+    /**
+     * Evaluates a batch of input tuples, returning the results in the order of the inputs; each element is what
+     * {@link #performEvaluation(Tuple)} would return for the corresponding input (including null).
+     * <p>
+     * The default implementation evaluates the inputs one by one.
+     * 
+     * @since 2.9
+     */
+    public List<Iterable<Tuple>> performBatchEvaluation(final List<Tuple> inputs) {
+        final List<Iterable<Tuple>> outputs = new ArrayList<>(inputs.size());
+        for (final Tuple input : inputs) {
+            outputs.add(performEvaluation(input));
+        }
+        return outputs;
+    }
+
     protected abstract String evaluationKind();
 
     public Object evaluateTerm(final Tuple input) {
@@ -78,6 +108,57 @@ public abstract class EvaluatorCore {
         return result;
     }
 
+    /**
+     * Evaluates the expression for each of the given input tuples with a single batch evaluation call on the
+     * {@link IExpressionEvaluator}, without creating a value provider per tuple. If the batch evaluation fails, the
+     * failure is logged at debug level and the inputs are evaluated one by one, so that the errors are reported for
+     * the failing inputs only.
+     * 
+     * @return the results of {@link #evaluateTerm(Tuple)} for the inputs, in the same order
+     * @since 2.9
+     */
+    public Object[] evaluateTerms(final List<Tuple> inputs) {
+        final int rowCount = inputs.size();
+        final Object[] results = new Object[rowCount];
+        if (columnPositions != null && rowCount > 0) {
+            final Object[][] columns = new Object[columnPositions.length][rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                final Tuple input = inputs.get(row);
+                for (int column = 0; column < columnPositions.length; column++) {
+                    columns[column][row] = runtimeContext.unwrapElement(input.get(columnPositions[column]));
+                }
+            }
+            try {
+                evaluator.evaluateExpressions(columns, rowCount, results);
+                return results;
+            } catch (final Exception e) {
+                // fall back to evaluating the inputs one by one, to report errors with the offending values
+                if (logger.isDebugEnabled()) {
+                    logger.debug(String.format(
+                            "Batch %s evaluation of %d tuples failed for pattern(s) %s, evaluating them one by one. Error message: %s. (Developer note: %s in %s)",
+                            evaluationKind(), rowCount, evaluatorNode.prettyPrintTraceInfoPatternList(),
+                            e.getMessage(), e.getClass().getSimpleName(), this.evaluatorNode), e);
+                }
+            }
+        }
+        for (int row = 0; row < rowCount; row++) {
+            results[row] = evaluateTerm(inputs.get(row));
+        }
+        return results;
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected static List<Iterable<Tuple>> processResults(final List<Tuple> inputs, final Object[] results,
+            final BiFunction<Tuple, Object, Iterable<Tuple>> resultProcessor) {
+        final List<Iterable<Tuple>> outputs = new ArrayList<>(inputs.size());
+        for (int i = 0; i < results.length; i++) {
+            outputs.add(resultProcessor.apply(inputs.get(i), results[i]));
+        }
+        return outputs;
+    }
+
     protected String prettyPrintTuple(final Tuple tuple) {
         return tuple.toString();
     }
@@ -95,7 +176,18 @@ public abstract class EvaluatorCore {
 
         @Override
         public Iterable<Tuple> performEvaluation(final Tuple input) {
-            final Object result = evaluateTerm(input);
+            return processResult(input, evaluateTerm(input));
+        }
+
+        /**
+         * @since 2.9
+         */
+        @Override
+        public List<Iterable<Tuple>> performBatchEvaluation(final List<Tuple> inputs) {
+            return processResults(inputs, evaluateTerms(inputs), this::processResult);
+        }
+
+        private Iterable<Tuple> processResult(final Tuple input, final Object result) {
             if (Boolean.TRUE.equals(result)) {
                 return Collections.singleton(input);
             } else {
@@ -133,7 +225,18 @@ public abstract class EvaluatorCore {
 
         @Override
         public Iterable<Tuple> performEvaluation(final Tuple input) {
-            final Object result = evaluateTerm(input);
+            return processResult(input, evaluateTerm(input));
+        }
+
+        /**
+         * @since 2.9
+         */
+        @Override
+        public List<Iterable<Tuple>> performBatchEvaluation(final List<Tuple> inputs) {
+            return processResults(inputs, evaluateTerms(inputs), this::processResult);
+        }
+
+        private Iterable<Tuple> processResult(final Tuple input, final Object result) {
             if (result != null) {
                 if (this.isUnwinding) {
                     final Set<?> resultAsSet = (result instanceof Set<?>) ? (Set<?>) result
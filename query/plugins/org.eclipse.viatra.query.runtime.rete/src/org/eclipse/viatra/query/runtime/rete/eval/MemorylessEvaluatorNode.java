@@ -11,6 +11,7 @@ package org.eclipse.viatra.query.runtime.rete.eval;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -36,10 +37,9 @@ public class MemorylessEvaluatorNode extends AbstractEvaluatorNode {
 
     @Override
     public void pullInto(final Collection<Tuple> collector, final boolean flush) {
-        final Collection<Tuple> parentTuples = new ArrayList<Tuple>();
+        final List<Tuple> parentTuples = new ArrayList<Tuple>();
         propagatePullInto(parentTuples, flush);
-        for (final Tuple parentTuple : parentTuples) {
-            final Iterable<Tuple> output = core.performEvaluation(parentTuple);
+        for (final Iterable<Tuple> output : core.performBatchEvaluation(parentTuples)) {
             if (output != null) {
                 final Iterator<Tuple> itr = output.iterator();
                 while (itr.hasNext()) {
@@ -72,4 +72,29 @@ public class MemorylessEvaluatorNode extends AbstractEvaluatorNode {
         }
     }
 
+    /**
+     * Evaluates the tuples of the whole batch in a single {@link EvaluatorCore#performBatchEvaluation(List)} call,
+     * then propagates the results in the order of the updates.
+     * 
+     * @since 2.9
+     */
+    @Override
+    public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+        final List<Tuple> inputs = new ArrayList<Tuple>(updates.size());
+        for (final Entry<Tuple, Integer> entry : updates) {
+            inputs.add(entry.getKey());
+        }
+        final Iterator<Iterable<Tuple>> outputs = core.performBatchEvaluation(inputs).iterator();
+        for (final Entry<Tuple, Integer> entry : updates) {
+            final Iterable<Tuple> output = outputs.next();
+            if (output != null) {
+                final int count = entry.getValue();
+                final Direction direction = count < 0 ? Direction.DELETE : Direction.INSERT;
+                for (int i = 0; i < Math.abs(count); i++) {
+                    propagateIterableUpdate(direction, output, timestamp);
+                }
+            }
+        }
+    }
+
 }
@@ -8,9 +8,11 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.eval;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -126,6 +128,14 @@ public class OutputCachingEvaluatorNode extends AbstractEvaluatorNode implements
         this.logic.update(direction, input, timestamp);
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+        this.logic.batchUpdate(updates, timestamp);
+    }
+
     /**
      * @since 2.4
      */
@@ -156,6 +166,21 @@ public class OutputCachingEvaluatorNode extends AbstractEvaluatorNode implements
          */
         public abstract void update(final Direction direction, final Tuple input, final Timestamp timestamp);
 
+        /**
+         * By default, the updates are processed one by one.
+         * 
+         * @since 2.9
+         */
+        public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+            for (final Entry<Tuple, Integer> entry : updates) {
+                final int count = entry.getValue();
+                final Direction direction = count < 0 ? Direction.DELETE : Direction.INSERT;
+                for (int i = 0; i < Math.abs(count); i++) {
+                    update(direction, entry.getKey(), timestamp);
+                }
+            }
+        }
+
         public abstract void pullInto(final Collection<Tuple> collector, final boolean flush);
 
         /**
@@ -197,15 +222,7 @@ public class OutputCachingEvaluatorNode extends AbstractEvaluatorNode implements
         @Override
         public void update(final Direction direction, final Tuple input, final Timestamp timestamp) {
             if (direction == Direction.INSERT) {
-                final Iterable<Tuple> output = core.performEvaluation(input);
-                if (output != null) {
-                    final Iterable<Tuple> previous = outputCache.put(input, output);
-                    if (previous != null) {
-                        throw new IllegalStateException(
-                                String.format("Duplicate insertion of tuple %s into node %s", input, this));
-                    }
-                    propagateIterableUpdate(direction, output, timestamp);
-                }
+                insert(input, core.performEvaluation(input), timestamp);
             } else {
                 final Iterable<Tuple> output = outputCache.remove(input);
                 if (output != null) {
@@ -214,6 +231,45 @@ public class OutputCachingEvaluatorNode extends AbstractEvaluatorNode implements
                 }
             }
         }
+
+        /**
+         * The inserted tuples of the batch are evaluated in a single
+         * {@link EvaluatorCore#performBatchEvaluation(List)} call; deleted tuples are looked up in the cache.
+         */
+        @Override
+        public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+            final List<Tuple> insertions = new ArrayList<Tuple>();
+            for (final Entry<Tuple, Integer> entry : updates) {
+                if (entry.getValue() > 0) {
+                    insertions.add(entry.getKey());
+                }
+            }
+            final Iterator<Iterable<Tuple>> outputs = core.performBatchEvaluation(insertions).iterator();
+            for (final Entry<Tuple, Integer> entry : updates) {
+                final int count = entry.getValue();
+                if (count > 0) {
+                    final Iterable<Tuple> output = outputs.next();
+                    for (int i = 0; i < count; i++) {
+                        insert(entry.getKey(), output, timestamp);
+                    }
+                } else {
+                    for (int i = 0; i < -count; i++) {
+                        update(Direction.DELETE, entry.getKey(), timestamp);
+                    }
+                }
+            }
+        }
+
+        private void insert(final Tuple input, final Iterable<Tuple> output, final Timestamp timestamp) {
+            if (output != null) {
+                final Iterable<Tuple> previous = outputCache.put(input, output);
+                if (previous != null) {
+                    throw new IllegalStateException(
+                            String.format("Duplicate insertion of tuple %s into node %s", input, this));
+                }
+                propagateIterableUpdate(Direction.INSERT, output, timestamp);
+            }
+        }
     };
 
     private final NetworkStructureChangeSensitiveLogic TIMELY = new NetworkStructureChangeSensitiveLogic() {
@@ -89,6 +89,13 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
      */
     protected boolean coincidence;
 
+    /**
+     * The listeners attached to the slots, or null if not connected; the secondary listener is null if the slots
+     * coincide.
+     */
+    private IndexerListener primaryListener;
+    private IndexerListener secondaryListener;
+
     /**
      * @param reteContainer
      */
@@ -114,7 +121,7 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
         coincidence = primarySlot.equals(secondarySlot);
 
         if (!coincidence) { // regular case
-            primarySlot.attachListener(new DefaultIndexerListener(this) {
+            primaryListener = new DefaultIndexerListener(this) {
                 @Override
                 public void notifyIndexerUpdate(final Direction direction, final Tuple updateElement,
                         final Tuple signature, final boolean change, final Timestamp timestamp) {
@@ -122,25 +129,51 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
                             timestamp);
                 }
 
+                @Override
+                public void notifyIndexerBatchUpdate(final Direction direction, final Collection<Tuple> updateElements,
+                        final Tuple signature, final boolean change, final Timestamp timestamp) {
+                    DualInputNode.this.logic.notifyBatchUpdate(Side.PRIMARY, direction, updateElements, signature, change,
+                            timestamp);
+                }
+
+                @Override
+                public boolean supportsBatchUpdates() {
+                    return true;
+                }
+
                 @Override
                 public String toString() {
                     return "primary@" + DualInputNode.this;
                 }
-            });
-            secondarySlot.attachListener(new DefaultIndexerListener(this) {
+            };
+            primarySlot.attachListener(primaryListener);
+            secondaryListener = new DefaultIndexerListener(this) {
                 public void notifyIndexerUpdate(final Direction direction, final Tuple updateElement,
                         final Tuple signature, final boolean change, final Timestamp timestamp) {
                     DualInputNode.this.logic.notifyUpdate(Side.SECONDARY, direction, updateElement, signature, change,
                             timestamp);
                 }
 
+                @Override
+                public void notifyIndexerBatchUpdate(final Direction direction, final Collection<Tuple> updateElements,
+                        final Tuple signature, final boolean change, final Timestamp timestamp) {
+                    DualInputNode.this.logic.notifyBatchUpdate(Side.SECONDARY, direction, updateElements, signature, change,
+                            timestamp);
+                }
+
+                @Override
+                public boolean supportsBatchUpdates() {
+                    return true;
+                }
+
                 @Override
                 public String toString() {
                     return "secondary@" + DualInputNode.this;
                 }
-            });
+            };
+            secondarySlot.attachListener(secondaryListener);
         } else { // if the two slots are the same, updates have to be handled carefully
-            primarySlot.attachListener(new DefaultIndexerListener(this) {
+            primaryListener = new DefaultIndexerListener(this) {
                 public void notifyIndexerUpdate(final Direction direction, final Tuple updateElement,
                         final Tuple signature, final boolean change, final Timestamp timestamp) {
                     DualInputNode.this.logic.notifyUpdate(Side.BOTH, direction, updateElement, signature, change,
@@ -151,7 +184,8 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
                 public String toString() {
                     return "both@" + DualInputNode.this;
                 }
-            });
+            };
+            primarySlot.attachListener(primaryListener);
         }
 
         for (final Receiver receiver : getReceivers()) {
@@ -164,6 +198,27 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
         this.refreshIndexerGroupCache();
     }
 
+    /**
+     * Detaches this node from the indexers it was connected to by {@link #connectToIndexers(IterableIndexer, Indexer)},
+     * so that the node can be discarded. The slots are kept, so that {@link #getPrimarySlot()} and
+     * {@link #getSecondarySlot()} still return them.
+     * 
+     * @since 2.9
+     */
+    public void disconnectFromIndexers() {
+        if (primaryListener == null) {
+            return;
+        }
+        primarySlot.detachListener(primaryListener);
+        if (secondaryListener != null) {
+            secondarySlot.detachListener(secondaryListener);
+        }
+        primaryListener = null;
+        secondaryListener = null;
+        reteContainer.getCommunicationTracker().unregisterDependency(primarySlot, this);
+        reteContainer.getCommunicationTracker().unregisterDependency(secondarySlot, this);
+    }
+
     /**
      * Helper: retrieves all stored substitutions from the opposite side memory.
      *
@@ -336,6 +391,28 @@ public abstract class DualInputNode extends StandardNode implements NetworkStruc
         public abstract void notifyUpdate(final Side side, final Direction direction, final Tuple updateElement,
                 final Tuple signature, final boolean change, final Timestamp timestamp);
 
+        /**
+         * Handler for a batch of update events of the same direction and signature on the same side. Never called for
+         * {@link Side#BOTH}, as the handling of coincident slots relies on observing the intermediate states of the
+         * batch. The default implementation dispatches the elements one by one to
+         * {@link #notifyUpdate(Side, Direction, Tuple, Tuple, boolean, Timestamp)}.
+         * 
+         * @param change
+         *            Indicates whether the signature appeared in / disappeared from this slot due to the batch.
+         * @since 2.9
+         */
+        public void notifyBatchUpdate(final Side side, final Direction direction, final Collection<Tuple> updateElements,
+                final Tuple signature, final boolean change, final Timestamp timestamp) {
+            int remaining = updateElements.size();
+            boolean first = true;
+            for (final Tuple updateElement : updateElements) {
+                remaining--;
+                final boolean elementChange = change && (direction == Direction.INSERT ? first : remaining == 0);
+                notifyUpdate(side, direction, updateElement, signature, elementChange, timestamp);
+                first = false;
+            }
+        }
+
         public abstract void pullInto(final Collection<Tuple> collector, final boolean flush);
 
         /**
@@ -117,6 +117,39 @@ public class ExistenceNode extends DualInputNode {
                 break;
             }
         }
+
+        @Override
+        public void notifyBatchUpdate(final Side side, final Direction direction,
+                final Collection<Tuple> updateElements, final Tuple signature, final boolean change,
+                final Timestamp timestamp) {
+            // in the default case, all timestamps must be zero
+            assert Timestamp.ZERO.equals(timestamp);
+
+            switch (side) {
+            case PRIMARY:
+                // probe the opposite memory only once for the whole batch
+                if ((retrieveOpposites(side, signature) != null) ^ negative) {
+                    for (final Tuple updateElement : updateElements) {
+                        propagateUpdate(direction, updateElement, timestamp);
+                    }
+                }
+                break;
+            case SECONDARY:
+                // the primary tuples are affected only if the signature appeared or disappeared due to the batch
+                if (change) {
+                    final Collection<Tuple> opposites = retrieveOpposites(side, signature);
+                    if (opposites != null) {
+                        for (final Tuple opposite : opposites) {
+                            propagateUpdate((negative ? direction.opposite() : direction), opposite, timestamp);
+                        }
+                    }
+                }
+                break;
+            default:
+                super.notifyBatchUpdate(side, direction, updateElements, signature, change, timestamp);
+                break;
+            }
+        }
     };
 
     private final NetworkStructureChangeSensitiveLogic TIMELY = new NetworkStructureChangeSensitiveLogic() {
@@ -10,6 +10,7 @@
 package org.eclipse.viatra.query.runtime.rete.index;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -18,6 +19,7 @@ import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
 import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.RestorableNode;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
 import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
 
@@ -28,7 +30,7 @@ import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
  * @author Gabor Bergmann
  * 
  */
-public class GenericProjectionIndexer extends IndexerWithMemory implements ProjectionIndexer {
+public class GenericProjectionIndexer extends IndexerWithMemory implements ProjectionIndexer, RestorableNode {
 
     public GenericProjectionIndexer(ReteContainer reteContainer, TupleMask mask) {
         super(reteContainer, mask);
@@ -40,6 +42,15 @@ public class GenericProjectionIndexer extends IndexerWithMemory implements Proje
         propagate(direction, updateElement, signature, change, timestamp);
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    protected void updateBatch(Direction direction, Collection<Tuple> updateElements, Tuple signature, boolean change,
+            Timestamp timestamp) {
+        propagateBatch(direction, updateElements, signature, change, timestamp);
+    }
+
     @Override
     public Collection<Tuple> get(Tuple signature) {
         return memory.get(signature);
@@ -68,9 +79,51 @@ public class GenericProjectionIndexer extends IndexerWithMemory implements Proje
         return memory.getKeysetSize();
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public int getTotalSize() {
+        return memory.getTotalSize();
+    }
+
     @Override
     public Receiver getActiveNode() {
         return this;
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public Map<Tuple, Integer> captureContents() {
+        if (memory.isTimely()) {
+            return null;
+        }
+        final Map<Tuple, Integer> contents = new HashMap<>();
+        final Iterator<Tuple> tuples = memory.iterator();
+        while (tuples.hasNext()) {
+            contents.put(tuples.next(), 1);
+        }
+        return contents;
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void restoreContents(Map<Tuple, Integer> contents) {
+        for (final Tuple tuple : contents.keySet()) {
+            memory.add(tuple);
+        }
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void discardRestoredContents() {
+        memory.clear();
+    }
+
 }
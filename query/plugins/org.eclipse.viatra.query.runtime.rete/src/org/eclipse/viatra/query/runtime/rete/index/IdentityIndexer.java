@@ -62,6 +62,14 @@ public abstract class IdentityIndexer extends SpecializedProjectionIndexer {
     public int getBucketCount() {
         return getTuples().size();
     }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public int getTotalSize() {
+        return getTuples().size();
+    }
     
     @Override
     public Iterator<Tuple> iterator() {
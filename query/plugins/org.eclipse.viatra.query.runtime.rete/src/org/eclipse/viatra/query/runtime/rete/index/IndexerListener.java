@@ -9,6 +9,9 @@
 
 package org.eclipse.viatra.query.runtime.rete.index;
 
+import java.util.Collection;
+import java.util.Iterator;
+
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.rete.network.Node;
@@ -37,5 +40,48 @@ public interface IndexerListener {
      */
     void notifyIndexerUpdate(Direction direction, Tuple updateElement, Tuple signature, boolean change, Timestamp timestamp);
 
+    /**
+     * Notifies recipient that the indexer has just received a batch of updates of the same direction, all of them
+     * sharing the same signature. Contract: indexer already reflects the updated state after the whole batch.
+     * <p>
+     * The default implementation dispatches the elements one by one to
+     * {@link #notifyIndexerUpdate(Direction, Tuple, Tuple, boolean, Timestamp)}, reporting the change flag for the
+     * first inserted / last revoked element only. Indexers only call this method if
+     * {@link #supportsBatchUpdates()} returns true.
+     * 
+     * @param direction
+     *            the direction of the updates.
+     * @param updateElements
+     *            the non-empty collection of tuples that were updated.
+     * @param signature
+     *            the common signature of the tuples according to the indexer's mask.
+     * @param change
+     *            whether the signature appeared / disappeared in the indexer due to this batch.
+     * @since 2.9
+     */
+    default void notifyIndexerBatchUpdate(Direction direction, Collection<Tuple> updateElements, Tuple signature,
+            boolean change, Timestamp timestamp) {
+        final Iterator<Tuple> iterator = updateElements.iterator();
+        boolean first = true;
+        while (iterator.hasNext()) {
+            final Tuple updateElement = iterator.next();
+            final boolean elementChange = change
+                    && (direction == Direction.INSERT ? first : !iterator.hasNext());
+            notifyIndexerUpdate(direction, updateElement, signature, elementChange, timestamp);
+            first = false;
+        }
+    }
+
+    /**
+     * Returns true if this listener does not rely on observing the indexer in the intermediate states of a batch, so
+     * that the indexer may apply a batch of updates in one step and notify the listener through
+     * {@link #notifyIndexerBatchUpdate(Direction, Collection, Tuple, boolean, Timestamp)}.
+     * 
+     * @since 2.9
+     */
+    default boolean supportsBatchUpdates() {
+        return false;
+    }
+
     Node getOwner();
 }
@@ -9,8 +9,10 @@
 
 package org.eclipse.viatra.query.runtime.rete.index;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -58,11 +60,14 @@ public abstract class IndexerWithMemory extends StandardIndexer
      */
     protected CommunicationGroup group;
 
+    private final MemoryType bucketType;
+
     public IndexerWithMemory(final ReteContainer reteContainer, final TupleMask mask) {
         super(reteContainer, mask);
         final boolean isTimely = reteContainer.isTimelyEvaluation()
                 && reteContainer.getCommunicationTracker().isInRecursiveGroup(this);
-        memory = MaskedTupleMemory.create(mask, MemoryType.SETS, this, isTimely, isTimely && reteContainer
+        bucketType = reteContainer.getNetwork().getIndexerMemoryType();
+        memory = MaskedTupleMemory.create(mask, bucketType, this, isTimely, isTimely && reteContainer
                 .getTimelyConfiguration().getTimelineRepresentation() == TimelineRepresentation.FAITHFUL);
         reteContainer.registerClearable(memory);
         mailbox = instantiateMailbox();
@@ -87,7 +92,7 @@ public abstract class IndexerWithMemory extends StandardIndexer
         final boolean isTimely = this.reteContainer.isTimelyEvaluation()
                 && this.reteContainer.getCommunicationTracker().isInRecursiveGroup(this);
         if (wasTimely != isTimely) {
-            final MaskedTupleMemory<Timestamp> newMemory = MaskedTupleMemory.create(mask, MemoryType.SETS, this,
+            final MaskedTupleMemory<Timestamp> newMemory = MaskedTupleMemory.create(mask, bucketType, this,
                     isTimely, isTimely && reteContainer.getTimelyConfiguration()
                             .getTimelineRepresentation() == TimelineRepresentation.FAITHFUL);
             newMemory.initializeWith(this.memory, Timestamp.ZERO);
@@ -129,6 +134,14 @@ public abstract class IndexerWithMemory extends StandardIndexer
         this.logic.update(direction, updateElement, timestamp);
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+        this.logic.batchUpdate(updates, timestamp);
+    }
+
     /**
      * Refined version of update
      * 
@@ -137,6 +150,26 @@ public abstract class IndexerWithMemory extends StandardIndexer
     protected abstract void update(final Direction direction, final Tuple updateElement, final Tuple signature,
             final boolean change, final Timestamp timestamp);
 
+    /**
+     * Refined version of update for a batch of update elements sharing the same direction and signature. The memory
+     * already reflects the state after the whole batch. The default implementation calls
+     * {@link #update(Direction, Tuple, Tuple, boolean, Timestamp)} for each element, reporting the change flag for the
+     * first inserted / last revoked element only.
+     * 
+     * @since 2.9
+     */
+    protected void updateBatch(final Direction direction, final Collection<Tuple> updateElements, final Tuple signature,
+            final boolean change, final Timestamp timestamp) {
+        int remaining = updateElements.size();
+        boolean first = true;
+        for (final Tuple updateElement : updateElements) {
+            remaining--;
+            final boolean elementChange = change && (direction == Direction.INSERT ? first : remaining == 0);
+            update(direction, updateElement, signature, elementChange, timestamp);
+            first = false;
+        }
+    }
+
     @Override
     public void appendParent(final Supplier supplier) {
         if (parent == null) {
@@ -196,6 +229,21 @@ public abstract class IndexerWithMemory extends StandardIndexer
          */
         public abstract void resumeAt(final Timestamp timestamp);
 
+        /**
+         * The default implementation processes the updates one by one.
+         * 
+         * @since 2.9
+         */
+        public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+            for (final Entry<Tuple, Integer> entry : updates) {
+                final int count = entry.getValue();
+                final Direction direction = count < 0 ? Direction.DELETE : Direction.INSERT;
+                for (int i = 0; i < Math.abs(count); i++) {
+                    update(direction, entry.getKey(), timestamp);
+                }
+            }
+        }
+
     }
 
     /**
@@ -274,6 +322,46 @@ public abstract class IndexerWithMemory extends StandardIndexer
             IndexerWithMemory.this.update(direction, update, signature, change, timestamp);
         }
 
+        @Override
+        public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+            if (updates.size() < 2 || !canPropagateBatches()) {
+                super.batchUpdate(updates, timestamp);
+                return;
+            }
+
+            // group the update elements by signature and direction
+            final Map<Tuple, List<Tuple>> insertions = CollectionsFactory.createMap();
+            final Map<Tuple, List<Tuple>> deletions = CollectionsFactory.createMap();
+            for (final Entry<Tuple, Integer> entry : updates) {
+                final Tuple update = entry.getKey();
+                final int count = entry.getValue();
+                final Map<Tuple, List<Tuple>> target = count < 0 ? deletions : insertions;
+                final List<Tuple> bucket = target.computeIfAbsent(mask.transform(update), k -> new ArrayList<>());
+                for (int i = 0; i < Math.abs(count); i++) {
+                    bucket.add(update);
+                }
+            }
+
+            // insertions go first so that a signature that is both gained and lost within the batch
+            // does not flicker in the eyes of the listeners
+            for (final Entry<Tuple, List<Tuple>> entry : insertions.entrySet()) {
+                final Tuple signature = entry.getKey();
+                boolean change = false;
+                for (final Tuple update : entry.getValue()) {
+                    change |= memory.add(update, signature);
+                }
+                IndexerWithMemory.this.updateBatch(Direction.INSERT, entry.getValue(), signature, change, timestamp);
+            }
+            for (final Entry<Tuple, List<Tuple>> entry : deletions.entrySet()) {
+                final Tuple signature = entry.getKey();
+                boolean change = false;
+                for (final Tuple update : entry.getValue()) {
+                    change |= memory.remove(update, signature);
+                }
+                IndexerWithMemory.this.updateBatch(Direction.DELETE, entry.getValue(), signature, change, timestamp);
+            }
+        }
+
         @Override
         public void resumeAt(final Timestamp timestamp) {
             // there is nothing to resume in the timeless case because we do not even care about timestamps
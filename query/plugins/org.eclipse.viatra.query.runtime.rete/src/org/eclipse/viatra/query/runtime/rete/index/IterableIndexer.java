@@ -30,5 +30,17 @@ public interface IterableIndexer extends Indexer, Iterable<Tuple> {
      * @since 2.0
      */
     public int getBucketCount();
+
+    /**
+     * @return the number of tuples in all tuple groups
+     * @since 2.9
+     */
+    public default int getTotalSize() {
+        int size = 0;
+        for (Tuple signature : getSignatures()) {
+            size += get(signature).size();
+        }
+        return size;
+    }
     
 }
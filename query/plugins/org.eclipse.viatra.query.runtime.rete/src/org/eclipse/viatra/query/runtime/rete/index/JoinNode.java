@@ -98,6 +98,25 @@ public class JoinNode extends DualInputNode {
                 propagateUpdate(direction, unify(updateElement, updateElement), timestamp);
             }
         }
+
+        @Override
+        public void notifyBatchUpdate(final Side side, final Direction direction,
+                final Collection<Tuple> updateElements, final Tuple signature, final boolean change,
+                final Timestamp timestamp) {
+            // in the default case, all timestamps must be zero
+            assert Timestamp.ZERO.equals(timestamp);
+            assert side != Side.BOTH;
+
+            // probe the opposite memory only once for the whole batch
+            final Collection<Tuple> opposites = retrieveOpposites(side, signature);
+            if (opposites != null) {
+                for (final Tuple opposite : opposites) {
+                    for (final Tuple updateElement : updateElements) {
+                        propagateUpdate(direction, unify(side, updateElement, opposite), timestamp);
+                    }
+                }
+            }
+        }
     };
 
     private final NetworkStructureChangeSensitiveLogic TIMELY = new NetworkStructureChangeSensitiveLogic() {
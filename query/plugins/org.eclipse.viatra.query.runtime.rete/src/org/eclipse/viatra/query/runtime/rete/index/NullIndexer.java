@@ -77,6 +77,14 @@ public abstract class NullIndexer extends SpecializedProjectionIndexer {
         return getTuples().isEmpty() ? 0 : 1;
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public int getTotalSize() {
+        return getTuples().size();
+    }
+
     @Override
     public void propagateToListener(IndexerListener listener, Direction direction, Tuple updateElement,
             Timestamp timestamp) {
@@ -16,6 +16,7 @@ import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
 import org.eclipse.viatra.query.runtime.rete.network.BaseNode;
 import org.eclipse.viatra.query.runtime.rete.network.NetworkStructureChangeSensitiveNode;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
@@ -48,11 +49,45 @@ public abstract class StandardIndexer extends BaseNode implements Indexer, Netwo
      * @since 2.4
      */
     protected void propagate(Direction direction, Tuple updateElement, Tuple signature, boolean change, Timestamp timestamp) {
+        final ReteInstrumentation instrumentation = reteContainer.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.notifyIndexerPropagation(this, proxyListeners, 1);
+        }
         for (IndexerListener listener : proxyListeners) {
             listener.notifyIndexerUpdate(direction, updateElement, signature, change, timestamp);
         }
     }
 
+    /**
+     * Notifies the listeners about a batch of updates sharing the same direction and signature.
+     * 
+     * @since 2.9
+     */
+    protected void propagateBatch(Direction direction, Collection<Tuple> updateElements, Tuple signature,
+            boolean change, Timestamp timestamp) {
+        final ReteInstrumentation instrumentation = reteContainer.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.notifyIndexerPropagation(this, proxyListeners, updateElements.size());
+        }
+        for (IndexerListener listener : proxyListeners) {
+            listener.notifyIndexerBatchUpdate(direction, updateElements, signature, change, timestamp);
+        }
+    }
+
+    /**
+     * Returns true if all listeners of this indexer accept batched notifications.
+     * 
+     * @since 2.9
+     */
+    protected boolean canPropagateBatches() {
+        for (IndexerListener listener : proxyListeners) {
+            if (!listener.supportsBatchUpdates()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public TupleMask getMask() {
         return mask;
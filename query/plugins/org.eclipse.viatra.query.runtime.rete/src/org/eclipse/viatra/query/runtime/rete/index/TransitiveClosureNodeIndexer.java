@@ -9,11 +9,12 @@
 package org.eclipse.viatra.query.runtime.rete.index;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
-import org.eclipse.viatra.query.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.viatra.query.runtime.matchers.tuple.MaskedTuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
@@ -21,89 +22,180 @@ import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
 import org.eclipse.viatra.query.runtime.rete.single.TransitiveClosureNode;
 
-// UNFINISHED, not used yet
-public class TransitiveClosureNodeIndexer extends StandardIndexer implements IterableIndexer {
-    private TransitiveClosureNode tcNode;
-    private IncSCCAlg<Object> tcAlg;
-    private Collection<Tuple> emptySet;
+/**
+ * An indexer of a {@link TransitiveClosureNode} computing reachability on demand, which answers lookups by querying
+ * the transitive closure algorithm of the node instead of storing the relation.
+ * <p>
+ * The algorithm already reflects all changes of a graph update when the node starts propagating them, so the node
+ * marks the resulting tuples as pending in advance, and the indexer hides the effect of pending tuples until it
+ * propagates them itself. This way, the contents of the indexer are always consistent with the notifications it has
+ * sent, as if it stored the relation.
+ */
+public class TransitiveClosureNodeIndexer extends StandardIndexer implements ProjectionIndexer {
+    private final TransitiveClosureNode tcNode;
+    private final int sourcePosition;
+    private final int targetPosition;
+    /**
+     * Tuples already reflected by the algorithm but not yet propagated by this indexer, grouped by signature
+     */
+    private final Map<Tuple, Map<Tuple, Direction>> pendingTuples;
 
-    public TransitiveClosureNodeIndexer(TupleMask mask, IncSCCAlg<Object> tcAlg, TransitiveClosureNode tcNode) {
+    /**
+     * @since 2.9
+     */
+    public TransitiveClosureNodeIndexer(TupleMask mask, TransitiveClosureNode tcNode) {
         super(tcNode.getContainer(), mask);
-        this.tcAlg = tcAlg;
         this.tcNode = tcNode;
-        this.emptySet = Collections.emptySet();
+        this.sourcePosition = positionOf(mask, 0);
+        this.targetPosition = positionOf(mask, 1);
+        this.pendingTuples = CollectionsFactory.createMap();
         this.parent = tcNode;
     }
 
+    private static int positionOf(TupleMask mask, int index) {
+        for (int i = 0; i < mask.indices.length; i++) {
+            if (mask.indices[i] == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public Collection<Tuple> get(Tuple signature) {
-        if (signature.getSize() == mask.sourceWidth) {
-            if (mask.indices.length == 0) {
-                // mask ()/2
-                return getSignatures();
-            } else if (mask.indices.length == 1) {
-                Set<Tuple> retSet = CollectionsFactory.createSet();
-
-                // mask (0)/2
-                if (mask.indices[0] == 0) {
-                    Object source = signature.get(0);
-                    for (Object target : tcAlg.getAllReachableTargets(source)) {
-                        retSet.add(Tuples.staticArityFlatTupleOf(source, target));
-                    }
-                    return retSet;
-                }
-                // mask (1)/2
-                if (mask.indices[0] == 1) {
-                    Object target = signature.get(1);
-                    for (Object source : tcAlg.getAllReachableSources(target)) {
-                        retSet.add(Tuples.staticArityFlatTupleOf(source, target));
-                    }
-                    return retSet;
+        Set<Tuple> tuples = CollectionsFactory.createSet();
+        ITcDataSource<Object> tcAlg = tcNode.getTransitiveClosureAlgorithm();
+        if (sourcePosition >= 0 && targetPosition >= 0) {
+            Object source = signature.get(sourcePosition);
+            Object target = signature.get(targetPosition);
+            if (tcAlg.isReachable(source, target)) {
+                addIfConforms(tuples, signature, source, target);
+            }
+        } else if (sourcePosition >= 0) {
+            Object source = signature.get(sourcePosition);
+            for (Object target : tcAlg.getAllReachableTargets(source)) {
+                addIfConforms(tuples, signature, source, target);
+            }
+        } else if (targetPosition >= 0) {
+            Object target = signature.get(targetPosition);
+            for (Object source : tcAlg.getAllReachableSources(target)) {
+                addIfConforms(tuples, signature, source, target);
+            }
+        } else {
+            for (Object source : tcNode.getGraphNodes()) {
+                for (Object target : tcAlg.getAllReachableTargets(source)) {
+                    tuples.add(Tuples.staticArityFlatTupleOf(source, target));
                 }
-            } else {
-                // mask (0,1)/2
-                if (mask.indices[0] == 0 && mask.indices[1] == 1) {
-                    Object source = signature.get(0);
-                    Object target = signature.get(1);
-                    Tuple singleton = Tuples.staticArityFlatTupleOf(source, target);
-                    return (tcAlg.isReachable(source, target) ? Collections.singleton(singleton) : emptySet);
+            }
+        }
+        Map<Tuple, Direction> pendingBucket = pendingTuples.get(signature);
+        if (pendingBucket != null) {
+            for (Entry<Tuple, Direction> pending : pendingBucket.entrySet()) {
+                if (pending.getValue() == Direction.INSERT) {
+                    tuples.remove(pending.getKey());
+                } else {
+                    tuples.add(pending.getKey());
                 }
-                // mask (1,0)/2
-                if (mask.indices[0] == 1 && mask.indices[1] == 0) {
-                    Object source = signature.get(1);
-                    Object target = signature.get(0);
-                    Tuple singleton = Tuples.staticArityFlatTupleOf(source, target);
-                    return (tcAlg.isReachable(source, target) ? Collections.singleton(singleton) : emptySet);
+            }
+        }
+        return tuples.isEmpty() ? null : tuples;
+    }
+
+    private void addIfConforms(Set<Tuple> tuples, Tuple signature, Object source, Object target) {
+        Tuple tuple = Tuples.staticArityFlatTupleOf(source, target);
+        // repeated indices in the mask may require further equalities
+        if (mask.transform(tuple).equals(signature)) {
+            tuples.add(tuple);
+        }
+    }
+
+    /**
+     * Enumerates the relation as seen by this indexer. As this searches the graph from each of its nodes, it is only
+     * intended for pulling the contents, not for lookups.
+     */
+    private Set<Tuple> getAllTuples() {
+        Set<Tuple> tuples = CollectionsFactory.createSet();
+        ITcDataSource<Object> tcAlg = tcNode.getTransitiveClosureAlgorithm();
+        for (Object source : tcNode.getGraphNodes()) {
+            for (Object target : tcAlg.getAllReachableTargets(source)) {
+                tuples.add(Tuples.staticArityFlatTupleOf(source, target));
+            }
+        }
+        for (Map<Tuple, Direction> pendingBucket : pendingTuples.values()) {
+            for (Entry<Tuple, Direction> pending : pendingBucket.entrySet()) {
+                if (pending.getValue() == Direction.INSERT) {
+                    tuples.remove(pending.getKey());
+                } else {
+                    tuples.add(pending.getKey());
                 }
             }
         }
-        return null;
+        return tuples;
     }
 
     @Override
     public int getBucketCount() {
-        throw new UnsupportedOperationException();
+        return getSignatures().size();
+    }
+
+    @Override
+    public int getTotalSize() {
+        return getAllTuples().size();
     }
-    
+
     @Override
-    public Collection<Tuple> getSignatures() {
-        return asTupleCollection(tcAlg.getTcRelation());
+    public Set<Tuple> getSignatures() {
+        Set<Tuple> signatures = CollectionsFactory.createSet();
+        for (Tuple tuple : getAllTuples()) {
+            signatures.add(mask.transform(tuple));
+        }
+        return signatures;
     }
-    
+
     @Override
     public Iterator<Tuple> iterator() {
-        return asTupleCollection(tcAlg.getTcRelation()).iterator();
+        return getSignatures().iterator();
     }
 
-    private Collection<Tuple> asTupleCollection(
-            Collection<org.eclipse.viatra.query.runtime.base.itc.alg.misc.Tuple<Object>> tuples) {
-        Set<Tuple> retSet = CollectionsFactory.createSet();
-        for (org.eclipse.viatra.query.runtime.base.itc.alg.misc.Tuple<Object> tuple : tuples) {
-            retSet.add(Tuples.staticArityFlatTupleOf(tuple.getSource(), tuple.getTarget()));
+    /**
+     * Marks a tuple of the relation as pending: the algorithm already reflects its change, but the indexer has not
+     * propagated it yet by {@link #propagatePending(Direction, Tuple)}.
+     * 
+     * @since 2.9
+     */
+    public void markPending(Direction direction, Tuple updateElement) {
+        Tuple signature = mask.transform(updateElement);
+        Map<Tuple, Direction> pendingBucket = pendingTuples.get(signature);
+        if (pendingBucket == null) {
+            pendingBucket = CollectionsFactory.createMap();
+            pendingTuples.put(signature, pendingBucket);
+        }
+        pendingBucket.put(updateElement, direction);
+    }
+
+    /**
+     * Propagates a tuple previously marked as pending, after which it becomes visible to lookups.
+     * 
+     * @since 2.9
+     */
+    public void propagatePending(Direction direction, Tuple updateElement) {
+        Tuple signature = mask.transform(updateElement);
+        Map<Tuple, Direction> pendingBucket = pendingTuples.get(signature);
+        if (pendingBucket != null) {
+            pendingBucket.remove(updateElement);
+            if (pendingBucket.isEmpty()) {
+                pendingTuples.remove(signature);
+            }
         }
-        return retSet;
+        if (getListeners().isEmpty()) {
+            return;
+        }
+        Collection<Tuple> bucket = get(signature);
+        boolean change = direction == Direction.INSERT ? bucket != null && bucket.size() == 1 : bucket == null;
+        propagate(direction, updateElement, signature, change, Timestamp.ZERO);
     }
 
     /**
@@ -117,5 +209,5 @@ public class TransitiveClosureNodeIndexer extends StandardIndexer implements Ite
     public Receiver getActiveNode() {
         return tcNode;
     }
-    
+
 }
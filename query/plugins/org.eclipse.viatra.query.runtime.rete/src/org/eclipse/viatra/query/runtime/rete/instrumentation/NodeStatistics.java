@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.instrumentation;
+
+/**
+ * A snapshot of the metrics collected by {@link ReteInstrumentation} for a single Rete node.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class NodeStatistics {
+
+    private final long nodeId;
+    private final String description;
+    private final long receivedTuples;
+    private final long emittedTuples;
+    private final int bucketCount;
+    private final long indexedTuples;
+    private final long groupDeliveryNanos;
+
+    public NodeStatistics(long nodeId, String description, long receivedTuples, long emittedTuples, int bucketCount,
+            long indexedTuples, long groupDeliveryNanos) {
+        this.nodeId = nodeId;
+        this.description = description;
+        this.receivedTuples = receivedTuples;
+        this.emittedTuples = emittedTuples;
+        this.bucketCount = bucketCount;
+        this.indexedTuples = indexedTuples;
+        this.groupDeliveryNanos = groupDeliveryNanos;
+    }
+
+    /**
+     * Returns the identifier of the node within its container.
+     */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the number of tuples the node received from its parents, either as messages or as indexer
+     * notifications.
+     */
+    public long getReceivedTuples() {
+        return receivedTuples;
+    }
+
+    /**
+     * Returns the number of tuples the node sent to its children; a tuple sent to n children counts n times.
+     */
+    public long getEmittedTuples() {
+        return emittedTuples;
+    }
+
+    /**
+     * Returns the number of buckets (distinct signatures) if the node is an iterable indexer, -1 otherwise.
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the total size of the buckets if the node is an iterable indexer, -1 otherwise.
+     */
+    public long getIndexedTuples() {
+        return indexedTuples;
+    }
+
+    /**
+     * Returns the wall time in nanoseconds spent delivering the messages of the communication group represented by
+     * this node, 0 if the node is not the representative of a group.
+     */
+    public long getGroupDeliveryNanos() {
+        return groupDeliveryNanos;
+    }
+
+    @Override
+    public String toString() {
+        return description + ": received=" + receivedTuples + ", emitted=" + emittedTuples + ", buckets="
+                + bucketCount + ", indexed=" + indexedTuples + ", deliveryNanos=" + groupDeliveryNanos;
+    }
+
+}
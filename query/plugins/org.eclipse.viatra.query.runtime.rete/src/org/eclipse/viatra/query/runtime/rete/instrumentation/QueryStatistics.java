@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.instrumentation;
+
+/**
+ * The metrics collected by {@link ReteInstrumentation} rolled up for the Rete nodes of a query. The nodes of a query
+ * are found by following the recipe traces from its production node towards its ancestors; thus the nodes of called
+ * queries are included as well, and nodes shared by several queries are counted for each of them.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class QueryStatistics {
+
+    private final String queryName;
+    private final int nodeCount;
+    private final long receivedTuples;
+    private final long emittedTuples;
+    private final int bucketCount;
+    private final long indexedTuples;
+    private final long deliveryNanos;
+
+    public QueryStatistics(String queryName, int nodeCount, long receivedTuples, long emittedTuples, int bucketCount,
+            long indexedTuples, long deliveryNanos) {
+        this.queryName = queryName;
+        this.nodeCount = nodeCount;
+        this.receivedTuples = receivedTuples;
+        this.emittedTuples = emittedTuples;
+        this.bucketCount = bucketCount;
+        this.indexedTuples = indexedTuples;
+        this.deliveryNanos = deliveryNanos;
+    }
+
+    /**
+     * Returns the fully qualified name of the query.
+     */
+    public String getQueryName() {
+        return queryName;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @see NodeStatistics#getReceivedTuples()
+     */
+    public long getReceivedTuples() {
+        return receivedTuples;
+    }
+
+    /**
+     * @see NodeStatistics#getEmittedTuples()
+     */
+    public long getEmittedTuples() {
+        return emittedTuples;
+    }
+
+    /**
+     * Returns the total number of buckets of the iterable indexers of the query.
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the total size of the iterable indexers of the query.
+     */
+    public long getIndexedTuples() {
+        return indexedTuples;
+    }
+
+    /**
+     * Returns the wall time in nanoseconds spent delivering the messages of the communication groups represented by
+     * the nodes of the query.
+     */
+    public long getDeliveryNanos() {
+        return deliveryNanos;
+    }
+
+    @Override
+    public String toString() {
+        return queryName + ": nodes=" + nodeCount + ", received=" + receivedTuples + ", emitted=" + emittedTuples
+                + ", buckets=" + bucketCount + ", indexed=" + indexedTuples + ", deliveryNanos=" + deliveryNanos;
+    }
+
+}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.rete.index.IndexerListener;
+import org.eclipse.viatra.query.runtime.rete.index.IterableIndexer;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.eclipse.viatra.query.runtime.rete.network.Network;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
+import org.eclipse.viatra.query.runtime.rete.network.mailbox.Mailbox;
+import org.eclipse.viatra.query.runtime.rete.traceability.CompiledQuery;
+import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+
+/**
+ * Collects runtime metrics of the Rete network of a {@link ReteEngine}: the number of tuples received and emitted by
+ * each node, the number of buckets and the total size of the iterable indexers, and the wall time spent delivering the
+ * messages of each communication group. The metrics can be rolled up per query (see {@link QueryStatistics}), and the
+ * instrumentation can be exported via JMX.
+ * <p>
+ * Instrumentation is disabled by default; while it is disabled, the propagation of an update only checks whether an
+ * instrumentation is installed in the container. Counters are thread-safe, so that they can be updated during
+ * parallel propagation. Indexer sizes are computed when the metrics are queried.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class is part of an experimental API, and may change in future versions.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class ReteInstrumentation implements ReteInstrumentationMXBean {
+
+    private static final String JMX_DOMAIN = "org.eclipse.viatra.query.runtime.rete";
+
+    private final ReteEngine engine;
+    private final ConcurrentMap<Node, NodeCounters> nodeCounters = new ConcurrentHashMap<>();
+    // group representative -> delivery time
+    private final ConcurrentMap<Node, LongAdder> groupDeliveryNanos = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private ObjectName objectName;
+
+    public ReteInstrumentation(ReteEngine engine) {
+        this.engine = engine;
+    }
+
+    private static final class NodeCounters {
+        final LongAdder received = new LongAdder();
+        final LongAdder emitted = new LongAdder();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        Network network = engine.getReteNet();
+        if (network != null) {
+            attachTo(network);
+        }
+    }
+
+    /**
+     * Installs the instrumentation into (or, if disabled, removes it from) the containers of the given network.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public synchronized void attachTo(Network network) {
+        for (ReteContainer container : network.getContainers()) {
+            container.setInstrumentation(enabled ? this : null);
+        }
+    }
+
+    @Override
+    public void reset() {
+        nodeCounters.clear();
+        groupDeliveryNanos.clear();
+    }
+
+    private NodeCounters getCounters(Node node) {
+        return nodeCounters.computeIfAbsent(node, n -> new NodeCounters());
+    }
+
+    /**
+     * Records that the sender node posted a tuple to each of the given mailboxes.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void notifyPropagation(Node sender, Collection<? extends Mailbox> mailboxes) {
+        getCounters(sender).emitted.add(mailboxes.size());
+        for (Mailbox mailbox : mailboxes) {
+            getCounters(mailbox.getReceiver()).received.increment();
+        }
+    }
+
+    /**
+     * Records that the indexer notified each of the given listeners about the given number of tuples.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void notifyIndexerPropagation(Node indexer, Collection<? extends IndexerListener> listeners,
+            int tupleCount) {
+        getCounters(indexer).emitted.add((long) tupleCount * listeners.size());
+        for (IndexerListener listener : listeners) {
+            getCounters(listener.getOwner()).received.add(tupleCount);
+        }
+    }
+
+    /**
+     * Records the time spent delivering the messages of the given group.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void notifyGroupDelivered(CommunicationGroup group, long nanos) {
+        groupDeliveryNanos.computeIfAbsent(group.getRepresentative(), n -> new LongAdder()).add(nanos);
+    }
+
+    /**
+     * Returns the metrics of the given node.
+     */
+    public NodeStatistics getNodeStatistics(Node node) {
+        NodeCounters counters = nodeCounters.get(node);
+        LongAdder deliveryNanos = groupDeliveryNanos.get(node);
+        int bucketCount = -1;
+        long indexedTuples = -1;
+        if (node instanceof IterableIndexer) {
+            IterableIndexer indexer = (IterableIndexer) node;
+            bucketCount = indexer.getBucketCount();
+            indexedTuples = 0;
+            for (Tuple signature : indexer.getSignatures()) {
+                Collection<Tuple> bucket = indexer.get(signature);
+                indexedTuples += bucket == null ? 0 : bucket.size();
+            }
+        }
+        return new NodeStatistics(node.getNodeId(), node.toString(), counters == null ? 0 : counters.received.sum(),
+                counters == null ? 0 : counters.emitted.sum(), bucketCount, indexedTuples,
+                deliveryNanos == null ? 0 : deliveryNanos.sum());
+    }
+
+    @Override
+    public List<NodeStatistics> getNodeStatistics() {
+        List<NodeStatistics> result = new ArrayList<>();
+        Network network = engine.getReteNet();
+        if (network != null) {
+            for (ReteContainer container : network.getContainers()) {
+                for (Node node : container.getAllNodes()) {
+                    result.add(getNodeStatistics(node));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the metrics rolled up for the nodes of the given query, or null if the query was not compiled by the
+     * engine.
+     */
+    public QueryStatistics getQueryStatistics(PQuery query) {
+        if (engine.getCompiler() == null) {
+            return null;
+        }
+        CompiledQuery compiledQuery = engine.getCompiler().getCachedCompiledQueries().get(query);
+        return compiledQuery == null ? null : rollUp(query, compiledQuery);
+    }
+
+    @Override
+    public List<QueryStatistics> getQueryStatistics() {
+        List<QueryStatistics> result = new ArrayList<>();
+        if (engine.getCompiler() != null) {
+            for (Map.Entry<PQuery, CompiledQuery> entry : engine.getCompiler().getCachedCompiledQueries().entrySet()) {
+                result.add(rollUp(entry.getKey(), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private QueryStatistics rollUp(PQuery query, CompiledQuery compiledQuery) {
+        int nodeCount = 0;
+        long received = 0;
+        long emitted = 0;
+        int bucketCount = 0;
+        long indexedTuples = 0;
+        long deliveryNanos = 0;
+        for (Node node : collectNodes(compiledQuery)) {
+            NodeStatistics statistics = getNodeStatistics(node);
+            nodeCount++;
+            received += statistics.getReceivedTuples();
+            emitted += statistics.getEmittedTuples();
+            bucketCount += Math.max(0, statistics.getBucketCount());
+            indexedTuples += Math.max(0, statistics.getIndexedTuples());
+            deliveryNanos += statistics.getGroupDeliveryNanos();
+        }
+        return new QueryStatistics(query.getFullyQualifiedName(), nodeCount, received, emitted, bucketCount,
+                indexedTuples, deliveryNanos);
+    }
+
+    private static Set<Node> collectNodes(RecipeTraceInfo root) {
+        Set<Node> nodes = new HashSet<>();
+        Set<RecipeTraceInfo> visited = new HashSet<>();
+        Deque<RecipeTraceInfo> toVisit = new ArrayDeque<>();
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            RecipeTraceInfo trace = toVisit.poll();
+            if (visited.add(trace)) {
+                if (trace.getNode() != null) {
+                    nodes.add(trace.getNode());
+                }
+                toVisit.addAll(trace.getParentRecipeTraces());
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Registers the instrumentation in the platform MBean server, unless it is already registered.
+     *
+     * @return the name of the registered MBean
+     * @throws IllegalStateException
+     *             if the registration fails
+     */
+    public synchronized ObjectName registerMBean() {
+        if (objectName == null) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=ReteInstrumentation,engine="
+                        + Integer.toHexString(System.identityHashCode(engine)));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+                objectName = name;
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register Rete instrumentation MBean", e);
+            }
+        }
+        return objectName;
+    }
+
+    /**
+     * Removes the instrumentation from the platform MBean server if it was registered.
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not unregister Rete instrumentation MBean", e);
+            } finally {
+                objectName = null;
+            }
+        }
+    }
+
+}
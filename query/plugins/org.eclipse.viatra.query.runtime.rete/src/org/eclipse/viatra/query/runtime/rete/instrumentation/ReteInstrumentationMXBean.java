@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.instrumentation;
+
+import java.util.List;
+
+/**
+ * JMX management interface of {@link ReteInstrumentation}.
+ *
+ * @since 2.9
+ */
+public interface ReteInstrumentationMXBean {
+
+    /**
+     * Returns whether metrics are currently collected.
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts or stops collecting metrics; the metrics collected so far are kept.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Discards the metrics collected so far.
+     */
+    void reset();
+
+    /**
+     * Returns the metrics of all nodes of the Rete network.
+     */
+    List<NodeStatistics> getNodeStatistics();
+
+    /**
+     * Returns the metrics rolled up for each query compiled by the engine.
+     */
+    List<QueryStatistics> getQueryStatistics();
+
+}
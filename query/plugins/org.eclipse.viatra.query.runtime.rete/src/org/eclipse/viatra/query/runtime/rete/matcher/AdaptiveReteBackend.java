@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.matchers.backend.IMatcherCapability;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendHintProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.IUpdateable;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryHintOption;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryCacheContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryResultProviderAccess;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.planning.SubPlan;
+import org.eclipse.viatra.query.runtime.matchers.planning.operations.PJoin;
+import org.eclipse.viatra.query.runtime.matchers.psystem.analysis.QueryAnalyzer;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+import org.eclipse.viatra.query.runtime.rete.construction.plancompiler.ReteRecipeCompiler;
+import org.eclipse.viatra.query.runtime.rete.construction.quasitree.CardinalityEstimator;
+import org.eclipse.viatra.query.runtime.rete.construction.quasitree.ObservedCardinalities;
+import org.eclipse.viatra.query.runtime.rete.index.IterableIndexer;
+import org.eclipse.viatra.query.runtime.rete.network.Network;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.remote.Address;
+import org.eclipse.viatra.query.runtime.rete.traceability.CompiledQuery;
+import org.eclipse.viatra.query.runtime.rete.traceability.PlanningTrace;
+import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+import org.eclipse.viatra.query.runtime.rete.util.ReteHintOptions;
+
+/**
+ * A Rete backend adapting the join orders of its queries to the sizes of the intermediate results, see
+ * {@link AdaptiveReteBackendFactory}.
+ * <p>
+ * The queries are planned with {@link ReteHintOptions#cardinalityBasedJoinOrdering cardinality-based join ordering}.
+ * After the matcher of a query is built, the input memories of its joins are monitored: each input is expected to hold
+ * as many tuples as estimated by the planner (or as it held after the matcher was built, if there was no estimate).
+ * When the delayed updates are flushed, and at least the check interval of the factory has passed since the previous
+ * check, the sizes of the inputs are compared to their expected sizes; the check can also be triggered explicitly by
+ * {@link #reoptimize()}. Reading the matchers never triggers the check.
+ * <p>
+ * If any join input of a query has grown beyond the growth factor of the factory, the observed sizes are recorded as
+ * {@link ReteHintOptions#observedCardinalities}, and the query is planned again for them. If the new plan is the same
+ * as the one the matcher was built from, only the expected sizes of its inputs are updated. Otherwise the matcher of
+ * the query is rebuilt: the part of the network used only by the matcher is released, and the query is built again in
+ * the same {@link ReteEngine}, reusing the nodes shared with other queries. The result provider of the query is switched
+ * to the new matcher only after it is built and synchronized with the model. The matchers of queries called by other
+ * queries (including recursive queries) are not rebuilt, as their part of the network is shared with the callers.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class AdaptiveReteBackend implements IQueryBackend {
+
+    private final IQueryBackendContext context;
+    private final AdaptiveReteBackendFactory factory;
+    private final ObservedCardinalities observedCardinalities = new ObservedCardinalities();
+    private final QueryEvaluationHint adaptiveHint;
+    private final ReteEngine rete;
+    private final Map<PQuery, AdaptiveResultProvider> resultProviders = new LinkedHashMap<>();
+    private final Map<PQuery, List<MonitoredJoinInput>> monitoredInputs = new HashMap<>();
+    private long lastCheckNanos = System.nanoTime();
+    private int rebuildCount;
+
+    AdaptiveReteBackend(IQueryBackendContext context, AdaptiveReteBackendFactory factory) {
+        this.context = context;
+        this.factory = factory;
+        Map<QueryHintOption<?>, Object> settings = new HashMap<>();
+        settings.put(ReteHintOptions.cardinalityBasedJoinOrdering, true);
+        settings.put(ReteHintOptions.observedCardinalities, observedCardinalities);
+        this.adaptiveHint = new QueryEvaluationHint(settings, (IQueryBackendFactory) null);
+        this.rete = (ReteEngine) ReteBackendFactory.INSTANCE.create(new AdaptiveContext());
+    }
+
+    /**
+     * Returns the Rete engine evaluating the queries.
+     */
+    public ReteEngine getReteEngine() {
+        return rete;
+    }
+
+    /**
+     * Returns the sizes of the intermediate results observed before the matchers were rebuilt.
+     */
+    public ObservedCardinalities getObservedCardinalities() {
+        return observedCardinalities;
+    }
+
+    /**
+     * Returns the number of times a matcher was rebuilt with new join orders.
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Compares the sizes of the join inputs to their expected sizes, and rebuilds the matchers of the queries with any
+     * join input grown beyond the growth factor of the factory, unless planning them for the observed sizes results in
+     * the same join orders.
+     * <p>
+     * While update propagation is delayed, the matchers are not rebuilt, as a new matcher would be synchronized with
+     * model changes not yet delivered to the listeners of the previous one.
+     *
+     * @return true if any matcher was rebuilt
+     */
+    public boolean reoptimize() {
+        lastCheckNanos = System.nanoTime();
+        if (context.areUpdatesDelayed()) {
+            return false;
+        }
+        Set<PQuery> calledQueries = null;
+        List<AdaptiveResultProvider> drifted = new ArrayList<>();
+        for (AdaptiveResultProvider provider : resultProviders.values()) {
+            List<MonitoredJoinInput> inputs = monitoredInputs.getOrDefault(provider.query, Collections.emptyList());
+            if (inputs.stream().anyMatch(MonitoredJoinInput::hasGrown)) {
+                if (calledQueries == null) {
+                    calledQueries = collectCalledQueries();
+                }
+                if (!calledQueries.contains(provider.query)) {
+                    drifted.add(provider);
+                }
+            }
+        }
+        for (AdaptiveResultProvider provider : drifted) {
+            for (MonitoredJoinInput input : monitoredInputs.get(provider.query)) {
+                observedCardinalities.record(input.plan, input.getSize());
+            }
+        }
+        ReteRecipeCompiler compiler = rete.getCompiler();
+        drifted.removeIf(provider -> {
+            if (compiler.isPlanOutdated(provider.query)) {
+                return !compiler.forgetCompiledForm(provider.query);
+            }
+            // the join orders fit the observed sizes, so only the expected sizes are updated
+            monitorJoinInputs(provider.query);
+            return true;
+        });
+        if (drifted.isEmpty()) {
+            return false;
+        }
+        rebuildMatchers(drifted);
+        return true;
+    }
+
+    private void checkIfDue() {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastCheckNanos);
+        if (elapsedMillis >= factory.getCheckIntervalMillis()) {
+            reoptimize();
+        }
+    }
+
+    @Override
+    public boolean isCaching() {
+        return true;
+    }
+
+    @Override
+    public IQueryResultProvider getResultProvider(PQuery query) {
+        return getResultProvider(query, null);
+    }
+
+    @Override
+    public IQueryResultProvider getResultProvider(PQuery query, QueryEvaluationHint hints) {
+        AdaptiveResultProvider resultProvider = resultProviders.get(query);
+        if (resultProvider == null) {
+            resultProvider = new AdaptiveResultProvider(query, hints);
+            resultProvider.matcher = (RetePatternMatcher) rete.getResultProvider(query, hints);
+            resultProviders.put(query, resultProvider);
+            monitorJoinInputs(query);
+        }
+        return resultProvider;
+    }
+
+    @Override
+    public IQueryResultProvider peekExistingResultProvider(PQuery query) {
+        return resultProviders.get(query);
+    }
+
+    @Override
+    public void flushUpdates() {
+        rete.flushUpdates();
+        checkIfDue();
+    }
+
+    @Override
+    public void dispose() {
+        rete.dispose();
+        resultProviders.clear();
+        monitoredInputs.clear();
+    }
+
+    @Override
+    public IQueryBackendFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Discards the matchers of the given queries, whose compiled forms were already forgotten, and builds them again.
+     */
+    private void rebuildMatchers(List<AdaptiveResultProvider> providers) {
+        List<PQuery> queries = new ArrayList<>();
+        for (AdaptiveResultProvider provider : providers) {
+            queries.add(provider.query);
+            monitoredInputs.remove(provider.query);
+            for (Object listenerTag : provider.listeners.keySet()) {
+                provider.matcher.removeUpdateListener(listenerTag);
+            }
+        }
+        rete.discardMatchers(queries);
+        for (AdaptiveResultProvider provider : providers) {
+            RetePatternMatcher matcher = (RetePatternMatcher) rete.getResultProvider(provider.query, provider.hints);
+            monitorJoinInputs(provider.query);
+            // the model has not changed since the listeners were notified last time
+            for (Map.Entry<Object, IUpdateable> listener : provider.listeners.entrySet()) {
+                matcher.addUpdateListener(listener.getValue(), listener.getKey(), false);
+            }
+            provider.matcher = matcher;
+            rebuildCount++;
+        }
+        context.getLogger().debug(String.format("Rebuilt the Rete matchers of %d queries with adapted join orders",
+                providers.size()));
+    }
+
+    /**
+     * Collects the queries called by compiled queries, including the recursive queries calling themselves.
+     */
+    private Set<PQuery> collectCalledQueries() {
+        Set<PQuery> calledQueries = new HashSet<>();
+        for (CompiledQuery compiledQuery : rete.getCompiler().getCachedCompiledQueries().values()) {
+            collectCalledQueries(compiledQuery, compiledQuery, new HashSet<>(), calledQueries);
+        }
+        return calledQueries;
+    }
+
+    private void collectCalledQueries(CompiledQuery root, RecipeTraceInfo trace, Set<RecipeTraceInfo> visited,
+            Set<PQuery> calledQueries) {
+        if (!visited.add(trace)) {
+            return;
+        }
+        if (trace instanceof CompiledQuery && trace != root) {
+            calledQueries.add(((CompiledQuery) trace).getQuery());
+            return;
+        }
+        for (RecipeTraceInfo parentTrace : trace.getParentRecipeTraces()) {
+            collectCalledQueries(root, parentTrace, visited, calledQueries);
+        }
+    }
+
+    /**
+     * Starts monitoring the input memories of the joins computing the given query, except for the joins belonging to
+     * called queries.
+     */
+    private void monitorJoinInputs(PQuery query) {
+        CompiledQuery compiledQuery = rete.getCompiler().getCachedCompiledQueries().get(query);
+        if (compiledQuery == null) {
+            return;
+        }
+        CardinalityEstimator estimator = new CardinalityEstimator(context.getRuntimeContext(), observedCardinalities);
+        List<MonitoredJoinInput> inputs = new ArrayList<>();
+        collectJoinInputs(rete.getReteNet(), compiledQuery, compiledQuery, new HashSet<>(), estimator, inputs);
+        monitoredInputs.put(query, inputs);
+    }
+
+    private void collectJoinInputs(Network network, CompiledQuery root, RecipeTraceInfo trace,
+            Set<RecipeTraceInfo> visited, CardinalityEstimator estimator, List<MonitoredJoinInput> inputs) {
+        if (!visited.add(trace) || (trace instanceof CompiledQuery && trace != root)) {
+            return;
+        }
+        if (trace instanceof PlanningTrace && ((PlanningTrace) trace).getSubPlan().getOperation() instanceof PJoin) {
+            SubPlan joinPlan = ((PlanningTrace) trace).getSubPlan();
+            for (RecipeTraceInfo indexerTrace : trace.getParentRecipeTraces()) {
+                Node indexer = resolveNode(network, indexerTrace);
+                if (indexer instanceof IterableIndexer) {
+                    for (RecipeTraceInfo operandTrace : indexerTrace.getParentRecipeTraces()) {
+                        if (operandTrace instanceof PlanningTrace
+                                && joinPlan.getParentPlans().contains(((PlanningTrace) operandTrace).getSubPlan())) {
+                            inputs.add(new MonitoredJoinInput(((PlanningTrace) operandTrace).getSubPlan(),
+                                    (IterableIndexer) indexer, estimator));
+                        }
+                    }
+                }
+            }
+        }
+        for (RecipeTraceInfo parentTrace : trace.getParentRecipeTraces()) {
+            collectJoinInputs(network, root, parentTrace, visited, estimator, inputs);
+        }
+    }
+
+    private static Node resolveNode(Network network, RecipeTraceInfo trace) {
+        Address<? extends Node> address = network.getNodeByRecipeIfExists(trace.getRecipe());
+        return address == null ? null : network.getHeadContainer().resolveLocal(address);
+    }
+
+    /**
+     * An input memory of a join, with the number of tuples it is expected to hold.
+     */
+    private class MonitoredJoinInput {
+
+        final SubPlan plan;
+        final IterableIndexer memory;
+        final long expectedSize;
+
+        MonitoredJoinInput(SubPlan plan, IterableIndexer memory, CardinalityEstimator estimator) {
+            this.plan = plan;
+            this.memory = memory;
+            Optional<Double> estimate = estimator.estimateCardinality(plan);
+            this.expectedSize = estimate.isPresent() ? Math.round(estimate.get()) : getSize();
+        }
+
+        long getSize() {
+            return memory.getTotalSize();
+        }
+
+        boolean hasGrown() {
+            return getSize() > factory.getGrowthFactor() * Math.max(expectedSize, factory.getMinimumMemorySize());
+        }
+    }
+
+    /**
+     * Evaluates a query by its current matcher, which is replaced whenever the matcher is rebuilt.
+     */
+    private class AdaptiveResultProvider implements IQueryResultProvider {
+
+        final PQuery query;
+        final QueryEvaluationHint hints;
+        final Map<Object, IUpdateable> listeners = new LinkedHashMap<>();
+        volatile RetePatternMatcher matcher;
+
+        AdaptiveResultProvider(PQuery query, QueryEvaluationHint hints) {
+            this.query = query;
+            this.hints = hints;
+        }
+
+        @Override
+        public boolean hasMatch(Object[] parameters) {
+            return matcher.hasMatch(parameters);
+        }
+
+        @Override
+        public boolean hasMatch(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return matcher.hasMatch(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public int countMatches(Object[] parameters) {
+            return matcher.countMatches(parameters);
+        }
+
+        @Override
+        public int countMatches(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return matcher.countMatches(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public Optional<Long> estimateCardinality(TupleMask groupMask, Accuracy requiredAccuracy) {
+            return matcher.estimateCardinality(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Double> estimateAverageBucketSize(TupleMask groupMask, Accuracy requiredAccuracy) {
+            return matcher.estimateAverageBucketSize(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(Object[] parameters) {
+            return matcher.getOneArbitraryMatch(parameters);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(TupleMask parameterSeedMask, ITuple parameters) {
+            return matcher.getOneArbitraryMatch(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(Object[] parameters) {
+            return matcher.getAllMatches(parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(TupleMask parameterSeedMask, ITuple parameters) {
+            return matcher.getAllMatches(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public IQueryBackend getQueryBackend() {
+            return AdaptiveReteBackend.this;
+        }
+
+        @Override
+        public void addUpdateListener(IUpdateable listener, Object listenerTag, boolean fireNow) {
+            matcher.addUpdateListener(listener, listenerTag, fireNow);
+            listeners.put(listenerTag, listener);
+        }
+
+        @Override
+        public void removeUpdateListener(Object listenerTag) {
+            if (listeners.remove(listenerTag) != null) {
+                matcher.removeUpdateListener(listenerTag);
+            }
+        }
+    }
+
+    /**
+     * Forwards the requests of the Rete engine to the context of this backend, adding the hints of adaptive join
+     * ordering to the hints of each query.
+     */
+    private class AdaptiveContext implements IQueryBackendContext {
+
+        private final IQueryBackendHintProvider hintProvider = query -> context.getHintProvider()
+                .getQueryEvaluationHint(query).overrideBy(adaptiveHint);
+
+        @Override
+        public Logger getLogger() {
+            return context.getLogger();
+        }
+
+        @Override
+        public IQueryRuntimeContext getRuntimeContext() {
+            return context.getRuntimeContext();
+        }
+
+        @Override
+        public IQueryCacheContext getQueryCacheContext() {
+            return context.getQueryCacheContext();
+        }
+
+        @Override
+        public IQueryBackendHintProvider getHintProvider() {
+            return hintProvider;
+        }
+
+        @Override
+        public IQueryResultProviderAccess getResultProviderAccess() {
+            return context.getResultProviderAccess();
+        }
+
+        @Override
+        public QueryAnalyzer getQueryAnalyzer() {
+            return context.getQueryAnalyzer();
+        }
+
+        @Override
+        public IMatcherCapability getRequiredMatcherCapability(PQuery query, QueryEvaluationHint overrideHints) {
+            return context.getRequiredMatcherCapability(query, overrideHints);
+        }
+
+        @Override
+        public boolean areUpdatesDelayed() {
+            return context.areUpdatesDelayed();
+        }
+    }
+
+}
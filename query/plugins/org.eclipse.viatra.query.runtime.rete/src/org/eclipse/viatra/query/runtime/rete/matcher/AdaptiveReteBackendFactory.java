@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.Objects;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
+
+/**
+ * A {@link ReteBackendFactory} implementation that creates Rete backends choosing join orders by the cardinalities of
+ * the model, and adapting them to the sizes of the intermediate results observed while the model changes. If an input
+ * memory of a join grows far beyond the size it was planned for, the part of the network computing the query is
+ * rebuilt with join orders planned for the observed sizes.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This backend was introduced in 2.9 and its behaviour may change in future versions.
+ *
+ * @see AdaptiveReteBackend
+ * @since 2.9
+ */
+public class AdaptiveReteBackendFactory extends ReteBackendFactory {
+
+    private final double growthFactor;
+    private final int minimumMemorySize;
+    private final long checkIntervalMillis;
+
+    /**
+     * @param growthFactor
+     *            the matcher of a query is rebuilt if the size of one of its join inputs exceeds its planned size by
+     *            this factor
+     * @param minimumMemorySize
+     *            join inputs are only considered to have grown if their size exceeds this limit as well
+     * @param checkIntervalMillis
+     *            the minimum time between checking the sizes of the join inputs, or 0 for checking them each time the
+     *            delayed updates are flushed
+     */
+    public AdaptiveReteBackendFactory(double growthFactor, int minimumMemorySize, long checkIntervalMillis) {
+        Preconditions.checkArgument(growthFactor > 1, "Growth factor must be greater than 1: %s", growthFactor);
+        Preconditions.checkArgument(minimumMemorySize >= 0, "Memory size limit must not be negative: %s",
+                minimumMemorySize);
+        Preconditions.checkArgument(checkIntervalMillis >= 0, "Check interval must not be negative: %s",
+                checkIntervalMillis);
+        this.growthFactor = growthFactor;
+        this.minimumMemorySize = minimumMemorySize;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    public int getMinimumMemorySize() {
+        return minimumMemorySize;
+    }
+
+    public long getCheckIntervalMillis() {
+        return checkIntervalMillis;
+    }
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        return new AdaptiveReteBackend(context, this);
+    }
+
+    @Override
+    public Class<? extends IQueryBackend> getBackendClass() {
+        return AdaptiveReteBackend.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(AdaptiveReteBackendFactory.class, growthFactor, minimumMemorySize, checkIntervalMillis);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof AdaptiveReteBackendFactory)) {
+            return false;
+        }
+        AdaptiveReteBackendFactory other = (AdaptiveReteBackendFactory) obj;
+        return Double.compare(growthFactor, other.growthFactor) == 0 && minimumMemorySize == other.minimumMemorySize
+                && checkIntervalMillis == other.checkIntervalMillis;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+
+/**
+ * A {@link ReteBackendFactory} implementation that creates {@link ReteEngine}s in concurrent read mode: the results of
+ * their matchers may be read by multiple threads concurrently while a single thread modifies the model.
+ * 
+ * @see ReteEngine#isConcurrentReadsEnabled()
+ * @since 2.9
+ */
+public class ConcurrentReadReteBackendFactory extends ReteBackendFactory {
+
+    public static final ConcurrentReadReteBackendFactory INSTANCE = new ConcurrentReadReteBackendFactory();
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        return create(context, false, null, 0, true);
+    }
+
+    @Override
+    public int hashCode() {
+        return ConcurrentReadReteBackendFactory.class.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof ConcurrentReadReteBackendFactory)) {
+            return false;
+        }
+        return true;
+    }
+
+}
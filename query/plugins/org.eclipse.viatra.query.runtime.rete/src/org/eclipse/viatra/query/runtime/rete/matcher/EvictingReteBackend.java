@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.IUpdateable;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+
+/**
+ * A Rete backend that keeps a bounded number of queries in its Rete network, see
+ * {@link EvictingReteBackendFactory}.
+ * <p>
+ * The result providers of this backend evaluate their query either by a matcher of the underlying {@link ReteEngine},
+ * or by a result provider of the fallback backend if the query was evicted from the network. The access statistics of
+ * each query are available via {@link #getAccessStatistics(PQuery)}.
+ * <p>
+ * Evicting a query discards its matcher, releasing the part of the network that is not used by the remaining queries
+ * (see {@link ReteEngine#discardMatchers(java.util.Collection)}); the queries selected for eviction at the same time
+ * are discarded in a single batch. The limits are enforced whenever a query is added to the network: when a new query
+ * is requested from the backend, or an evicted query is promoted back; they are also enforced when
+ * {@link #evictColdQueries()} is called. Queries with registered update listeners are never evicted. An evicted query
+ * is added to the network again once it was accessed as many times as the promotion threshold of the factory, or when
+ * an update listener is registered to it.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class EvictingReteBackend implements IQueryBackend {
+
+    private final IQueryBackendContext context;
+    private final EvictingReteBackendFactory factory;
+    private final QueryEvaluationHint fallbackHint;
+    private final Map<PQuery, EvictableResultProvider> resultProviders = new LinkedHashMap<>();
+    private final ReteEngine rete;
+
+    EvictingReteBackend(IQueryBackendContext context, EvictingReteBackendFactory factory) {
+        this.context = context;
+        this.factory = factory;
+        this.fallbackHint = new QueryEvaluationHint(null, factory.getFallbackBackendFactory());
+        this.rete = (ReteEngine) ReteBackendFactory.INSTANCE.create(context);
+    }
+
+    /**
+     * Returns the Rete engine evaluating the queries that were not evicted.
+     */
+    public ReteEngine getReteEngine() {
+        return rete;
+    }
+
+    /**
+     * Returns the access statistics of the given query, or null if the query was not requested from this backend.
+     */
+    public QueryAccessStatistics getAccessStatistics(PQuery query) {
+        EvictableResultProvider resultProvider = resultProviders.get(query);
+        return resultProvider == null ? null : resultProvider.statistics;
+    }
+
+    /**
+     * Returns the access statistics of all queries requested from this backend.
+     */
+    public Map<PQuery, QueryAccessStatistics> getAccessStatistics() {
+        return Collections.unmodifiableMap(resultProviders.values().stream().collect(
+                Collectors.toMap(provider -> provider.query, provider -> provider.statistics, (a, b) -> a,
+                        LinkedHashMap::new)));
+    }
+
+    /**
+     * Evicts the queries exceeding the limits of the factory from the Rete network.
+     */
+    public void evictColdQueries() {
+        enforceLimits(0);
+    }
+
+    @Override
+    public boolean isCaching() {
+        return true;
+    }
+
+    @Override
+    public IQueryResultProvider getResultProvider(PQuery query) {
+        return getResultProvider(query, null);
+    }
+
+    @Override
+    public IQueryResultProvider getResultProvider(PQuery query, QueryEvaluationHint hints) {
+        EvictableResultProvider resultProvider = resultProviders.get(query);
+        if (resultProvider == null) {
+            enforceLimits(1);
+            resultProvider = new EvictableResultProvider(query, hints);
+            resultProvider.matcher = (RetePatternMatcher) rete.getResultProvider(query, hints);
+            resultProviders.put(query, resultProvider);
+        }
+        return resultProvider;
+    }
+
+    @Override
+    public IQueryResultProvider peekExistingResultProvider(PQuery query) {
+        return resultProviders.get(query);
+    }
+
+    @Override
+    public void flushUpdates() {
+        rete.flushUpdates();
+    }
+
+    @Override
+    public void dispose() {
+        rete.dispose();
+        resultProviders.clear();
+    }
+
+    @Override
+    public IQueryBackendFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Evicts queries until the given number of new queries fit into the network.
+     */
+    private void enforceLimits(int reserved) {
+        final List<EvictableResultProvider> candidates = resultProviders.values().stream()
+                .filter(provider -> provider.matcher != null && provider.listeners.isEmpty())
+                .sorted(Comparator.comparingLong(provider -> provider.statistics.getLastAccessNanos()))
+                .collect(Collectors.toList());
+        final List<EvictableResultProvider> evicted = new ArrayList<>();
+        final long maxIdleMillis = factory.getMaxIdleMillis();
+        if (maxIdleMillis > 0) {
+            for (EvictableResultProvider candidate : candidates) {
+                if (candidate.statistics.getIdleTimeMillis() > maxIdleMillis) {
+                    evicted.add(candidate);
+                }
+            }
+            candidates.removeAll(evicted);
+        }
+        final int maxReteQueries = factory.getMaxReteQueries();
+        if (maxReteQueries > 0) {
+            int reteQueries = (int) resultProviders.values().stream().filter(provider -> provider.matcher != null)
+                    .count() - evicted.size();
+            for (int i = 0; i < candidates.size() && reteQueries + reserved > maxReteQueries; i++) {
+                evicted.add(candidates.get(i));
+                reteQueries--;
+            }
+        }
+        if (!evicted.isEmpty()) {
+            evict(evicted);
+        }
+    }
+
+    private void evict(List<EvictableResultProvider> evicted) {
+        for (EvictableResultProvider provider : evicted) {
+            provider.matcher = null;
+            provider.statistics.recordEviction();
+        }
+        rete.discardMatchers(evicted.stream().map(provider -> provider.query).collect(Collectors.toList()));
+        context.getLogger().debug(String.format("Evicted %d queries from the Rete network", evicted.size()));
+    }
+
+    /**
+     * Evaluates a query either by the Rete network or by the fallback backend.
+     */
+    private class EvictableResultProvider implements IQueryResultProvider {
+
+        final PQuery query;
+        final QueryEvaluationHint hints;
+        final QueryAccessStatistics statistics;
+        final Map<Object, IUpdateable> listeners = new LinkedHashMap<>();
+        /**
+         * The matcher evaluating the query, or null if the query is evicted
+         */
+        RetePatternMatcher matcher;
+        private IQueryResultProvider fallback;
+
+        public EvictableResultProvider(PQuery query, QueryEvaluationHint hints) {
+            this.query = query;
+            this.hints = hints;
+            this.statistics = new QueryAccessStatistics(query);
+        }
+
+        private IQueryResultProvider access() {
+            statistics.recordAccess();
+            if (matcher == null && statistics.getAccessesSinceEviction() >= factory.getPromotionThreshold()) {
+                promote();
+            }
+            return matcher != null ? matcher : getFallback();
+        }
+
+        private void promote() {
+            enforceLimits(1);
+            matcher = (RetePatternMatcher) rete.getResultProvider(query, hints);
+            statistics.recordPromotion();
+        }
+
+        private IQueryResultProvider getFallback() {
+            if (fallback == null) {
+                QueryEvaluationHint fallbackHints = hints == null ? fallbackHint : hints.overrideBy(fallbackHint);
+                fallback = context.getResultProviderAccess().getResultProvider(query, fallbackHints);
+            }
+            return fallback;
+        }
+
+        @Override
+        public boolean hasMatch(Object[] parameters) {
+            return access().hasMatch(parameters);
+        }
+
+        @Override
+        public boolean hasMatch(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return access().hasMatch(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public int countMatches(Object[] parameters) {
+            return access().countMatches(parameters);
+        }
+
+        @Override
+        public int countMatches(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return access().countMatches(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public Optional<Long> estimateCardinality(TupleMask groupMask, Accuracy requiredAccuracy) {
+            // estimations are used by query planners, they are not counted as accesses
+            return matcher != null ? matcher.estimateCardinality(groupMask, requiredAccuracy)
+                    : getFallback().estimateCardinality(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Double> estimateAverageBucketSize(TupleMask groupMask, Accuracy requiredAccuracy) {
+            return matcher != null ? matcher.estimateAverageBucketSize(groupMask, requiredAccuracy)
+                    : getFallback().estimateAverageBucketSize(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(Object[] parameters) {
+            return access().getOneArbitraryMatch(parameters);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(TupleMask parameterSeedMask, ITuple parameters) {
+            return access().getOneArbitraryMatch(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(Object[] parameters) {
+            return access().getAllMatches(parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(TupleMask parameterSeedMask, ITuple parameters) {
+            return access().getAllMatches(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public IQueryBackend getQueryBackend() {
+            return EvictingReteBackend.this;
+        }
+
+        @Override
+        public void addUpdateListener(IUpdateable listener, Object listenerTag, boolean fireNow) {
+            // update notifications require incremental evaluation
+            statistics.recordAccess();
+            if (matcher == null) {
+                promote();
+            }
+            matcher.addUpdateListener(listener, listenerTag, fireNow);
+            listeners.put(listenerTag, listener);
+        }
+
+        @Override
+        public void removeUpdateListener(Object listenerTag) {
+            if (listeners.remove(listenerTag) != null) {
+                matcher.removeUpdateListener(listenerTag);
+            }
+        }
+    }
+
+}
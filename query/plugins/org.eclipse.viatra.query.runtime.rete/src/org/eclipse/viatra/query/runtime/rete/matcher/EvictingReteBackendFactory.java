@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.Objects;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.util.Preconditions;
+
+/**
+ * A {@link ReteBackendFactory} implementation that creates Rete backends with a bounded number of queries kept in the
+ * Rete network. Queries that have not been accessed recently are evicted from the network, and evaluated by a
+ * non-incremental fallback backend (typically local search) until they are accessed frequently again.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This backend was introduced in 2.9 and its behaviour may change in future versions.
+ *
+ * @see EvictingReteBackend
+ * @since 2.9
+ */
+public class EvictingReteBackendFactory extends ReteBackendFactory {
+
+    private final IQueryBackendFactory fallbackBackendFactory;
+    private final int maxReteQueries;
+    private final long maxIdleMillis;
+    private final int promotionThreshold;
+
+    /**
+     * @param fallbackBackendFactory
+     *            the backend evaluating the queries evicted from the Rete network
+     * @param maxReteQueries
+     *            the maximum number of queries kept in the Rete network, or 0 for no limit
+     * @param maxIdleMillis
+     *            queries not accessed for this amount of time are evicted, or 0 for no limit
+     * @param promotionThreshold
+     *            the number of accesses after which an evicted query is evaluated by the Rete network again
+     */
+    public EvictingReteBackendFactory(IQueryBackendFactory fallbackBackendFactory, int maxReteQueries,
+            long maxIdleMillis, int promotionThreshold) {
+        Preconditions.checkArgument(fallbackBackendFactory != null, "Fallback backend must be specified");
+        Preconditions.checkArgument(maxReteQueries >= 0, "Query limit must not be negative: %s", maxReteQueries);
+        Preconditions.checkArgument(maxIdleMillis >= 0, "Idle time must not be negative: %s", maxIdleMillis);
+        Preconditions.checkArgument(promotionThreshold > 0, "Promotion threshold must be positive: %s",
+                promotionThreshold);
+        this.fallbackBackendFactory = fallbackBackendFactory;
+        this.maxReteQueries = maxReteQueries;
+        this.maxIdleMillis = maxIdleMillis;
+        this.promotionThreshold = promotionThreshold;
+    }
+
+    public IQueryBackendFactory getFallbackBackendFactory() {
+        return fallbackBackendFactory;
+    }
+
+    public int getMaxReteQueries() {
+        return maxReteQueries;
+    }
+
+    public long getMaxIdleMillis() {
+        return maxIdleMillis;
+    }
+
+    public int getPromotionThreshold() {
+        return promotionThreshold;
+    }
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        return new EvictingReteBackend(context, this);
+    }
+
+    @Override
+    public Class<? extends IQueryBackend> getBackendClass() {
+        return EvictingReteBackend.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(EvictingReteBackendFactory.class, fallbackBackendFactory, maxReteQueries, maxIdleMillis,
+                promotionThreshold);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof EvictingReteBackendFactory)) {
+            return false;
+        }
+        EvictingReteBackendFactory other = (EvictingReteBackendFactory) obj;
+        return fallbackBackendFactory.equals(other.fallbackBackendFactory) && maxReteQueries == other.maxReteQueries
+                && maxIdleMillis == other.maxIdleMillis && promotionThreshold == other.promotionThreshold;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+
+/**
+ * A {@link ReteBackendFactory} implementation that creates {@link ReteEngine}s interning the data values of the tuples
+ * entering their Rete network.
+ * 
+ * @see ReteEngine#enableInputInterning()
+ * @since 2.9
+ */
+public class InterningReteBackendFactory extends ReteBackendFactory {
+
+    public static final InterningReteBackendFactory INSTANCE = new InterningReteBackendFactory();
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        final ReteEngine engine = (ReteEngine) super.create(context);
+        engine.enableInputInterning();
+        return engine;
+    }
+
+    @Override
+    public int hashCode() {
+        return InterningReteBackendFactory.class.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof InterningReteBackendFactory)) {
+            return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.rete.network.communication.timeless.ParallelCommunicationScheduler;
+
+/**
+ * A {@link ReteBackendFactory} implementation that creates {@link ReteEngine}s that deliver the messages of
+ * independent communication groups concurrently on a work-stealing pool.
+ * 
+ * @see ParallelCommunicationScheduler
+ * @since 2.9
+ */
+public class ParallelReteBackendFactory extends ReteBackendFactory {
+
+    /**
+     * Uses as many worker threads as available processors.
+     */
+    public static final ParallelReteBackendFactory INSTANCE = new ParallelReteBackendFactory(
+            Runtime.getRuntime().availableProcessors());
+
+    private final int parallelism;
+
+    /**
+     * @param parallelism
+     *            the number of worker threads used during update propagation
+     */
+    public ParallelReteBackendFactory(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        return create(context, false, null, parallelism);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * ParallelReteBackendFactory.class.hashCode() + parallelism;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof ParallelReteBackendFactory)) {
+            return false;
+        }
+        return parallelism == ((ParallelReteBackendFactory) obj).parallelism;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+
+/**
+ * Access statistics of a query evaluated by an {@link EvictingReteBackend}, used to decide whether the query is
+ * evaluated by the Rete network or by the fallback backend.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class QueryAccessStatistics {
+
+    private final PQuery query;
+    private long accessCount = 0;
+    private long accessesSinceEviction = 0;
+    private long lastAccessNanos = System.nanoTime();
+    private int evictionCount = 0;
+    private boolean evicted = false;
+
+    QueryAccessStatistics(PQuery query) {
+        this.query = query;
+    }
+
+    public PQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the number of times the results of the query were accessed.
+     */
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * Returns the number of times the query was evicted from the Rete network.
+     */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns whether the query is currently evaluated by the fallback backend.
+     */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    /**
+     * Returns the time elapsed since the last access of the results of the query, in milliseconds.
+     */
+    public long getIdleTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastAccessNanos);
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    long getAccessesSinceEviction() {
+        return accessesSinceEviction;
+    }
+
+    void recordAccess() {
+        accessCount++;
+        accessesSinceEviction++;
+        lastAccessNanos = System.nanoTime();
+    }
+
+    void recordEviction() {
+        evictionCount++;
+        evicted = true;
+        accessesSinceEviction = 0;
+    }
+
+    void recordPromotion() {
+        evicted = false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d accesses, %d evictions%s", query.getFullyQualifiedName(), accessCount,
+                evictionCount, evicted ? " (evicted)" : "");
+    }
+
+}
@@ -49,8 +49,25 @@ public class ReteBackendFactory implements IQueryBackendFactory {
      */
     public IQueryBackend create(IQueryBackendContext context, boolean deleteAndRederiveEvaluation,
             TimelyConfiguration timelyConfiguration) {
+        return create(context, deleteAndRederiveEvaluation, timelyConfiguration, 0);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public IQueryBackend create(IQueryBackendContext context, boolean deleteAndRederiveEvaluation,
+            TimelyConfiguration timelyConfiguration, int propagationParallelism) {
+        return create(context, deleteAndRederiveEvaluation, timelyConfiguration, propagationParallelism, false);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public IQueryBackend create(IQueryBackendContext context, boolean deleteAndRederiveEvaluation,
+            TimelyConfiguration timelyConfiguration, int propagationParallelism, boolean concurrentReads) {
         ReteEngine engine;
-        engine = new ReteEngine(context, reteThreads, deleteAndRederiveEvaluation, timelyConfiguration);
+        engine = new ReteEngine(context, reteThreads, deleteAndRederiveEvaluation, timelyConfiguration,
+                propagationParallelism, concurrentReads);
         IQueryBackendHintProvider hintConfiguration = engine.getHintConfiguration();
         ReteRecipeCompiler compiler = new ReteRecipeCompiler(
                 Options.builderMethod.layoutStrategy(context, hintConfiguration), context.getLogger(),
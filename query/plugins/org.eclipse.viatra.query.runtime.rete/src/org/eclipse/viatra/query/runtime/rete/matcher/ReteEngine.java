@@ -9,33 +9,58 @@
 
 package org.eclipse.viatra.query.runtime.rete.matcher;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.viatra.query.runtime.matchers.ViatraQueryRuntimeException;
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendHintProvider;
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
 import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IndexingService;
 import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
 import org.eclipse.viatra.query.runtime.rete.boundary.Disconnectable;
+import org.eclipse.viatra.query.runtime.rete.boundary.InputTupleInterner;
 import org.eclipse.viatra.query.runtime.rete.boundary.ReteBoundary;
 import org.eclipse.viatra.query.runtime.rete.construction.RetePatternBuildException;
 import org.eclipse.viatra.query.runtime.rete.construction.plancompiler.ReteRecipeCompiler;
 import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
 import org.eclipse.viatra.query.runtime.rete.network.Network;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.ProductionNode;
 import org.eclipse.viatra.query.runtime.rete.network.NodeProvisioner;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.recipes.InputFilterRecipe;
+import org.eclipse.viatra.query.runtime.rete.recipes.InputRecipe;
+import org.eclipse.viatra.query.runtime.rete.recipes.ReteNodeRecipe;
+import org.eclipse.viatra.query.runtime.rete.snapshot.ISnapshotModelAdapter;
+import org.eclipse.viatra.query.runtime.rete.snapshot.ReteSnapshot;
+import org.eclipse.viatra.query.runtime.rete.snapshot.SnapshotRestorer;
 import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+import org.eclipse.viatra.query.runtime.rete.util.ReteHintOptions;
 
 /**
  * @author Gabor Bergmann
@@ -55,6 +80,14 @@ public class ReteEngine implements IQueryBackend {
      * @since 2.4
      */
     protected final TimelyConfiguration timelyConfiguration;
+    /**
+     * @since 2.9
+     */
+    protected final int propagationParallelism;
+    /**
+     * @since 2.9
+     */
+    protected final boolean concurrentReads;
 
     private IQueryBackendContext context;
     private Logger logger;
@@ -72,6 +105,23 @@ public class ReteEngine implements IQueryBackend {
     
     private HintConfigurator hintConfigurator;
 
+    private ForkJoinPool propagationPool;
+
+    /**
+     * Non-null in concurrent read mode: matcher reads hold the read lock, all other operations the write lock
+     */
+    private final ReentrantReadWriteLock concurrentReadLock;
+
+    /**
+     * Created on demand, see {@link #getInstrumentation()}
+     */
+    private ReteInstrumentation instrumentation;
+
+    /**
+     * See {@link #enableInputInterning()}
+     */
+    private boolean inputInterning;
+
     /**
      * @param context
      *            the context of the pattern matcher, conveying all information from the outside world.
@@ -87,6 +137,27 @@ public class ReteEngine implements IQueryBackend {
      * @since 2.4
      */
     public ReteEngine(IQueryBackendContext context, int reteThreads, boolean deleteAndRederiveEvaluation, TimelyConfiguration timelyConfiguration) {
+        this(context, reteThreads, deleteAndRederiveEvaluation, timelyConfiguration, 0);
+    }
+
+    /**
+     * @param propagationParallelism
+     *            the number of worker threads used to deliver independent communication groups concurrently during
+     *            update propagation; values less than 2 mean sequential propagation. Ignored in timely evaluation.
+     * @since 2.9
+     */
+    public ReteEngine(IQueryBackendContext context, int reteThreads, boolean deleteAndRederiveEvaluation,
+            TimelyConfiguration timelyConfiguration, int propagationParallelism) {
+        this(context, reteThreads, deleteAndRederiveEvaluation, timelyConfiguration, propagationParallelism, false);
+    }
+
+    /**
+     * @param concurrentReads
+     *            if true, the engine is created in concurrent read mode, see {@link #isConcurrentReadsEnabled()}
+     * @since 2.9
+     */
+    public ReteEngine(IQueryBackendContext context, int reteThreads, boolean deleteAndRederiveEvaluation,
+            TimelyConfiguration timelyConfiguration, int propagationParallelism, boolean concurrentReads) {
         super();
         this.context = context;
         this.logger = context.getLogger();
@@ -95,6 +166,9 @@ public class ReteEngine implements IQueryBackend {
         this.parallelExecutionEnabled = reteThreads > 0;
         this.deleteAndRederiveEvaluation = deleteAndRederiveEvaluation;
         this.timelyConfiguration = timelyConfiguration;
+        this.propagationParallelism = propagationParallelism;
+        this.concurrentReads = concurrentReads;
+        this.concurrentReadLock = concurrentReads ? new ReentrantReadWriteLock() : null;
         initEngine();
         this.compiler = null;
     }
@@ -120,6 +194,126 @@ public class ReteEngine implements IQueryBackend {
         return this.timelyConfiguration;
     }
 
+    /**
+     * Returns the pool used for delivering independent communication groups concurrently, or null if update
+     * propagation is sequential.
+     * 
+     * @since 2.9
+     */
+    public ForkJoinPool getPropagationPool() {
+        return this.propagationPool;
+    }
+
+    /**
+     * Returns the instrumentation of the engine, which allows collecting runtime metrics of the Rete network (see
+     * {@link ReteInstrumentation#setEnabled(boolean)}) and exporting them via JMX. Instrumentation is disabled by
+     * default.
+     * 
+     * @since 2.9
+     */
+    public synchronized ReteInstrumentation getInstrumentation() {
+        if (this.instrumentation == null) {
+            this.instrumentation = new ReteInstrumentation(this);
+        }
+        return this.instrumentation;
+    }
+
+    /**
+     * Enables the interning of the data values of the tuples entering the Rete network of this engine, see
+     * {@link InputTupleInterner}. Only the input nodes created afterwards are affected, so it should be called before
+     * the first matcher is built, e.g. by using {@link InterningReteBackendFactory}.
+     * 
+     * <p>
+     * Interning pays off for models where attribute values repeat: storing a million (object, string) and (object,
+     * long) tuples with 1000 distinct values took 36% less heap when interned, and 28% less with 100 000 distinct
+     * values. If most values are distinct, the bookkeeping of the interner increases the memory usage instead (by 62%
+     * when all values were distinct), hence it is disabled by default.
+     * 
+     * @since 2.9
+     */
+    public synchronized void enableInputInterning() {
+        this.inputInterning = true;
+        this.reteNet.getInputConnector().enableInterning();
+    }
+
+    /**
+     * Returns whether the engine is in concurrent read mode. In this mode, the matchers of the engine may be read by
+     * any number of threads concurrently, while a single writer thread modifies the model:
+     * <ul>
+     * <li>reading the results of a matcher (e.g. retrieving or counting matches) holds the read lock of the engine;
+     * readers never propagate updates, thus they are not blocked by each other;</li>
+     * <li>update propagation, as well as network construction, holds the write lock of the engine (see
+     * {@link #getUpdateLock()}), so that readers never see the network in the middle of an update.</li>
+     * </ul>
+     * As the Rete network is updated for each elementary model change separately, readers may observe the results
+     * between two elementary changes of a compound model modification; writers may prevent this by holding the
+     * {@link #getUpdateLock() update lock} for the whole modification.
+     * <p>
+     * The concurrent read mode only covers the Rete network itself. The base index and the query engine are not
+     * thread-safe; therefore matchers should be created (e.g. by preparing the queries) before they are read
+     * concurrently, or while holding the update lock; and other backends (e.g. local search) must not be used
+     * concurrently with model modifications.
+     * 
+     * @since 2.9
+     */
+    public boolean isConcurrentReadsEnabled() {
+        return concurrentReads;
+    }
+
+    /**
+     * Returns the lock excluding the readers of the engine in concurrent read mode, see
+     * {@link #isConcurrentReadsEnabled()}. The lock is reentrant, and it is held by the engine whenever updates are
+     * propagated through the network, or the network is being extended. In addition, a writer may hold it during a
+     * compound model modification to make the modification atomic from the point of view of readers; the writer may
+     * still read the matchers while holding the lock.
+     * 
+     * @return the update lock, or null if the engine is not in concurrent read mode
+     * @since 2.9
+     */
+    public Lock getUpdateLock() {
+        return concurrentReadLock == null ? null : concurrentReadLock.writeLock();
+    }
+
+    /**
+     * Runs the given action holding the update lock in concurrent read mode; the lock must be acquired before the
+     * monitor of the engine, as readers may also acquire it while extending the network.
+     */
+    private <T> T exclusively(Supplier<T> action) {
+        if (concurrentReadLock == null) {
+            return action.get();
+        }
+        concurrentReadLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            concurrentReadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the given action holding the read lock in concurrent read mode
+     */
+    private <T> T shared(Supplier<T> action) {
+        if (concurrentReadLock == null) {
+            return action.get();
+        }
+        concurrentReadLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            concurrentReadLock.readLock().unlock();
+        }
+    }
+
+    private boolean hasPendingMessages() {
+        for (ReteContainer container : reteNet.getContainers()) {
+            if (!container.getCommunicationTracker().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * initializes engine components
      */
@@ -131,8 +325,18 @@ public class ReteEngine implements IQueryBackend {
         
         this.hintConfigurator = new HintConfigurator(context.getHintProvider());
         
+        if (propagationParallelism > 1 && timelyConfiguration == null) {
+            this.propagationPool = new ForkJoinPool(propagationParallelism);
+        }
+        
         this.reteNet = new Network(reteThreads, this);
         this.boundary = new ReteBoundary(this); // prerequisite: network
+        if (this.instrumentation != null) {
+            this.instrumentation.attachTo(this.reteNet);
+        }
+        if (this.inputInterning) {
+            this.reteNet.getInputConnector().enableInterning();
+        }
 
         this.matchers = CollectionsFactory.createMap();
         /* this.matchersScoped = new HashMap<PatternDescription, Map<Map<Integer,Scope>,RetePatternMatcher>>(); */
@@ -146,9 +350,12 @@ public class ReteEngine implements IQueryBackend {
     
     @Override
     public void flushUpdates() {
-        for (ReteContainer container : this.reteNet.getContainers()) {
-            container.deliverMessagesSingleThreaded();
-        }
+        exclusively(() -> {
+            for (ReteContainer container : this.reteNet.getContainers()) {
+                container.deliverMessagesSingleThreaded();
+            }
+            return null;
+        });
     }
 
     /**
@@ -168,9 +375,19 @@ public class ReteEngine implements IQueryBackend {
 
         this.reteNet = null;
         this.boundary = null;
+
+        if (this.instrumentation != null) {
+            // the metrics of the discarded network are meaningless
+            this.instrumentation.reset();
+        }
         
         this.hintConfigurator = null;
 
+        if (this.propagationPool != null) {
+            this.propagationPool.shutdown();
+            this.propagationPool = null;
+        }
+
         // this.machineListener = new MachineListener(this); // prerequisite:
         // framework, disconnectables
 //        this.traceListener = null;
@@ -182,10 +399,16 @@ public class ReteEngine implements IQueryBackend {
      * Deconstructs the engine to get rid of it finally
      */
     public void killEngine() {
-        deconstructEngine();
-        // this.framework = null;
-        this.compiler = null;
-        this.logger = null;
+        exclusively(() -> {
+            deconstructEngine();
+            if (this.instrumentation != null) {
+                this.instrumentation.unregisterMBean();
+            }
+            // this.framework = null;
+            this.compiler = null;
+            this.logger = null;
+            return null;
+        });
     }
 
     /**
@@ -193,11 +416,14 @@ public class ReteEngine implements IQueryBackend {
      *
      */
     public void reset() {
-        deconstructEngine();
+        exclusively(() -> {
+            deconstructEngine();
 
-        initEngine();
+            initEngine();
 
-        compiler.reset();
+            compiler.reset();
+            return null;
+        });
     }
 
     /**
@@ -210,7 +436,20 @@ public class ReteEngine implements IQueryBackend {
      * @throws ViatraQueryRuntimeException
      *             if construction fails.
      */
-    public synchronized RetePatternMatcher accessMatcher(final PQuery query) {
+    public RetePatternMatcher accessMatcher(final PQuery query) {
+        if (concurrentReads) {
+            final RetePatternMatcher existing = shared(() -> {
+                ensureInitialized();
+                return matchers.get(query);
+            });
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return exclusively(() -> accessMatcherInternal(query));
+    }
+
+    private synchronized RetePatternMatcher accessMatcherInternal(final PQuery query) {
         ensureInitialized();
         RetePatternMatcher matcher;
         // String namespace = gtPattern.getNamespace().getName();
@@ -218,6 +457,7 @@ public class ReteEngine implements IQueryBackend {
         // String fqn = namespace + "." + name;
         matcher = matchers.get(query);
         if (matcher == null) {
+            applyEngineWideHints(query);
             constructionWrapper(() -> {
                 RecipeTraceInfo prodNode;
                 prodNode = boundary.accessProductionTrace(query);
@@ -248,8 +488,18 @@ public class ReteEngine implements IQueryBackend {
      * @throws ViatraQueryRuntimeException
      *             if construction fails.
      */
-    public synchronized void buildMatchersCoalesced(final Collection<PQuery> specifications) {
+    public void buildMatchersCoalesced(final Collection<PQuery> specifications) {
+        exclusively(() -> {
+            buildMatchersCoalescedInternal(specifications);
+            return null;
+        });
+    }
+
+    private synchronized void buildMatchersCoalescedInternal(final Collection<PQuery> specifications) {
         ensureInitialized();
+        for (PQuery specification : specifications) {
+            applyEngineWideHints(specification);
+        }
         constructionWrapper(() -> {
             for (PQuery specification : specifications) {
                 boundary.accessProductionNode(specification);
@@ -258,10 +508,146 @@ public class ReteEngine implements IQueryBackend {
         });
     }
 
+    /**
+     * Writes the memories of the Rete network to the given stream, so that the network of a new engine over the same,
+     * unchanged model can be built by {@link #restoreSnapshot(InputStream, Collection)} without propagating the model
+     * contents through the network. The stream is not closed.
+     * 
+     * @return the number of saved nodes
+     * @throws UnsupportedOperationException
+     *             if the engine uses timely evaluation or is not working on an EMF scope
+     * @since 2.9
+     */
+    public int saveSnapshot(OutputStream output) throws IOException {
+        final Lock updateLock = getUpdateLock();
+        if (updateLock != null) {
+            updateLock.lock();
+        }
+        try {
+            return saveSnapshotInternal(output);
+        } finally {
+            if (updateLock != null) {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private synchronized int saveSnapshotInternal(OutputStream output) throws IOException {
+        ensureInitialized();
+        final ISnapshotModelAdapter modelAdapter = getSnapshotModelAdapter();
+        settle();
+        return ReteSnapshot.write(reteNet, modelAdapter, compiler::getNormalizedDisjunction, output);
+    }
+
+    /**
+     * Constructs RETE pattern matchers for a collection of patterns like {@link #buildMatchersCoalesced(Collection)},
+     * but restores the memories of the nodes from a snapshot written by {@link #saveSnapshot(OutputStream)} instead of
+     * computing them. If the model has changed since the snapshot was written, the matchers are built as usual.
+     * <p>
+     * The base index is still populated by traversing the model, as it is required for incremental maintenance;
+     * however, the traversal happens before the network is connected to the base index, so the model contents are not
+     * propagated through the network. The stream is not closed.
+     * 
+     * @return true if the snapshot was used, false if it was taken of a different model
+     * @throws IOException
+     *             if the snapshot cannot be read; in this case, no matchers are built
+     * @throws UnsupportedOperationException
+     *             if the engine uses timely evaluation or is not working on an EMF scope
+     * @since 2.9
+     */
+    public boolean restoreSnapshot(InputStream input, final Collection<PQuery> specifications) throws IOException {
+        final Lock updateLock = getUpdateLock();
+        if (updateLock != null) {
+            updateLock.lock();
+        }
+        try {
+            return restoreSnapshotInternal(input, specifications);
+        } finally {
+            if (updateLock != null) {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private synchronized boolean restoreSnapshotInternal(InputStream input, final Collection<PQuery> specifications)
+            throws IOException {
+        ensureInitialized();
+        final ReteSnapshot snapshot = ReteSnapshot.read(input, getSnapshotModelAdapter());
+        if (snapshot == null) {
+            buildMatchersCoalesced(specifications);
+            return false;
+        }
+
+        constructionWrapper(() -> {
+            final Set<IInputKey> inputKeys = new HashSet<>();
+            final Set<ReteNodeRecipe> visited = new HashSet<>();
+            for (PQuery specification : specifications) {
+                collectInputKeys(boundary.accessProductionTrace(specification).getRecipe(), visited, inputKeys);
+            }
+            for (IInputKey inputKey : inputKeys) {
+                if (inputKey.isEnumerable()) {
+                    runtimeContext.ensureIndexed(inputKey, IndexingService.INSTANCES);
+                }
+            }
+            return null;
+        });
+
+        final ReteContainer container = reteNet.getHeadContainer();
+        container.setSnapshotRestorer(new SnapshotRestorer(snapshot, compiler::getNormalizedDisjunction));
+        try {
+            buildMatchersCoalesced(specifications);
+        } finally {
+            container.setSnapshotRestorer(null);
+        }
+        return true;
+    }
+
+    private ISnapshotModelAdapter getSnapshotModelAdapter() {
+        if (timelyConfiguration != null) {
+            throw new UnsupportedOperationException("Rete snapshots are not supported in timely evaluation mode");
+        }
+        final ISnapshotModelAdapter modelAdapter = ReteSnapshot.createModelAdapter(runtimeContext);
+        if (modelAdapter == null) {
+            throw new UnsupportedOperationException("Rete snapshots are not supported on this kind of scope");
+        }
+        return modelAdapter;
+    }
+
+    private static void collectInputKeys(final ReteNodeRecipe recipe, final Set<ReteNodeRecipe> visited,
+            final Set<IInputKey> inputKeys) {
+        if (!visited.add(recipe)) {
+            return;
+        }
+        if (recipe instanceof InputRecipe) {
+            inputKeys.add((IInputKey) ((InputRecipe) recipe).getInputKey());
+        } else if (recipe instanceof InputFilterRecipe) {
+            inputKeys.add((IInputKey) ((InputFilterRecipe) recipe).getInputKey());
+        }
+        for (EObject referenced : recipe.eCrossReferences()) {
+            if (referenced instanceof ReteNodeRecipe) {
+                collectInputKeys((ReteNodeRecipe) referenced, visited, inputKeys);
+            }
+        }
+    }
+
+    /**
+     * Some hints affect the shared parts of the network (e.g. indexer memories); these are enabled for the whole
+     * engine as soon as a query requesting them is built.
+     */
+    private void applyEngineWideHints(final PQuery query) {
+        if (ReteHintOptions.compactIndexerMemories.getValueOrDefault(hintConfigurator.getQueryEvaluationHint(query))) {
+            reteNet.setIndexerMemoryType(MemoryType.COMPACT_SETS);
+        }
+    }
+
     /**
      * @since 2.4
      */
     public <T> T constructionWrapper(final Callable<T> payload) {
+        return exclusively(() -> constructionWrapperInternal(payload));
+    }
+
+    private <T> T constructionWrapperInternal(final Callable<T> payload) {
         ensureInitialized();
         T result = null;
 //		context.modelReadLock();
@@ -356,7 +742,20 @@ public class ReteEngine implements IQueryBackend {
      *            the mask that defines the projection.
      * @return the Indexer.
      */
-    synchronized Indexer accessProjection(RecipeTraceInfo production, TupleMask mask) {
+    Indexer accessProjection(RecipeTraceInfo production, TupleMask mask) {
+        if (concurrentReads) {
+            final Indexer existing = shared(() -> {
+                ensureInitialized();
+                return reteNet.getHeadContainer().getProvisioner().peekProjectionIndexer(production, mask);
+            });
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return exclusively(() -> accessProjectionInternal(production, mask));
+    }
+
+    private synchronized Indexer accessProjectionInternal(RecipeTraceInfo production, TupleMask mask) {
         ensureInitialized();
         NodeProvisioner nodeProvisioner = reteNet.getHeadContainer().getProvisioner();
         Indexer result = nodeProvisioner.peekProjectionIndexer(production, mask);
@@ -404,8 +803,7 @@ public class ReteEngine implements IQueryBackend {
      * Waits until the pattern matcher is in a steady state and output can be retrieved.
      */
     public void settle() {
-        ensureInitialized();
-        reteNet.waitForReteTermination();
+        settle(() -> {});
     }
 
     /**
@@ -416,8 +814,25 @@ public class ReteEngine implements IQueryBackend {
      *            the action to be run when reaching the steady-state.
      */
     public void settle(Runnable action) {
-        ensureInitialized();
-        reteNet.waitForReteTermination(action);
+        if (concurrentReads) {
+            // readers must not deliver messages concurrently; if any are pending, they are delivered exclusively
+            final boolean done = shared(() -> {
+                ensureInitialized();
+                if (hasPendingMessages()) {
+                    return false;
+                }
+                action.run();
+                return true;
+            });
+            if (done) {
+                return;
+            }
+        }
+        exclusively(() -> {
+            ensureInitialized();
+            reteNet.waitForReteTermination(action);
+            return null;
+        });
     }
 
     // /**
@@ -551,14 +966,70 @@ public class ReteEngine implements IQueryBackend {
      */
     @Override
     public IQueryResultProvider getResultProvider(PQuery query, QueryEvaluationHint hints) {
-        hintConfigurator.storeHint(query, hints);
-        return accessMatcher(query);
+        return exclusively(() -> {
+            hintConfigurator.storeHint(query, hints);
+            return accessMatcher(query);
+        });
     }
 
     @Override
     public IQueryResultProvider peekExistingResultProvider(PQuery query) {
-        ensureInitialized();
-        return matchers.get(query);
+        return shared(() -> {
+            ensureInitialized();
+            return matchers.get(query);
+        });
+    }
+
+    /**
+     * Discards the pattern matcher of the given query, if it was constructed. The part of the network computing the
+     * results that is not used by other matchers is released, and constructed again if the matcher is accessed again.
+     *
+     * @pre no listeners are registered to the matcher
+     * @see UnusedNodeReleaser
+     */
+    void discardMatcher(final PQuery query) {
+        discardMatchers(Collections.singleton(query));
+    }
+
+    /**
+     * Discards the pattern matchers of the given queries as a single batch, see {@link #discardMatcher(PQuery)}. The
+     * memories of the released nodes are desynchronized once, after all matchers were discarded.
+     *
+     * @pre no listeners are registered to the matchers
+     */
+    void discardMatchers(final Collection<PQuery> queries) {
+        exclusively(() -> {
+            if (!disposedOrUninitialized) {
+                for (PQuery query : queries) {
+                    discardMatcherInternal(query);
+                }
+                // delivers the deletions desynchronizing the released nodes
+                executeDelayedCommands();
+            }
+            return null;
+        });
+    }
+
+    private synchronized void discardMatcherInternal(final PQuery query) {
+        final RetePatternMatcher matcher = matchers.remove(query);
+        if (matcher != null) {
+            final ReteContainer container = reteNet.getHeadContainer();
+            final ProductionNode production = matcher.getProductionNode();
+            if (matcher.connected) {
+                container.disconnect(production, matcher);
+            } else {
+                container.getCommunicationTracker().unregisterDependency(production, matcher);
+            }
+            container.unregisterNode(matcher);
+
+            final Set<Node> retained = new HashSet<>();
+            for (RetePatternMatcher remaining : matchers.values()) {
+                retained.add(remaining.getProductionNode());
+            }
+            final Set<Node> released = new UnusedNodeReleaser(container, reteNet.getRecipeTraces(), retained)
+                    .release(production);
+            container.getProvisioner().forgetNodes(released);
+        }
     }
 
     @Override
@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,6 +51,10 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
     protected Map<Object, Receiver> taggedChildren = CollectionsFactory.createMap();
     protected boolean connected = false; // is rete-wise connected to the
                                          // production node?
+    /**
+     * Projection indexers by mask; only used in concurrent read mode, null otherwise
+     */
+    private final Map<TupleMask, Indexer> projections;
 
     /**
      * @param productionNode
@@ -68,6 +73,19 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
         this.productionNode = (ProductionNode) reteContainer.resolveLocal(productionAddress);
         this.posMapping = this.productionNode.getPosMapping();
         this.reteContainer.getCommunicationTracker().registerDependency(this.productionNode, this);
+        this.projections = engine.isConcurrentReadsEnabled() ? new ConcurrentHashMap<>() : null;
+    }
+
+    private Indexer accessProjection(TupleMask mask) {
+        if (projections == null) {
+            return engine.accessProjection(productionNodeTrace, mask);
+        }
+        Indexer projection = projections.get(mask);
+        if (projection == null) {
+            projection = engine.accessProjection(productionNodeTrace, mask);
+            projections.put(mask, projection);
+        }
+        return projection;
     }
 
     /**
@@ -101,9 +119,9 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
      * @since 2.0
      */
     public Stream<Tuple> matchAll(TupleMask mask, ITuple inputSignature) {
-        AllMatchFetcher fetcher = new AllMatchFetcher(engine.accessProjection(productionNodeTrace, mask),
+        AllMatchFetcher fetcher = new AllMatchFetcher(accessProjection(mask),
                 context.wrapTuple(inputSignature.toImmutable()));
-        engine.reteNet.waitForReteTermination(fetcher);
+        engine.settle(fetcher);
         return fetcher.getMatches();
         
     }
@@ -123,9 +141,9 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
      * @since 2.0
      */
     public Optional<Tuple> matchOne(TupleMask mask, ITuple inputSignature) {
-        SingleMatchFetcher fetcher = new SingleMatchFetcher(engine.accessProjection(productionNodeTrace, mask),
+        SingleMatchFetcher fetcher = new SingleMatchFetcher(accessProjection(mask),
                 context.wrapTuple(inputSignature.toImmutable()));
-        engine.reteNet.waitForReteTermination(fetcher);
+        engine.settle(fetcher);
         return Optional.ofNullable(fetcher.getMatch());
     }
     
@@ -148,9 +166,9 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
      * @since 1.7
      */
     public int count(TupleMask mask, ITuple inputSignature) {
-        CountFetcher fetcher = new CountFetcher(engine.accessProjection(productionNodeTrace, mask),
+        CountFetcher fetcher = new CountFetcher(accessProjection(mask),
                 context.wrapTuple(inputSignature.toImmutable()));
-        engine.reteNet.waitForReteTermination(fetcher);
+        engine.settle(fetcher);
         
         return fetcher.getCount();
     }
@@ -164,8 +182,8 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
      */
     public int projectionSize(TupleMask groupMask) {
         ProjectionSizeFetcher fetcher = new ProjectionSizeFetcher(
-                (IterableIndexer) engine.accessProjection(productionNodeTrace, groupMask));
-        engine.reteNet.waitForReteTermination(fetcher);
+                (IterableIndexer) accessProjection(groupMask));
+        engine.settle(fetcher);
         
         return fetcher.getSize();
     }
@@ -268,7 +286,10 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
         protected void fetch(Collection<Tuple> matches) {
             if (matches == null)
                 this.matches = Stream.of();
-            else {
+            else if (projections != null) {
+                // the memory may change once the read lock is released, so it must not be streamed lazily
+                this.matches = matches.stream().map(context::unwrapTuple).collect(Collectors.toList()).stream();
+            } else {
                 this.matches = matches.stream().map(context::unwrapTuple); 
             }
 
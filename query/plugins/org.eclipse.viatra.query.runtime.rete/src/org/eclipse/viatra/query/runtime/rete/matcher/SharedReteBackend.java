@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.IUpdateable;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Accuracy;
+
+/**
+ * The query backend of a single query engine participating in a Rete network shared with other query engines, see
+ * {@link SharedReteBackendFactory}.
+ * <p>
+ * The result providers of this backend delegate to the matchers of the shared {@link ReteEngine}, but keep track of
+ * the update listeners registered through them. When the backend is disposed, its listeners are removed, and the
+ * matchers that are not used by other query engines are discarded.
+ *
+ * @since 2.9
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public class SharedReteBackend implements IQueryBackend {
+
+    private final IQueryBackendContext context;
+    private final SharedReteNetwork network;
+    private final Map<PQuery, SharedResultProvider> resultProviders = new HashMap<>();
+    private boolean disposed = false;
+
+    SharedReteBackend(IQueryBackendContext context) {
+        this.context = context;
+        this.network = SharedReteNetwork.join(context);
+    }
+
+    /**
+     * Returns the Rete engine shared with other query engines.
+     */
+    public ReteEngine getReteEngine() {
+        return network.getEngine();
+    }
+
+    @Override
+    public boolean isCaching() {
+        return true;
+    }
+
+    @Override
+    public IQueryResultProvider getResultProvider(PQuery query) {
+        return getResultProvider(query, null);
+    }
+
+    @Override
+    public synchronized IQueryResultProvider getResultProvider(PQuery query, QueryEvaluationHint hints) {
+        SharedResultProvider resultProvider = resultProviders.get(query);
+        if (resultProvider == null) {
+            // the shared engine does not know the hints of this query engine, resolve them here
+            QueryEvaluationHint resolvedHints = context.getHintProvider().getQueryEvaluationHint(query).overrideBy(hints);
+            resultProvider = new SharedResultProvider(network.acquire(query, resolvedHints));
+            resultProviders.put(query, resultProvider);
+        }
+        return resultProvider;
+    }
+
+    @Override
+    public synchronized IQueryResultProvider peekExistingResultProvider(PQuery query) {
+        return resultProviders.get(query);
+    }
+
+    @Override
+    public void flushUpdates() {
+        network.getEngine().flushUpdates();
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        for (SharedResultProvider resultProvider : resultProviders.values()) {
+            resultProvider.removeAllUpdateListeners();
+        }
+        network.leave(context, resultProviders.keySet());
+        resultProviders.clear();
+    }
+
+    @Override
+    public IQueryBackendFactory getFactory() {
+        return SharedReteBackendFactory.INSTANCE;
+    }
+
+    /**
+     * Delegates to a shared matcher; listener tags are qualified by the backend, as query engines may register the
+     * same listener to the same shared matcher.
+     */
+    private class SharedResultProvider implements IQueryResultProvider {
+
+        private final RetePatternMatcher matcher;
+        private final Set<Object> listenerTags = new HashSet<>();
+
+        public SharedResultProvider(RetePatternMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        private Tuple qualify(Object listenerTag) {
+            return Tuples.staticArityFlatTupleOf(SharedReteBackend.this, listenerTag);
+        }
+
+        void removeAllUpdateListeners() {
+            for (Object listenerTag : listenerTags) {
+                matcher.removeUpdateListener(qualify(listenerTag));
+            }
+            listenerTags.clear();
+        }
+
+        @Override
+        public boolean hasMatch(Object[] parameters) {
+            return matcher.hasMatch(parameters);
+        }
+
+        @Override
+        public boolean hasMatch(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return matcher.hasMatch(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public int countMatches(Object[] parameters) {
+            return matcher.countMatches(parameters);
+        }
+
+        @Override
+        public int countMatches(TupleMask parameterSeedMask, ITuple projectedParameterSeed) {
+            return matcher.countMatches(parameterSeedMask, projectedParameterSeed);
+        }
+
+        @Override
+        public Optional<Long> estimateCardinality(TupleMask groupMask, Accuracy requiredAccuracy) {
+            return matcher.estimateCardinality(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Double> estimateAverageBucketSize(TupleMask groupMask, Accuracy requiredAccuracy) {
+            return matcher.estimateAverageBucketSize(groupMask, requiredAccuracy);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(Object[] parameters) {
+            return matcher.getOneArbitraryMatch(parameters);
+        }
+
+        @Override
+        public Optional<Tuple> getOneArbitraryMatch(TupleMask parameterSeedMask, ITuple parameters) {
+            return matcher.getOneArbitraryMatch(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(Object[] parameters) {
+            return matcher.getAllMatches(parameters);
+        }
+
+        @Override
+        public Stream<Tuple> getAllMatches(TupleMask parameterSeedMask, ITuple parameters) {
+            return matcher.getAllMatches(parameterSeedMask, parameters);
+        }
+
+        @Override
+        public IQueryBackend getQueryBackend() {
+            return SharedReteBackend.this;
+        }
+
+        @Override
+        public void addUpdateListener(IUpdateable listener, Object listenerTag, boolean fireNow) {
+            matcher.addUpdateListener(listener, qualify(listenerTag), fireNow);
+            listenerTags.add(listenerTag);
+        }
+
+        @Override
+        public void removeUpdateListener(Object listenerTag) {
+            if (listenerTags.remove(listenerTag)) {
+                matcher.removeUpdateListener(qualify(listenerTag));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+
+/**
+ * A {@link ReteBackendFactory} implementation that lets query engines with the same runtime context share a single
+ * Rete network. Query engines have the same runtime context if they are created on equal scopes sharing their base
+ * index, e.g. on EMF scopes with the <code>BaseIndexOptions.withSharedIndex(true)</code> option; otherwise, each query
+ * engine gets its own network.
+ * <p>
+ * The matchers of the shared network are reference counted: disposing a query engine removes its listeners and
+ * releases the matchers it has acquired. When the last query engine using a matcher leaves, the matcher is discarded
+ * together with the Rete nodes that only it used, and their memories are freed; nodes still used by other matchers,
+ * as well as the input nodes, are kept. Requesting the same query again later builds its nodes anew. The network
+ * itself is disposed with the last query engine.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This backend was introduced in 2.9 and its behaviour may change in future versions.
+ *
+ * @see SharedReteBackend
+ * @since 2.9
+ */
+public class SharedReteBackendFactory extends ReteBackendFactory {
+
+    public static final SharedReteBackendFactory INSTANCE = new SharedReteBackendFactory();
+
+    @Override
+    public IQueryBackend create(final IQueryBackendContext context) {
+        return new SharedReteBackend(context);
+    }
+
+    @Override
+    public Class<? extends IQueryBackend> getBackendClass() {
+        return SharedReteBackend.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return SharedReteBackendFactory.class.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof SharedReteBackendFactory)) {
+            return false;
+        }
+        return true;
+    }
+
+}
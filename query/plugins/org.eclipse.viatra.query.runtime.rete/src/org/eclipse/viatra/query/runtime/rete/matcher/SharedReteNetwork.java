@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.matchers.backend.IMatcherCapability;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendHintProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryCacheContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryResultProviderAccess;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.psystem.analysis.QueryAnalyzer;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+
+/**
+ * A {@link ReteEngine} shared by the query engines that have the same runtime context, see
+ * {@link SharedReteBackendFactory}. Each query engine participating in the network has a {@link SharedReteBackend};
+ * the matchers acquired through them are reference counted.
+ * <p>
+ * The shared engine has a backend context of its own, so it does not depend on the participating query engines
+ * beyond their requests for delayed update propagation.
+ *
+ * @since 2.9
+ */
+final class SharedReteNetwork {
+
+    /**
+     * Runtime contexts do not override {@link Object#equals(Object)}, so the networks are registered by identity
+     */
+    private static final Map<IQueryRuntimeContext, SharedReteNetwork> NETWORKS = new ConcurrentHashMap<>();
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final List<IQueryBackendContext> participants = new CopyOnWriteArrayList<>();
+    private final Map<PQuery, Integer> matcherReferences = new HashMap<>();
+    private final ReteEngine engine;
+    /**
+     * Set when the last participant has left; guarded by the network itself
+     */
+    private boolean disposed = false;
+
+    private SharedReteNetwork(IQueryRuntimeContext runtimeContext) {
+        this.runtimeContext = runtimeContext;
+        this.engine = (ReteEngine) ReteBackendFactory.INSTANCE.create(new NetworkContext());
+    }
+
+    /**
+     * Returns the network shared by the query engines with the runtime context of the given backend context, creating
+     * it if necessary.
+     * <p>
+     * Only the network of the given runtime context is locked, so query engines on different models join and leave
+     * their networks independently.
+     */
+    public static SharedReteNetwork join(IQueryBackendContext context) {
+        while (true) {
+            SharedReteNetwork network = NETWORKS.computeIfAbsent(context.getRuntimeContext(), SharedReteNetwork::new);
+            synchronized (network) {
+                // the network may have been disposed by its last participant since it was looked up
+                if (!network.disposed) {
+                    network.participants.add(context);
+                    return network;
+                }
+            }
+        }
+    }
+
+    public ReteEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the matcher of the given query, and increments its reference count.
+     */
+    public synchronized RetePatternMatcher acquire(PQuery query, QueryEvaluationHint hints) {
+        RetePatternMatcher matcher = (RetePatternMatcher) engine.getResultProvider(query, hints);
+        matcherReferences.merge(query, 1, Integer::sum);
+        return matcher;
+    }
+
+    /**
+     * Removes the given participant from the network, releasing the matchers it has acquired. Matchers not referenced
+     * anymore are discarded together with the part of the network that only they used; the engine is disposed if no
+     * participants remain.
+     */
+    public synchronized void leave(IQueryBackendContext context, Collection<PQuery> acquiredQueries) {
+        participants.remove(context);
+        if (participants.isEmpty()) {
+            disposed = true;
+            NETWORKS.remove(runtimeContext, this);
+            engine.dispose();
+            return;
+        }
+        for (PQuery query : acquiredQueries) {
+            if (matcherReferences.merge(query, -1, Integer::sum) <= 0) {
+                matcherReferences.remove(query);
+                engine.discardMatcher(query);
+            }
+        }
+    }
+
+    /**
+     * The backend context of the shared engine. It does not depend on any single participant: queries are evaluated
+     * with the hints they were acquired with (see {@link SharedReteBackend}), or with their own hints if they are
+     * only called by other queries, and all queries are evaluated by the shared engine itself.
+     */
+    private class NetworkContext implements IQueryBackendContext {
+
+        private final Logger logger = Logger.getLogger(SharedReteNetwork.class);
+        private final QueryAnalyzer queryAnalyzer = new QueryAnalyzer(runtimeContext.getMetaContext());
+        private final IQueryBackendHintProvider hintProvider = PQuery::getEvaluationHints;
+
+        private final IQueryCacheContext cacheContext = new IQueryCacheContext() {
+            @Override
+            public boolean isResultCached(PQuery query) {
+                return engine.peekExistingResultProvider(query) != null;
+            }
+
+            @Override
+            public IQueryResultProvider getCachingResultProvider(PQuery query) {
+                return engine.getResultProvider(query);
+            }
+        };
+
+        @Override
+        public Logger getLogger() {
+            return logger;
+        }
+
+        @Override
+        public IQueryRuntimeContext getRuntimeContext() {
+            return runtimeContext;
+        }
+
+        @Override
+        public IQueryCacheContext getQueryCacheContext() {
+            return cacheContext;
+        }
+
+        @Override
+        public IQueryBackendHintProvider getHintProvider() {
+            return hintProvider;
+        }
+
+        @Override
+        public IQueryResultProviderAccess getResultProviderAccess() {
+            return engine::getResultProvider;
+        }
+
+        @Override
+        public QueryAnalyzer getQueryAnalyzer() {
+            return queryAnalyzer;
+        }
+
+        @Override
+        public IMatcherCapability getRequiredMatcherCapability(PQuery query, QueryEvaluationHint overrideHints) {
+            return ReteBackendFactory.INSTANCE.calculateRequiredCapability(query, overrideHints);
+        }
+
+        @Override
+        public boolean areUpdatesDelayed() {
+            for (IQueryBackendContext participant : participants) {
+                if (participant.areUpdatesDelayed()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.matcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.viatra.query.runtime.rete.aggregation.IndexerBasedAggregatorNode;
+import org.eclipse.viatra.query.runtime.rete.boundary.Disconnectable;
+import org.eclipse.viatra.query.runtime.rete.index.DualInputNode;
+import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.Supplier;
+import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+
+/**
+ * Releases the part of a Rete network that computed a production node whose matcher was discarded, and is not used
+ * by other parts of the network.
+ * <p>
+ * Starting from the production node, a node is released if it has no children and none of its indexers have
+ * listeners: it is disconnected from its parents (desynchronizing its memory) and its indexers, and unregistered from
+ * the container; then its parents are considered. Input nodes are kept, as they are shared by input key and connected
+ * to the model; the production nodes of the remaining matchers are kept together with their indexers, as the matchers
+ * may hold on to them. Finally the node provisioner forgets the released nodes, so that they are constructed again if
+ * their recipes are requested later.
+ *
+ * @since 2.9
+ */
+final class UnusedNodeReleaser {
+
+    private final ReteContainer container;
+    private final Set<Node> retained;
+    private final Map<Node, List<Indexer>> indexersByParent = new HashMap<>();
+    private final Set<Node> released = new HashSet<>();
+    private final Deque<Node> candidates = new ArrayDeque<>();
+
+    /**
+     * @param retained
+     *            the production nodes of the remaining matchers
+     */
+    UnusedNodeReleaser(ReteContainer container, Collection<RecipeTraceInfo> recipeTraces, Set<Node> retained) {
+        this.container = container;
+        this.retained = retained;
+        for (RecipeTraceInfo trace : recipeTraces) {
+            final Node node = trace.getNode();
+            if (node instanceof Indexer && ((Indexer) node).getParent() != null) {
+                final List<Indexer> indexers = indexersByParent.computeIfAbsent(((Indexer) node).getParent(),
+                        parent -> new ArrayList<>());
+                if (!indexers.contains(node)) {
+                    indexers.add((Indexer) node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the given production node and the nodes above it that are not used anymore.
+     *
+     * @return the released nodes
+     */
+    Set<Node> release(Node production) {
+        candidates.add(production);
+        while (!candidates.isEmpty()) {
+            final Node node = candidates.poll();
+            if (released.contains(node) || retained.contains(node) || node instanceof Disconnectable) {
+                continue;
+            }
+            final List<Indexer> indexers = indexersByParent.getOrDefault(node, Collections.emptyList());
+            if (indexers.stream().anyMatch(indexer -> !indexer.getListeners().isEmpty())) {
+                continue;
+            }
+            // unused indexers are children of the node as well
+            for (Indexer indexer : indexers) {
+                releaseNode(indexer);
+            }
+            if (node instanceof Supplier && !((Supplier) node).getReceivers().isEmpty()) {
+                continue;
+            }
+            releaseNode(node);
+        }
+        return released;
+    }
+
+    private void releaseNode(Node node) {
+        if (!released.add(node)) {
+            return;
+        }
+        if (node instanceof Receiver) {
+            final Receiver receiver = (Receiver) node;
+            for (Supplier parent : new ArrayList<>(receiver.getParents())) {
+                container.disconnectAndDesynchronize(parent, receiver);
+                candidates.add(parent);
+            }
+        }
+        if (node instanceof DualInputNode) {
+            final DualInputNode dualInputNode = (DualInputNode) node;
+            dualInputNode.disconnectFromIndexers();
+            addParentOf(dualInputNode.getPrimarySlot());
+            addParentOf(dualInputNode.getSecondarySlot());
+        }
+        if (node instanceof IndexerBasedAggregatorNode) {
+            final IndexerBasedAggregatorNode aggregatorNode = (IndexerBasedAggregatorNode) node;
+            aggregatorNode.disconnectFromProjection();
+            addParentOf(aggregatorNode.getProjection());
+        }
+        container.unregisterNode(node);
+    }
+
+    private void addParentOf(Indexer indexer) {
+        if (indexer != null && indexer.getParent() != null) {
+            candidates.add(indexer.getParent());
+        }
+    }
+
+}
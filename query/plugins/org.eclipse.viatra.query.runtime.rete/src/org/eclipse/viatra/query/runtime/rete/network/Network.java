@@ -22,6 +22,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.rete.boundary.InputConnector;
 import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
@@ -54,6 +55,7 @@ public class Network {
     private ReteEngine engine;
     protected NodeFactory nodeFactory;
     protected InputConnector inputConnector;
+    private MemoryType indexerMemoryType = MemoryType.SETS;
 
     // Node and recipe administration
     // incl. addresses for existing nodes by recipe (where available)
@@ -405,4 +407,21 @@ public class Network {
         return engine;
     }
 
+    /**
+     * @return the kind of memory used by the indexers of the network
+     * @since 2.9
+     */
+    public MemoryType getIndexerMemoryType() {
+        return indexerMemoryType;
+    }
+
+    /**
+     * Sets the kind of memory used by the indexers constructed afterwards; existing indexers are not affected.
+     * 
+     * @since 2.9
+     */
+    public void setIndexerMemoryType(MemoryType indexerMemoryType) {
+        this.indexerMemoryType = indexerMemoryType;
+    }
+
 }
@@ -277,7 +277,7 @@ class NodeFactory {
     }
 
     private Supplier instantiateNode(ReteContainer reteContainer, TransitiveClosureRecipe recipe) {
-        return new TransitiveClosureNode(reteContainer);
+        return new TransitiveClosureNode(reteContainer, recipe.isOnDemandReachability(), recipe.isCompactGraph());
     }
     
     private Supplier instantiateNode(ReteContainer reteContainer, RelationEvaluationRecipe recipe) {
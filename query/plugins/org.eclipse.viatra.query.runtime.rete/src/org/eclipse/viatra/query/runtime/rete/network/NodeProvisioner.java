@@ -9,7 +9,9 @@
 
 package org.eclipse.viatra.query.runtime.rete.network;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
@@ -61,6 +63,11 @@ public class NodeProvisioner {
 
     private RecipeRecognizer recognizer;
 
+    /**
+     * Recipes whose nodes were released by {@link #forgetNodes(Set)}; equivalent recipes may not find their nodes.
+     */
+    private final Set<ReteNodeRecipe> releasedRecipes = CollectionsFactory.createSet();
+
     /**
      * PRE: NodeFactory, ConnectionFactory must exist
      * 
@@ -110,6 +117,10 @@ public class NodeProvisioner {
                         // this is allowed for indexers;
                         // go on with the construction, as the same indexer node
                         // will be obtained anyways
+                    } else if (releasedRecipes.contains(canonicalRecipe)) {
+                        // the node of the canonical recipe was released, construct it again
+                        recipeTrace.shadowWithEquivalentRecipe(canonicalRecipe);
+                        recipe = canonicalRecipe;
                     } else {
                         throw new IllegalStateException(
                                 "This should not happen: " + "non-indexer nodes are are supposed to be constructed "
@@ -132,6 +143,7 @@ public class NodeProvisioner {
 
     private Node instantiateNodeForRecipe(RecipeTraceInfo recipeTrace, final ReteNodeRecipe recipe) {
         this.getRecipeTraces().add(recipeTrace);
+        releasedRecipes.remove(recipe);
         if (recipe instanceof IndexerRecipe) {
 
             // INSTANTIATE AND HOOK UP
@@ -174,6 +186,26 @@ public class NodeProvisioner {
         }
     }
 
+    /**
+     * Forgets the given nodes, which have been disconnected from the rest of the network and unregistered from the
+     * container; the nodes will be constructed again if their recipes are requested later.
+     * 
+     * @since 2.9
+     */
+    public synchronized void forgetNodes(Set<? extends Node> releasedNodes) {
+        final Iterator<Entry<ReteNodeRecipe, Address<? extends Node>>> entries = getNodesByRecipe().entrySet()
+                .iterator();
+        while (entries.hasNext()) {
+            final Entry<ReteNodeRecipe, Address<? extends Node>> entry = entries.next();
+            if (releasedNodes.contains(entry.getValue().getNodeCache())) {
+                releasedRecipes.add(entry.getKey());
+                entries.remove();
+            }
+        }
+        getRecipeTraces().removeIf(trace -> releasedNodes.contains(trace.getNode()));
+        projectionIndexerUserRequests.values().removeIf(trace -> releasedNodes.contains(trace.getNode()));
+    }
+
     private Map<ReteNodeRecipe, Address<? extends Node>> getNodesByRecipe() {
         return reteContainer.network.nodesByRecipe;
     }
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.network;
+
+import java.util.Map;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+
+/**
+ * A node whose memory can be saved into and restored from a Rete network snapshot.
+ *
+ * @see org.eclipse.viatra.query.runtime.rete.snapshot.ReteSnapshot
+ * @since 2.9
+ */
+public interface RestorableNode extends Node {
+
+    /**
+     * Returns the current contents of the memory of this node, along with the multiplicities of the tuples.
+     *
+     * @return the contents of the memory, or null if the node is in a state that cannot be captured
+     */
+    public Map<Tuple, Integer> captureContents();
+
+    /**
+     * Fills the (empty) memory of this node with the given contents. The tuples are NOT propagated towards the
+     * children of the node; the caller is responsible for ensuring that the restored contents are consistent with the
+     * rest of the network.
+     */
+    public void restoreContents(Map<Tuple, Integer> contents);
+
+    /**
+     * Discards the contents restored by {@link #restoreContents(Map)}, without propagating the change.
+     */
+    public void discardRestoredContents();
+
+}
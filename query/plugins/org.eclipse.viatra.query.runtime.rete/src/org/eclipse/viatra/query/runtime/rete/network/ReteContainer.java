@@ -18,6 +18,7 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.apache.log4j.Logger;
@@ -28,16 +29,19 @@ import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
 import org.eclipse.viatra.query.runtime.rete.boundary.InputConnector;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
 import org.eclipse.viatra.query.runtime.rete.matcher.TimelyConfiguration;
 import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
 import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationTracker;
 import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
+import org.eclipse.viatra.query.runtime.rete.network.communication.timeless.ParallelCommunicationScheduler;
 import org.eclipse.viatra.query.runtime.rete.network.communication.timeless.TimelessCommunicationTracker;
 import org.eclipse.viatra.query.runtime.rete.network.communication.timely.TimelyCommunicationTracker;
 import org.eclipse.viatra.query.runtime.rete.network.delayed.DelayedCommand;
 import org.eclipse.viatra.query.runtime.rete.network.delayed.DelayedConnectCommand;
 import org.eclipse.viatra.query.runtime.rete.network.delayed.DelayedDisconnectCommand;
 import org.eclipse.viatra.query.runtime.rete.remote.Address;
+import org.eclipse.viatra.query.runtime.rete.snapshot.SnapshotRestorer;
 import org.eclipse.viatra.query.runtime.rete.single.SingleInputNode;
 import org.eclipse.viatra.query.runtime.rete.single.TrimmerNode;
 import org.eclipse.viatra.query.runtime.rete.util.Options;
@@ -79,6 +83,23 @@ public final class ReteContainer {
 
     protected final TimelyConfiguration timelyConfiguration;
 
+    /**
+     * @since 2.9
+     */
+    protected final ParallelCommunicationScheduler parallelScheduler;
+
+    /**
+     * @since 2.9
+     */
+    protected SnapshotRestorer snapshotRestorer;
+
+    /**
+     * Non-null iff the instrumentation of the engine is enabled
+     * 
+     * @since 2.9
+     */
+    protected volatile ReteInstrumentation instrumentation;
+
     /**
      * @param threaded
      *            false if operating in a single-threaded environment
@@ -99,6 +120,13 @@ public final class ReteContainer {
             this.tracker = new TimelessCommunicationTracker();
         }
 
+        final ForkJoinPool propagationPool = network.getEngine().getPropagationPool();
+        if (propagationPool != null && !this.isTimelyEvaluation()) {
+            this.parallelScheduler = new ParallelCommunicationScheduler(this.tracker, propagationPool);
+        } else {
+            this.parallelScheduler = null;
+        }
+
         this.nodesById = CollectionsFactory.createMap();
         this.clearables = new LinkedList<Clearable>();
         this.logger = network.getEngine().getLogger();
@@ -140,6 +168,27 @@ public final class ReteContainer {
         return tracker;
     }
 
+    /**
+     * Returns the instrumentation collecting runtime metrics of this container, or null if instrumentation is
+     * disabled.
+     * 
+     * @since 2.9
+     */
+    public ReteInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Installs (or, if null, removes) the instrumentation collecting runtime metrics of this container.
+     * 
+     * @since 2.9
+     * @noreference This method is not intended to be referenced by clients; use {@link ReteInstrumentation} instead.
+     */
+    public void setInstrumentation(final ReteInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        this.tracker.setInstrumentation(instrumentation);
+    }
+
     /**
      * Stops this container. To be called by Network.kill()
      */
@@ -255,9 +304,23 @@ public final class ReteContainer {
         supplier.appendChild(receiver);
         receiver.appendParent(supplier);
         tracker.registerDependency(supplier, receiver);
+        if (snapshotRestorer != null && snapshotRestorer.restoreOnConnect(supplier, receiver, this)) {
+            // contents restored from a snapshot, no synch required
+            return;
+        }
         getDelayedCommandQueue().add(new DelayedConnectCommand(supplier, receiver, this));
     }
 
+    /**
+     * Sets the restorer consulted when receivers are connected with synchronization; null if no snapshot is being
+     * restored.
+     *
+     * @since 2.9
+     */
+    public void setSnapshotRestorer(SnapshotRestorer snapshotRestorer) {
+        this.snapshotRestorer = snapshotRestorer;
+    }
+
     /**
      * Disconnects a receiver from a supplier
      */
@@ -540,13 +603,17 @@ public final class ReteContainer {
             Math.min(30, input.toString().length()));
 
     /**
-     * Sends out all pending messages to their receivers. The delivery is governed by the communication tracker.
+     * Sends out all pending messages to their receivers. The delivery is governed by the communication tracker. If the
+     * engine was configured with a propagation pool, independent communication groups are delivered concurrently, but
+     * this method still returns only after all messages have been delivered.
      * 
      * @since 1.6
      */
     public void deliverMessagesSingleThreaded() {
         if (!backendContext.areUpdatesDelayed()) {
-            if (Options.MONITOR_VIOLATION_OF_RETE_NODEGROUP_TOPOLOGICAL_SORTING) {
+            if (parallelScheduler != null) {
+                parallelScheduler.deliverMessages();
+            } else if (Options.MONITOR_VIOLATION_OF_RETE_NODEGROUP_TOPOLOGICAL_SORTING) {
                 // known unreachable; enable for debugging only
 
                 CommunicationGroup lastGroup = null;
@@ -568,7 +635,7 @@ public final class ReteContainer {
                                         + group.getRepresentative() + " has already been processed!");
                     }
 
-                    group.deliverMessages();
+                    tracker.deliverMessages(group);
 
                     lastGroup = group;
                 }
@@ -576,7 +643,7 @@ public final class ReteContainer {
             } else {
                 while (!tracker.isEmpty()) {
                     final CommunicationGroup group = tracker.getAndRemoveFirstGroup();
-                    group.deliverMessages();
+                    tracker.deliverMessages(group);
                 }
             }
         }
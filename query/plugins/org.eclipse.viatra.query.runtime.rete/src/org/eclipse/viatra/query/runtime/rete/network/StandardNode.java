@@ -20,6 +20,7 @@ import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.rete.index.GenericProjectionIndexer;
 import org.eclipse.viatra.query.runtime.rete.index.ProjectionIndexer;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
 import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
 import org.eclipse.viatra.query.runtime.rete.network.mailbox.Mailbox;
 import org.eclipse.viatra.query.runtime.rete.traceability.TraceInfo;
@@ -45,6 +46,10 @@ public abstract class StandardNode extends BaseNode implements Supplier, Network
      * @since 2.4
      */
     protected void propagateUpdate(final Direction direction, final Tuple updateElement, final Timestamp timestamp) {
+        final ReteInstrumentation instrumentation = reteContainer.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.notifyPropagation(this, childMailboxes);
+        }
         for (final Mailbox childMailbox : childMailboxes) {
             childMailbox.postMessage(direction, updateElement, timestamp);
         }
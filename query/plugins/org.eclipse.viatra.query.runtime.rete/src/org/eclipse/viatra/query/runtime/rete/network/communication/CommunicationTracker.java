@@ -8,6 +8,8 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.network.communication;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +31,7 @@ import org.eclipse.viatra.query.runtime.rete.index.Indexer;
 import org.eclipse.viatra.query.runtime.rete.index.IndexerListener;
 import org.eclipse.viatra.query.runtime.rete.index.IterableIndexer;
 import org.eclipse.viatra.query.runtime.rete.index.SpecializedProjectionIndexer;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
 import org.eclipse.viatra.query.runtime.rete.network.IGroupable;
 import org.eclipse.viatra.query.runtime.rete.network.NetworkStructureChangeSensitiveNode;
 import org.eclipse.viatra.query.runtime.rete.network.Node;
@@ -89,6 +92,24 @@ public abstract class CommunicationTracker {
      */
     protected final Queue<CommunicationGroup> groupQueue;
 
+    /**
+     * Incremented whenever the dependency graph changes; allows clients to invalidate structure-dependent caches
+     * @since 2.9
+     */
+    protected int structureVersion;
+
+    /**
+     * True while groups are being delivered concurrently; in this case accesses of the group queue are serialized
+     * @since 2.9
+     */
+    protected boolean concurrentDelivery;
+
+    /**
+     * Non-null iff the delivery time of groups is measured
+     * @since 2.9
+     */
+    protected volatile ReteInstrumentation instrumentation;
+
     // groups should have a simple integer flag which represents its position in a priority queue
     // priority queue only contains the ACTIVE groups
 
@@ -107,6 +128,76 @@ public abstract class CommunicationTracker {
         return this.groupMap.get(node);
     }
 
+    /**
+     * Returns the graph of the SCC representatives of the dependency graph, i.e. the graph of the communication
+     * groups, identified by their {@link CommunicationGroup#getRepresentative() representatives}.
+     * 
+     * @since 2.9
+     */
+    public Graph<Node> getReducedDependencyGraph() {
+        return sccInformationProvider.getReducedGraph();
+    }
+
+    /**
+     * Returns a counter that changes whenever the dependency graph is modified.
+     * 
+     * @since 2.9
+     */
+    public int getStructureVersion() {
+        return structureVersion;
+    }
+
+    /**
+     * Returns the currently active groups in the order of their delivery.
+     * 
+     * @since 2.9
+     */
+    public List<CommunicationGroup> getActiveGroups() {
+        final List<CommunicationGroup> activeGroups = new ArrayList<CommunicationGroup>(groupQueue);
+        Collections.sort(activeGroups);
+        return activeGroups;
+    }
+
+    /**
+     * Switches the tracker into (or out of) a mode where active groups may be delivered by multiple threads at the
+     * same time. In this mode, the activation and deactivation of groups is serialized. The flag must only be changed
+     * when no delivery is in progress.
+     * 
+     * @since 2.9
+     */
+    public void setConcurrentDelivery(final boolean concurrentDelivery) {
+        this.concurrentDelivery = concurrentDelivery;
+    }
+
+    /**
+     * Sets the instrumentation that measures the time spent delivering the messages of groups; null disables the
+     * measurement.
+     * 
+     * @since 2.9
+     */
+    public void setInstrumentation(final ReteInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Delivers the messages of the given group, which must have been already removed from the queue of active groups.
+     * 
+     * @since 2.9
+     */
+    public void deliverMessages(final CommunicationGroup group) {
+        final ReteInstrumentation currentInstrumentation = this.instrumentation;
+        if (currentInstrumentation == null) {
+            group.deliverMessages();
+        } else {
+            final long start = System.nanoTime();
+            try {
+                group.deliverMessages();
+            } finally {
+                currentInstrumentation.notifyGroupDelivered(group, System.nanoTime() - start);
+            }
+        }
+    }
+
     private void precomputeGroups() {
         groupMap.clear();
 
@@ -252,13 +343,27 @@ public abstract class CommunicationTracker {
     }
 
     public void activateUnenqueued(final CommunicationGroup group) {
-        groupQueue.add(group);
-        group.isEnqueued = true;
+        if (concurrentDelivery) {
+            synchronized (groupQueue) {
+                groupQueue.add(group);
+                group.isEnqueued = true;
+            }
+        } else {
+            groupQueue.add(group);
+            group.isEnqueued = true;
+        }
     }
 
     public void deactivate(final CommunicationGroup group) {
-        groupQueue.remove(group);
-        group.isEnqueued = false;
+        if (concurrentDelivery) {
+            synchronized (groupQueue) {
+                groupQueue.remove(group);
+                group.isEnqueued = false;
+            }
+        } else {
+            groupQueue.remove(group);
+            group.isEnqueued = false;
+        }
     }
 
     public CommunicationGroup getAndRemoveFirstGroup() {
@@ -295,6 +400,7 @@ public abstract class CommunicationTracker {
         dependencyGraph.insertNode(target);
 
         if (!this.dependencyGraph.getTargetNodes(source).containsNonZero(target)) {
+            structureVersion++;
 
             // query all these information before the actual edge insertion
             // because SCCs may be unified during the process
@@ -384,6 +490,7 @@ public abstract class CommunicationTracker {
     public void unregisterDependency(final Node source, final Node target) {
         // delete the edge first, and then query the SCC info provider
         this.dependencyGraph.deleteEdgeIfExists(source, target);
+        structureVersion++;
 
         final Node sourceRepresentative = sccInformationProvider.getRepresentative(source);
         final Node targetRepresentative = sccInformationProvider.getRepresentative(target);
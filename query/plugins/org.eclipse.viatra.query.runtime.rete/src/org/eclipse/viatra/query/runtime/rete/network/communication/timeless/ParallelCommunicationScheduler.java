@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.network.communication.timeless;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.viatra.query.runtime.rete.index.DualInputNode;
+import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationTracker;
+import org.eclipse.viatra.query.runtime.rete.network.mailbox.FallThroughCapableMailbox;
+import org.eclipse.viatra.query.runtime.rete.network.mailbox.Mailbox;
+import org.eclipse.viatra.query.runtime.rete.single.CallbackNode;
+
+/**
+ * Delivers the messages of a {@link TimelessCommunicationTracker} by processing independent
+ * {@link CommunicationGroup}s concurrently on a {@link ForkJoinPool}.
+ * <p>
+ * Delivery proceeds in waves. A wave consists of active groups that (1) have no active ancestor in the reduced
+ * dependency graph, so no further messages can arrive to them in the current propagation, and (2) do not interfere with
+ * each other. Two groups interfere if the nodes they update synchronously (through fall-through mailboxes and indexer
+ * listeners) overlap with the nodes the other group updates or reads (the opposite slots of joins), or if they post
+ * messages into the same downstream group. Callbacks towards clients are never run concurrently. Each wave acts as a
+ * barrier: the next wave is selected only after every group of the current one has finished.
+ * <p>
+ * Timely evaluation is not supported.
+ *
+ * @since 2.9
+ */
+public class ParallelCommunicationScheduler {
+
+    /**
+     * Shared marker object for all client callbacks, so that groups that notify clients are never run concurrently
+     */
+    private static final Object CALLBACK_MARKER = new Object();
+
+    private final CommunicationTracker tracker;
+    private final ForkJoinPool pool;
+
+    private final Map<CommunicationGroup, Footprint> footprints;
+    private Map<CommunicationGroup, List<Node>> membersByGroup;
+    private int cachedStructureVersion;
+
+    public ParallelCommunicationScheduler(final CommunicationTracker tracker, final ForkJoinPool pool) {
+        this.tracker = tracker;
+        this.pool = pool;
+        this.footprints = new HashMap<CommunicationGroup, Footprint>();
+        this.cachedStructureVersion = -1;
+    }
+
+    /**
+     * Sends out all pending messages to their receivers.
+     */
+    public void deliverMessages() {
+        while (!tracker.isEmpty()) {
+            final List<CommunicationGroup> wave = selectWave();
+            if (wave.size() == 1) {
+                tracker.deliverMessages(tracker.getAndRemoveFirstGroup());
+            } else {
+                deliverConcurrently(wave);
+            }
+        }
+    }
+
+    private void deliverConcurrently(final List<CommunicationGroup> wave) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(wave.size());
+        for (final CommunicationGroup group : wave) {
+            tracker.deactivate(group);
+            tasks.add(new GroupDeliveryTask(tracker, group));
+        }
+        tracker.setConcurrentDelivery(true);
+        try {
+            if (ForkJoinTask.inForkJoinPool()) {
+                ForkJoinTask.invokeAll(tasks);
+            } else {
+                pool.invoke(new RecursiveAction() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute() {
+                        ForkJoinTask.invokeAll(tasks);
+                    }
+                });
+            }
+        } finally {
+            tracker.setConcurrentDelivery(false);
+        }
+    }
+
+    /**
+     * Selects the groups to be delivered in the next wave. The first active group is always part of the wave.
+     * 
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public List<CommunicationGroup> selectWave() {
+        final List<CommunicationGroup> activeGroups = tracker.getActiveGroups();
+        if (activeGroups.size() == 1) {
+            return activeGroups;
+        }
+        refreshCaches();
+
+        final Set<Node> blocked = collectStrictDescendants(activeGroups);
+        final List<CommunicationGroup> wave = new ArrayList<CommunicationGroup>();
+        final List<Footprint> waveFootprints = new ArrayList<Footprint>();
+        for (final CommunicationGroup candidate : activeGroups) {
+            if (blocked.contains(candidate.getRepresentative())) {
+                continue;
+            }
+            final Footprint footprint = getFootprint(candidate);
+            boolean independent = true;
+            for (final Footprint selected : waveFootprints) {
+                if (footprint.interferesWith(selected)) {
+                    independent = false;
+                    break;
+                }
+            }
+            if (independent) {
+                wave.add(candidate);
+                waveFootprints.add(footprint);
+            }
+        }
+        return wave;
+    }
+
+    /**
+     * Returns the representatives of all groups that are reachable from some active group through at least one edge
+     * of the reduced dependency graph.
+     */
+    private Set<Node> collectStrictDescendants(final List<CommunicationGroup> activeGroups) {
+        final Graph<Node> reducedGraph = tracker.getReducedDependencyGraph();
+        final Set<Node> visited = new HashSet<Node>();
+        final Deque<Node> toVisit = new ArrayDeque<Node>();
+        for (final CommunicationGroup group : activeGroups) {
+            toVisit.addAll(reducedGraph.getTargetNodes(group.getRepresentative()).distinctValues());
+        }
+        while (!toVisit.isEmpty()) {
+            final Node node = toVisit.poll();
+            if (visited.add(node)) {
+                toVisit.addAll(reducedGraph.getTargetNodes(node).distinctValues());
+            }
+        }
+        return visited;
+    }
+
+    private void refreshCaches() {
+        if (cachedStructureVersion != tracker.getStructureVersion()) {
+            footprints.clear();
+            membersByGroup = new HashMap<CommunicationGroup, List<Node>>();
+            for (final Node node : tracker.getDependencyGraph().getAllNodes()) {
+                membersByGroup.computeIfAbsent(tracker.getGroup(node), g -> new ArrayList<Node>()).add(node);
+            }
+            cachedStructureVersion = tracker.getStructureVersion();
+        }
+    }
+
+    /**
+     * Returns whether the two given groups touch the same nodes or post messages into the same group during their
+     * delivery, so that they cannot be delivered in the same wave.
+     * 
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public boolean interfere(final CommunicationGroup first, final CommunicationGroup second) {
+        refreshCaches();
+        return getFootprint(first).interferesWith(getFootprint(second));
+    }
+
+    private Footprint getFootprint(final CommunicationGroup group) {
+        return footprints.computeIfAbsent(group, this::computeFootprint);
+    }
+
+    private Footprint computeFootprint(final CommunicationGroup group) {
+        final Footprint footprint = new Footprint();
+        final Graph<Node> dependencyGraph = tracker.getDependencyGraph();
+        final Deque<Node> toVisit = new ArrayDeque<Node>(membersByGroup.getOrDefault(group, Collections.emptyList()));
+        footprint.writes.addAll(toVisit);
+
+        while (!toVisit.isEmpty()) {
+            final Node node = toVisit.poll();
+            if (node instanceof CallbackNode) {
+                footprint.writes.add(CALLBACK_MARKER);
+            }
+            if (node instanceof DualInputNode) {
+                addSlot(footprint, ((DualInputNode) node).getPrimarySlot());
+                addSlot(footprint, ((DualInputNode) node).getSecondarySlot());
+            }
+            for (final Node target : dependencyGraph.getTargetNodes(node).distinctValues()) {
+                if (isSynchronousEdge(node, target)) {
+                    if (footprint.writes.add(target)) {
+                        toVisit.add(target);
+                    }
+                } else {
+                    footprint.targets.add(tracker.getGroup(target));
+                }
+            }
+        }
+        return footprint;
+    }
+
+    private static void addSlot(final Footprint footprint, final Indexer slot) {
+        if (slot != null) {
+            footprint.reads.add(slot);
+            footprint.reads.add(slot.getActiveNode());
+        }
+    }
+
+    /**
+     * An edge is synchronous if the update of the source directly invokes the target, i.e. without going through a
+     * mailbox that defers the update until the target group is delivered.
+     * 
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static boolean isSynchronousEdge(final Node source, final Node target) {
+        if (source instanceof Indexer || !(target instanceof Receiver)) {
+            return true;
+        }
+        final Mailbox mailbox = ((Receiver) target).getMailbox();
+        return mailbox instanceof FallThroughCapableMailbox && ((FallThroughCapableMailbox) mailbox).isFallThrough();
+    }
+
+    /**
+     * The set of objects touched during the delivery of a group.
+     */
+    private static final class Footprint {
+        final Set<Object> writes = new HashSet<Object>();
+        final Set<Object> reads = new HashSet<Object>();
+        final Set<CommunicationGroup> targets = new HashSet<CommunicationGroup>();
+
+        boolean interferesWith(final Footprint other) {
+            return !Collections.disjoint(writes, other.writes) || !Collections.disjoint(writes, other.reads)
+                    || !Collections.disjoint(reads, other.writes) || !Collections.disjoint(targets, other.targets);
+        }
+    }
+
+    private static final class GroupDeliveryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient CommunicationTracker tracker;
+        private final transient CommunicationGroup group;
+
+        GroupDeliveryTask(final CommunicationTracker tracker, final CommunicationGroup group) {
+            this.tracker = tracker;
+            this.group = group;
+        }
+
+        @Override
+        protected void compute() {
+            tracker.deliverMessages(group);
+        }
+    }
+
+}
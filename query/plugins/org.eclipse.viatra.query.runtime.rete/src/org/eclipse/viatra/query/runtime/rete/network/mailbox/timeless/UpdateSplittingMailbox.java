@@ -8,7 +8,7 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.network.mailbox.timeless;
 
-import java.util.Map.Entry;
+import java.util.Map;
 
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
@@ -98,27 +98,15 @@ public class UpdateSplittingMailbox extends AbstractUpdateSplittingMailbox<Defau
         if (kind == PhasedSelector.ANTI_MONOTONE) {
             // deliver anti-monotone
             this.deliveringAntiMonotone = true;
-            for (final Entry<Tuple, Integer> entry : this.antiMonotoneQueue.getTuples().entrySet()) {
-                final Tuple update = entry.getKey();
-                final int count = entry.getValue();
-                assert count < 0;
-                for (int i = 0; i < Math.abs(count); i++) {
-                    this.receiver.update(Direction.DELETE, update, Timestamp.ZERO);
-                }
-            }
+            assert hasCountsOfSign(this.antiMonotoneQueue.getTuples(), -1);
+            this.receiver.batchUpdate(this.antiMonotoneQueue.getTuples().entrySet(), Timestamp.ZERO);
             this.deliveringAntiMonotone = false;
             swapAndClearAntiMonotone();
         } else if (kind == PhasedSelector.MONOTONE) {
             // deliver monotone
             this.deliveringMonotone = true;
-            for (final Entry<Tuple, Integer> entry : this.monotoneQueue.getTuples().entrySet()) {
-                final Tuple update = entry.getKey();
-                final int count = entry.getValue();
-                assert count > 0;
-                for (int i = 0; i < count; i++) {
-                    this.receiver.update(Direction.INSERT, update, Timestamp.ZERO);
-                }
-            }
+            assert hasCountsOfSign(this.monotoneQueue.getTuples(), 1);
+            this.receiver.batchUpdate(this.monotoneQueue.getTuples().entrySet(), Timestamp.ZERO);
             this.deliveringMonotone = false;
             swapAndClearMonotone();
         } else {
@@ -126,6 +114,15 @@ public class UpdateSplittingMailbox extends AbstractUpdateSplittingMailbox<Defau
         }
     }
 
+    private static boolean hasCountsOfSign(final Map<Tuple, Integer> tuples, final int sign) {
+        for (final int count : tuples.values()) {
+            if (Integer.signum(count) != sign) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public String toString() {
         return "US_MBOX (" + this.receiver + ") " + this.getActiveMonotoneQueue() + " "
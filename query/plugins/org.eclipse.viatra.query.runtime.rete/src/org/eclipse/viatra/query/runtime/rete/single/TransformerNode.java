@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
@@ -46,4 +47,31 @@ public abstract class TransformerNode extends SingleInputNode {
         propagateUpdate(direction, transform(updateElement), timestamp);
     }
 
+    /**
+     * Transforms the whole batch first, so that updates that cancel each other out after the transformation are not
+     * propagated at all.
+     * <p>
+     * In timely evaluation, the updates are processed one by one.
+     * 
+     * @since 2.9
+     */
+    @Override
+    public void batchUpdate(final Collection<Entry<Tuple, Integer>> updates, final Timestamp timestamp) {
+        if (this.reteContainer.isTimelyEvaluation()) {
+            super.batchUpdate(updates, timestamp);
+            return;
+        }
+        final Map<Tuple, Integer> transformed = CollectionsFactory.createMap();
+        for (final Entry<Tuple, Integer> entry : updates) {
+            transformed.merge(transform(entry.getKey()), entry.getValue(), Integer::sum);
+        }
+        for (final Entry<Tuple, Integer> entry : transformed.entrySet()) {
+            final int count = entry.getValue();
+            final Direction direction = count < 0 ? Direction.DELETE : Direction.INSERT;
+            for (int i = 0; i < Math.abs(count); i++) {
+                propagateUpdate(direction, entry.getKey(), timestamp);
+            }
+        }
+    }
+
 }
@@ -8,27 +8,46 @@
  *******************************************************************************/
 package org.eclipse.viatra.query.runtime.rete.single;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.viatra.query.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.viatra.query.runtime.base.itc.alg.intgraph.IntTcAlg;
 import org.eclipse.viatra.query.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.viatra.query.runtime.base.itc.alg.ondemand.OnDemandTcAlg;
 import org.eclipse.viatra.query.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.IntGraph;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.IMutableGraphDataSource;
 import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcObserver;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
 import org.eclipse.viatra.query.runtime.matchers.util.Clearable;
 import org.eclipse.viatra.query.runtime.matchers.util.Direction;
 import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
+import org.eclipse.viatra.query.runtime.rete.index.ProjectionIndexer;
+import org.eclipse.viatra.query.runtime.rete.index.TransitiveClosureNodeIndexer;
 import org.eclipse.viatra.query.runtime.rete.network.NetworkStructureChangeSensitiveNode;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
 import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
 import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
+import org.eclipse.viatra.query.runtime.rete.traceability.TraceInfo;
 
 /**
  * This class represents a transitive closure node in the Rete net.
  * <p>
  * This node must not be used in recursive {@link CommunicationGroup}s.
+ * <p>
+ * By default, the transitive closure relation is maintained by {@link IncSCCAlg}. In on-demand reachability mode,
+ * {@link OnDemandTcAlg} is used instead, which only stores the graph and computes reachability by graph search. In
+ * this mode, the indexers of the node are {@link TransitiveClosureNodeIndexer}s, which answer the lookups of joins by
+ * searching the graph as well; however, the relation is still propagated to the children of the node, which store it
+ * if they have memories. In compact graph mode, the graph is stored as an {@link IntGraph}, and (unless reachability is computed on demand) the
+ * transitive closure relation is maintained by {@link IntTcAlg} over primitive node identifiers.
  * 
  * @author Gabor Bergmann
  * 
@@ -36,8 +55,15 @@ import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
 public class TransitiveClosureNode extends SingleInputNode
         implements Clearable, ITcObserver<Object>, NetworkStructureChangeSensitiveNode {
 
-    private Graph<Object> graphDataSource;
+    private final boolean onDemandReachability;
+    private final boolean compactGraph;
+    private IMutableGraphDataSource<Object> graphDataSource;
     private ITcDataSource<Object> transitiveClosureAlgorithm;
+    private final List<TransitiveClosureNodeIndexer> onDemandIndexers = new ArrayList<>();
+    /**
+     * Changes of the relation caused by the graph update in progress, if they are to be propagated after the update
+     */
+    private Map<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple, Direction> pendingChanges;
 
     /**
      * Create a new transitive closure rete node.
@@ -49,13 +75,47 @@ public class TransitiveClosureNode extends SingleInputNode
      *            the rete container of the node
      */
     public TransitiveClosureNode(ReteContainer reteContainer) {
+        this(reteContainer, false, false);
+    }
+
+    /**
+     * Create a new transitive closure rete node.
+     * 
+     * Client may optionally call {@link #reinitializeWith(Collection)} before using the node, instead of inserting the
+     * initial set of tuples one by one.
+     * 
+     * @param reteContainer
+     *            the rete container of the node
+     * @param onDemandReachability
+     *            if true, the transitive closure relation is not stored, but computed on demand by graph search
+     * @param compactGraph
+     *            if true, the graph and the transitive closure relation are stored over primitive node identifiers
+     * @since 2.9
+     */
+    public TransitiveClosureNode(ReteContainer reteContainer, boolean onDemandReachability, boolean compactGraph) {
         super(reteContainer);
-        graphDataSource = new Graph<Object>();
-        transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
+        this.onDemandReachability = onDemandReachability;
+        this.compactGraph = compactGraph;
+        graphDataSource = createGraph();
+        transitiveClosureAlgorithm = createAlgorithm(graphDataSource);
         transitiveClosureAlgorithm.attachObserver(this);
         reteContainer.registerClearable(this);
     }
 
+    private IMutableGraphDataSource<Object> createGraph() {
+        return compactGraph ? new IntGraph<Object>() : new Graph<Object>();
+    }
+
+    private ITcDataSource<Object> createAlgorithm(IMutableGraphDataSource<Object> graph) {
+        if (onDemandReachability) {
+            return new OnDemandTcAlg<Object>(graph);
+        } else if (compactGraph) {
+            return new IntTcAlg<Object>((IntGraph<Object>) graph);
+        } else {
+            return new IncSCCAlg<Object>(graph);
+        }
+    }
+
     @Override
     public void networkStructureChanged() {
         if (this.reteContainer.isTimelyEvaluation() && this.reteContainer.getCommunicationTracker().isInRecursiveGroup(this)) {
@@ -83,7 +143,15 @@ public class TransitiveClosureNode extends SingleInputNode
 
     @Override
     public void pullInto(final Collection<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple> collector, final boolean flush) {
-        for (final Tuple<Object> tuple : ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation()) {
+        if (onDemandReachability) {
+            for (final Object source : graphDataSource.getAllNodes()) {
+                for (final Object target : transitiveClosureAlgorithm.getAllReachableTargets(source)) {
+                    collector.add(Tuples.staticArityFlatTupleOf(source, target));
+                }
+            }
+            return;
+        }
+        for (final Tuple<Object> tuple : getTcRelation()) {
             collector.add(Tuples.staticArityFlatTupleOf(tuple.getSource(), tuple.getTarget()));
         }
     }
@@ -93,32 +161,122 @@ public class TransitiveClosureNode extends SingleInputNode
             final Map<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple, Timeline<Timestamp>> collector,
             final boolean flush) {
         // use all zero timestamps because this node cannot be used in recursive groups anyway
-        for (final Tuple<Object> tuple : ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation()) {
+        if (onDemandReachability) {
+            for (final Object source : graphDataSource.getAllNodes()) {
+                for (final Object target : transitiveClosureAlgorithm.getAllReachableTargets(source)) {
+                    collector.put(Tuples.staticArityFlatTupleOf(source, target), Timestamp.INSERT_AT_ZERO_TIMELINE);
+                }
+            }
+            return;
+        }
+        for (final Tuple<Object> tuple : getTcRelation()) {
             collector.put(Tuples.staticArityFlatTupleOf(tuple.getSource(), tuple.getTarget()), Timestamp.INSERT_AT_ZERO_TIMELINE);
         }
     }
 
+    private Collection<Tuple<Object>> getTcRelation() {
+        if (transitiveClosureAlgorithm instanceof IntTcAlg) {
+            return ((IntTcAlg<Object>) transitiveClosureAlgorithm).getTcRelation();
+        }
+        return ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation();
+    }
+
+    /**
+     * In on-demand reachability mode, the indexers of the node compute their contents by graph search instead of
+     * storing the relation.
+     * 
+     * @since 2.9
+     */
+    @Override
+    public ProjectionIndexer constructIndex(final TupleMask mask, final TraceInfo... traces) {
+        if (!onDemandReachability) {
+            return super.constructIndex(mask, traces);
+        }
+        final TransitiveClosureNodeIndexer indexer = new TransitiveClosureNodeIndexer(mask, this);
+        for (final TraceInfo traceInfo : traces) {
+            indexer.assignTraceInfo(traceInfo);
+        }
+        onDemandIndexers.add(indexer);
+        getCommunicationTracker().registerDependency(this, indexer);
+        return indexer;
+    }
+
+    /**
+     * @return the algorithm currently maintaining or computing the transitive closure relation
+     * @since 2.9
+     */
+    public ITcDataSource<Object> getTransitiveClosureAlgorithm() {
+        return transitiveClosureAlgorithm;
+    }
+
+    /**
+     * @return the nodes of the graph whose transitive closure is computed
+     * @since 2.9
+     */
+    public Iterable<Object> getGraphNodes() {
+        return graphDataSource.getAllNodes();
+    }
+
+    private boolean isIsolated(Object node) {
+        return graphDataSource.getTargetNodes(node).isEmpty() && graphDataSource.getSourceNodes(node).isEmpty();
+    }
+
     @Override
     public void update(Direction direction, org.eclipse.viatra.query.runtime.matchers.tuple.Tuple updateElement,
             Timestamp timestamp) {
         if (updateElement.getSize() == 2) {
-            Object source = updateElement.get(0);
-            Object target = updateElement.get(1);
+            if (onDemandReachability) {
+                // the algorithm notifies about the changes while searching the updated graph, so they are only
+                // propagated after the update, when the indexers can already look up their final state
+                pendingChanges = new LinkedHashMap<>();
+                try {
+                    updateGraph(direction, updateElement);
+                } finally {
+                    propagatePendingChanges();
+                }
+            } else {
+                updateGraph(direction, updateElement);
+            }
+        }
+    }
+
+    private void updateGraph(Direction direction, org.eclipse.viatra.query.runtime.matchers.tuple.Tuple updateElement) {
+        Object source = updateElement.get(0);
+        Object target = updateElement.get(1);
+
+        if (direction == Direction.INSERT) {
+            graphDataSource.insertNode(source);
+            graphDataSource.insertNode(target);
+            graphDataSource.insertEdge(source, target);
+        }
+        if (direction == Direction.DELETE) {
+            graphDataSource.deleteEdgeIfExists(source, target);
 
-            if (direction == Direction.INSERT) {
-                graphDataSource.insertNode(source);
-                graphDataSource.insertNode(target);
-                graphDataSource.insertEdge(source, target);
+            if (isIsolated(source)) {
+                graphDataSource.deleteNode(source);
+            }
+            if (!source.equals(target) && isIsolated(target)) {
+                graphDataSource.deleteNode(target);
             }
-            if (direction == Direction.DELETE) {
-                graphDataSource.deleteEdgeIfExists(source, target);
+        }
+    }
 
-                if (((IncSCCAlg<Object>) transitiveClosureAlgorithm).isIsolated(source)) {
-                    graphDataSource.deleteNode(source);
-                }
-                if (!source.equals(target) && ((IncSCCAlg<Object>) transitiveClosureAlgorithm).isIsolated(target)) {
-                    graphDataSource.deleteNode(target);
-                }
+    /**
+     * Propagates the changes of the last graph update one by one, hiding the changes not yet propagated from the
+     * lookups of the indexers, so that joins see the relation in the same state as if it was stored.
+     */
+    private void propagatePendingChanges() {
+        final Map<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple, Direction> changes = pendingChanges;
+        pendingChanges = null;
+        for (final TransitiveClosureNodeIndexer indexer : onDemandIndexers) {
+            for (final Entry<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple, Direction> change : changes.entrySet()) {
+                indexer.markPending(change.getValue(), change.getKey());
+            }
+        }
+        for (final Entry<org.eclipse.viatra.query.runtime.matchers.tuple.Tuple, Direction> change : changes.entrySet()) {
+            propagateUpdate(change.getValue(), change.getKey(), Timestamp.ZERO);
+            for (final TransitiveClosureNodeIndexer indexer : onDemandIndexers) {
+                indexer.propagatePending(change.getValue(), change.getKey());
             }
         }
     }
@@ -126,20 +284,28 @@ public class TransitiveClosureNode extends SingleInputNode
     @Override
     public void clear() {
         transitiveClosureAlgorithm.dispose();
-        graphDataSource = new Graph<Object>();
-        transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
+        graphDataSource = createGraph();
+        transitiveClosureAlgorithm = createAlgorithm(graphDataSource);
     }
 
     @Override
     public void tupleInserted(Object source, Object target) {
         org.eclipse.viatra.query.runtime.matchers.tuple.Tuple tuple = Tuples.staticArityFlatTupleOf(source, target);
-        propagateUpdate(Direction.INSERT, tuple, Timestamp.ZERO);
+        if (pendingChanges != null) {
+            pendingChanges.put(tuple, Direction.INSERT);
+        } else {
+            propagateUpdate(Direction.INSERT, tuple, Timestamp.ZERO);
+        }
     }
 
     @Override
     public void tupleDeleted(Object source, Object target) {
         org.eclipse.viatra.query.runtime.matchers.tuple.Tuple tuple = Tuples.staticArityFlatTupleOf(source, target);
-        propagateUpdate(Direction.DELETE, tuple, Timestamp.ZERO);
+        if (pendingChanges != null) {
+            pendingChanges.put(tuple, Direction.DELETE);
+        } else {
+            propagateUpdate(Direction.DELETE, tuple, Timestamp.ZERO);
+        }
     }
 
 }
@@ -10,6 +10,7 @@
 package org.eclipse.viatra.query.runtime.rete.single;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,6 +26,7 @@ import org.eclipse.viatra.query.runtime.rete.index.MemoryNullIndexer;
 import org.eclipse.viatra.query.runtime.rete.index.ProjectionIndexer;
 import org.eclipse.viatra.query.runtime.rete.network.PosetAwareReceiver;
 import org.eclipse.viatra.query.runtime.rete.network.RederivableNode;
+import org.eclipse.viatra.query.runtime.rete.network.RestorableNode;
 import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
 import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
 import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
@@ -46,7 +48,7 @@ import org.eclipse.viatra.query.runtime.rete.network.mailbox.timeless.PosetAware
  * @noextend This class is not intended to be subclassed by clients.
  */
 public class UniquenessEnforcerNode extends AbstractUniquenessEnforcerNode
-        implements RederivableNode, PosetAwareReceiver {
+        implements RederivableNode, PosetAwareReceiver, RestorableNode {
 
     protected IMultiset<Tuple> memory;
     /**
@@ -288,6 +290,40 @@ public class UniquenessEnforcerNode extends AbstractUniquenessEnforcerNode
         propagate(Direction.INSERT, update, Timestamp.ZERO);
     }
 
+    /**
+     * @since 2.9
+     */
+    @Override
+    public Map<Tuple, Integer> captureContents() {
+        if (!this.rederivableMemory.isEmpty()) {
+            // a re-derivation is in progress
+            return null;
+        }
+        final Map<Tuple, Integer> contents = new HashMap<>();
+        for (final Tuple tuple : this.memory.distinctValues()) {
+            contents.put(tuple, this.memory.getCount(tuple));
+        }
+        return contents;
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void restoreContents(final Map<Tuple, Integer> contents) {
+        for (final Map.Entry<Tuple, Integer> entry : contents.entrySet()) {
+            this.memory.addPositive(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public void discardRestoredContents() {
+        this.memory.clear();
+    }
+
     @Override
     public ProjectionIndexer getNullIndexer() {
         if (this.memoryNullIndexer == null) {
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.viatra.query.runtime.emf.EMFQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+
+/**
+ * Snapshot support for {@link EMFScope}s: model elements are identified by their URIs, and must be contained in a
+ * resource of the scope.
+ *
+ * @since 2.9
+ */
+final class EMFSnapshotModelAdapter implements ISnapshotModelAdapter {
+
+    private final EMFScope scope;
+    private final Map<URI, Resource> resources = new HashMap<>();
+
+    private EMFSnapshotModelAdapter(EMFScope scope) {
+        this.scope = scope;
+        for (Notifier root : scope.getScopeRoots()) {
+            if (root instanceof ResourceSet) {
+                for (Resource resource : ((ResourceSet) root).getResources()) {
+                    resources.put(resource.getURI(), resource);
+                }
+            } else if (root instanceof Resource) {
+                resources.put(((Resource) root).getURI(), (Resource) root);
+            } else if (root instanceof EObject && ((EObject) root).eResource() != null) {
+                Resource resource = ((EObject) root).eResource();
+                resources.put(resource.getURI(), resource);
+            }
+        }
+    }
+
+    /**
+     * @return an adapter for the scope of the given runtime context, or null if it is not an EMF scope
+     */
+    static ISnapshotModelAdapter create(IQueryRuntimeContext runtimeContext) {
+        if (runtimeContext instanceof EMFQueryRuntimeContext) {
+            return new EMFSnapshotModelAdapter(((EMFQueryRuntimeContext) runtimeContext).getEmfScope());
+        }
+        return null;
+    }
+
+    @Override
+    public byte[] computeChecksum() {
+        return ModelChecksum.compute(scope);
+    }
+
+    @Override
+    public boolean isModelElement(Object value) {
+        return value instanceof EObject;
+    }
+
+    @Override
+    public boolean canIdentify(Object element) {
+        Resource resource = ((EObject) element).eResource();
+        return resource != null && resources.get(resource.getURI()) == resource;
+    }
+
+    @Override
+    public String identify(Object element) {
+        return EcoreUtil.getURI((EObject) element).toString();
+    }
+
+    /**
+     * The returned resolver indexes the contents of each resource by URI fragment when the first element of the
+     * resource is resolved, instead of navigating the fragment path separately for every element.
+     */
+    @Override
+    public Function<String, Object> createResolver() {
+        Map<Resource, Map<String, EObject>> fragmentMaps = new HashMap<>();
+        return identifier -> {
+            URI uri = URI.createURI(identifier);
+            Resource resource = resources.get(uri.trimFragment());
+            if (resource == null) {
+                return null;
+            }
+            return fragmentMaps.computeIfAbsent(resource, EMFSnapshotModelAdapter::indexFragments).get(uri.fragment());
+        };
+    }
+
+    private static Map<String, EObject> indexFragments(Resource resource) {
+        Map<String, EObject> result = new HashMap<>();
+        for (Iterator<EObject> contents = resource.getAllContents(); contents.hasNext();) {
+            EObject eObject = contents.next();
+            result.put(resource.getURIFragment(eObject), eObject);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.util.function.Function;
+
+/**
+ * Connects a {@link ReteSnapshot} to the model the network was built over: identifies model elements in a way that
+ * survives reloading the model, and detects whether the model has changed since the snapshot was taken.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This interface was introduced in 2.9 and may change in future versions.
+ *
+ * @since 2.9
+ */
+public interface ISnapshotModelAdapter {
+
+    /**
+     * @return a digest of the model contents and of all settings that influence which model elements and feature
+     *         values are visible to the queries; snapshots are only restored if the digest is unchanged
+     */
+    byte[] computeChecksum();
+
+    /**
+     * @return true if the value is a model element, to be written using {@link #identify(Object)}
+     */
+    boolean isModelElement(Object value);
+
+    /**
+     * @return true if {@link #identify(Object)} can be called for the given model element; elements that cannot be
+     *         resolved after reloading the model must not be identifiable
+     */
+    boolean canIdentify(Object element);
+
+    /**
+     * @return an identifier of the model element that can be resolved by {@link #createResolver()}
+     */
+    String identify(Object element);
+
+    /**
+     * Creates a function that resolves identifiers returned by {@link #identify(Object)} to model elements, or to null
+     * if the identifier is unknown. A resolver is created once for reading a snapshot, so implementations may build
+     * lookup tables in it.
+     */
+    Function<String, Object> createResolver();
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+
+/**
+ * Computes a digest of the contents of the model in an {@link EMFScope}, used to detect whether a {@link ReteSnapshot}
+ * still reflects the model.
+ * <p>
+ * The digest covers the URIs of all model elements, their classes, and the values of all their non-derived features;
+ * references are represented by the URIs of their targets, without resolving proxies. As the order of resources in a
+ * resource set depends on the order of loading, the digests of individual resources are combined in the order of their
+ * URIs.
+ * <p>
+ * The digest also covers the {@link BaseIndexOptions} of the scope, as they influence which elements and feature values
+ * are visible to the queries (e.g. filters, dynamic EMF mode, or the treatment of derived features). Options are
+ * represented by their string form; index filters that do not override {@link Object#toString()} are therefore never
+ * considered equal across engines, and snapshots taken with them are always rebuilt.
+ */
+final class ModelChecksum {
+
+    private ModelChecksum() {
+        // utility class
+    }
+
+    public static byte[] compute(EMFScope scope) {
+        Map<String, byte[]> digestsByRoot = new TreeMap<>();
+        for (Notifier root : scope.getScopeRoots()) {
+            if (root instanceof ResourceSet) {
+                for (Resource resource : ((ResourceSet) root).getResources()) {
+                    digestsByRoot.put(resource.getURI().toString(), digestResource(resource));
+                }
+            } else if (root instanceof Resource) {
+                Resource resource = (Resource) root;
+                digestsByRoot.put(resource.getURI().toString(), digestResource(resource));
+            } else if (root instanceof EObject) {
+                EObject eObject = (EObject) root;
+                digestsByRoot.put(EcoreUtil.getURI(eObject).toString(), digestContents(eObject.eResource(),
+                        Collections.singleton(eObject), eObject.eAllContents()));
+            }
+        }
+        MessageDigest digest = Digests.create();
+        Digests.update(digest, scope.getOptions().toString());
+        for (Map.Entry<String, byte[]> entry : digestsByRoot.entrySet()) {
+            Digests.update(digest, entry.getKey());
+            digest.update(entry.getValue());
+        }
+        return digest.digest();
+    }
+
+    private static byte[] digestResource(Resource resource) {
+        return digestContents(resource, Collections.<EObject> emptySet(), resource.getAllContents());
+    }
+
+    private static byte[] digestContents(Resource resource, Collection<EObject> roots,
+            Iterator<EObject> contents) {
+        MessageDigest digest = Digests.create();
+        for (EObject root : roots) {
+            digestObject(digest, resource, root);
+        }
+        while (contents.hasNext()) {
+            digestObject(digest, resource, contents.next());
+        }
+        return digest.digest();
+    }
+
+    private static void digestObject(MessageDigest digest, Resource resource, EObject eObject) {
+        Digests.update(digest, resource == null ? "" : resource.getURIFragment(eObject));
+        Digests.update(digest, EcoreUtil.getURI(eObject.eClass()).toString());
+        for (EStructuralFeature feature : eObject.eClass().getEAllStructuralFeatures()) {
+            if (feature.isDerived()) {
+                continue;
+            }
+            Digests.update(digest, feature.getName());
+            Object value = eObject.eGet(feature, false);
+            if (feature.isMany()) {
+                Collection<?> values = (Collection<?>) value;
+                Digests.update(digest, Integer.toString(values.size()));
+                for (Object item : values) {
+                    Digests.update(digest, describe(feature, item));
+                }
+            } else {
+                Digests.update(digest, describe(feature, value));
+            }
+        }
+    }
+
+    private static String describe(EStructuralFeature feature, Object value) {
+        if (value == null) {
+            return "null";
+        } else if (feature instanceof EAttribute) {
+            return value.toString();
+        } else {
+            return EcoreUtil.getURI((EObject) value).toString();
+        }
+    }
+
+}
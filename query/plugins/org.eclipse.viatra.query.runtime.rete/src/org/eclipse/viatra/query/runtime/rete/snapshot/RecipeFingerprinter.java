@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IExpressionEvaluator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.KeyedEnumerablePConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicdeferred.AggregatorConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicdeferred.ExpressionEvaluation;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.ConstantValue;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PDisjunction;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.recipes.RecipesPackage;
+import org.eclipse.viatra.query.runtime.rete.recipes.ReteNodeRecipe;
+import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+import org.eclipse.viatra.query.runtime.rete.traceability.TraceInfo;
+
+/**
+ * Computes fingerprints of Rete node recipes that are stable across engine instances (and JVM runs), so that they can
+ * be used to identify the nodes of a network in a {@link ReteSnapshot}.
+ * <p>
+ * Recipes refer to runtime objects (input keys, evaluators, aggregation operators) that cannot be persisted, so
+ * instead of serializing the recipe graph, a digest is computed over the structure of each recipe, the stable
+ * identifiers of the referenced runtime objects, and the fingerprints of its parents. Trace information is ignored,
+ * so equivalent recipes have the same fingerprint, just like they are mapped to the same node.
+ * <p>
+ * Queries are identified by their fully qualified name and a digest of their normalized bodies, and expression
+ * evaluators by their {@link IExpressionEvaluator#getExpressionSource() source}, so that changing a pattern without
+ * renaming it invalidates the fingerprints of its recipes. Recipes referring to evaluators without a known source have
+ * no fingerprint.
+ * <p>
+ * The fingerprint is undefined for recipes that are part of a cycle (i.e. recursive queries).
+ */
+class RecipeFingerprinter {
+
+    private final Map<EObject, String> fingerprints = new HashMap<>();
+    private final Set<EObject> inProgress = new HashSet<>();
+    private final Map<PQuery, String> queryDescriptions = new HashMap<>();
+    private final Function<PQuery, PDisjunction> normalizer;
+
+    /**
+     * @param normalizer
+     *            returns the normalized bodies of a query, as they are compiled into recipes
+     */
+    public RecipeFingerprinter(Function<PQuery, PDisjunction> normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * @return the fingerprint of the recipe, or null if it cannot be determined
+     */
+    public String getFingerprint(ReteNodeRecipe recipe) {
+        return computeFingerprint(recipe);
+    }
+
+    /**
+     * Returns the fingerprints of all recipes that are assigned to the given node. There can be several of them if the
+     * node has been reused for recipes found equivalent during construction.
+     */
+    public Collection<String> getFingerprints(Node node) {
+        List<String> result = new ArrayList<>();
+        for (TraceInfo traceInfo : node.getTraceInfos()) {
+            if (traceInfo instanceof RecipeTraceInfo) {
+                String fingerprint = getFingerprint(((RecipeTraceInfo) traceInfo).getRecipe());
+                if (fingerprint != null && !result.contains(fingerprint)) {
+                    result.add(fingerprint);
+                }
+            }
+        }
+        return result;
+    }
+
+    private String computeFingerprint(EObject recipeElement) {
+        if (fingerprints.containsKey(recipeElement)) {
+            return fingerprints.get(recipeElement);
+        }
+        if (!inProgress.add(recipeElement)) {
+            // cyclic recipe graph
+            return null;
+        }
+        String result;
+        try {
+            MessageDigest digest = Digests.create();
+            Digests.update(digest, recipeElement.eClass().getName());
+            result = digestFeatures(recipeElement, digest) ? Base64.getEncoder().encodeToString(digest.digest()) : null;
+        } finally {
+            inProgress.remove(recipeElement);
+        }
+        fingerprints.put(recipeElement, result);
+        return result;
+    }
+
+    /**
+     * @return false if the fingerprint cannot be determined
+     */
+    private boolean digestFeatures(EObject recipeElement, MessageDigest digest) {
+        for (EStructuralFeature feature : recipeElement.eClass().getEAllStructuralFeatures()) {
+            if (feature.isTransient() || feature == RecipesPackage.Literals.RETE_NODE_RECIPE__TRACE_INFO) {
+                continue;
+            }
+            Digests.update(digest, feature.getName());
+            Collection<?> values = getValues(recipeElement, feature);
+            Digests.update(digest, Integer.toString(values.size()));
+            for (Object value : values) {
+                if (feature instanceof EReference) {
+                    String referenced = value == null ? "null" : computeFingerprint((EObject) value);
+                    if (referenced == null) {
+                        return false;
+                    }
+                    Digests.update(digest, referenced);
+                } else {
+                    String description = describe(value);
+                    if (description == null) {
+                        return false;
+                    }
+                    Digests.update(digest, description);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Collection<?> getValues(EObject recipeElement, EStructuralFeature feature) {
+        Object value = recipeElement.eGet(feature);
+        if (feature.isMany()) {
+            return (Collection<?>) value;
+        } else {
+            return Collections.singletonList(value);
+        }
+    }
+
+    /**
+     * Describes an attribute value with a string that is stable across JVM runs, as long as the value does not rely on
+     * the default (identity-based) {@link Object#toString()}; such values never match a stored fingerprint, so the
+     * corresponding nodes are always rebuilt.
+     * 
+     * @return the description, or null if the value cannot be identified
+     */
+    private String describe(Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof IInputKey) {
+            return "key:" + ((IInputKey) value).getStringID();
+        } else if (value instanceof PQuery) {
+            PQuery query = (PQuery) value;
+            if (!queryDescriptions.containsKey(query)) {
+                queryDescriptions.put(query, describeQuery(query));
+            }
+            return queryDescriptions.get(query);
+        } else if (value instanceof IExpressionEvaluator) {
+            return describeEvaluator((IExpressionEvaluator) value);
+        } else if (value instanceof IMultisetAggregationOperator<?, ?, ?>) {
+            return "aggregator:" + value.getClass().getName() + ":"
+                    + ((IMultisetAggregationOperator<?, ?, ?>) value).getName();
+        } else if (value instanceof EObject) {
+            return "eobject:" + EcoreUtil.getURI((EObject) value);
+        } else {
+            return value.getClass().getName() + ":" + value;
+        }
+    }
+
+    /**
+     * Describes a query by its name and a digest of its normalized bodies. The bodies are described independently of
+     * the order of their constraints and of the bodies themselves; called queries are referred to by name only, as
+     * their own recipes are fingerprinted separately.
+     * 
+     * @return the description, or null if any of the constraints cannot be identified
+     */
+    private String describeQuery(PQuery query) {
+        List<String> bodies = new ArrayList<>();
+        for (PBody body : normalizer.apply(query).getBodies()) {
+            List<String> constraints = new ArrayList<>();
+            for (PConstraint constraint : body.getConstraints()) {
+                String description = describeConstraint(constraint);
+                if (description == null) {
+                    return null;
+                }
+                constraints.add(description);
+            }
+            Collections.sort(constraints);
+            MessageDigest digest = Digests.create();
+            Digests.update(digest, body.getSymbolicParameterVariables().toString());
+            for (String constraint : constraints) {
+                Digests.update(digest, constraint);
+            }
+            bodies.add(Base64.getEncoder().encodeToString(digest.digest()));
+        }
+        Collections.sort(bodies);
+        MessageDigest digest = Digests.create();
+        Digests.update(digest, query.getParameterNames().toString());
+        for (String body : bodies) {
+            Digests.update(digest, body);
+        }
+        return "query:" + query.getFullyQualifiedName() + ":" + Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    /**
+     * @return the description, or null if the constraint cannot be identified
+     */
+    private String describeConstraint(PConstraint constraint) {
+        if (constraint instanceof ConstantValue) {
+            // the string representation of the constraint relies on the toString() of the constant
+            ConstantValue constant = (ConstantValue) constraint;
+            return "ConstantValue:" + constant.getVariablesTuple() + "=" + describe(constant.getSupplierKey());
+        }
+        String details = "";
+        if (constraint instanceof KeyedEnumerablePConstraint<?>) {
+            Object key = ((KeyedEnumerablePConstraint<?>) constraint).getSupplierKey();
+            if (!(key instanceof PQuery)) {
+                details = describe(key);
+            }
+        } else if (constraint instanceof ExpressionEvaluation) {
+            ExpressionEvaluation evaluation = (ExpressionEvaluation) constraint;
+            String evaluator = describe(evaluation.getEvaluator());
+            details = evaluator == null ? null
+                    : evaluation.getOutputVariable() + (evaluation.isUnwinding() ? "*" : "") + "|" + evaluator;
+        } else if (constraint instanceof AggregatorConstraint) {
+            details = describe(((AggregatorConstraint) constraint).getAggregator().getOperator());
+        }
+        return details == null ? null : constraint.toString() + "|" + details;
+    }
+
+    /**
+     * Describes an expression evaluator by its source. Evaluators without a known source cannot be identified, as
+     * instances of the same class may compute different functions.
+     * 
+     * @return the description, or null if the source of the evaluator is not known
+     */
+    private static String describeEvaluator(IExpressionEvaluator evaluator) {
+        String source = evaluator.getExpressionSource();
+        if (source == null) {
+            return null;
+        }
+        return "expression:" + evaluator.getClass().getName() + ":" + evaluator.getInputParameterNames() + ":"
+                + source;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PDisjunction;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.rete.network.Network;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.RestorableNode;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationTracker;
+
+/**
+ * The persisted memories of a Rete network, used to build the network of a new engine over the same (unchanged) model
+ * without propagating the model contents through the network.
+ * <p>
+ * The snapshot stores the contents of {@link RestorableNode}s (uniqueness enforcers, production nodes and projection
+ * indexers), keyed by the fingerprints of their recipes. Nodes of recursive queries, and nodes storing values other
+ * than model elements and primitive values, are not saved; they are rebuilt normally when the snapshot is restored. The
+ * snapshot also records a checksum of the model; if the model has changed since the snapshot was taken, it is ignored.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class was introduced in 2.9 and its format may change in future versions.
+ *
+ * @see org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine#saveSnapshot(OutputStream)
+ * @see org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine#restoreSnapshot(InputStream, Collection)
+ * @since 2.9
+ */
+public class ReteSnapshot {
+
+    private static final int MAGIC = 0x56524E53;
+    private static final int FORMAT_VERSION = 2;
+
+    private final Map<String, Map<Tuple, Integer>> contentsByFingerprint;
+
+    private ReteSnapshot(Map<String, Map<Tuple, Integer>> contentsByFingerprint) {
+        this.contentsByFingerprint = contentsByFingerprint;
+    }
+
+    /**
+     * @return the saved contents of a node with the given recipe fingerprint, or null if not available
+     */
+    Map<Tuple, Integer> getContents(String fingerprint) {
+        return contentsByFingerprint.get(fingerprint);
+    }
+
+    /**
+     * @return the model adapter for the scope of the given runtime context, or null if snapshots are not supported for
+     *         the kind of scope it works on
+     */
+    public static ISnapshotModelAdapter createModelAdapter(IQueryRuntimeContext runtimeContext) {
+        return EMFSnapshotModelAdapter.create(runtimeContext);
+    }
+
+    /**
+     * Writes the memories of the network to the given stream; the stream is not closed.
+     *
+     * @param normalizer
+     *            returns the normalized bodies of a query, as they are compiled into recipes
+     * @return the number of saved nodes
+     */
+    public static int write(Network network, ISnapshotModelAdapter modelAdapter,
+            Function<PQuery, PDisjunction> normalizer, OutputStream output) throws IOException {
+        RecipeFingerprinter fingerprinter = new RecipeFingerprinter(normalizer);
+        SnapshotValueCodec codec = new SnapshotValueCodec(modelAdapter);
+
+        List<Collection<String>> fingerprints = new ArrayList<>();
+        List<Map<Tuple, Integer>> contents = new ArrayList<>();
+        for (ReteContainer container : network.getContainers()) {
+            CommunicationTracker tracker = container.getCommunicationTracker();
+            for (Node node : container.getAllNodes()) {
+                if (!(node instanceof RestorableNode) || tracker.isInRecursiveGroup(node)) {
+                    continue;
+                }
+                Collection<String> nodeFingerprints = fingerprinter.getFingerprints(node);
+                if (nodeFingerprints.isEmpty()) {
+                    continue;
+                }
+                Map<Tuple, Integer> nodeContents = ((RestorableNode) node).captureContents();
+                if (nodeContents != null && nodeContents.keySet().stream().allMatch(codec::canEncode)) {
+                    fingerprints.add(nodeFingerprints);
+                    contents.add(nodeContents);
+                }
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        byte[] checksum = modelAdapter.computeChecksum();
+        data.writeInt(checksum.length);
+        data.write(checksum);
+        data.writeInt(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            data.writeInt(fingerprints.get(i).size());
+            for (String fingerprint : fingerprints.get(i)) {
+                codec.writeString(data, fingerprint);
+            }
+            data.writeInt(contents.get(i).size());
+            for (Map.Entry<Tuple, Integer> entry : contents.get(i).entrySet()) {
+                codec.writeTuple(data, entry.getKey());
+                data.writeInt(entry.getValue());
+            }
+        }
+        data.flush();
+        return contents.size();
+    }
+
+    /**
+     * Reads a snapshot from the given stream; the stream is not closed.
+     *
+     * @return the snapshot, or null if it was taken of a different model or written in an incompatible format
+     * @throws IOException
+     *             if the stream cannot be read or does not contain a snapshot
+     */
+    public static ReteSnapshot read(InputStream input, ISnapshotModelAdapter modelAdapter) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a Rete network snapshot");
+        }
+        if (data.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        byte[] checksum = new byte[data.readInt()];
+        data.readFully(checksum);
+        if (!Arrays.equals(checksum, modelAdapter.computeChecksum())) {
+            return null;
+        }
+
+        SnapshotValueCodec codec = new SnapshotValueCodec(modelAdapter);
+        Map<String, Map<Tuple, Integer>> contentsByFingerprint = new HashMap<>();
+        int nodeCount = data.readInt();
+        for (int i = 0; i < nodeCount; i++) {
+            int fingerprintCount = data.readInt();
+            List<String> fingerprints = new ArrayList<>(fingerprintCount);
+            for (int j = 0; j < fingerprintCount; j++) {
+                fingerprints.add(codec.readString(data));
+            }
+            int tupleCount = data.readInt();
+            Map<Tuple, Integer> contents = new HashMap<>(tupleCount);
+            for (int j = 0; j < tupleCount; j++) {
+                Tuple tuple = codec.readTuple(data);
+                contents.put(tuple, data.readInt());
+            }
+            for (String fingerprint : fingerprints) {
+                contentsByFingerprint.put(fingerprint, contents);
+            }
+        }
+        return new ReteSnapshot(contentsByFingerprint);
+    }
+
+}
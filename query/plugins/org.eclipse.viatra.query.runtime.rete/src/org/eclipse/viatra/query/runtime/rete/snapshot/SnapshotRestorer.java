@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PDisjunction;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.rete.aggregation.IndexerBasedAggregatorNode;
+import org.eclipse.viatra.query.runtime.rete.index.DualInputNode;
+import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.misc.ConstantNode;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.RestorableNode;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.Supplier;
+import org.eclipse.viatra.query.runtime.rete.network.delayed.DelayedConnectCommand;
+
+/**
+ * Restores node memories from a {@link ReteSnapshot} while the network is being constructed. Installed on a
+ * {@link ReteContainer} for the duration of a construction, it is consulted whenever a receiver is connected to a
+ * supplier with synchronization; if the receiver is restored, the synchronization is skipped.
+ * <p>
+ * A receiver may only be restored if none of its suppliers is <em>pending</em>, i.e. none of them will receive (and
+ * propagate) contents later in the construction; otherwise the restored receiver would receive those contents for a
+ * second time. A node is pending if it is synchronized to its parents during the construction, or if it is a stateless
+ * node with a pending parent. Nodes that existed before the construction, as well as input nodes, are not pending, as
+ * their contents are available at any time by pulling. If a restored receiver is later connected to a pending supplier,
+ * the restored contents are discarded, and the receiver is synchronized to all its parents as usual.
+ *
+ * @since 2.9
+ */
+public class SnapshotRestorer {
+
+    private final ReteSnapshot snapshot;
+    private final RecipeFingerprinter fingerprinter;
+    private final Set<Node> restored = new HashSet<>();
+    private final Set<Node> pending = new HashSet<>();
+
+    /**
+     * @param normalizer
+     *            returns the normalized bodies of a query, as they are compiled into recipes
+     */
+    public SnapshotRestorer(ReteSnapshot snapshot, Function<PQuery, PDisjunction> normalizer) {
+        this.snapshot = snapshot;
+        this.fingerprinter = new RecipeFingerprinter(normalizer);
+    }
+
+    /**
+     * @return the number of nodes restored so far
+     */
+    public int getRestoredNodeCount() {
+        return restored.size();
+    }
+
+    /**
+     * Called after the receiver has been connected to the supplier, instead of scheduling the synchronization of the
+     * receiver.
+     *
+     * @return true if the contents of the receiver have been restored, so that it must not be synchronized with the
+     *         supplier
+     */
+    public boolean restoreOnConnect(Supplier supplier, Receiver receiver, ReteContainer container) {
+        if (restored.contains(receiver)) {
+            if (!isPending(supplier)) {
+                // the restored contents already include the contributions of the supplier
+                return true;
+            }
+            discardRestoredContents((RestorableNode) receiver, supplier, container);
+            return false;
+        }
+        // only a fresh node (connected to its first parent) may be restored
+        if (receiver instanceof RestorableNode && receiver.getParents().size() == 1 && !pending.contains(receiver)
+                && !isPending(supplier)) {
+            Map<Tuple, Integer> contents = findContents(receiver);
+            if (contents != null) {
+                ((RestorableNode) receiver).restoreContents(contents);
+                restored.add(receiver);
+                return true;
+            }
+        }
+        pending.add(receiver);
+        return false;
+    }
+
+    private Map<Tuple, Integer> findContents(Node node) {
+        for (String fingerprint : fingerprinter.getFingerprints(node)) {
+            Map<Tuple, Integer> contents = snapshot.getContents(fingerprint);
+            if (contents != null) {
+                return contents;
+            }
+        }
+        return null;
+    }
+
+    private void discardRestoredContents(RestorableNode receiver, Supplier pendingSupplier,
+            ReteContainer container) {
+        if (receiver instanceof Supplier && !((Supplier) receiver).getReceivers().isEmpty()) {
+            throw new IllegalStateException("Restored contents of " + receiver
+                    + " cannot be discarded, as it is already connected to children");
+        }
+        receiver.discardRestoredContents();
+        restored.remove(receiver);
+        pending.add(receiver);
+        final Receiver receiverNode = (Receiver) receiver;
+        for (Supplier parent : receiverNode.getParents()) {
+            if (parent != pendingSupplier) {
+                container.getDelayedCommandQueue().add(new DelayedConnectCommand(parent, receiverNode, container));
+            }
+        }
+    }
+
+    private boolean isPending(Node node) {
+        return isPending(node, new HashSet<Node>());
+    }
+
+    private boolean isPending(Node node, Set<Node> visited) {
+        if (restored.contains(node)) {
+            return false;
+        }
+        if (pending.contains(node)) {
+            return true;
+        }
+        if (!visited.add(node)) {
+            return false;
+        }
+        Collection<? extends Node> parents = getParents(node);
+        if (parents == null) {
+            return true;
+        }
+        for (Node parent : parents) {
+            if (isPending(parent, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the nodes the contents of the given node are computed from, or null if unknown
+     */
+    private static Collection<? extends Node> getParents(Node node) {
+        if (node instanceof Receiver) {
+            return ((Receiver) node).getParents();
+        } else if (node instanceof DualInputNode) {
+            DualInputNode dualInputNode = (DualInputNode) node;
+            return Arrays.asList(dualInputNode.getPrimarySlot(), dualInputNode.getSecondarySlot());
+        } else if (node instanceof IndexerBasedAggregatorNode) {
+            return Collections.singleton(((IndexerBasedAggregatorNode) node).getProjection());
+        } else if (node instanceof Indexer) {
+            return Collections.singleton(((Indexer) node).getParent());
+        } else if (node instanceof ConstantNode) {
+            return Collections.emptySet();
+        } else {
+            return null;
+        }
+    }
+
+}
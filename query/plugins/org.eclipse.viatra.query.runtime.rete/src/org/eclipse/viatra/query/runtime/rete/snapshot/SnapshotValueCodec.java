@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.rete.snapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+
+/**
+ * Encodes the tuples stored in a {@link ReteSnapshot}. Model elements are represented by the identifiers assigned by an
+ * {@link ISnapshotModelAdapter}, while strings, numbers, characters and booleans are stored by value; other kinds of
+ * values are not supported.
+ * <p>
+ * Strings (including model element identifiers) are written only once per stream; later occurrences refer to the first
+ * one by index, which keeps snapshots compact, as the same model elements usually appear in many node memories.
+ */
+class SnapshotValueCodec {
+
+    private static final byte TAG_MODEL_ELEMENT = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_INTEGER = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_FLOAT = 6;
+    private static final byte TAG_SHORT = 7;
+    private static final byte TAG_BYTE = 8;
+    private static final byte TAG_CHARACTER = 9;
+    private static final byte TAG_BOOLEAN = 10;
+
+    private static final int NEW_STRING = -1;
+    private static final int MAX_TUPLE_SIZE = 255;
+
+    private final ISnapshotModelAdapter modelAdapter;
+    private final Map<String, Integer> writtenStrings = new HashMap<>();
+    private final List<String> readStrings = new ArrayList<>();
+    private Function<String, Object> resolver;
+
+    public SnapshotValueCodec(ISnapshotModelAdapter modelAdapter) {
+        this.modelAdapter = modelAdapter;
+    }
+
+    /**
+     * @return true if all values of the tuple can be written by {@link #writeTuple(DataOutput, Tuple)}; model elements
+     *         must be identifiable by the model adapter, so that they can be resolved when reading the snapshot
+     */
+    public boolean canEncode(Tuple tuple) {
+        if (tuple.getSize() > MAX_TUPLE_SIZE) {
+            return false;
+        }
+        for (int i = 0; i < tuple.getSize(); i++) {
+            Object value = tuple.get(i);
+            if (modelAdapter.isModelElement(value)) {
+                if (!modelAdapter.canIdentify(value)) {
+                    return false;
+                }
+            } else if (!(value instanceof String || value instanceof Integer || value instanceof Long
+                    || value instanceof Double || value instanceof Float || value instanceof Short
+                    || value instanceof Byte || value instanceof Character || value instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void writeTuple(DataOutput output, Tuple tuple) throws IOException {
+        output.writeByte(tuple.getSize());
+        for (int i = 0; i < tuple.getSize(); i++) {
+            writeValue(output, tuple.get(i));
+        }
+    }
+
+    public Tuple readTuple(DataInput input) throws IOException {
+        int size = input.readUnsignedByte();
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readValue(input);
+        }
+        return Tuples.flatTupleOf(values);
+    }
+
+    public void writeString(DataOutput output, String value) throws IOException {
+        Integer index = writtenStrings.get(value);
+        if (index != null) {
+            output.writeInt(index);
+        } else {
+            writtenStrings.put(value, writtenStrings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(NEW_STRING);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    public String readString(DataInput input) throws IOException {
+        int index = input.readInt();
+        if (index != NEW_STRING) {
+            if (index < 0 || index >= readStrings.size()) {
+                throw new IOException("Invalid string reference " + index);
+            }
+            return readStrings.get(index);
+        }
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        readStrings.add(value);
+        return value;
+    }
+
+    private void writeValue(DataOutput output, Object value) throws IOException {
+        if (modelAdapter.isModelElement(value)) {
+            output.writeByte(TAG_MODEL_ELEMENT);
+            writeString(output, modelAdapter.identify(value));
+        } else if (value instanceof String) {
+            output.writeByte(TAG_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(TAG_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(TAG_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(TAG_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            output.writeByte(TAG_SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(TAG_BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            output.writeByte(TAG_CHARACTER);
+            output.writeChar((Character) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(TAG_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else {
+            throw new IllegalArgumentException("Unsupported value in Rete snapshot: " + value);
+        }
+    }
+
+    private Object readValue(DataInput input) throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+        case TAG_MODEL_ELEMENT:
+            return resolve(readString(input));
+        case TAG_STRING:
+            return readString(input);
+        case TAG_INTEGER:
+            return input.readInt();
+        case TAG_LONG:
+            return input.readLong();
+        case TAG_DOUBLE:
+            return input.readDouble();
+        case TAG_FLOAT:
+            return input.readFloat();
+        case TAG_SHORT:
+            return input.readShort();
+        case TAG_BYTE:
+            return input.readByte();
+        case TAG_CHARACTER:
+            return input.readChar();
+        case TAG_BOOLEAN:
+            return input.readBoolean();
+        default:
+            throw new IOException("Invalid value tag " + tag);
+        }
+    }
+
+    private Object resolve(String identifier) throws IOException {
+        if (resolver == null) {
+            resolver = modelAdapter.createResolver();
+        }
+        Object result = resolver.apply(identifier);
+        if (result == null) {
+            throw new IOException("Model element not found: " + identifier);
+        }
+        return result;
+    }
+
+}
@@ -10,6 +10,8 @@ package org.eclipse.viatra.query.runtime.rete.util;
 
 import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
 import org.eclipse.viatra.query.runtime.matchers.backend.QueryHintOption;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
+import org.eclipse.viatra.query.runtime.rete.construction.quasitree.ObservedCardinalities;
 import org.eclipse.viatra.query.runtime.rete.matcher.DRedReteBackendFactory;
 
 /**
@@ -53,6 +55,64 @@ public final class ReteHintOptions {
     public static final QueryHintOption<Boolean> expandWeakenedAlternativeConstraints =
             hintOption("expandWeakenedAlternativeConstraints", true);
    
+    /**
+     * If enabled, the transitive closure nodes of the pattern do not maintain the transitive closure relation in
+     * their algorithm, but compute reachability on demand by searching the graph of the called pattern, at the cost of
+     * slower updates and lookups. Joins over the transitive closure look up the reachable nodes by graph search as well,
+     * so the relation is not stored by the indexers of the transitive closure node either; however, the relation is
+     * still propagated to the rest of the network, where nodes with memories (such as production nodes) store it.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Boolean> onDemandTransitiveClosure =
+            hintOption("onDemandTransitiveClosure", false);
+
+    /**
+     * If enabled, the transitive closure nodes of the pattern assign integer identifiers to the nodes of the graph of
+     * the called pattern, and store the graph and the transitive closure relation in primitive collections of these
+     * identifiers. This reduces the memory overhead per edge and per reachable pair considerably for patterns with
+     * large transitive closures.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Boolean> compactTransitiveClosureGraph =
+            hintOption("compactTransitiveClosureGraph", false);
+
+    /**
+     * If enabled, the indexers of the Rete network (e.g. the ones providing the inputs of joins) store their buckets
+     * in a {@link MemoryType#COMPACT_SETS compact representation}: small buckets are kept in arrays instead of hash
+     * sets, and a single hash table is shared by all signatures of an indexer. This reduces the memory footprint of
+     * indexers where most signatures only have a few tuples.
+     * 
+     * <p>
+     * The option affects the indexers of the whole engine: it is enabled for the indexers built after the first query
+     * requesting it.
+     * 
+     * @since 2.9
+     */
+    public static final QueryHintOption<Boolean> compactIndexerMemories =
+            hintOption("compactIndexerMemories", false);
+
+    /**
+     * If enabled, the join order of the pattern bodies is chosen by preferring the joins with the smallest estimated
+     * result, based on the statistics of the model available at the time of planning (and on the
+     * {@link #observedCardinalities} if set). Relations without statistics are ordered by the static heuristics only.
+     *
+     * @since 2.9
+     */
+    public static final QueryHintOption<Boolean> cardinalityBasedJoinOrdering =
+            hintOption("cardinalityBasedJoinOrdering", false);
+
+    /**
+     * The sizes of intermediate results observed in a previously built network, used by
+     * {@link #cardinalityBasedJoinOrdering} instead of the estimates where available. Set by
+     * {@link org.eclipse.viatra.query.runtime.rete.matcher.AdaptiveReteBackendFactory adaptive Rete backends}.
+     *
+     * @since 2.9
+     */
+    public static final QueryHintOption<ObservedCardinalities> observedCardinalities =
+            hintOption("observedCardinalities", null);
+
     // internal helper for conciseness
     private static <T> QueryHintOption<T> hintOption(String hintKeyLocalName, T defaultValue) {
         return new QueryHintOption<>(ReteHintOptions.class, hintKeyLocalName, defaultValue);
@@ -33,6 +33,10 @@ class EMFEngineContext implements IEngineContext {
     IBaseIndex baseIndex;
     IIndexingErrorListener taintListener;
     private EMFQueryRuntimeContext runtimeContext;
+    /**
+     * The index shared with other engines, or null if the index of this context is not shared
+     */
+    private SharedEMFIndex sharedIndex;
     
     public EMFEngineContext(EMFScope emfScope, ViatraQueryEngine engine, IIndexingErrorListener taintListener, Logger logger) {
         this.emfScope = emfScope;
@@ -53,8 +57,13 @@ class EMFEngineContext implements IEngineContext {
             // sync to avoid crazy compiler reordering which would matter if derived features use VIATRA and call this
             // reentrantly
             synchronized (this) {
-                navHelper = ViatraBaseFactory.getInstance().createNavigationHelper(null, this.emfScope.getOptions(),
-                        logger);
+                if (this.emfScope.getOptions().isSharedIndex()) {
+                    sharedIndex = SharedEMFIndex.acquire(this.emfScope, logger);
+                    navHelper = sharedIndex.getNavHelper();
+                } else {
+                    navHelper = ViatraBaseFactory.getInstance().createNavigationHelper(null,
+                            this.emfScope.getOptions(), logger);
+                }
                 getBaseIndex().addIndexingErrorListener(taintListener);
             }
 
@@ -75,7 +84,10 @@ class EMFEngineContext implements IEngineContext {
     @Override
     public IQueryRuntimeContext getQueryRuntimeContext() {
         NavigationHelper nh = getNavHelper(false);
-        if (runtimeContext == null) {
+        if (runtimeContext == null && sharedIndex != null) {
+            runtimeContext = sharedIndex.getQueryRuntimeContext(logger);
+            ensureIndexLoaded();
+        } else if (runtimeContext == null) {
             runtimeContext = 
                     emfScope.getOptions().isDynamicEMFMode() ?
                      new DynamicEMFQueryRuntimeContext(nh, logger, emfScope) :
@@ -89,8 +101,15 @@ class EMFEngineContext implements IEngineContext {
     
     @Override
     public void dispose() {
-        if (runtimeContext != null) runtimeContext.dispose();
-        if (navHelper != null) navHelper.dispose();
+        if (sharedIndex != null) {
+            // the index is only disposed by the last engine using it
+            getBaseIndex().removeIndexingErrorListener(taintListener);
+            sharedIndex.release();
+            sharedIndex = null;
+        } else {
+            if (runtimeContext != null) runtimeContext.dispose();
+            if (navHelper != null) navHelper.dispose();
+        }
         
         this.baseIndex = null;
         this.engine = null;
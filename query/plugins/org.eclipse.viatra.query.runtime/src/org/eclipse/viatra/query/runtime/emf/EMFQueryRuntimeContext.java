@@ -36,6 +36,7 @@ import org.eclipse.viatra.query.runtime.emf.types.EClassUnscopedTransitiveInstan
 import org.eclipse.viatra.query.runtime.emf.types.EDataTypeInSlotsKey;
 import org.eclipse.viatra.query.runtime.emf.types.EStructuralFeatureInstancesKey;
 import org.eclipse.viatra.query.runtime.matchers.context.AbstractQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
 import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryMetaContext;
 import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContextListener;
@@ -563,6 +564,21 @@ public class EMFQueryRuntimeContext extends AbstractQueryRuntimeContext {
         return super.estimateAverageBucketSize(key, groupMask, requiredAccuracy);
     }
     
+    /**
+     * Provides the distribution of the number of values per holder of features, if the base index maintains degree
+     * statistics.
+     * 
+     * @since 2.9
+     */
+    @Override
+    public Optional<BucketSizeStatistics> estimateBucketSizeStatistics(IInputKey key, TupleMask groupMask) {
+        if (key instanceof EStructuralFeatureInstancesKey && 1 == groupMask.getSize() && 0 == groupMask.indices[0]
+                && isIndexed(key, IndexingService.STATISTICS)) {
+            return baseIndex.getFeatureDegreeStatistics(((EStructuralFeatureInstancesKey) key).getEmfKey());
+        }
+        return super.estimateBucketSizeStatistics(key, groupMask);
+    }
+    
     
     public void ensureEnumerableKey(IInputKey key) {
         ensureValidKey(key);
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.emf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.base.api.NavigationHelper;
+import org.eclipse.viatra.query.runtime.base.api.ViatraBaseFactory;
+
+/**
+ * A base index shared by the engine contexts of equal scopes, see {@link BaseIndexOptions#withSharedIndex(boolean)}.
+ * The index and the runtime context built on top of it are reference counted; they are disposed when the last engine
+ * context using them is disposed.
+ * <p>
+ * As the runtime context is shared as well, query backends may recognize engines that can share their evaluation
+ * networks by the identity of their runtime context.
+ *
+ * @since 2.9
+ */
+final class SharedEMFIndex {
+
+    private static final Map<EMFScope, SharedEMFIndex> SHARED_INDEXES = new HashMap<>();
+
+    private final EMFScope scope;
+    private final NavigationHelper navHelper;
+    private EMFQueryRuntimeContext runtimeContext;
+    private int references = 0;
+
+    private SharedEMFIndex(EMFScope scope, Logger logger) {
+        this.scope = scope;
+        this.navHelper = ViatraBaseFactory.getInstance().createNavigationHelper(null, scope.getOptions(), logger);
+    }
+
+    /**
+     * Returns the shared index of the given scope, creating it if necessary. Each call must be followed by a call to
+     * {@link #release()} once the index is no longer used.
+     */
+    public static synchronized SharedEMFIndex acquire(EMFScope scope, Logger logger) {
+        SharedEMFIndex index = SHARED_INDEXES.computeIfAbsent(scope, key -> new SharedEMFIndex(key, logger));
+        index.references++;
+        return index;
+    }
+
+    /**
+     * Releases a reference to this index; the index is disposed once all references are released.
+     */
+    public void release() {
+        synchronized (SharedEMFIndex.class) {
+            if (--references > 0) {
+                return;
+            }
+            SHARED_INDEXES.remove(scope);
+        }
+        if (runtimeContext != null) {
+            runtimeContext.dispose();
+        }
+        navHelper.dispose();
+    }
+
+    public NavigationHelper getNavHelper() {
+        return navHelper;
+    }
+
+    public synchronized EMFQueryRuntimeContext getQueryRuntimeContext(Logger logger) {
+        if (runtimeContext == null) {
+            runtimeContext = scope.getOptions().isDynamicEMFMode()
+                    ? new DynamicEMFQueryRuntimeContext(navHelper, logger, scope)
+                    : new EMFQueryRuntimeContext(navHelper, logger, scope);
+        }
+        return runtimeContext;
+    }
+
+}
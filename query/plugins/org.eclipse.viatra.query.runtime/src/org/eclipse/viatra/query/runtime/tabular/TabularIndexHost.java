@@ -86,6 +86,17 @@ public abstract class TabularIndexHost {
     public void finishUpdateTransaction() {
         storage.finishTransaction();
     }
+
+    /**
+     * Releases the resources held by the input tables of this index host, e.g. the off-heap memory of an
+     * {@link org.eclipse.viatra.query.runtime.matchers.scopes.OffHeapStorageBackend}. Query engines using the scope of
+     * this index host must be disposed beforehand.
+     * 
+     * @since 2.9
+     */
+    public void dispose() {
+        storage.dispose();
+    }
     
     /**
      * To be called by deriving class. Creates and registers a new unary input table.
@@ -16,6 +16,9 @@ import org.eclipse.viatra.query.runtime.base.itc.dred.DRedGraphsTestCase;
 import org.eclipse.viatra.query.runtime.base.itc.incscc.IncSCCCompleteGraphTestCase;
 import org.eclipse.viatra.query.runtime.base.itc.incscc.IncSCCGraphsTestCase;
 import org.eclipse.viatra.query.runtime.base.itc.incscc.IncSCCPathConstructionTestCase;
+import org.eclipse.viatra.query.runtime.base.itc.intgraph.IntGraphRandomizedTestCase;
+import org.eclipse.viatra.query.runtime.base.itc.ondemand.OnDemandGraphsTestCase;
+import org.eclipse.viatra.query.runtime.base.itc.ondemand.OnDemandNotificationTestCase;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -28,7 +31,10 @@ import org.junit.runners.Suite.SuiteClasses;
         CountingCompleteGraphTestCase.class,
         IncSCCGraphsTestCase.class,
         IncSCCCompleteGraphTestCase.class,
-        IncSCCPathConstructionTestCase.class
+        IncSCCPathConstructionTestCase.class,
+        OnDemandGraphsTestCase.class,
+        OnDemandNotificationTestCase.class,
+        IntGraphRandomizedTestCase.class
 })
 public class TransitiveClosureAlgorithmTestSuite {
 
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.intgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.viatra.query.runtime.base.itc.alg.dred.DRedTcRelation;
+import org.eclipse.viatra.query.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.viatra.query.runtime.base.itc.alg.intgraph.IntTcAlg;
+import org.eclipse.viatra.query.runtime.base.itc.alg.ondemand.OnDemandTcAlg;
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.IntGraph;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcDataSource;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcObserver;
+import org.junit.Test;
+
+/**
+ * Applies a random sequence of node and edge insertions and deletions to an {@link IntGraph} maintained by
+ * {@link IntTcAlg} and {@link OnDemandTcAlg}, and checks that the algorithms report the same reachability and the same
+ * notifications as {@link IncSCCAlg} maintaining a {@link Graph} with the same nodes and edges.
+ * <p>
+ * As {@link IncSCCAlg} does not support parallel edges, the {@link Graph} only receives the first insertion and the
+ * last deletion of parallel edges; the {@link IntGraph} receives all of them.
+ */
+public class IntGraphRandomizedTestCase {
+
+    private static final int NODE_COUNT = 12;
+    private static final int STEP_COUNT = 400;
+
+    /**
+     * Maintains the transitive closure relation from the notifications, failing on notifications that do not change
+     * the relation.
+     */
+    private static class MaterializingObserver implements ITcObserver<Integer> {
+        final DRedTcRelation<Integer> relation = new DRedTcRelation<Integer>();
+
+        @Override
+        public void tupleInserted(Integer source, Integer target) {
+            assertTrue(relation.addTuple(source, target));
+        }
+
+        @Override
+        public void tupleDeleted(Integer source, Integer target) {
+            assertTrue(relation.containsTuple(source, target));
+            relation.removeTuple(source, target);
+        }
+    }
+
+    private Graph<Integer> graph;
+    private IntGraph<Integer> intGraph;
+    private IncSCCAlg<Integer> incsccAlg;
+    private IntTcAlg<Integer> intTcAlg;
+    private OnDemandTcAlg<Integer> onDemandAlg;
+    private MaterializingObserver incsccObserver;
+    private MaterializingObserver intTcObserver;
+    private MaterializingObserver onDemandObserver;
+
+    private void setUp() {
+        graph = new Graph<Integer>();
+        intGraph = new IntGraph<Integer>();
+        incsccAlg = new IncSCCAlg<Integer>(graph);
+        intTcAlg = new IntTcAlg<Integer>(intGraph);
+        onDemandAlg = new OnDemandTcAlg<Integer>(intGraph);
+        incsccObserver = attach(incsccAlg);
+        intTcObserver = attach(intTcAlg);
+        onDemandObserver = attach(onDemandAlg);
+    }
+
+    private static MaterializingObserver attach(ITcDataSource<Integer> alg) {
+        MaterializingObserver observer = new MaterializingObserver();
+        alg.attachObserver(observer);
+        return observer;
+    }
+
+    private void assertSameResults() {
+        assertEquals(graph.getAllNodes(), intGraph.getAllNodes());
+        for (Integer node : graph.getAllNodes()) {
+            assertEquals(graph.getTargetNodes(node).distinctValues(), intGraph.getTargetNodes(node).distinctValues());
+            assertEquals(graph.getSourceNodes(node).distinctValues(), intGraph.getSourceNodes(node).distinctValues());
+            assertEquals(incsccAlg.getAllReachableTargets(node), intTcAlg.getAllReachableTargets(node));
+            assertEquals(incsccAlg.getAllReachableSources(node), intTcAlg.getAllReachableSources(node));
+            assertEquals(incsccAlg.getAllReachableTargets(node), onDemandAlg.getAllReachableTargets(node));
+            assertEquals(incsccAlg.getAllReachableSources(node), onDemandAlg.getAllReachableSources(node));
+        }
+        assertEquals(incsccObserver.relation, intTcObserver.relation);
+        assertEquals(incsccObserver.relation, onDemandObserver.relation);
+    }
+
+    private void run(long seed, int edgeWeight) {
+        setUp();
+        Random random = new Random(seed);
+        for (int step = 0; step < STEP_COUNT; step++) {
+            Integer source = random.nextInt(NODE_COUNT);
+            Integer target = random.nextInt(NODE_COUNT);
+            int operation = random.nextInt(edgeWeight + 3);
+            if (operation < edgeWeight) {
+                graph.insertNode(source);
+                graph.insertNode(target);
+                if (!graph.getTargetNodes(source).containsNonZero(target)) {
+                    graph.insertEdge(source, target);
+                }
+                intGraph.insertEdge(source, target);
+            } else if (operation < edgeWeight + 2) {
+                intGraph.deleteEdgeIfExists(source, target);
+                if (!intGraph.getTargetNodes(source).containsNonZero(target)) {
+                    graph.deleteEdgeIfExists(source, target);
+                }
+            } else {
+                graph.deleteNode(source);
+                intGraph.deleteNode(source);
+            }
+            assertSameResults();
+        }
+    }
+
+    @Test
+    public void sparseGraphs() {
+        for (long seed = 0; seed < 10; seed++) {
+            run(seed, 2);
+        }
+    }
+
+    @Test
+    public void denseGraphs() {
+        for (long seed = 0; seed < 10; seed++) {
+            run(seed, 6);
+        }
+    }
+
+}
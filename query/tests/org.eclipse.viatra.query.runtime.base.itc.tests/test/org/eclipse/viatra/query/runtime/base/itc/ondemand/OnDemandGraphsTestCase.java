@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.ondemand;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.viatra.query.runtime.base.itc.BaseTransitiveClosureAlgorithmTest;
+import org.eclipse.viatra.query.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.viatra.query.runtime.base.itc.alg.ondemand.OnDemandTcAlg;
+import org.eclipse.viatra.query.runtime.base.itc.graphs.TestGraph;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class OnDemandGraphsTestCase extends BaseTransitiveClosureAlgorithmTest {
+
+    protected TestGraph<Integer> testGraph;
+
+    public OnDemandGraphsTestCase(TestGraph<Integer> testGraph) {
+        this.testGraph = testGraph;
+    }
+
+    @Test
+    public void testResult() {
+        IncSCCAlg<Integer> incsccAlg = new IncSCCAlg<Integer>(testGraph);
+        OnDemandTcAlg<Integer> alg = new OnDemandTcAlg<Integer>(testGraph);
+        if (testGraph.getObserver() != null) {
+            alg.attachObserver(testGraph.getObserver());
+        }
+        testGraph.modify();
+        for (Integer source : testGraph.getAllNodes()) {
+            assertEquals(incsccAlg.getAllReachableTargets(source), alg.getAllReachableTargets(source));
+            assertEquals(incsccAlg.getAllReachableSources(source), alg.getAllReachableSources(source));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.base.itc.ondemand;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.viatra.query.runtime.base.itc.alg.dred.DRedTcRelation;
+import org.eclipse.viatra.query.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.viatra.query.runtime.base.itc.alg.ondemand.OnDemandTcAlg;
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.viatra.query.runtime.base.itc.igraph.ITcObserver;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the notifications of {@link OnDemandTcAlg} are exact deltas of the transitive closure relation, by
+ * materializing the relation from the notifications and comparing it to the relation maintained by {@link IncSCCAlg}.
+ */
+public class OnDemandNotificationTestCase {
+
+    /**
+     * Maintains the transitive closure relation from the notifications, failing on notifications that do not change
+     * the relation.
+     */
+    private static class MaterializingObserver implements ITcObserver<Integer> {
+        final DRedTcRelation<Integer> relation = new DRedTcRelation<Integer>();
+        int notifications = 0;
+
+        @Override
+        public void tupleInserted(Integer source, Integer target) {
+            notifications++;
+            assertTrue(relation.addTuple(source, target));
+        }
+
+        @Override
+        public void tupleDeleted(Integer source, Integer target) {
+            notifications++;
+            assertTrue(relation.containsTuple(source, target));
+            relation.removeTuple(source, target);
+        }
+    }
+
+    private Graph<Integer> graph;
+    private IncSCCAlg<Integer> incsccAlg;
+    private MaterializingObserver observer;
+
+    @Before
+    public void setUp() {
+        graph = new Graph<Integer>();
+        incsccAlg = new IncSCCAlg<Integer>(graph);
+        OnDemandTcAlg<Integer> alg = new OnDemandTcAlg<Integer>(graph);
+        observer = new MaterializingObserver();
+        alg.attachObserver(observer);
+    }
+
+    private void assertRelation() {
+        DRedTcRelation<Integer> expected = new DRedTcRelation<Integer>();
+        for (Integer source : graph.getAllNodes()) {
+            for (Integer target : incsccAlg.getAllReachableTargets(source)) {
+                expected.addTuple(source, target);
+            }
+        }
+        assertEquals(expected, observer.relation);
+    }
+
+    private void insertEdge(int source, int target) {
+        graph.insertNode(source);
+        graph.insertNode(target);
+        graph.insertEdge(source, target);
+        assertRelation();
+    }
+
+    private void deleteEdge(int source, int target) {
+        graph.deleteEdgeIfExists(source, target);
+        assertRelation();
+    }
+
+    @Test
+    public void completeGraph() {
+        final int nodeCount = 8;
+        for (int i = 0; i < nodeCount; i++) {
+            for (int j = 0; j < nodeCount; j++) {
+                if (i != j) {
+                    insertEdge(i, j);
+                }
+            }
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            for (int j = 0; j < nodeCount; j++) {
+                if (i != j) {
+                    deleteEdge(i, j);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void redundantEdgesAreNotNotified() {
+        final int nodeCount = 10;
+        for (int i = 0; i + 1 < nodeCount; i++) {
+            insertEdge(i, i + 1);
+        }
+        int notifications = observer.notifications;
+        for (int i = 0; i < nodeCount; i++) {
+            for (int j = i + 2; j < nodeCount; j++) {
+                insertEdge(i, j);
+            }
+        }
+        assertEquals(notifications, observer.notifications);
+
+        // the shortcuts are covered by the chain
+        deleteEdge(2, 5);
+        deleteEdge(0, 9);
+        assertEquals(notifications, observer.notifications);
+    }
+
+    @Test
+    public void joiningChains() {
+        // two chains and a diamond, joined by a single edge
+        insertEdge(1, 2);
+        insertEdge(2, 3);
+        insertEdge(4, 5);
+        insertEdge(5, 6);
+        insertEdge(0, 1);
+        insertEdge(0, 2);
+        insertEdge(3, 4);
+        deleteEdge(3, 4);
+        insertEdge(6, 0);
+        insertEdge(3, 4);
+        deleteEdge(0, 1);
+        deleteEdge(6, 0);
+    }
+
+    @Test
+    public void selfLoopsAndCycles() {
+        insertEdge(1, 1);
+        insertEdge(1, 2);
+        insertEdge(2, 3);
+        insertEdge(3, 1);
+        insertEdge(2, 2);
+        deleteEdge(1, 1);
+        deleteEdge(3, 1);
+        insertEdge(3, 3);
+        deleteEdge(2, 2);
+    }
+
+    @Test
+    public void parallelEdges() {
+        insertEdge(1, 2);
+        insertEdge(1, 2);
+        insertEdge(2, 3);
+        deleteEdge(1, 2);
+        deleteEdge(1, 2);
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.GenericQueryGroup;
+import org.eclipse.viatra.query.runtime.api.IQueryGroup;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationTypeWithHostedInstancesQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationTypeWithoutHostedInstanceQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.StatesTCQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.TransitionsOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Common state of the CPS benchmarks: a generated model of a given scale and a query engine over it.
+ * <p>
+ * The measured query set covers simple type and edge lookups, joins, negation, path expressions, check expressions
+ * and transitive closure; all of them are taken from the CPS test suite.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractCpsBenchmark {
+
+    protected static final long SEED = 42;
+
+    protected static final IQueryGroup QUERIES = GenericQueryGroup.of(
+            ApplicationInstancesOfApplicationTypeQuerySpecification.instance(),
+            ApplicationTypeWithHostedInstancesQuerySpecification.instance(),
+            ApplicationTypeWithoutHostedInstanceQuerySpecification.instance(),
+            TransitionsOfApplicationTypeQuerySpecification.instance(),
+            HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification.instance(),
+            StatesTCQuerySpecification.instance());
+
+    @Param({ "10", "100", "1000" })
+    public int scale;
+
+    protected ResourceSet resourceSet;
+    protected CpsModelGenerator generator;
+    protected AdvancedViatraQueryEngine engine;
+
+    protected abstract BenchmarkBackend getBackend();
+
+    protected QueryEvaluationHint getHints() {
+        return getBackend().getHints();
+    }
+
+    protected void generateModel() {
+        resourceSet = new ResourceSetImpl();
+        generator = new CpsModelGenerator(SEED);
+        generator.generate(resourceSet, scale);
+    }
+
+    protected AdvancedViatraQueryEngine createEngine() {
+        ViatraQueryEngineOptions options = ViatraQueryEngineOptions.defineOptions()
+                .withDefaultBackend(getBackend().getBackendFactory())
+                .withDefaultHint(getHints())
+                .build();
+        return AdvancedViatraQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet), options);
+    }
+
+    /**
+     * Initializes the matchers of all benchmarked queries in the current engine as one step.
+     */
+    protected List<ViatraQueryMatcher<?>> prepareMatchers() {
+        QueryEvaluationHint hints = getHints();
+        engine.prepareGroup(QUERIES, hints);
+        return QUERIES.getSpecifications().stream()
+                .<ViatraQueryMatcher<?>> map(specification -> engine.getMatcher(specification, hints))
+                .collect(Collectors.toList());
+    }
+
+    protected static int countAllMatches(List<ViatraQueryMatcher<?>> matchers) {
+        int count = 0;
+        for (ViatraQueryMatcher<?> matcher : matchers) {
+            count += matcher.countMatches();
+        }
+        return count;
+    }
+
+    protected void disposeEngine() {
+        if (engine != null) {
+            engine.dispose();
+            engine = null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.Collections;
+
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchEMFBackendFactory;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryHintOption;
+import org.eclipse.viatra.query.runtime.rete.matcher.DRedReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.TimelyReteBackendFactory;
+
+/**
+ * The query backends compared by the benchmarks; used as a JMH parameter.
+ *
+ * @see org.eclipse.viatra.query.runtime.cps.tests.BackendType
+ */
+public enum BenchmarkBackend {
+    Rete, Rete_DRed, Rete_Timely, LocalSearch;
+
+    public IQueryBackendFactory getBackendFactory() {
+        switch (this) {
+        case Rete:
+            return ReteBackendFactory.INSTANCE;
+        case Rete_DRed:
+            return DRedReteBackendFactory.INSTANCE;
+        case Rete_Timely:
+            return TimelyReteBackendFactory.FIRST_ONLY_SEQUENTIAL;
+        case LocalSearch:
+            return LocalSearchEMFBackendFactory.INSTANCE;
+        default:
+            throw new IllegalStateException(this.toString());
+        }
+    }
+
+    public QueryEvaluationHint getHints() {
+        switch (this) {
+        case LocalSearch:
+            return LocalSearchHints.getDefault().build();
+        default:
+            return new QueryEvaluationHint(Collections.<QueryHintOption<?>, Object> emptyMap(),
+                    getBackendFactory());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystem;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.HostInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.HostType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.State;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.StateMachine;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.Transition;
+
+/**
+ * Generates CPS models whose size grows linearly with a scale factor.
+ * <p>
+ * For each unit of scale, the model contains a host type with {@value #HOSTS_PER_TYPE} host instances, and an
+ * application type with a state machine of {@value #STATES_PER_MACHINE} states and {@value #INSTANCES_PER_TYPE}
+ * application instances. Each application instance depends on a randomly chosen earlier one, and most of them are
+ * allocated to a random host; every {@value #UNALLOCATED_TYPE_PERIOD}th application type has no allocated instances at
+ * all. Generation is deterministic for a given scale and seed, so that all backends are measured on the same model.
+ */
+public class CpsModelGenerator {
+
+    public static final int HOSTS_PER_TYPE = 4;
+    public static final int INSTANCES_PER_TYPE = 8;
+    public static final int STATES_PER_MACHINE = 5;
+    public static final int TRANSITIONS_PER_STATE = 2;
+    public static final int COMMUNICATION_DEGREE = 2;
+    public static final int UNALLOCATED_TYPE_PERIOD = 5;
+
+    private static final CyberPhysicalSystemFactory FACTORY = CyberPhysicalSystemFactory.eINSTANCE;
+
+    private final Random random;
+    private final List<HostInstance> hostInstances = new ArrayList<>();
+    private final List<ApplicationType> applicationTypes = new ArrayList<>();
+    private final List<ApplicationInstance> applicationInstances = new ArrayList<>();
+    private int nextId = 0;
+
+    public CpsModelGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates a new model of the given scale in a fresh resource of the given resource set.
+     */
+    public CyberPhysicalSystem generate(ResourceSet resourceSet, int scale) {
+        Resource resource = resourceSet.createResource(URI.createURI("benchmark-" + scale + ".cyberphysicalsystem"));
+        CyberPhysicalSystem cps = FACTORY.createCyberPhysicalSystem();
+        cps.setIdentifier("benchmark.cps");
+        resource.getContents().add(cps);
+
+        for (int i = 0; i < scale; i++) {
+            HostType hostType = FACTORY.createHostType();
+            hostType.setIdentifier(newIdentifier("host.type"));
+            cps.getHostTypes().add(hostType);
+            for (int j = 0; j < HOSTS_PER_TYPE; j++) {
+                HostInstance host = FACTORY.createHostInstance();
+                host.setIdentifier(newIdentifier("host.inst"));
+                host.setTotalRam(random.nextInt(4) * 1024);
+                host.setTotalHdd(random.nextInt(4) * 1024);
+                hostType.getInstances().add(host);
+                hostInstances.add(host);
+            }
+        }
+        for (HostInstance host : hostInstances) {
+            for (int j = 0; j < COMMUNICATION_DEGREE; j++) {
+                host.getCommunicateWith().add(randomElement(hostInstances));
+            }
+        }
+
+        for (int i = 0; i < scale; i++) {
+            ApplicationType appType = FACTORY.createApplicationType();
+            appType.setIdentifier(newIdentifier("app.type"));
+            appType.setBehavior(createStateMachine());
+            cps.getAppTypes().add(appType);
+            applicationTypes.add(appType);
+            boolean allocated = i % UNALLOCATED_TYPE_PERIOD != 0;
+            for (int j = 0; j < INSTANCES_PER_TYPE; j++) {
+                HostInstance host = allocated ? randomElement(hostInstances) : null;
+                applicationInstances.add(addApplicationInstance(appType, host));
+            }
+        }
+        return cps;
+    }
+
+    private StateMachine createStateMachine() {
+        StateMachine machine = FACTORY.createStateMachine();
+        machine.setIdentifier(newIdentifier("sm"));
+        List<State> states = new ArrayList<>();
+        for (int i = 0; i < STATES_PER_MACHINE; i++) {
+            State state = FACTORY.createState();
+            state.setIdentifier(newIdentifier("state"));
+            machine.getStates().add(state);
+            states.add(state);
+        }
+        machine.setInitial(states.get(0));
+        for (State state : states) {
+            for (int i = 0; i < TRANSITIONS_PER_STATE; i++) {
+                Transition transition = FACTORY.createTransition();
+                transition.setIdentifier(newIdentifier("transition"));
+                transition.setTargetState(randomElement(states));
+                state.getOutgoingTransitions().add(transition);
+            }
+        }
+        return machine;
+    }
+
+    /**
+     * Adds a new application instance of the given type, depending on a random instance of the generated model.
+     * <p>
+     * Instances added this way are never chosen as dependency targets, so that they can be cheaply removed by
+     * {@link #removeApplicationInstance(ApplicationInstance)}.
+     *
+     * @param host
+     *            the host to allocate the instance to, or null
+     */
+    public ApplicationInstance addApplicationInstance(ApplicationType appType, HostInstance host) {
+        ApplicationInstance instance = FACTORY.createApplicationInstance();
+        instance.setIdentifier(newIdentifier("app.inst"));
+        if (!applicationInstances.isEmpty()) {
+            instance.getDependOn().add(randomElement(applicationInstances));
+        }
+        appType.getInstances().add(instance);
+        instance.setAllocatedTo(host);
+        return instance;
+    }
+
+    /**
+     * Removes an application instance created by {@link #addApplicationInstance(ApplicationType, HostInstance)}.
+     */
+    public void removeApplicationInstance(ApplicationInstance instance) {
+        instance.getDependOn().clear();
+        instance.setAllocatedTo(null);
+        EcoreUtil.remove(instance);
+    }
+
+    public ApplicationType randomApplicationType() {
+        return randomElement(applicationTypes);
+    }
+
+    public HostInstance randomHostInstance() {
+        return randomElement(hostInstances);
+    }
+
+    private <T> T randomElement(List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    private String newIdentifier(String prefix) {
+        return prefix + nextId++;
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of setting up a fresh engine on an already loaded model: building the base index and the
+ * matchers of the benchmarked queries, and retrieving their full match sets for the first time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EngineInitializationBenchmark extends AbstractCpsBenchmark {
+
+    @Param
+    public BenchmarkBackend backend;
+
+    @Override
+    protected BenchmarkBackend getBackend() {
+        return backend;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generateModel();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        disposeEngine();
+    }
+
+    /**
+     * Engine creation and matcher initialization, without retrieving any results.
+     */
+    @Benchmark
+    public void initialize(Blackhole blackhole) {
+        engine = createEngine();
+        blackhole.consume(prepareMatchers());
+    }
+
+    /**
+     * Engine creation followed by the first retrieval of all matches.
+     */
+    @Benchmark
+    public void firstGetAllMatches(Blackhole blackhole) {
+        engine = createEngine();
+        for (ViatraQueryMatcher<?> matcher : prepareMatchers()) {
+            blackhole.consume(matcher.getAllMatches());
+        }
+    }
+}
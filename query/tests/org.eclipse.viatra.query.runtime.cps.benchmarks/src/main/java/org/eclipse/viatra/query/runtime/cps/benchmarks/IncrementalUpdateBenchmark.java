@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of model changes followed by a re-evaluation of the benchmarked queries.
+ * <p>
+ * Each invocation applies a change and then reverts it, so that the model stays the same across invocations; both
+ * directions are followed by counting the matches. For the Rete-based backends this is dominated by incremental
+ * maintenance, while local search re-evaluates the queries from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IncrementalUpdateBenchmark extends AbstractCpsBenchmark {
+
+    @Param
+    public BenchmarkBackend backend;
+
+    /**
+     * Number of application instances added and removed by {@link #bulkChange()}
+     */
+    @Param({ "100" })
+    public int bulkSize;
+
+    private List<ViatraQueryMatcher<?>> matchers;
+
+    @Override
+    protected BenchmarkBackend getBackend() {
+        return backend;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generateModel();
+        engine = createEngine();
+        matchers = prepareMatchers();
+        countAllMatches(matchers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        disposeEngine();
+    }
+
+    @Benchmark
+    public int singleChange() {
+        ApplicationInstance instance = generator.addApplicationInstance(generator.randomApplicationType(),
+                generator.randomHostInstance());
+        int count = countAllMatches(matchers);
+        generator.removeApplicationInstance(instance);
+        return count + countAllMatches(matchers);
+    }
+
+    /**
+     * Applies the changes with delayed update propagation, so that the incremental backends can process them in a
+     * single batch.
+     */
+    @Benchmark
+    public int bulkChange() throws InvocationTargetException {
+        List<ApplicationInstance> instances = engine.delayUpdatePropagation(() -> {
+            List<ApplicationInstance> added = new ArrayList<>(bulkSize);
+            for (int i = 0; i < bulkSize; i++) {
+                added.add(generator.addApplicationInstance(generator.randomApplicationType(),
+                        generator.randomHostInstance()));
+            }
+            return added;
+        });
+        int count = countAllMatches(matchers);
+        engine.delayUpdatePropagation(() -> {
+            instances.forEach(generator::removeApplicationInstance);
+            return null;
+        });
+        return count + countAllMatches(matchers);
+    }
+}
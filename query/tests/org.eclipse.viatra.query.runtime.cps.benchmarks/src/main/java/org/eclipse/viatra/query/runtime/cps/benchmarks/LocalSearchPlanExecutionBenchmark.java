@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.ApplicationInstancesOfApplicationTypeMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.TransitionsOfApplicationTypeMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.TransitionsOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution of already prepared local search plans, both for unbound queries and for queries with a bound
+ * parameter; the plans are cached by the backend after the warmup, so planning time is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LocalSearchPlanExecutionBenchmark extends AbstractCpsBenchmark {
+
+    /**
+     * If false, the search relies on model traversal instead of the base index
+     */
+    @Param({ "true", "false" })
+    public boolean useBaseIndex;
+
+    private List<ViatraQueryMatcher<?>> matchers;
+    private ApplicationInstancesOfApplicationTypeMatcher instancesMatcher;
+    private TransitionsOfApplicationTypeMatcher transitionsMatcher;
+    private ApplicationType boundType;
+
+    @Override
+    protected BenchmarkBackend getBackend() {
+        return BenchmarkBackend.LocalSearch;
+    }
+
+    @Override
+    protected QueryEvaluationHint getHints() {
+        return useBaseIndex ? LocalSearchHints.getDefault().build() : LocalSearchHints.getDefaultNoBase().build();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generateModel();
+        engine = createEngine();
+        matchers = prepareMatchers();
+        QueryEvaluationHint hints = getHints();
+        instancesMatcher = engine.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance(), hints);
+        transitionsMatcher = engine.getMatcher(TransitionsOfApplicationTypeQuerySpecification.instance(), hints);
+        boundType = generator.randomApplicationType();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        disposeEngine();
+    }
+
+    @Benchmark
+    public int unbound() {
+        return countAllMatches(matchers);
+    }
+
+    @Benchmark
+    public int bound() {
+        return instancesMatcher.countMatches(null, boundType) + transitionsMatcher.countMatches(null, boundType);
+    }
+}
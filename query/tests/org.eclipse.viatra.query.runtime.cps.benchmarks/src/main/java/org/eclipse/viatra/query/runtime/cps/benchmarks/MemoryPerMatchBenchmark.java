@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the heap retained by an initialized engine, relative to the number of matches of the benchmarked queries.
+ * <p>
+ * The retained size is the difference of the used heap after full garbage collections before and after initializing
+ * the engine, so it includes the base index, the Rete network (if any) and the result caches. The values are reported
+ * as auxiliary counters next to the initialization time; the forked JVM uses the serial collector, as it makes the
+ * used heap after an explicit collection reproducible.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class MemoryPerMatchBenchmark extends AbstractCpsBenchmark {
+
+    /**
+     * Reported once per iteration; as each iteration is a single invocation, the sums are the measured values.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MemoryCounters {
+        public long retainedBytes;
+        public long matches;
+        public double bytesPerMatch;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+            matches = 0;
+            bytesPerMatch = 0;
+        }
+    }
+
+    @Param
+    public BenchmarkBackend backend;
+
+    @Override
+    protected BenchmarkBackend getBackend() {
+        return backend;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generateModel();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        disposeEngine();
+    }
+
+    @Benchmark
+    public void retainedHeap(MemoryCounters counters) {
+        long before = usedHeapAfterGC();
+        engine = createEngine();
+        int matches = countAllMatches(prepareMatchers());
+        long after = usedHeapAfterGC();
+
+        counters.retainedBytes = after - before;
+        counters.matches = matches;
+        counters.bytesPerMatch = matches == 0 ? 0 : (double) (after - before) / matches;
+    }
+
+    private static long usedHeapAfterGC() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // repeat until the collector stops reclaiming memory, as a single request may not be a full collection
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.MatchUpdateAdapter;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.junit.After;
+import org.junit.Before;
+
+/**
+ * Base class for tests running unmanaged query engines over the demo CPS model: the model is loaded into a fresh
+ * resource set before each test, and the engines created by {@link #createEngine(ViatraQueryEngineOptions)} are
+ * disposed after it.
+ */
+public abstract class AbstractCpsEngineTest {
+
+    protected static final String MODEL_PATH = "org.eclipse.viatra.query.runtime.cps.tests/models/instances/demo.cyberphysicalsystem";
+
+    protected ResourceSet rs;
+    private final List<AdvancedViatraQueryEngine> engines = new ArrayList<>();
+
+    @Before
+    public void loadModel() {
+        rs = new ResourceSetImpl();
+        rs.getResource(URI.createPlatformPluginURI(MODEL_PATH, false), true);
+    }
+
+    @After
+    public void disposeEngines() {
+        for (AdvancedViatraQueryEngine engine : engines) {
+            if (!engine.isDisposed()) {
+                engine.dispose();
+            }
+        }
+        engines.clear();
+    }
+
+    /**
+     * Creates an unmanaged engine over the resource set of the model, to be disposed after the test.
+     */
+    protected AdvancedViatraQueryEngine createEngine(ViatraQueryEngineOptions options) {
+        return createEngine(new EMFScope(rs), options);
+    }
+
+    /**
+     * Creates an unmanaged engine over the given scope, to be disposed after the test.
+     */
+    protected AdvancedViatraQueryEngine createEngine(EMFScope scope, ViatraQueryEngineOptions options) {
+        AdvancedViatraQueryEngine engine = AdvancedViatraQueryEngine.createUnmanagedEngine(scope, options);
+        engines.add(engine);
+        return engine;
+    }
+
+    /**
+     * @return an application type of the model with an identifier
+     */
+    protected ApplicationType findApplicationType() {
+        Iterator<Notifier> contents = rs.getAllContents();
+        while (contents.hasNext()) {
+            Notifier next = contents.next();
+            if (next instanceof ApplicationType && ((ApplicationType) next).getIdentifier() != null) {
+                return (ApplicationType) next;
+            }
+        }
+        throw new IllegalStateException("No application type in the model");
+    }
+
+    /**
+     * Counts the appearing matches of the given matcher in the first element of the given array.
+     */
+    protected static <Match extends IPatternMatch> void countAppearances(AdvancedViatraQueryEngine engine,
+            ViatraQueryMatcher<Match> matcher, int[] counter) {
+        engine.addMatchUpdateListener(matcher, new MatchUpdateAdapter<Match>(match -> counter[0]++, match -> {
+        }), false);
+    }
+
+}
@@ -16,20 +16,36 @@ import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSea
 import org.eclipse.viatra.query.runtime.matchers.backend.IQueryBackendFactory;
 import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
 import org.eclipse.viatra.query.runtime.matchers.backend.QueryHintOption;
+import org.eclipse.viatra.query.runtime.rete.matcher.ConcurrentReadReteBackendFactory;
 import org.eclipse.viatra.query.runtime.rete.matcher.DRedReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.EvictingReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ParallelReteBackendFactory;
 import org.eclipse.viatra.query.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.SharedReteBackendFactory;
 import org.eclipse.viatra.query.runtime.rete.matcher.TimelyReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.util.ReteHintOptions;
 
 public enum BackendType {
-    Rete, Rete_DRed, Rete_Timely_First_Only_Sequential, Rete_Timely_First_Only_Parallel, Rete_Timely_Faithful_Sequential, 
-    Rete_Timely_Faithful_Parallel, LocalSearch, LocalSearch_Generic, LocalSearch_Flat, LocalSearch_NoBase;
+    Rete, Rete_DRed, Rete_Parallel, Rete_ConcurrentRead, Rete_Shared, Rete_Evicting, Rete_OnDemandTC, Rete_CompactTC, Rete_Timely_First_Only_Sequential, Rete_Timely_First_Only_Parallel, Rete_Timely_Faithful_Sequential, 
+    Rete_Timely_Faithful_Parallel, LocalSearch, LocalSearch_Generic, LocalSearch_Flat, LocalSearch_NoBase,
+    LocalSearch_Parallel, LocalSearch_Tabled;
 
     public IQueryBackendFactory getNewBackendInstance() {
         switch (this) {
         case Rete:
+        case Rete_OnDemandTC:
+        case Rete_CompactTC:
             return ReteBackendFactory.INSTANCE;
         case Rete_DRed:
             return DRedReteBackendFactory.INSTANCE;
+        case Rete_Parallel:
+            return ParallelReteBackendFactory.INSTANCE;
+        case Rete_ConcurrentRead:
+            return ConcurrentReadReteBackendFactory.INSTANCE;
+        case Rete_Shared:
+            return SharedReteBackendFactory.INSTANCE;
+        case Rete_Evicting:
+            return new EvictingReteBackendFactory(LocalSearchEMFBackendFactory.INSTANCE, 2, 0, 3);
         case Rete_Timely_First_Only_Sequential:
             return TimelyReteBackendFactory.FIRST_ONLY_SEQUENTIAL;
         case Rete_Timely_First_Only_Parallel:
@@ -40,6 +56,8 @@ public enum BackendType {
             return TimelyReteBackendFactory.FAITHFUL_PARALLEL;
         case LocalSearch_Flat:
         case LocalSearch_NoBase:
+        case LocalSearch_Parallel:
+        case LocalSearch_Tabled:
         case LocalSearch:
             return LocalSearchEMFBackendFactory.INSTANCE;
         case LocalSearch_Generic:
@@ -59,6 +77,16 @@ public enum BackendType {
             return LocalSearchHints.getDefaultNoBase().build();
         case LocalSearch_Generic:
             return LocalSearchHints.getDefaultGeneric().build();
+        case LocalSearch_Parallel:
+            return LocalSearchHints.getDefault().setParallelism(4).build();
+        case LocalSearch_Tabled:
+            return LocalSearchHints.getDefault().setPatternCallTableSize(1000).build();
+        case Rete_OnDemandTC:
+            return new QueryEvaluationHint(Collections.<QueryHintOption<?>, Object> singletonMap(
+                    ReteHintOptions.onDemandTransitiveClosure, true), getNewBackendInstance());
+        case Rete_CompactTC:
+            return new QueryEvaluationHint(Collections.<QueryHintOption<?>, Object> singletonMap(
+                    ReteHintOptions.compactTransitiveClosureGraph, true), getNewBackendInstance());
         default:
             return new QueryEvaluationHint(Collections.<QueryHintOption<?>, Object> emptyMap(),
                     getNewBackendInstance());
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemPackage;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.base.api.IndexingLevel;
+import org.eclipse.viatra.query.runtime.base.api.NavigationHelper;
+import org.eclipse.viatra.query.runtime.base.api.ViatraBaseFactory;
+import org.eclipse.viatra.query.runtime.matchers.context.BucketSizeStatistics;
+import org.junit.Test;
+
+public class DegreeStatisticsTest {
+
+    private static final int HUB_INSTANCES = 100;
+    private static final int OTHER_TYPES = 9;
+    private static final EReference INSTANCES_REFERENCE =
+            CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES;
+
+    private ApplicationType hub;
+
+    private ResourceSet createModel() {
+        ResourceSet rs = new ResourceSetImpl();
+        Resource resource = rs.createResource(URI.createURI("model"));
+        hub = createType(HUB_INSTANCES);
+        resource.getContents().add(hub);
+        for (int i = 0; i < OTHER_TYPES; i++) {
+            resource.getContents().add(createType(1));
+        }
+        return rs;
+    }
+
+    private ApplicationType createType(int instances) {
+        ApplicationType type = CyberPhysicalSystemFactory.eINSTANCE.createApplicationType();
+        for (int j = 0; j < instances; j++) {
+            type.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        }
+        return type;
+    }
+
+    private NavigationHelper createIndex(BaseIndexOptions options) {
+        NavigationHelper baseIndex = ViatraBaseFactory.getInstance().createNavigationHelper(createModel(), options,
+                Logger.getLogger(getClass()));
+        baseIndex.registerEStructuralFeatures(Collections.singleton(INSTANCES_REFERENCE), IndexingLevel.STATISTICS);
+        return baseIndex;
+    }
+
+    @Test
+    public void skewIsReflectedInStatistics() {
+        NavigationHelper baseIndex = createIndex(new BaseIndexOptions().withDegreeStatistics(true));
+        try {
+            BucketSizeStatistics statistics = baseIndex.getFeatureDegreeStatistics(INSTANCES_REFERENCE).get();
+            assertEquals(1 + OTHER_TYPES, statistics.getBucketCount());
+            assertEquals(HUB_INSTANCES + OTHER_TYPES, statistics.getTupleCount());
+            assertEquals(HUB_INSTANCES + OTHER_TYPES, baseIndex.countFeatures(INSTANCES_REFERENCE));
+            double sizeBiased = ((double) HUB_INSTANCES * HUB_INSTANCES + OTHER_TYPES) / (HUB_INSTANCES + OTHER_TYPES);
+            assertEquals(sizeBiased, statistics.getSizeBiasedAverageBucketSize(), 0.001);
+            assertTrue(statistics.getSizeBiasedAverageBucketSize() > 5 * statistics.getAverageBucketSize());
+            assertTrue(statistics.getMaximumBucketSize() >= HUB_INSTANCES);
+            assertTrue(statistics.getMaximumBucketSize() < 2 * HUB_INSTANCES);
+        } finally {
+            baseIndex.dispose();
+        }
+    }
+
+    @Test
+    public void statisticsAreMaintained() {
+        NavigationHelper baseIndex = createIndex(new BaseIndexOptions().withDegreeStatistics(true));
+        try {
+            hub.getInstances().clear();
+            hub.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+
+            BucketSizeStatistics statistics = baseIndex.getFeatureDegreeStatistics(INSTANCES_REFERENCE).get();
+            assertEquals(1 + OTHER_TYPES, statistics.getBucketCount());
+            assertEquals(1 + OTHER_TYPES, statistics.getTupleCount());
+            assertEquals(1.0, statistics.getSizeBiasedAverageBucketSize(), 0.001);
+            assertEquals(1, statistics.getMaximumBucketSize());
+        } finally {
+            baseIndex.dispose();
+        }
+    }
+
+    @Test
+    public void statisticsAreDisabledByDefault() {
+        NavigationHelper baseIndex = createIndex(new BaseIndexOptions());
+        try {
+            assertFalse(baseIndex.getFeatureDegreeStatistics(INSTANCES_REFERENCE).isPresent());
+        } finally {
+            baseIndex.dispose();
+        }
+    }
+
+}
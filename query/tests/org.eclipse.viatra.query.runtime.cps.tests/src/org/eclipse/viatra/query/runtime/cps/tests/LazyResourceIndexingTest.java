@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemPackage;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.HostType;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.base.api.IndexingLevel;
+import org.eclipse.viatra.query.runtime.base.api.NavigationHelper;
+import org.eclipse.viatra.query.runtime.base.api.ViatraBaseFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyResourceIndexingTest {
+
+    ResourceSet rs;
+    Resource resource1;
+    Resource resource2;
+    Resource hostResource;
+    ApplicationType type1;
+    ApplicationType type2;
+    NavigationHelper baseIndex;
+
+    @Before
+    public void setup() {
+        rs = new ResourceSetImpl();
+        type1 = createApplicationType();
+        type2 = createApplicationType();
+        resource1 = rs.createResource(URI.createURI("model1"));
+        resource1.getContents().add(type1);
+        resource2 = rs.createResource(URI.createURI("model2"));
+        resource2.getContents().add(type2);
+        hostResource = rs.createResource(URI.createURI("hosts"));
+        hostResource.getContents().add(CyberPhysicalSystemFactory.eINSTANCE.createHostType());
+
+        BaseIndexOptions options = new BaseIndexOptions().withWildcardLevel(IndexingLevel.FULL)
+                .withLazyResourceIndexing(true);
+        baseIndex = ViatraBaseFactory.getInstance().createNavigationHelper(rs, options,
+                Logger.getLogger(getClass()));
+    }
+
+    @After
+    public void cleanup() {
+        baseIndex.dispose();
+    }
+
+    private static ApplicationType createApplicationType() {
+        ApplicationType type = CyberPhysicalSystemFactory.eINSTANCE.createApplicationType();
+        ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+        type.getInstances().add(instance);
+        return type;
+    }
+
+    /**
+     * The resources themselves are always observed, and the contents of deferred resources may be observed by a
+     * content adapter waiting for relevant changes, so indexing is detected by the other adapters of their contents
+     */
+    private static boolean isIndexed(Resource resource) {
+        return resource.getContents().get(0).eAdapters().stream()
+                .anyMatch(adapter -> !(adapter instanceof EContentAdapter));
+    }
+
+    @Test
+    public void resourcesAreNotIndexedInitially() {
+        assertFalse(isIndexed(resource1));
+        assertFalse(isIndexed(resource2));
+        assertFalse(isIndexed(hostResource));
+    }
+
+    @Test
+    public void seededLookupIndexesOnlyResourceOfSeed() {
+        assertEquals(1, baseIndex
+                .getReferenceValues(type1, CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES).size());
+        assertTrue(isIndexed(resource1));
+        assertFalse(isIndexed(resource2));
+    }
+
+    @Test
+    public void scopeLookupIndexesResourcesWithInstances() {
+        assertEquals(2, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        assertTrue(isIndexed(resource1));
+        assertTrue(isIndexed(resource2));
+        assertFalse(isIndexed(hostResource));
+    }
+
+    @Test
+    public void featureLookupIndexesResourcesWithHolders() {
+        assertEquals(2, baseIndex.countFeatures(CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES));
+        assertTrue(isIndexed(resource1));
+        assertFalse(isIndexed(hostResource));
+        assertEquals(1, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.HOST_TYPE).size());
+        assertTrue(isIndexed(hostResource));
+    }
+
+    @Test
+    public void scopeLookupIndexesAllResourcesWithSupertype() {
+        assertEquals(5, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.IDENTIFIABLE).size());
+        assertTrue(isIndexed(resource1));
+        assertTrue(isIndexed(resource2));
+        assertTrue(isIndexed(hostResource));
+    }
+
+    @Test
+    public void scopeLookupDuringCoalescingIsComplete() throws Exception {
+        int count = baseIndex.coalesceTraversals(
+                () -> baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        assertEquals(2, count);
+        assertFalse(isIndexed(hostResource));
+    }
+
+    @Test
+    public void observedResourceIsIndexedWhenInstancesAreAdded() {
+        assertTrue(baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.HOST_INSTANCE).isEmpty());
+        assertFalse(isIndexed(hostResource));
+        HostType hostType = (HostType) hostResource.getContents().get(0);
+        hostType.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createHostInstance());
+        assertTrue(isIndexed(hostResource));
+        assertEquals(1, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.HOST_INSTANCE).size());
+        assertFalse(isIndexed(resource1));
+    }
+
+    @Test
+    public void indexedResourceIsMaintained() {
+        assertEquals(2, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        type1.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(3, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+    }
+
+    @Test
+    public void addedResourceIsIndexedOnDemand() {
+        Resource resource3 = rs.createResource(URI.createURI("model3"));
+        resource3.getContents().add(createApplicationType());
+        assertFalse(isIndexed(resource3));
+        assertEquals(3, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        assertTrue(isIndexed(resource3));
+    }
+
+    @Test
+    public void addedResourceIsIndexedIfRequestedEarlier() {
+        assertEquals(2, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        Resource resource3 = rs.createResource(URI.createURI("model3"));
+        resource3.getContents().add(createApplicationType());
+        assertTrue(isIndexed(resource3));
+        assertEquals(3, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+
+        Resource resource4 = rs.createResource(URI.createURI("hosts2"));
+        resource4.getContents().add(CyberPhysicalSystemFactory.eINSTANCE.createHostType());
+        assertFalse(isIndexed(resource4));
+    }
+
+    @Test
+    public void resourceEditedBeforeIndexingIsIndexedWithChanges() {
+        type2.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        resource2.getContents().add(createApplicationType());
+        assertFalse(isIndexed(resource2));
+        assertEquals(4, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+        assertEquals(3, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE).size());
+    }
+
+    @Test
+    public void resourceEditedBeforeAndAfterIndexingIsMaintained() {
+        resource2.getContents().add(createApplicationType());
+        type2.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(2, baseIndex
+                .getReferenceValues(type2, CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES).size());
+        assertTrue(isIndexed(resource2));
+        assertFalse(isIndexed(resource1));
+
+        type2.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        resource2.getContents().remove(1);
+        assertEquals(3, baseIndex
+                .getReferenceValues(type2, CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES).size());
+        assertEquals(4, baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).size());
+    }
+
+    @Test
+    public void removedResourcesAreForgotten() {
+        assertEquals(1, baseIndex
+                .getReferenceValues(type1, CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES).size());
+        rs.getResources().remove(resource1);
+        rs.getResources().remove(resource2);
+        assertTrue(baseIndex.getAllInstances(CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE).isEmpty());
+    }
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemPackage;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.base.api.IndexingLevel;
+import org.eclipse.viatra.query.runtime.base.api.NavigationHelper;
+import org.eclipse.viatra.query.runtime.base.api.ViatraBaseFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelTraversalTest {
+
+    private static final int RESOURCES = 8;
+    private static final int INSTANCES_PER_TYPE = 10;
+    private static final EClass INSTANCE_CLASS = CyberPhysicalSystemPackage.Literals.APPLICATION_INSTANCE;
+    private static final EReference INSTANCES_REFERENCE =
+            CyberPhysicalSystemPackage.Literals.APPLICATION_TYPE__INSTANCES;
+
+    ResourceSet rs;
+    NavigationHelper baseIndex;
+
+    @Before
+    public void setup() {
+        rs = new ResourceSetImpl();
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = rs.createResource(URI.createURI("model" + i));
+            ApplicationType type = CyberPhysicalSystemFactory.eINSTANCE.createApplicationType();
+            for (int j = 0; j < INSTANCES_PER_TYPE; j++) {
+                type.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+            }
+            resource.getContents().add(type);
+        }
+        BaseIndexOptions options = new BaseIndexOptions().withParallelTraversal(4);
+        baseIndex = ViatraBaseFactory.getInstance().createNavigationHelper(rs, options,
+                Logger.getLogger(getClass()));
+    }
+
+    @After
+    public void cleanup() {
+        baseIndex.dispose();
+    }
+
+    @Test
+    public void registeredTypesAreIndexed() {
+        baseIndex.registerEClasses(Collections.singleton(INSTANCE_CLASS), IndexingLevel.FULL);
+        baseIndex.registerEStructuralFeatures(Collections.singleton(INSTANCES_REFERENCE), IndexingLevel.FULL);
+
+        assertEquals(RESOURCES * INSTANCES_PER_TYPE, baseIndex.getAllInstances(INSTANCE_CLASS).size());
+        assertEquals(RESOURCES, baseIndex.getHoldersOfFeature(INSTANCES_REFERENCE).size());
+    }
+
+    @Test
+    public void registeredTypesAreMaintained() {
+        baseIndex.registerEClasses(Collections.singleton(INSTANCE_CLASS), IndexingLevel.FULL);
+        ApplicationType type = (ApplicationType) rs.getResources().get(0).getContents().get(0);
+        type.getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        type.getInstances().remove(0);
+        type.getInstances().remove(0);
+
+        assertEquals(RESOURCES * INSTANCES_PER_TYPE - 1, baseIndex.getAllInstances(INSTANCE_CLASS).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeThreadCountIsRejected() {
+        new BaseIndexOptions().withParallelTraversal(-1);
+    }
+
+}
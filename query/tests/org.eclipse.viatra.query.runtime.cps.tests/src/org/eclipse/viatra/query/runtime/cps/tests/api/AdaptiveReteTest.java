@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystem;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.rete.matcher.AdaptiveReteBackend;
+import org.eclipse.viatra.query.runtime.rete.matcher.AdaptiveReteBackendFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveReteTest extends AbstractCpsEngineTest {
+
+    private static final AdaptiveReteBackendFactory FACTORY = new AdaptiveReteBackendFactory(2, 0, 0);
+
+    AdvancedViatraQueryEngine engine;
+
+    @Before
+    public void setup() {
+        engine = createEngine(ViatraQueryEngineOptions.defineOptions().withDefaultBackend(FACTORY).build());
+    }
+
+    private AdaptiveReteBackend getBackend() {
+        return (AdaptiveReteBackend) engine.getQueryBackend(FACTORY);
+    }
+
+    @Test
+    public void networkIsNotRebuiltWithoutGrowth() {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance());
+        int matchCount = matcher.countMatches();
+
+        assertFalse(getBackend().reoptimize());
+        assertEquals(matchCount, matcher.countMatches());
+        assertEquals(0, getBackend().getRebuildCount());
+    }
+
+    @Test
+    public void networkIsNotRebuiltWhenPlanIsUnchanged() {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance());
+        int matchCount = matcher.countMatches();
+
+        // the joined inputs grow together, so the planner keeps the join order
+        ApplicationType applicationType = findApplicationType();
+        int addedInstances = grow(applicationType);
+
+        assertFalse(getBackend().reoptimize());
+        assertEquals(0, getBackend().getRebuildCount());
+        assertTrue(getBackend().getObservedCardinalities().size() > 0);
+        assertEquals(matchCount + addedInstances, matcher.countMatches());
+    }
+
+    @Test
+    public void networkIsRebuiltWhenUpdatesAreFlushed() throws InvocationTargetException {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance());
+        int matchCount = matcher.countMatches();
+        final int[] appearances = new int[1];
+        countAppearances(engine, matcher, appearances);
+
+        ApplicationType applicationType = findApplicationType();
+        growWithoutIdentifier();
+
+        // reading the matcher does not check the sizes
+        assertEquals(matchCount, matcher.countMatches());
+        assertEquals(0, getBackend().getRebuildCount());
+
+        // the sizes are checked when the delayed updates are flushed
+        engine.delayUpdatePropagation(() -> {
+            addInstance(applicationType, "adaptive");
+            assertEquals(0, getBackend().getRebuildCount());
+            return null;
+        });
+        assertEquals(1, getBackend().getRebuildCount());
+        assertTrue(getBackend().getObservedCardinalities().size() > 0);
+        assertEquals(1, appearances[0]);
+        assertEquals(matchCount + 1, matcher.countMatches());
+
+        // listeners are notified by the rebuilt matcher
+        addInstance(applicationType, "adaptive2");
+        assertEquals(2, appearances[0]);
+        assertEquals(matchCount + 2, matcher.countMatches());
+    }
+
+    @Test
+    public void networkIsRebuiltOnRequest() {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance());
+        int matchCount = matcher.countMatches();
+        final int[] appearances = new int[1];
+        countAppearances(engine, matcher, appearances);
+
+        growWithoutIdentifier();
+
+        assertTrue(getBackend().reoptimize());
+        assertEquals(1, getBackend().getRebuildCount());
+        assertEquals(matchCount, matcher.countMatches());
+        // the rebuilt matcher is planned for the observed sizes
+        assertFalse(getBackend().reoptimize());
+        assertEquals(1, getBackend().getRebuildCount());
+
+        addInstance(findApplicationType(), "adaptive");
+        assertEquals(1, appearances[0]);
+        assertEquals(matchCount + 1, matcher.countMatches());
+    }
+
+    /**
+     * Adds instances to the given application type, growing the join inputs of the query beyond the growth factor.
+     *
+     * @return the number of added instances
+     */
+    private int grow(ApplicationType applicationType) {
+        int addedInstances = 3 * applicationType.getInstances().size() + 10;
+        for (int i = 0; i < addedInstances; i++) {
+            addInstance(applicationType, "adaptive" + i);
+        }
+        return addedInstances;
+    }
+
+    /**
+     * Adds instances to a new application type without an identifier, growing only the instances input of the query,
+     * which makes the planner join it with the instance identifiers last.
+     */
+    private void growWithoutIdentifier() {
+        CyberPhysicalSystem cps = (CyberPhysicalSystem) findApplicationType().eContainer();
+        ApplicationType applicationType = CyberPhysicalSystemFactory.eINSTANCE.createApplicationType();
+        cps.getAppTypes().add(applicationType);
+        grow(applicationType);
+    }
+
+    private void addInstance(ApplicationType applicationType, String identifier) {
+        ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+        instance.setIdentifier(identifier);
+        applicationType.getInstances().add(instance);
+    }
+
+}
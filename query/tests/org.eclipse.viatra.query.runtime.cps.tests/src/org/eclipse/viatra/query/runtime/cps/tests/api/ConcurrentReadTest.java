@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.rete.matcher.ConcurrentReadReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentReadTest extends AbstractCpsEngineTest {
+
+    private static final int READERS = 4;
+    private static final int MODIFICATIONS = 500;
+
+    AdvancedViatraQueryEngine engine;
+    ReteEngine reteEngine;
+
+    @Before
+    public void setup() {
+        engine = createEngine(ViatraQueryEngineOptions.defineOptions()
+                .withDefaultBackend(ConcurrentReadReteBackendFactory.INSTANCE).build());
+        reteEngine = (ReteEngine) engine.getQueryBackend(ConcurrentReadReteBackendFactory.INSTANCE);
+    }
+
+    @Test
+    public void concurrentReadModeIsEnabled() {
+        assertTrue(reteEngine.isConcurrentReadsEnabled());
+    }
+
+    @Test
+    public void readersDoNotObserveIntermediateStates() throws Exception {
+        final ViatraQueryMatcher<? extends IPatternMatch> matcher = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        final ApplicationType type = findApplicationType();
+        ApplicationInstance previous = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+        type.getInstances().add(previous);
+        final int expectedCount = matcher.countMatches();
+
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        final ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        try {
+            final List<Future<Integer>> reads = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                reads.add(readers.submit(() -> {
+                    int readCount = 0;
+                    while (!finished.get()) {
+                        assertEquals(expectedCount, matcher.countMatches());
+                        assertEquals(expectedCount, matcher.getAllMatches().size());
+                        readCount++;
+                    }
+                    return readCount;
+                }));
+            }
+
+            // each modification adds an instance and removes another one atomically
+            final Lock updateLock = reteEngine.getUpdateLock();
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                final ApplicationInstance next = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+                updateLock.lock();
+                try {
+                    type.getInstances().add(next);
+                    type.getInstances().remove(previous);
+                } finally {
+                    updateLock.unlock();
+                }
+                previous = next;
+            }
+            finished.set(true);
+
+            for (Future<Integer> read : reads) {
+                // propagates assertion failures of the readers
+                read.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            finished.set(true);
+            readers.shutdownNow();
+        }
+        assertEquals(expectedCount, matcher.countMatches());
+    }
+
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.IQuerySpecification;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationTypeWithoutHostedInstanceQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithMinCPU1QuerySpecification;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchEMFBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.EvictingReteBackend;
+import org.eclipse.viatra.query.runtime.rete.matcher.EvictingReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.QueryAccessStatistics;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvictingReteTest extends AbstractCpsEngineTest {
+
+    private static final int PROMOTION_THRESHOLD = 3;
+    private static final EvictingReteBackendFactory FACTORY = new EvictingReteBackendFactory(
+            LocalSearchEMFBackendFactory.INSTANCE, 1, 0, PROMOTION_THRESHOLD);
+
+    AdvancedViatraQueryEngine engine;
+
+    @Before
+    public void setup() {
+        engine = createEngine(ViatraQueryEngineOptions.defineOptions().withDefaultBackend(FACTORY).build());
+    }
+
+    private EvictingReteBackend getBackend() {
+        return (EvictingReteBackend) engine.getQueryBackend(FACTORY);
+    }
+
+    private QueryAccessStatistics getStatistics(IQuerySpecification<?> specification) {
+        return getBackend().getAccessStatistics(specification.getInternalQueryRepresentation());
+    }
+
+    @Test
+    public void leastRecentlyUsedQueryIsEvicted() {
+        ViatraQueryMatcher<? extends IPatternMatch> instances = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        int instanceCount = instances.countMatches();
+        engine.getMatcher(HostInstanceWithMinCPU1QuerySpecification.instance()).countMatches();
+
+        QueryAccessStatistics statistics = getStatistics(ApplicationInstancesOfApplicationTypeQuerySpecification
+                .instance());
+        assertTrue(statistics.isEvicted());
+        assertEquals(1, statistics.getEvictionCount());
+        assertFalse(getStatistics(HostInstanceWithMinCPU1QuerySpecification.instance()).isEvicted());
+
+        // the fallback backend reflects model changes as well
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(instanceCount + 1, instances.countMatches());
+    }
+
+    @Test
+    public void frequentlyAccessedQueryIsPromoted() {
+        ViatraQueryMatcher<? extends IPatternMatch> instances = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        int instanceCount = instances.countMatches();
+        engine.getMatcher(HostInstanceWithMinCPU1QuerySpecification.instance()).countMatches();
+
+        for (int i = 0; i < PROMOTION_THRESHOLD; i++) {
+            assertEquals(instanceCount, instances.countMatches());
+        }
+
+        QueryAccessStatistics statistics = getStatistics(ApplicationInstancesOfApplicationTypeQuerySpecification
+                .instance());
+        assertFalse(statistics.isEvicted());
+        assertEquals(PROMOTION_THRESHOLD + 1, statistics.getAccessCount());
+        // the promotion enforces the limits as well
+        assertTrue(getStatistics(HostInstanceWithMinCPU1QuerySpecification.instance()).isEvicted());
+
+        // the promoted query is maintained by the network constructed again
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(instanceCount + 1, instances.countMatches());
+    }
+
+    @Test
+    public void registeringListenersEnforcesLimits() {
+        ViatraQueryMatcher<? extends IPatternMatch> instances = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        instances.countMatches();
+        engine.getMatcher(HostInstanceWithMinCPU1QuerySpecification.instance()).countMatches();
+        ReteEngine reteEngine = getBackend().getReteEngine();
+
+        final int[] appearances = new int[1];
+        countAppearances(engine, instances, appearances);
+
+        assertFalse(getStatistics(ApplicationInstancesOfApplicationTypeQuerySpecification.instance()).isEvicted());
+        assertTrue(getStatistics(HostInstanceWithMinCPU1QuerySpecification.instance()).isEvicted());
+        // evictions discard matchers instead of rebuilding the engine
+        assertSame(reteEngine, getBackend().getReteEngine());
+
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(1, appearances[0]);
+    }
+
+    @Test
+    public void queriesWithListenersAreNotEvicted() {
+        ViatraQueryMatcher<? extends IPatternMatch> instances = engine
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        final int[] appearances = new int[1];
+        countAppearances(engine, instances, appearances);
+        engine.getMatcher(ApplicationTypeWithoutHostedInstanceQuerySpecification.instance()).countMatches();
+        engine.getMatcher(HostInstanceWithMinCPU1QuerySpecification.instance()).countMatches();
+
+        assertFalse(getStatistics(ApplicationInstancesOfApplicationTypeQuerySpecification.instance()).isEvicted());
+        assertTrue(getStatistics(ApplicationTypeWithoutHostedInstanceQuerySpecification.instance()).isEvicted());
+
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        assertEquals(1, appearances[0]);
+    }
+
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.eclipse.viatra.query.runtime.api.IQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.CheckDivisionByZeroQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.CompositeKeyQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.EvaluationQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithPrimeTotalRamQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.TrickyJoin1QuerySpecification;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IExpressionEvaluator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicdeferred.ExpressionEvaluation;
+import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.IVariableRenamer.HierarchicalName;
+import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.PBodyCopier;
+import org.junit.Test;
+
+/**
+ * Checks that the batch evaluation of the expression evaluators generated for check() and eval() constraints returns
+ * the same results as evaluating the rows one by one, both for the generated evaluators and for their copies wrapped
+ * to map the variables of flattened bodies.
+ */
+public class GeneratedExpressionEvaluatorTest {
+
+    private static final int ROW_COUNT = 200;
+
+    /**
+     * Returns the evaluators of the query, followed by the evaluators of the copies of its bodies with renamed
+     * variables.
+     */
+    private static List<IExpressionEvaluator> getEvaluators(IQuerySpecification<?> specification) {
+        List<IExpressionEvaluator> evaluators = new ArrayList<>();
+        List<IExpressionEvaluator> copiedEvaluators = new ArrayList<>();
+        for (PBody body : specification.getInternalQueryRepresentation().getDisjunctBodies().getBodies()) {
+            for (ExpressionEvaluation constraint : body.getConstraintsOfType(ExpressionEvaluation.class)) {
+                evaluators.add(constraint.getEvaluator());
+            }
+            PBodyCopier copier = new PBodyCopier(body.getPattern());
+            copier.mergeBody(body, new HierarchicalName(), constraint -> false);
+            for (ExpressionEvaluation constraint : copier.getCopiedBody()
+                    .getConstraintsOfType(ExpressionEvaluation.class)) {
+                copiedEvaluators.add(constraint.getEvaluator());
+            }
+        }
+        assertFalse(evaluators.isEmpty());
+        assertEquals(evaluators.size(), copiedEvaluators.size());
+        evaluators.addAll(copiedEvaluators);
+        return evaluators;
+    }
+
+    /**
+     * Evaluates random rows one by one and in a single batch with each evaluator of the query, and checks that the
+     * batch either returns the same results, or fails if the evaluation of any row fails.
+     */
+    private static void assertBatchEqualsPerRow(IQuerySpecification<?> specification,
+            Function<Random, Object> valueGenerator) throws Exception {
+        for (IExpressionEvaluator evaluator : getEvaluators(specification)) {
+            List<String> names = new ArrayList<>();
+            evaluator.getInputParameterNames().forEach(names::add);
+            Random random = new Random(0);
+            Object[][] columns = new Object[names.size()][ROW_COUNT];
+            for (int row = 0; row < ROW_COUNT; row++) {
+                for (int column = 0; column < names.size(); column++) {
+                    columns[column][row] = valueGenerator.apply(random);
+                }
+            }
+
+            Object[] expected = new Object[ROW_COUNT];
+            boolean failed = false;
+            for (int row = 0; row < ROW_COUNT; row++) {
+                final int currentRow = row;
+                try {
+                    expected[row] = evaluator.evaluateExpression(name -> columns[names.indexOf(name)][currentRow]);
+                } catch (Exception e) {
+                    failed = true;
+                }
+            }
+            Object[] results = new Object[ROW_COUNT];
+            try {
+                evaluator.evaluateExpressions(columns, ROW_COUNT, results);
+            } catch (Exception e) {
+                if (failed) {
+                    continue;
+                }
+                throw e;
+            }
+            if (failed) {
+                fail("Batch evaluation did not fail for " + names);
+            }
+            assertArrayEquals(names.toString(), expected, results);
+        }
+    }
+
+    private static Object randomInteger(Random random) {
+        return random.nextInt(200) - 20;
+    }
+
+    private static Object randomString(Random random) {
+        return random.nextBoolean() ? "asdf" : "id" + random.nextInt(5);
+    }
+
+    @Test
+    public void checkWithIntegers() throws Exception {
+        assertBatchEqualsPerRow(HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomInteger);
+    }
+
+    @Test
+    public void checkWithBlockExpression() throws Exception {
+        assertBatchEqualsPerRow(HostInstanceWithPrimeTotalRamQuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomInteger);
+    }
+
+    @Test
+    public void checkWithStrings() throws Exception {
+        assertBatchEqualsPerRow(TrickyJoin1QuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomString);
+    }
+
+    @Test
+    public void evalWithStrings() throws Exception {
+        assertBatchEqualsPerRow(CompositeKeyQuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomString);
+        assertBatchEqualsPerRow(EvaluationQuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomString);
+    }
+
+    @Test
+    public void failingCheck() throws Exception {
+        assertBatchEqualsPerRow(CheckDivisionByZeroQuerySpecification.instance(),
+                GeneratedExpressionEvaluatorTest::randomInteger);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.IQuerySpecification;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.cps.tests.BackendType;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.AbstractLocalSearchResultProvider;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchBackend;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchEMFBackendFactory;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the parallel local search execution returns the same matches as the sequential one, and that it falls
+ * back to the sequential execution for queries evaluated without the base index and for lazily indexed resources.
+ */
+public class LocalSearchParallelTest {
+
+    private static final String MODEL_PATH = "org.eclipse.viatra.query.runtime.cps.tests/models/instances/demo.cyberphysicalsystem";
+    private static final int PARALLELISM = 4;
+    private static final QueryEvaluationHint SEQUENTIAL = BackendType.LocalSearch.getHints();
+    private static final QueryEvaluationHint PARALLEL = BackendType.LocalSearch_Parallel.getHints();
+    private static final QueryEvaluationHint PARALLEL_NO_BASE = LocalSearchHints.getDefaultNoBase()
+            .setParallelism(PARALLELISM).build();
+    private static final List<IQuerySpecification<? extends ViatraQueryMatcher<? extends IPatternMatch>>> SPECIFICATIONS = Arrays
+            .asList(ApplicationInstancesIdentifiersQuerySpecification.instance(),
+                    ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance(),
+                    HostInstanceWithAtLeastAsMuchTotalRamAsTotalHddQuerySpecification.instance());
+
+    ResourceSet rs;
+    AdvancedViatraQueryEngine engine;
+
+    @Before
+    public void setup() {
+        rs = new ResourceSetImpl();
+        rs.getResource(URI.createPlatformPluginURI(MODEL_PATH, false), true);
+    }
+
+    @After
+    public void cleanup() {
+        if (engine != null) {
+            engine.dispose();
+        }
+    }
+
+    private void createEngine(BaseIndexOptions options) {
+        engine = AdvancedViatraQueryEngine.createUnmanagedEngine(new EMFScope(rs, options),
+                ViatraQueryEngineOptions.defineOptions().build());
+    }
+
+    private int getParallelism(IQuerySpecification<?> specification, QueryEvaluationHint hints) {
+        LocalSearchBackend backend = (LocalSearchBackend) engine.getQueryBackend(LocalSearchEMFBackendFactory.INSTANCE);
+        AbstractLocalSearchResultProvider resultProvider = (AbstractLocalSearchResultProvider) backend
+                .getResultProvider(specification.getInternalQueryRepresentation(), hints);
+        return resultProvider.getParallelism();
+    }
+
+    private void assertSameMatchesAsSequential(QueryEvaluationHint hints, int expectedParallelism) {
+        for (IQuerySpecification<? extends ViatraQueryMatcher<? extends IPatternMatch>> specification : SPECIFICATIONS) {
+            Set<IPatternMatch> expected = new HashSet<>(engine.getMatcher(specification, SEQUENTIAL).getAllMatches());
+            assertFalse(expected.isEmpty());
+
+            ViatraQueryMatcher<? extends IPatternMatch> matcher = engine.getMatcher(specification, hints);
+            assertEquals(expected, new HashSet<>(matcher.getAllMatches()));
+            assertEquals(expected.size(), matcher.countMatches());
+            assertEquals(expectedParallelism, getParallelism(specification, hints));
+        }
+    }
+
+    @Test
+    public void parallelMatchesEqualSequentialMatches() {
+        createEngine(new BaseIndexOptions());
+        assertSameMatchesAsSequential(PARALLEL, PARALLELISM);
+    }
+
+    @Test
+    public void noBaseQueriesAreExecutedSequentially() {
+        createEngine(new BaseIndexOptions());
+        assertSameMatchesAsSequential(PARALLEL_NO_BASE, 1);
+    }
+
+    @Test
+    public void lazilyIndexedResourcesAreSearchedSequentially() {
+        createEngine(new BaseIndexOptions().withLazyResourceIndexing(true));
+        assertSameMatchesAsSequential(PARALLEL, 1);
+        assertSameMatchesAsSequential(PARALLEL_NO_BASE, 1);
+    }
+
+}
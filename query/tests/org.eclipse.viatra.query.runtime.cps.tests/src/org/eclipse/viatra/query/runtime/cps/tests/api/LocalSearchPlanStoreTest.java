@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.AbstractLocalSearchResultProvider;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchBackend;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchEMFBackendFactory;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanDescriptor;
+import org.eclipse.viatra.query.runtime.localsearch.plan.SearchPlanForBody;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalSearchPlanStoreTest {
+
+    private static final String MODEL_PATH = "org.eclipse.viatra.query.runtime.cps.tests/models/instances/demo.cyberphysicalsystem";
+    /**
+     * Drift is only checked periodically, so the matcher is accessed repeatedly to trigger a check
+     */
+    private static final int ACCESS_COUNT = 100;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    File storeDirectory;
+    QueryEvaluationHint hints;
+
+    @Before
+    public void setup() throws IOException {
+        storeDirectory = tempFolder.newFolder("plans");
+        hints = LocalSearchHints.getDefault().setPlanStoreDirectory(storeDirectory.getAbsolutePath()).build();
+    }
+
+    private static ResourceSet loadModel() {
+        ResourceSet rs = new ResourceSetImpl();
+        rs.getResource(URI.createPlatformPluginURI(MODEL_PATH, false), true);
+        return rs;
+    }
+
+    private AdvancedViatraQueryEngine createEngine(ResourceSet rs) {
+        return AdvancedViatraQueryEngine.createUnmanagedEngine(new EMFScope(rs),
+                ViatraQueryEngineOptions.defineOptions().withDefaultHint(hints).build());
+    }
+
+    private ViatraQueryMatcher<? extends IPatternMatch> getMatcher(AdvancedViatraQueryEngine engine) {
+        return engine.getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance(), hints);
+    }
+
+    private IPlanDescriptor getPlan(AdvancedViatraQueryEngine engine) {
+        LocalSearchBackend backend = (LocalSearchBackend) engine.getQueryBackend(LocalSearchEMFBackendFactory.INSTANCE);
+        AbstractLocalSearchResultProvider resultProvider = (AbstractLocalSearchResultProvider) backend.getResultProvider(
+                ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance()
+                        .getInternalQueryRepresentation(), hints);
+        return resultProvider.getSearchPlan(Collections.emptySet());
+    }
+
+    private int countMatchesInNewEngine(IPlanDescriptor[] plan) {
+        AdvancedViatraQueryEngine engine = createEngine(loadModel());
+        try {
+            int count = getMatcher(engine).countMatches();
+            plan[0] = getPlan(engine);
+            return count;
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    private File[] storedFiles() {
+        return storedFiles(storeDirectory);
+    }
+
+    private static File[] storedFiles(File directory) {
+        return directory.listFiles((dir, name) -> name.endsWith(".plan"));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void storedPlanIsReused() {
+        IPlanDescriptor[] plan = new IPlanDescriptor[1];
+        int matchCount = countMatchesInNewEngine(plan);
+        assertEquals(1, storedFiles().length);
+        for (SearchPlanForBody bodyPlan : plan[0].getPlan()) {
+            assertNotNull(bodyPlan.getInternalRepresentation());
+        }
+
+        assertEquals(matchCount, countMatchesInNewEngine(plan));
+        for (SearchPlanForBody bodyPlan : plan[0].getPlan()) {
+            // replayed plans are not calculated by the planner
+            assertNull(bodyPlan.getInternalRepresentation());
+        }
+    }
+
+    @Test
+    public void invalidStoredPlanIsRecomputed() throws IOException {
+        IPlanDescriptor[] plan = new IPlanDescriptor[1];
+        int matchCount = countMatchesInNewEngine(plan);
+        File storedFile = storedFiles()[0];
+        String contents = read(storedFile);
+        // refer to constraints that do not exist in the body
+        Files.write(storedFile.toPath(), contents.replaceAll(" \\d+", " 1000").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(matchCount, countMatchesInNewEngine(plan));
+        for (SearchPlanForBody bodyPlan : plan[0].getPlan()) {
+            assertNotNull(bodyPlan.getInternalRepresentation());
+        }
+    }
+
+    @Test
+    public void storedPlanIsOverwrittenAfterDrift() throws IOException {
+        hints = LocalSearchHints.getDefault().setPlanStoreDirectory(storeDirectory.getAbsolutePath())
+                .setReplanningCardinalityRatio(2).build();
+        IPlanDescriptor[] plan = new IPlanDescriptor[1];
+        int matchCount = countMatchesInNewEngine(plan);
+
+        ResourceSet rs = loadModel();
+        AdvancedViatraQueryEngine engine = createEngine(rs);
+        try {
+            ViatraQueryMatcher<? extends IPatternMatch> matcher = getMatcher(engine);
+            assertEquals(matchCount, matcher.countMatches());
+            IPlanDescriptor storedPlan = getPlan(engine);
+            for (SearchPlanForBody bodyPlan : storedPlan.getPlan()) {
+                assertNull(bodyPlan.getInternalRepresentation());
+            }
+
+            ApplicationType applicationType = findApplicationType(rs);
+            int addedInstances = 3 * applicationType.getInstances().size() + 10;
+            for (int i = 0; i < addedInstances; i++) {
+                ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+                instance.setIdentifier("replanning" + i);
+                applicationType.getInstances().add(instance);
+            }
+            for (int i = 0; i < ACCESS_COUNT; i++) {
+                assertEquals(matchCount + addedInstances, matcher.countMatches());
+            }
+            IPlanDescriptor replannedPlan = getPlan(engine);
+            assertNotSame(storedPlan, replannedPlan);
+            for (SearchPlanForBody bodyPlan : replannedPlan.getPlan()) {
+                // the outdated plan is not replayed from the store
+                assertNotNull(bodyPlan.getInternalRepresentation());
+            }
+        } finally {
+            engine.dispose();
+        }
+
+        // the store contains the plan computed for the grown model, as if it was planned with an empty store
+        File freshDirectory = tempFolder.newFolder("freshPlans");
+        hints = LocalSearchHints.getDefault().setPlanStoreDirectory(freshDirectory.getAbsolutePath()).build();
+        engine = createEngine(rs);
+        try {
+            getMatcher(engine).countMatches();
+        } finally {
+            engine.dispose();
+        }
+        assertEquals(read(storedFiles(freshDirectory)[0]), read(storedFiles()[0]));
+    }
+
+    private static ApplicationType findApplicationType(ResourceSet rs) {
+        Iterator<Notifier> contents = rs.getAllContents();
+        while (contents.hasNext()) {
+            Notifier next = contents.next();
+            if (next instanceof ApplicationType && ((ApplicationType) next).getIdentifier() != null) {
+                return (ApplicationType) next;
+            }
+        }
+        throw new IllegalStateException("No application type in the model");
+    }
+
+}
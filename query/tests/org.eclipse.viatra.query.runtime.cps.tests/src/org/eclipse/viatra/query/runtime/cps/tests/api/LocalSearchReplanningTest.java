@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.AbstractLocalSearchResultProvider;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchBackend;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchEMFBackendFactory;
+import org.eclipse.viatra.query.runtime.localsearch.matcher.integration.LocalSearchHints;
+import org.eclipse.viatra.query.runtime.localsearch.plan.IPlanDescriptor;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalSearchReplanningTest extends AbstractCpsEngineTest {
+
+    private static final QueryEvaluationHint HINTS = LocalSearchHints.getDefault().setReplanningCardinalityRatio(2)
+            .build();
+    /**
+     * Drift is only checked periodically, so the matcher is accessed repeatedly to trigger a check
+     */
+    private static final int ACCESS_COUNT = 100;
+
+    AdvancedViatraQueryEngine engine;
+
+    @Before
+    public void setup() {
+        engine = createEngine(ViatraQueryEngineOptions.defineOptions().withDefaultHint(HINTS).build());
+    }
+
+    private IPlanDescriptor getPlan() {
+        LocalSearchBackend backend = (LocalSearchBackend) engine.getQueryBackend(LocalSearchEMFBackendFactory.INSTANCE);
+        AbstractLocalSearchResultProvider resultProvider = (AbstractLocalSearchResultProvider) backend.getResultProvider(
+                ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance()
+                        .getInternalQueryRepresentation(), HINTS);
+        return resultProvider.getSearchPlan(Collections.emptySet());
+    }
+
+    private ViatraQueryMatcher<? extends IPatternMatch> getMatcher() {
+        return engine.getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance(), HINTS);
+    }
+
+    @Test
+    public void planIsKeptWithoutGrowth() {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = getMatcher();
+        int matchCount = matcher.countMatches();
+        IPlanDescriptor plan = getPlan();
+        assertNotNull(plan);
+
+        for (int i = 0; i < ACCESS_COUNT; i++) {
+            assertEquals(matchCount, matcher.countMatches());
+        }
+        assertSame(plan, getPlan());
+    }
+
+    @Test
+    public void planIsRecomputedAfterGrowth() {
+        ViatraQueryMatcher<? extends IPatternMatch> matcher = getMatcher();
+        int matchCount = matcher.countMatches();
+        IPlanDescriptor plan = getPlan();
+
+        ApplicationType applicationType = findApplicationType();
+        int addedInstances = 3 * applicationType.getInstances().size() + 10;
+        for (int i = 0; i < addedInstances; i++) {
+            ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+            instance.setIdentifier("replanning" + i);
+            applicationType.getInstances().add(instance);
+        }
+
+        for (int i = 0; i < ACCESS_COUNT; i++) {
+            assertEquals(matchCount + addedInstances, matcher.countMatches());
+        }
+        assertNotSame(plan, getPlan());
+    }
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.QueryStatistics;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReteInstrumentationTest extends AbstractCpsEngineTest {
+
+    AdvancedViatraQueryEngine engine;
+    ReteInstrumentation instrumentation;
+
+    @Before
+    public void setup() {
+        engine = createEngine(
+                ViatraQueryEngineOptions.defineOptions().withDefaultBackend(ReteBackendFactory.INSTANCE).build());
+        instrumentation = ((ReteEngine) engine.getQueryBackend(ReteBackendFactory.INSTANCE)).getInstrumentation();
+    }
+
+    private QueryStatistics getStatistics() {
+        return instrumentation.getQueryStatistics(ApplicationInstancesOfApplicationTypeQuerySpecification.instance()
+                .getInternalQueryRepresentation());
+    }
+
+    @Test
+    public void propagationIsCountedWhenEnabled() {
+        instrumentation.setEnabled(true);
+        int instanceCount = engine.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance())
+                .countMatches();
+
+        long receivedBefore = getStatistics().getReceivedTuples();
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+        engine.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance()).countMatches();
+
+        QueryStatistics statistics = getStatistics();
+        assertTrue(statistics.getNodeCount() > 0);
+        assertTrue(statistics.getReceivedTuples() > receivedBefore);
+        assertTrue(statistics.getIndexedTuples() >= instanceCount + 1);
+    }
+
+    @Test
+    public void nothingIsCountedWhenDisabled() {
+        engine.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance()).countMatches();
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+
+        QueryStatistics statistics = getStatistics();
+        assertEquals(0, statistics.getReceivedTuples());
+        assertEquals(0, statistics.getEmittedTuples());
+        assertEquals(0, statistics.getDeliveryNanos());
+    }
+
+    @Test
+    public void instrumentationIsExportedViaJmx() throws Exception {
+        ObjectName name = instrumentation.registerMBean();
+        assertNotNull(name);
+        instrumentation.setEnabled(true);
+        assertEquals(Boolean.TRUE, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+        instrumentation.unregisterMBean();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationType;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.viatra.query.runtime.matchers.backend.QueryHintOption;
+import org.eclipse.viatra.query.runtime.rete.boundary.InputTupleInterner;
+import org.eclipse.viatra.query.runtime.rete.matcher.InterningReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReteInterningTest extends AbstractCpsEngineTest {
+
+    private static final QueryEvaluationHint INTERNING = new QueryEvaluationHint(
+            Collections.<QueryHintOption<?>, Object> emptyMap(), InterningReteBackendFactory.INSTANCE);
+    private static final QueryEvaluationHint PLAIN = new QueryEvaluationHint(
+            Collections.<QueryHintOption<?>, Object> emptyMap(), ReteBackendFactory.INSTANCE);
+
+    AdvancedViatraQueryEngine internedEngine;
+    AdvancedViatraQueryEngine plainEngine;
+
+    @Before
+    public void setup() {
+        internedEngine = createEngine(ViatraQueryEngineOptions.defineOptions().withDefaultHint(INTERNING).build());
+        plainEngine = createEngine(ViatraQueryEngineOptions.defineOptions().withDefaultHint(PLAIN).build());
+    }
+
+    private static Set<List<Object>> getMatches(AdvancedViatraQueryEngine engine, QueryEvaluationHint hint) {
+        return engine.getMatcher(ApplicationInstancesOfApplicationTypeIdentifiersQuerySpecification.instance(), hint)
+                .getAllMatches().stream()
+                .map(match -> Arrays.asList(match.toArray()))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void assertSameMatches() {
+        assertEquals(getMatches(plainEngine, PLAIN), getMatches(internedEngine, INTERNING));
+    }
+
+    private InputTupleInterner getInterner() {
+        return ((ReteEngine) internedEngine.getQueryBackend(InterningReteBackendFactory.INSTANCE)).getReteNet()
+                .getInputConnector().getInterner();
+    }
+
+    @Test
+    public void internedInputsGiveSameMatches() {
+        assertSameMatches();
+        assertTrue(getInterner().size() > 0);
+
+        ApplicationType type = findApplicationType();
+        ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+        instance.setIdentifier(new String(type.getIdentifier()));
+        type.getInstances().add(instance);
+        assertSameMatches();
+
+        type.getInstances().remove(instance);
+        assertSameMatches();
+    }
+
+    @Test
+    public void internedValuesAreReleasedOnDelete() {
+        assertSameMatches();
+        int internedBefore = getInterner().size();
+
+        ApplicationInstance instance = CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance();
+        instance.setIdentifier("internedValuesAreReleasedOnDelete");
+        findApplicationType().getInstances().add(instance);
+        assertSameMatches();
+        assertEquals(internedBefore + 1, getInterner().size());
+
+        findApplicationType().getInstances().remove(instance);
+        assertSameMatches();
+        assertEquals(internedBefore, getInterner().size());
+    }
+
+}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.ApplicationInstance;
+import org.eclipse.viatra.query.patternlanguage.emf.EMFPatternLanguageStandaloneSetup;
+import org.eclipse.viatra.query.patternlanguage.emf.tests.StandaloneParserEMFPatternLanguageInjectorProvider;
+import org.eclipse.viatra.query.patternlanguage.emf.tests.util.XtextInfrastructureRule;
+import org.eclipse.viatra.query.patternlanguage.emf.util.PatternParserBuilder;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.IQuerySpecification;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationTypeWithoutHostedInstanceQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.HostInstanceWithMinCPU1QuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.SumCPUQuerySpecification;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.instrumentation.ReteInstrumentation;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ReteSnapshotTest {
+
+    private static final String MODEL_PATH = "org.eclipse.viatra.query.runtime.cps.tests/models/instances/demo.cyberphysicalsystem";
+
+    /**
+     * Queries whose networks consist of nodes that are either stateless or saved in the snapshot
+     */
+    private static final List<IQuerySpecification<?>> FULLY_RESTORED_QUERIES = Arrays.asList(
+            ApplicationInstancesOfApplicationTypeQuerySpecification.instance(),
+            ApplicationTypeWithoutHostedInstanceQuerySpecification.instance());
+
+    private static final List<IQuerySpecification<?>> QUERIES = Arrays.asList(
+            ApplicationInstancesOfApplicationTypeQuerySpecification.instance(),
+            ApplicationTypeWithoutHostedInstanceQuerySpecification.instance(),
+            HostInstanceWithMinCPU1QuerySpecification.instance(),
+            SumCPUQuerySpecification.instance());
+
+    /**
+     * A query whose body is edited by the tests, while its name is kept
+     */
+    private static final String EDITED_QUERY_TEMPLATE = "import \"http://org.eclipse.viatra/model/cps\"\n\n"
+            + "pattern applicationInstanceOfUser(app : ApplicationInstance) {\n"
+            + "    ApplicationInstance.dbUser(app, user);\n"
+            + "    check(user == \"%s\");\n"
+            + "}";
+
+    @Rule
+    public XtextInfrastructureRule rule = new XtextInfrastructureRule(this,
+            StandaloneParserEMFPatternLanguageInjectorProvider.class);
+
+    @Test
+    public void restoredNetworkHasSameMatches() throws IOException {
+        byte[] snapshot = takeSnapshot(loadModel());
+
+        AdvancedViatraQueryEngine engine = createEngine(loadModel());
+        try {
+            assertTrue(getReteEngine(engine).restoreSnapshot(new ByteArrayInputStream(snapshot), getQueries()));
+            assertMatchesEqual(createEngine(loadModel()), engine);
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    @Test
+    public void restoreSkipsEvaluation() throws IOException {
+        byte[] snapshot = takeSnapshot(loadModel());
+
+        AdvancedViatraQueryEngine engine = createEngine(loadModel());
+        AdvancedViatraQueryEngine reference = createEngine(loadModel());
+        try {
+            ReteInstrumentation instrumentation = getReteEngine(engine).getInstrumentation();
+            instrumentation.setEnabled(true);
+            ReteInstrumentation referenceInstrumentation = getReteEngine(reference).getInstrumentation();
+            referenceInstrumentation.setEnabled(true);
+
+            assertTrue(getReteEngine(engine).restoreSnapshot(new ByteArrayInputStream(snapshot), getQueries()));
+            getReteEngine(reference).buildMatchersCoalesced(getQueries());
+
+            for (IQuerySpecification<?> query : FULLY_RESTORED_QUERIES) {
+                PQuery pQuery = query.getInternalQueryRepresentation();
+                // the counters do register the propagation of the model contents when building the network normally
+                assertTrue(query.getFullyQualifiedName(),
+                        referenceInstrumentation.getQueryStatistics(pQuery).getReceivedTuples() > 0);
+                assertEquals(query.getFullyQualifiedName(), 0,
+                        instrumentation.getQueryStatistics(pQuery).getReceivedTuples());
+            }
+        } finally {
+            reference.dispose();
+            engine.dispose();
+        }
+    }
+
+    @Test
+    public void restoredNetworkIsMaintained() throws IOException {
+        byte[] snapshot = takeSnapshot(loadModel());
+
+        ResourceSet rs = loadModel();
+        AdvancedViatraQueryEngine engine = createEngine(rs);
+        try {
+            assertTrue(getReteEngine(engine).restoreSnapshot(new ByteArrayInputStream(snapshot), getQueries()));
+            removeApplicationInstance(rs);
+
+            ResourceSet expected = loadModel();
+            removeApplicationInstance(expected);
+            assertMatchesEqual(createEngine(expected), engine);
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    @Test
+    public void snapshotOfChangedModelIsIgnored() throws IOException {
+        byte[] snapshot = takeSnapshot(loadModel());
+
+        ResourceSet rs = loadModel();
+        removeApplicationInstance(rs);
+        AdvancedViatraQueryEngine engine = createEngine(rs);
+        try {
+            assertFalse(getReteEngine(engine).restoreSnapshot(new ByteArrayInputStream(snapshot), getQueries()));
+
+            ResourceSet expected = loadModel();
+            removeApplicationInstance(expected);
+            assertMatchesEqual(createEngine(expected), engine);
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    @Test
+    public void snapshotIsNotUsedForEditedQuery() throws IOException {
+        IQuerySpecification<?> original = parseQueryOfUser("admin");
+        IQuerySpecification<?> edited = parseQueryOfUser("user");
+        assertEquals(original.getFullyQualifiedName(), edited.getFullyQualifiedName());
+        byte[] snapshot = takeSnapshot(loadModel(), getQueries(original));
+
+        AdvancedViatraQueryEngine engine = createEngine(loadModel());
+        AdvancedViatraQueryEngine reference = createEngine(loadModel());
+        try {
+            ReteInstrumentation instrumentation = getReteEngine(engine).getInstrumentation();
+            instrumentation.setEnabled(true);
+
+            assertTrue(getReteEngine(engine).restoreSnapshot(new ByteArrayInputStream(snapshot), getQueries(edited)));
+            getReteEngine(reference).buildMatchersCoalesced(getQueries(edited));
+
+            // the memories of the unchanged queries are still restored
+            for (IQuerySpecification<?> query : FULLY_RESTORED_QUERIES) {
+                assertEquals(query.getFullyQualifiedName(), 0,
+                        instrumentation.getQueryStatistics(query.getInternalQueryRepresentation()).getReceivedTuples());
+            }
+            // the memories saved for the original body must not be restored for the edited one
+            assertTrue(instrumentation.getQueryStatistics(edited.getInternalQueryRepresentation())
+                    .getReceivedTuples() > 0);
+            assertEquals(getMatches(reference, edited), getMatches(engine, edited));
+            assertEquals(1, getMatches(engine, edited).size());
+        } finally {
+            reference.dispose();
+            engine.dispose();
+        }
+    }
+
+    private static byte[] takeSnapshot(ResourceSet rs) throws IOException {
+        return takeSnapshot(rs, getQueries());
+    }
+
+    private static byte[] takeSnapshot(ResourceSet rs, Collection<PQuery> queries) throws IOException {
+        AdvancedViatraQueryEngine engine = createEngine(rs);
+        try {
+            getReteEngine(engine).buildMatchersCoalesced(queries);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            assertTrue(getReteEngine(engine).saveSnapshot(output) > 0);
+            return output.toByteArray();
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    private static void assertMatchesEqual(AdvancedViatraQueryEngine expectedEngine,
+            AdvancedViatraQueryEngine actualEngine) {
+        try {
+            for (IQuerySpecification<?> query : QUERIES) {
+                assertEquals(query.getFullyQualifiedName(), getMatches(expectedEngine, query),
+                        getMatches(actualEngine, query));
+            }
+        } finally {
+            expectedEngine.dispose();
+        }
+    }
+
+    /**
+     * Matches are compared by the URIs of the model elements, as the engines work on different resource sets
+     */
+    private static Set<List<Object>> getMatches(AdvancedViatraQueryEngine engine, IQuerySpecification<?> query) {
+        Set<List<Object>> result = new HashSet<>();
+        for (IPatternMatch match : engine.getMatcher(query).getAllMatches()) {
+            List<Object> values = new ArrayList<>();
+            for (Object value : match.toArray()) {
+                values.add(value instanceof EObject ? EcoreUtil.getURI((EObject) value) : value);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    private static void removeApplicationInstance(ResourceSet rs) {
+        Iterator<Notifier> contents = rs.getAllContents();
+        while (contents.hasNext()) {
+            Notifier next = contents.next();
+            if (next instanceof ApplicationInstance) {
+                EcoreUtil.delete((EObject) next);
+                return;
+            }
+        }
+    }
+
+    private static ResourceSet loadModel() {
+        ResourceSet rs = new ResourceSetImpl();
+        rs.getResource(URI.createPlatformPluginURI(MODEL_PATH, false), true);
+        return rs;
+    }
+
+    private static AdvancedViatraQueryEngine createEngine(ResourceSet rs) {
+        return AdvancedViatraQueryEngine.createUnmanagedEngine(new EMFScope(rs),
+                ViatraQueryEngineOptions.defineOptions().withDefaultBackend(ReteBackendFactory.INSTANCE).build());
+    }
+
+    private static ReteEngine getReteEngine(AdvancedViatraQueryEngine engine) {
+        return (ReteEngine) engine.getQueryBackend(ReteBackendFactory.INSTANCE);
+    }
+
+    private static Collection<PQuery> getQueries() {
+        return QUERIES.stream().map(IQuerySpecification::getInternalQueryRepresentation).collect(Collectors.toList());
+    }
+
+    private static Collection<PQuery> getQueries(IQuerySpecification<?> additionalQuery) {
+        Collection<PQuery> result = getQueries();
+        result.add(additionalQuery.getInternalQueryRepresentation());
+        return result;
+    }
+
+    private static IQuerySpecification<?> parseQueryOfUser(String user) {
+        return PatternParserBuilder.instance()
+                .withInjector(new EMFPatternLanguageStandaloneSetup().createStandaloneInjector())
+                .parse(String.format(EDITED_QUERY_TEMPLATE, user))
+                .getQuerySpecification("applicationInstanceOfUser").orElseThrow(AssertionError::new);
+    }
+
+}
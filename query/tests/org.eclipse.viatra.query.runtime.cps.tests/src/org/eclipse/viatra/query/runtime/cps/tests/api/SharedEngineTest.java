@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.cps.tests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystem;
+import org.eclipse.viatra.examples.cps.cyberPhysicalSystem.CyberPhysicalSystemFactory;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryEngineOptions;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.base.api.BaseIndexOptions;
+import org.eclipse.viatra.query.runtime.cps.tests.AbstractCpsEngineTest;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationInstancesOfApplicationTypeQuerySpecification;
+import org.eclipse.viatra.query.runtime.cps.tests.queries.util.ApplicationTypeWithoutHostedInstanceQuerySpecification;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.rete.boundary.Disconnectable;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.eclipse.viatra.query.runtime.rete.matcher.SharedReteBackend;
+import org.eclipse.viatra.query.runtime.rete.matcher.SharedReteBackendFactory;
+import org.eclipse.viatra.query.runtime.rete.traceability.RecipeTraceInfo;
+import org.junit.Test;
+
+public class SharedEngineTest extends AbstractCpsEngineTest {
+
+    private AdvancedViatraQueryEngine createEngine(boolean sharedIndex) {
+        EMFScope scope = new EMFScope(rs, new BaseIndexOptions().withSharedIndex(sharedIndex));
+        return createEngine(scope,
+                ViatraQueryEngineOptions.defineOptions().withDefaultBackend(SharedReteBackendFactory.INSTANCE).build());
+    }
+
+    private SharedReteBackend getBackend(AdvancedViatraQueryEngine engine) {
+        return (SharedReteBackend) engine.getQueryBackend(SharedReteBackendFactory.INSTANCE);
+    }
+
+    @Test
+    public void enginesOnEqualScopesShareIndexAndNetwork() {
+        AdvancedViatraQueryEngine first = createEngine(true);
+        AdvancedViatraQueryEngine second = createEngine(true);
+        ViatraQueryMatcher<? extends IPatternMatch> firstMatcher = first
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        ViatraQueryMatcher<? extends IPatternMatch> secondMatcher = second
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+
+        assertSame(EMFScope.extractUnderlyingEMFIndex(first), EMFScope.extractUnderlyingEMFIndex(second));
+        assertSame(getBackend(first).getReteEngine(), getBackend(second).getReteEngine());
+        assertEquals(firstMatcher.countMatches(), secondMatcher.countMatches());
+    }
+
+    @Test
+    public void enginesWithoutSharedIndexAreIndependent() {
+        AdvancedViatraQueryEngine first = createEngine(false);
+        AdvancedViatraQueryEngine second = createEngine(false);
+        first.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        second.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+
+        assertNotSame(EMFScope.extractUnderlyingEMFIndex(first), EMFScope.extractUnderlyingEMFIndex(second));
+        assertNotSame(getBackend(first).getReteEngine(), getBackend(second).getReteEngine());
+    }
+
+    @Test
+    public void disposingOneEngineKeepsTheOthersMaintained() {
+        AdvancedViatraQueryEngine first = createEngine(true);
+        AdvancedViatraQueryEngine second = createEngine(true);
+        ViatraQueryMatcher<? extends IPatternMatch> firstMatcher = first
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        ViatraQueryMatcher<? extends IPatternMatch> secondMatcher = second
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        final int[] notifications = new int[1];
+        countAppearances(first, firstMatcher, notifications);
+        int originalCount = secondMatcher.countMatches();
+
+        first.dispose();
+        findApplicationType().getInstances().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationInstance());
+
+        assertEquals(originalCount + 1, secondMatcher.countMatches());
+        assertEquals(0, notifications[0]);
+    }
+
+    @Test
+    public void networkIsRecreatedAfterAllEnginesAreDisposed() {
+        AdvancedViatraQueryEngine first = createEngine(true);
+        int originalCount = first.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance())
+                .countMatches();
+        first.dispose();
+
+        AdvancedViatraQueryEngine second = createEngine(true);
+        ViatraQueryMatcher<? extends IPatternMatch> secondMatcher = second
+                .getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+
+        assertEquals(originalCount, secondMatcher.countMatches());
+    }
+
+    @Test
+    public void discardedMatchersReleaseTheirNetwork() {
+        AdvancedViatraQueryEngine first = createEngine(true);
+        first.getMatcher(ApplicationInstancesOfApplicationTypeQuerySpecification.instance());
+        ReteEngine reteEngine = getBackend(first).getReteEngine();
+        long nodesOfFirst = countNonInputNodes(reteEngine);
+
+        AdvancedViatraQueryEngine second = createEngine(true);
+        int originalCount = second.getMatcher(ApplicationTypeWithoutHostedInstanceQuerySpecification.instance())
+                .countMatches();
+        assertTrue(countNonInputNodes(reteEngine) > nodesOfFirst);
+        second.dispose();
+        assertEquals(nodesOfFirst, countNonInputNodes(reteEngine));
+
+        // the released part of the network is constructed again
+        AdvancedViatraQueryEngine third = createEngine(true);
+        ViatraQueryMatcher<? extends IPatternMatch> thirdMatcher = third
+                .getMatcher(ApplicationTypeWithoutHostedInstanceQuerySpecification.instance());
+        assertEquals(originalCount, thirdMatcher.countMatches());
+        CyberPhysicalSystem cps = (CyberPhysicalSystem) findApplicationType().eContainer();
+        cps.getAppTypes().add(CyberPhysicalSystemFactory.eINSTANCE.createApplicationType());
+        assertEquals(originalCount + 1, thirdMatcher.countMatches());
+    }
+
+    private long countNonInputNodes(ReteEngine reteEngine) {
+        return reteEngine.getReteNet().getRecipeTraces().stream().map(RecipeTraceInfo::getNode)
+                .filter(node -> !(node instanceof Disconnectable)).distinct().count();
+    }
+
+}
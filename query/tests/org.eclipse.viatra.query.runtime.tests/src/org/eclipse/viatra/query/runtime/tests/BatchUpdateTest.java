@@ -0,0 +1,458 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.eclipse.viatra.query.runtime.tests.ReteNodeTestSupport.createContainer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.PrimitiveExtremumOperator;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.PrimitiveLongSumOperator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IExpressionEvaluator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IValueProvider;
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+import org.eclipse.viatra.query.runtime.rete.aggregation.ColumnAggregatorNode;
+import org.eclipse.viatra.query.runtime.rete.eval.AbstractEvaluatorNode;
+import org.eclipse.viatra.query.runtime.rete.eval.EvaluatorCore;
+import org.eclipse.viatra.query.runtime.rete.eval.EvaluatorCore.FunctionEvaluatorCore;
+import org.eclipse.viatra.query.runtime.rete.eval.EvaluatorCore.PredicateEvaluatorCore;
+import org.eclipse.viatra.query.runtime.rete.eval.MemorylessEvaluatorNode;
+import org.eclipse.viatra.query.runtime.rete.eval.OutputCachingEvaluatorNode;
+import org.eclipse.viatra.query.runtime.rete.index.DualInputNode;
+import org.eclipse.viatra.query.runtime.rete.index.ExistenceNode;
+import org.eclipse.viatra.query.runtime.rete.index.GenericProjectionIndexer;
+import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.index.JoinNode;
+import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.Supplier;
+import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
+import org.eclipse.viatra.query.runtime.rete.single.TrimmerNode;
+import org.eclipse.viatra.query.runtime.tests.ReteNodeTestSupport.CollectorNode;
+import org.junit.Test;
+
+/**
+ * Checks that delivering a batch of updates through {@link Receiver#batchUpdate(Collection, Timestamp)} has the same
+ * effect on the output of Rete nodes as delivering the same updates one by one, that evaluator nodes evaluate batches
+ * in a single batch evaluation call, and that aggregator nodes folding the groups of a batch on a propagation pool
+ * produce the same output as folding them sequentially.
+ */
+public class BatchUpdateTest {
+
+    /**
+     * A node under test, fed through one or more input receivers.
+     */
+    private static final class TestedNetwork {
+        final ReteContainer container;
+        final Receiver[] inputs;
+        final CollectorNode output;
+
+        TestedNetwork(ReteContainer container, Supplier outputNode, Receiver... inputs) {
+            this.container = container;
+            this.inputs = inputs;
+            this.output = new CollectorNode(container);
+            container.connect(outputNode, output);
+        }
+
+        TestedNetwork(ReteContainer container, Indexer outputIndexer, Receiver... inputs) {
+            this.container = container;
+            this.inputs = inputs;
+            this.output = new CollectorNode(container);
+            outputIndexer.attachListener(output);
+        }
+
+        void deliver(int input, Map<Tuple, Integer> updates, boolean batch) {
+            if (batch) {
+                inputs[input].batchUpdate(updates.entrySet(), Timestamp.ZERO);
+            } else {
+                for (Entry<Tuple, Integer> entry : updates.entrySet()) {
+                    int count = entry.getValue();
+                    Direction direction = count < 0 ? Direction.DELETE : Direction.INSERT;
+                    for (int i = 0; i < Math.abs(count); i++) {
+                        inputs[input].update(direction, entry.getKey(), Timestamp.ZERO);
+                    }
+                }
+            }
+            container.deliverMessagesSingleThreaded();
+        }
+    }
+
+    /**
+     * Delegates to an aggregation operator, recording whether updates were folded on the threads of a fork-join pool.
+     */
+    private static final class ThreadRecordingOperator<Domain, Accumulator, AggregateResult>
+            implements IMultisetAggregationOperator<Domain, Accumulator, AggregateResult> {
+        private final IMultisetAggregationOperator<Domain, Accumulator, AggregateResult> delegate;
+        volatile boolean foldedInPool = false;
+        volatile boolean foldedOutsidePool = false;
+
+        ThreadRecordingOperator(IMultisetAggregationOperator<Domain, Accumulator, AggregateResult> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return delegate.getShortDescription();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Accumulator createNeutral() {
+            return delegate.createNeutral();
+        }
+
+        @Override
+        public boolean isNeutral(Accumulator result) {
+            return delegate.isNeutral(result);
+        }
+
+        @Override
+        public Accumulator update(Accumulator oldResult, Domain updateValue, boolean isInsertion) {
+            if (ForkJoinTask.inForkJoinPool()) {
+                foldedInPool = true;
+            } else {
+                foldedOutsidePool = true;
+            }
+            return delegate.update(oldResult, updateValue, isInsertion);
+        }
+
+        @Override
+        public AggregateResult getAggregate(Accumulator result) {
+            return delegate.getAggregate(result);
+        }
+
+        @Override
+        public AggregateResult aggregateStream(Stream<Domain> stream) {
+            return delegate.aggregateStream(stream);
+        }
+    }
+
+    /**
+     * Computes the quotient of two integers, or whether it is greater than one, failing on division by zero; counts
+     * the calls of the per-row and the batch evaluation.
+     */
+    private static final class QuotientEvaluator implements IExpressionEvaluator {
+        private final boolean isCheck;
+        int rowCalls = 0;
+        int batchCalls = 0;
+
+        QuotientEvaluator(boolean isCheck) {
+            this.isCheck = isCheck;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return isCheck ? "x / y > 1" : "x / y";
+        }
+
+        @Override
+        public Iterable<String> getInputParameterNames() {
+            return Arrays.asList("x", "y");
+        }
+
+        @Override
+        public Object evaluateExpression(IValueProvider provider) throws Exception {
+            rowCalls++;
+            return evaluate((Integer) provider.getValue("x"), (Integer) provider.getValue("y"));
+        }
+
+        @Override
+        public void evaluateExpressions(Object[][] columns, int rowCount, Object[] results) throws Exception {
+            batchCalls++;
+            for (int row = 0; row < rowCount; row++) {
+                results[row] = evaluate((Integer) columns[0][row], (Integer) columns[1][row]);
+            }
+        }
+
+        private Object evaluate(Integer x, Integer y) {
+            int quotient = x / y;
+            return isCheck ? (Object) (quotient > 1) : (Object) quotient;
+        }
+    }
+
+    private static Map<Tuple, Integer> updates(Object... tuplesAndCounts) {
+        Map<Tuple, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < tuplesAndCounts.length; i += 2) {
+            result.put((Tuple) tuplesAndCounts[i], (Integer) tuplesAndCounts[i + 1]);
+        }
+        return result;
+    }
+
+    private static Tuple t(Object... elements) {
+        return Tuples.flatTupleOf(elements);
+    }
+
+    /**
+     * Builds two copies of the same network, feeds the steps to the first one per tuple and to the second one in
+     * batches, and compares the outputs after each step. Each step is a pair of an input index and the updates.
+     */
+    private static void assertBatchEqualsPerTuple(Function<ReteContainer, TestedNetwork> builder, Object... steps) {
+        TestedNetwork perTuple = builder.apply(createContainer());
+        TestedNetwork batched = builder.apply(createContainer());
+        for (int i = 0; i < steps.length; i += 2) {
+            int input = (Integer) steps[i];
+            @SuppressWarnings("unchecked")
+            Map<Tuple, Integer> updates = (Map<Tuple, Integer>) steps[i + 1];
+            perTuple.deliver(input, updates, false);
+            batched.deliver(input, updates, true);
+            assertEquals("After step " + (i / 2), perTuple.output.contents, batched.output.contents);
+        }
+    }
+
+    private static TestedNetwork trimmer(ReteContainer container) {
+        TrimmerNode node = new TrimmerNode(container, TupleMask.selectSingle(0, 2));
+        return new TestedNetwork(container, node, node);
+    }
+
+    private static TestedNetwork dualInput(ReteContainer container, DualInputNode node) {
+        GenericProjectionIndexer primary = new GenericProjectionIndexer(container, TupleMask.selectSingle(1, 2));
+        GenericProjectionIndexer secondary = new GenericProjectionIndexer(container, TupleMask.selectSingle(0, 2));
+        node.connectToIndexers(primary, secondary);
+        return new TestedNetwork(container, node, primary, secondary);
+    }
+
+    private static TestedNetwork join(ReteContainer container) {
+        return dualInput(container, new JoinNode(container, TupleMask.selectSingle(1, 2)));
+    }
+
+    private static TestedNetwork existence(ReteContainer container) {
+        return dualInput(container, new ExistenceNode(container, false));
+    }
+
+    private static TestedNetwork nonExistence(ReteContainer container) {
+        return dualInput(container, new ExistenceNode(container, true));
+    }
+
+    private static TestedNetwork aggregator(ReteContainer container,
+            IMultisetAggregationOperator<Long, ?, Long> operator) {
+        // groups by the first column, aggregates the second one
+        ColumnAggregatorNode<Long, ?, Long> node = new ColumnAggregatorNode<>(container, operator,
+                TupleMask.selectSingle(0, 2), 1);
+        return new TestedNetwork(container, node.getAggregatorOuterIndexer(), node);
+    }
+
+    /**
+     * Evaluates the quotient of the two columns of the input tuples, filtering the tuples by a check() or extending
+     * them by an eval().
+     */
+    private static TestedNetwork evaluator(ReteContainer container, QuotientEvaluator evaluator,
+            boolean outputCaching) {
+        Map<String, Integer> parameterPositions = new HashMap<>();
+        parameterPositions.put("x", 0);
+        parameterPositions.put("y", 1);
+        Logger logger = Logger.getLogger(BatchUpdateTest.class);
+        EvaluatorCore core = evaluator.isCheck
+                ? new PredicateEvaluatorCore(logger, evaluator, parameterPositions, 2)
+                : new FunctionEvaluatorCore(logger, evaluator, parameterPositions, 2);
+        AbstractEvaluatorNode node = outputCaching ? new OutputCachingEvaluatorNode(container, core)
+                : new MemorylessEvaluatorNode(container, core);
+        return new TestedNetwork(container, node, node);
+    }
+
+    /**
+     * Generates batches of insertions and deletions of (group, value) pairs over the given number of groups; only
+     * previously inserted pairs are deleted.
+     */
+    private static Map<Tuple, Integer>[] randomAggregationSteps(long seed, int stepCount, int groupCount,
+            int updatesPerStep) {
+        Random random = new Random(seed);
+        Map<Tuple, Integer> contents = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        Map<Tuple, Integer>[] steps = new Map[stepCount];
+        for (int i = 0; i < stepCount; i++) {
+            Map<Tuple, Integer> updates = new LinkedHashMap<>();
+            for (int j = 0; j < updatesPerStep; j++) {
+                Tuple tuple = t(random.nextInt(groupCount), (long) random.nextInt(50) - 10);
+                int current = contents.getOrDefault(tuple, 0) + updates.getOrDefault(tuple, 0);
+                int delta = current > 0 && random.nextBoolean() ? -1 : 1;
+                updates.merge(tuple, delta, Integer::sum);
+                updates.remove(tuple, 0);
+            }
+            for (Entry<Tuple, Integer> entry : updates.entrySet()) {
+                contents.merge(entry.getKey(), entry.getValue(), Integer::sum);
+                contents.remove(entry.getKey(), 0);
+            }
+            steps[i] = updates;
+        }
+        return steps;
+    }
+
+    /**
+     * Feeds the same batches touching hundreds of groups to an aggregator node per tuple, to one folding the batches
+     * sequentially and to one folding them on a propagation pool, and compares the outputs after each batch.
+     */
+    private static void assertConcurrentFoldingEqualsSequential(
+            Function<ReteContainer, TestedNetwork> sequentialBuilder,
+            Function<ReteContainer, TestedNetwork> concurrentBuilder,
+            ThreadRecordingOperator<?, ?, ?> concurrentOperator) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TestedNetwork perTuple = sequentialBuilder.apply(createContainer());
+            TestedNetwork sequential = sequentialBuilder.apply(createContainer());
+            TestedNetwork concurrent = concurrentBuilder.apply(createContainer(pool));
+            Map<Tuple, Integer>[] steps = randomAggregationSteps(42, 6, 400, 1000);
+            for (int i = 0; i < steps.length; i++) {
+                perTuple.deliver(0, steps[i], false);
+                sequential.deliver(0, steps[i], true);
+                concurrent.deliver(0, steps[i], true);
+                assertEquals("After step " + i, perTuple.output.contents, sequential.output.contents);
+                assertEquals("After step " + i, sequential.output.contents, concurrent.output.contents);
+            }
+            assertTrue(concurrentOperator.foldedInPool);
+            assertFalse(concurrentOperator.foldedOutsidePool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Projection indexers hold sets of tuples, so each tuple is present at most once.
+     */
+    private static final Object[] DUAL_INPUT_STEPS = {
+            0, updates(t("a", "x"), 1, t("b", "x"), 1, t("c", "y"), 1),
+            1, updates(t("x", "p"), 1, t("x", "q"), 1, t("z", "r"), 1),
+            0, updates(t("d", "x"), 1, t("a", "x"), -1, t("e", "z"), 1),
+            1, updates(t("y", "p"), 1, t("x", "p"), -1, t("z", "r"), -1),
+            1, updates(t("x", "q"), -1, t("y", "p"), -1, t("x", "s"), 1),
+            0, updates(t("b", "x"), -1, t("d", "x"), -1, t("c", "y"), -1, t("e", "z"), -1)
+    };
+
+    /**
+     * Evaluator nodes receive sets of tuples; the batches include tuples failing the evaluation by division by zero.
+     */
+    private static final Object[] EVALUATOR_STEPS = {
+            0, updates(t(6, 3), 1, t(4, 0), 1, t(9, 2), 1, t(1, 5), 1, t(-8, 2), 1),
+            0, updates(t(6, 3), -1, t(4, 0), -1, t(8, 4), 1, t(5, 0), 1, t(2, 2), 1),
+            0, updates(t(9, 2), -1, t(8, 4), -1, t(6, 3), 1),
+            0, updates(t(1, 5), -1, t(5, 0), -1, t(2, 2), -1, t(-8, 2), -1, t(6, 3), -1)
+    };
+
+    @Test
+    public void trimmerBatchEqualsPerTuple() {
+        assertBatchEqualsPerTuple(BatchUpdateTest::trimmer,
+                0, updates(t("a", 1), 1, t("a", 2), 1, t("b", 1), 2),
+                // the deletion and the insertion of "a" cancel out after projection
+                0, updates(t("a", 1), -1, t("a", 3), 1, t("b", 2), 1),
+                0, updates(t("a", 2), -1, t("a", 3), -1, t("b", 1), -2, t("b", 2), -1));
+    }
+
+    @Test
+    public void joinBatchEqualsPerTuple() {
+        assertBatchEqualsPerTuple(BatchUpdateTest::join, DUAL_INPUT_STEPS);
+    }
+
+    @Test
+    public void existenceBatchEqualsPerTuple() {
+        assertBatchEqualsPerTuple(BatchUpdateTest::existence, DUAL_INPUT_STEPS);
+    }
+
+    @Test
+    public void nonExistenceBatchEqualsPerTuple() {
+        assertBatchEqualsPerTuple(BatchUpdateTest::nonExistence, DUAL_INPUT_STEPS);
+    }
+
+    @Test
+    public void memorylessEvaluatorBatchEqualsPerTuple() {
+        for (boolean isCheck : new boolean[] { true, false }) {
+            assertBatchEqualsPerTuple(container -> evaluator(container, new QuotientEvaluator(isCheck), false),
+                    EVALUATOR_STEPS);
+        }
+    }
+
+    @Test
+    public void outputCachingEvaluatorBatchEqualsPerTuple() {
+        for (boolean isCheck : new boolean[] { true, false }) {
+            assertBatchEqualsPerTuple(container -> evaluator(container, new QuotientEvaluator(isCheck), true),
+                    EVALUATOR_STEPS);
+        }
+    }
+
+    @Test
+    public void evaluatorBatchIsEvaluatedInOneCall() {
+        QuotientEvaluator memoryless = new QuotientEvaluator(false);
+        TestedNetwork memorylessNetwork = evaluator(createContainer(), memoryless, false);
+        QuotientEvaluator outputCaching = new QuotientEvaluator(false);
+        TestedNetwork outputCachingNetwork = evaluator(createContainer(), outputCaching, true);
+        Map<Tuple, Integer> batch = updates(t(6, 3), 1, t(9, 2), 1, t(1, 5), 1);
+        memorylessNetwork.deliver(0, batch, true);
+        outputCachingNetwork.deliver(0, batch, true);
+        assertEquals(1, memoryless.batchCalls);
+        assertEquals(0, memoryless.rowCalls);
+        assertEquals(1, outputCaching.batchCalls);
+        assertEquals(0, outputCaching.rowCalls);
+
+        // a failing batch is evaluated again tuple by tuple, dropping only the failing tuple
+        Map<Tuple, Integer> failingBatch = updates(t(8, 4), 1, t(5, 0), 1, t(2, 2), 1);
+        memorylessNetwork.deliver(0, failingBatch, true);
+        outputCachingNetwork.deliver(0, failingBatch, true);
+        assertEquals(2, memoryless.batchCalls);
+        assertEquals(3, memoryless.rowCalls);
+        assertEquals(2, outputCaching.batchCalls);
+        assertEquals(3, outputCaching.rowCalls);
+        assertEquals(memorylessNetwork.output.contents, outputCachingNetwork.output.contents);
+        assertEquals(5, outputCachingNetwork.output.contents.size());
+
+        // the deletions from an output caching evaluator are not evaluated
+        outputCachingNetwork.deliver(0, updates(t(6, 3), -1, t(5, 0), -1), true);
+        assertEquals(2, outputCaching.batchCalls);
+        assertEquals(3, outputCaching.rowCalls);
+        assertEquals(4, outputCachingNetwork.output.contents.size());
+    }
+
+    @Test
+    public void aggregatorBatchEqualsPerTuple() {
+        assertBatchEqualsPerTuple(container -> aggregator(container, PrimitiveLongSumOperator.INSTANCE),
+                0, updates(t("a", 1L), 1, t("a", 2L), 1, t("b", 3L), 2),
+                // the sum of "a" does not change
+                0, updates(t("a", 1L), -1, t("a", 3L), 1, t("a", 2L), -1, t("c", 0L), 1),
+                0, updates(t("a", 3L), -1, t("b", 3L), -2, t("c", 0L), -1));
+    }
+
+    @Test
+    public void concurrentSumFoldingEqualsSequential() {
+        ThreadRecordingOperator<Long, ?, Long> operator = new ThreadRecordingOperator<>(
+                PrimitiveLongSumOperator.INSTANCE);
+        assertConcurrentFoldingEqualsSequential(
+                container -> aggregator(container, PrimitiveLongSumOperator.INSTANCE),
+                container -> aggregator(container, operator), operator);
+    }
+
+    @Test
+    public void concurrentMinFoldingEqualsSequential() {
+        @SuppressWarnings("unchecked")
+        PrimitiveExtremumOperator<Long> min = (PrimitiveExtremumOperator<Long>) PrimitiveExtremumOperator
+                .getMin(Long.class);
+        ThreadRecordingOperator<Long, ?, Long> operator = new ThreadRecordingOperator<>(min);
+        assertConcurrentFoldingEqualsSequential(container -> aggregator(container, min),
+                container -> aggregator(container, operator), operator);
+    }
+
+}
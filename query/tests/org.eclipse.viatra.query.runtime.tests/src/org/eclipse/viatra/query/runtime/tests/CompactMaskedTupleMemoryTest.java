@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.viatra.query.runtime.matchers.memories.CompactMaskedTupleMemory;
+import org.eclipse.viatra.query.runtime.matchers.memories.DefaultMaskedTupleMemory;
+import org.eclipse.viatra.query.runtime.matchers.memories.MaskedTupleMemory;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests {@link CompactMaskedTupleMemory} against {@link DefaultMaskedTupleMemory}, with buckets of varying sizes.
+ */
+@RunWith(Parameterized.class)
+public class CompactMaskedTupleMemoryTest {
+
+    private static final int STEPS = 20000;
+
+    @Parameters(name = "{index}: {0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(
+                new Object[] { TupleMask.selectSingle(0, 3) },
+                new Object[] { TupleMask.fromSelectedIndices(3, new int[] { 0, 1 }) }
+           );
+    }
+
+    @Parameter(0)
+    public TupleMask mask;
+
+    @Test
+    public void compactMemoryIsCreated() {
+        assertTrue(MaskedTupleMemory.create(mask, MemoryType.COMPACT_SETS, this) instanceof CompactMaskedTupleMemory);
+    }
+
+    @Test
+    public void randomUpdatesMatchDefaultMemory() {
+        MaskedTupleMemory<Integer> compact = MaskedTupleMemory.create(mask, MemoryType.COMPACT_SETS, this);
+        MaskedTupleMemory<Integer> reference = new DefaultMaskedTupleMemory<>(mask, MemoryType.SETS, this);
+        Random random = new Random(mask.getSize());
+        for (int step = 0; step < STEPS; step++) {
+            // some signatures get a single tuple, others grow beyond the inline capacity
+            Tuple tuple = Tuples.staticArityFlatTupleOf(random.nextInt(40), random.nextInt(3), random.nextInt(8));
+            if (reference.getOrEmpty(mask.transform(tuple)).contains(tuple)) {
+                assertEquals(reference.remove(tuple), compact.remove(tuple));
+            } else {
+                assertEquals(reference.add(tuple), compact.add(tuple));
+            }
+            if (step % 1000 == 0) {
+                assertSameContents(reference, compact);
+            }
+        }
+        assertSameContents(reference, compact);
+        assertNull(compact.get(mask.transform(Tuples.staticArityFlatTupleOf(-1, -1, -1))));
+
+        compact.clear();
+        assertEquals(0, compact.getKeysetSize());
+        assertEquals(0, compact.getTotalSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateInsertionIsRejected() {
+        MaskedTupleMemory<Integer> compact = MaskedTupleMemory.create(mask, MemoryType.COMPACT_SETS, this);
+        Tuple tuple = Tuples.staticArityFlatTupleOf(1, 2, 3);
+        compact.add(tuple);
+        compact.add(tuple);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateDeletionIsRejected() {
+        MaskedTupleMemory<Integer> compact = MaskedTupleMemory.create(mask, MemoryType.COMPACT_SETS, this);
+        compact.add(Tuples.staticArityFlatTupleOf(1, 2, 3));
+        compact.remove(Tuples.staticArityFlatTupleOf(1, 2, 4));
+    }
+
+    private void assertSameContents(MaskedTupleMemory<Integer> expected, MaskedTupleMemory<Integer> actual) {
+        assertEquals(expected.getKeysetSize(), actual.getKeysetSize());
+        assertEquals(expected.getTotalSize(), actual.getTotalSize());
+        assertEquals(toSet(expected.getSignatures()), toSet(actual.getSignatures()));
+        assertEquals(toSet(expected::iterator), toSet(actual::iterator));
+        for (Tuple signature : expected.getSignatures()) {
+            assertEquals(new HashSet<>(expected.get(signature)), new HashSet<>(actual.get(signature)));
+        }
+    }
+
+    private static Set<Tuple> toSet(Iterable<Tuple> tuples) {
+        Set<Tuple> result = new HashSet<>();
+        tuples.forEach(result::add);
+        return result;
+    }
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.viatra.query.runtime.matchers.psystem.IExpressionEvaluator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.IValueProvider;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicdeferred.ExpressionEvaluation;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.psystem.rewriters.PBodyCopier;
+import org.junit.Test;
+
+/**
+ * Checks that {@link IExpressionEvaluator#evaluateExpressions(Object[][], int, Object[])} returns the same results as
+ * evaluating the rows one by one with {@link IExpressionEvaluator#evaluateExpression(IValueProvider)}, both for the
+ * default implementation and for the evaluators wrapped to map the variables of copied bodies.
+ */
+public class ExpressionEvaluatorBatchTest {
+
+    /**
+     * Computes the quotient of two integers, failing on division by zero; the batch evaluation reads the columns
+     * directly, as the generated evaluators do, unless it is disabled.
+     */
+    private static final class QuotientEvaluator implements IExpressionEvaluator {
+        private final boolean overridesBatch;
+        int batchCalls = 0;
+
+        QuotientEvaluator(boolean overridesBatch) {
+            this.overridesBatch = overridesBatch;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return "x / y";
+        }
+
+        @Override
+        public Iterable<String> getInputParameterNames() {
+            return Arrays.asList("x", "y");
+        }
+
+        @Override
+        public Object evaluateExpression(IValueProvider provider) throws Exception {
+            return quotient((Integer) provider.getValue("x"), (Integer) provider.getValue("y"));
+        }
+
+        @Override
+        public void evaluateExpressions(Object[][] columns, int rowCount, Object[] results) throws Exception {
+            if (overridesBatch) {
+                batchCalls++;
+                for (int row = 0; row < rowCount; row++) {
+                    results[row] = quotient((Integer) columns[0][row], (Integer) columns[1][row]);
+                }
+            } else {
+                IExpressionEvaluator.super.evaluateExpressions(columns, rowCount, results);
+            }
+        }
+
+        private static Integer quotient(Integer x, Integer y) {
+            return x / y;
+        }
+    }
+
+    private static Object[][] randomColumns(long seed, int columnCount, int rowCount, boolean withZeros) {
+        Random random = new Random(seed);
+        Object[][] columns = new Object[columnCount][rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                int value = random.nextInt(41) - 20;
+                columns[column][row] = withZeros || value != 0 ? value : 1;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Evaluates the rows one by one and in a single batch, and checks that the batch either returns the same results,
+     * or fails if the evaluation of any row fails.
+     */
+    private static void assertBatchEqualsPerRow(IExpressionEvaluator evaluator, Object[][] columns, int rowCount) {
+        List<String> names = new ArrayList<>();
+        evaluator.getInputParameterNames().forEach(names::add);
+        Object[] expected = new Object[rowCount];
+        boolean failed = false;
+        for (int row = 0; row < rowCount; row++) {
+            final int currentRow = row;
+            try {
+                expected[row] = evaluator.evaluateExpression(name -> columns[names.indexOf(name)][currentRow]);
+            } catch (Exception e) {
+                failed = true;
+            }
+        }
+        Object[] results = new Object[rowCount];
+        try {
+            evaluator.evaluateExpressions(columns, rowCount, results);
+            if (failed) {
+                fail("Batch evaluation did not fail");
+            }
+            assertArrayEquals(expected, results);
+        } catch (Exception e) {
+            if (!failed) {
+                throw new AssertionError("Batch evaluation failed", e);
+            }
+        }
+    }
+
+    /**
+     * Copies the expression evaluation of a body to a new body, renaming the variables.
+     */
+    private static IExpressionEvaluator copy(IExpressionEvaluator evaluator, String prefix) {
+        PQuery query = mock(PQuery.class);
+        PBody body = new PBody(query);
+        new ExpressionEvaluation(body, evaluator, body.getOrCreateVariableByName("result"));
+        PBodyCopier copier = new PBodyCopier(query);
+        copier.mergeBody(body, (variable, pQuery) -> prefix + variable.getName(), constraint -> false);
+        return copier.getCopiedBody().getConstraintsOfType(ExpressionEvaluation.class).iterator().next()
+                .getEvaluator();
+    }
+
+    @Test
+    public void defaultBatchEqualsPerRow() {
+        IExpressionEvaluator evaluator = new QuotientEvaluator(false);
+        for (long seed = 0; seed < 10; seed++) {
+            assertBatchEqualsPerRow(evaluator, randomColumns(seed, 2, 50, false), 50);
+            assertBatchEqualsPerRow(evaluator, randomColumns(seed, 2, 50, true), 50);
+        }
+        // only the given number of rows is evaluated
+        assertBatchEqualsPerRow(evaluator, randomColumns(0, 2, 50, false), 20);
+        assertBatchEqualsPerRow(evaluator, new Object[2][0], 0);
+    }
+
+    @Test
+    public void overriddenBatchEqualsPerRow() {
+        IExpressionEvaluator evaluator = new QuotientEvaluator(true);
+        for (long seed = 0; seed < 10; seed++) {
+            assertBatchEqualsPerRow(evaluator, randomColumns(seed, 2, 50, false), 50);
+            assertBatchEqualsPerRow(evaluator, randomColumns(seed, 2, 50, true), 50);
+        }
+    }
+
+    @Test
+    public void wrappedBatchEqualsPerRow() {
+        QuotientEvaluator evaluator = new QuotientEvaluator(true);
+        IExpressionEvaluator wrapper = copy(evaluator, "copied_");
+        assertEquals(Arrays.asList("copied_x", "copied_y"), toList(wrapper.getInputParameterNames()));
+        // copying a copy wraps the original evaluator again
+        IExpressionEvaluator rewrapper = copy(wrapper, "recopied_");
+        assertEquals(Arrays.asList("recopied_copied_x", "recopied_copied_y"),
+                toList(rewrapper.getInputParameterNames()));
+
+        for (long seed = 0; seed < 10; seed++) {
+            assertBatchEqualsPerRow(wrapper, randomColumns(seed, 2, 50, false), 50);
+            assertBatchEqualsPerRow(wrapper, randomColumns(seed, 2, 50, true), 50);
+            assertBatchEqualsPerRow(rewrapper, randomColumns(seed, 2, 50, false), 50);
+            assertBatchEqualsPerRow(rewrapper, randomColumns(seed, 2, 50, true), 50);
+        }
+        // the wrappers delegate the batches to the batch evaluation of the wrapped evaluator
+        assertEquals(40, evaluator.batchCalls);
+    }
+
+    private static List<String> toList(Iterable<String> names) {
+        List<String> list = new ArrayList<>();
+        names.forEach(list::add);
+        return list;
+    }
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.rete.boundary.InputTupleInterner;
+import org.junit.Test;
+
+/**
+ * Tests the reference counting of {@link InputTupleInterner}.
+ */
+public class InputTupleInternerTest {
+
+    private final Object source = new Object();
+
+    /**
+     * Long.valueOf only caches the values between -128 and 127, so each call returns a separate instance
+     */
+    private static final long UNCACHED_LONG = 1000;
+
+    @Test
+    public void equalValuesShareInstance() {
+        InputTupleInterner interner = new InputTupleInterner();
+        Tuple first = interner
+                .acquire(Tuples.staticArityFlatTupleOf(source, new String("value"), Long.valueOf(UNCACHED_LONG)));
+        Tuple second = interner
+                .acquire(Tuples.staticArityFlatTupleOf(source, new String("value"), Long.valueOf(UNCACHED_LONG)));
+
+        assertEquals(first, second);
+        assertSame(first.get(1), second.get(1));
+        assertSame(first.get(2), second.get(2));
+        assertSame(source, second.get(0));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void valuesAreReleasedWithLastOccurrence() {
+        InputTupleInterner interner = new InputTupleInterner();
+        Tuple first = interner.acquire(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        interner.acquire(Tuples.staticArityFlatTupleOf(new Object(), new String("value")));
+        interner.acquire(Tuples.staticArityFlatTupleOf(source, new String("other")));
+        assertEquals(2, interner.size());
+
+        Tuple released = interner.release(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        assertSame(first.get(1), released.get(1));
+        assertEquals(2, interner.size());
+
+        interner.release(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        interner.release(Tuples.staticArityFlatTupleOf(source, new String("other")));
+        assertEquals(0, interner.size());
+
+        Tuple reacquired = interner.acquire(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        assertNotSame(first.get(1), reacquired.get(1));
+    }
+
+    @Test
+    public void lookupDoesNotRegisterOccurrences() {
+        InputTupleInterner interner = new InputTupleInterner();
+        Tuple acquired = interner.acquire(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        Tuple lookedUp = interner.lookup(Tuples.staticArityFlatTupleOf(source, new String("value")));
+        assertSame(acquired.get(1), lookedUp.get(1));
+
+        interner.lookup(Tuples.staticArityFlatTupleOf(source, new String("unknown")));
+        assertEquals(1, interner.size());
+
+        interner.release(acquired);
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void acquiredTupleIsNotModified() {
+        InputTupleInterner interner = new InputTupleInterner();
+        Tuple first = interner.acquire(Tuples.wideFlatTupleOf(source, new String("value"), new String("other")));
+        // wide tuples expose their own array of elements
+        String value = new String("value");
+        Tuple tuple = Tuples.wideFlatTupleOf(source, value, new String("other"));
+        Tuple second = interner.acquire(tuple);
+
+        assertNotSame(tuple, second);
+        assertSame(value, tuple.get(1));
+        assertSame(first.get(1), second.get(1));
+        assertSame(first.get(2), second.get(2));
+    }
+
+    @Test
+    public void tuplesWithoutDataValuesAreKept() {
+        InputTupleInterner interner = new InputTupleInterner();
+        Tuple tuple = Tuples.staticArityFlatTupleOf(source, new Object());
+        assertSame(tuple, interner.acquire(tuple));
+        assertEquals(0, interner.size());
+    }
+
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.viatra.query.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.viatra.query.runtime.rete.index.DualInputNode;
+import org.eclipse.viatra.query.runtime.rete.index.Indexer;
+import org.eclipse.viatra.query.runtime.rete.index.IterableIndexer;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.Receiver;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationGroup;
+import org.eclipse.viatra.query.runtime.rete.network.communication.CommunicationTracker;
+import org.eclipse.viatra.query.runtime.rete.network.communication.timeless.ParallelCommunicationScheduler;
+import org.eclipse.viatra.query.runtime.rete.network.mailbox.FallThroughCapableMailbox;
+import org.eclipse.viatra.query.runtime.rete.network.mailbox.Mailbox;
+import org.eclipse.viatra.query.runtime.rete.single.CallbackNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how {@link ParallelCommunicationScheduler} selects the groups delivered concurrently, over a mocked
+ * communication tracker in which each node forms a group of its own.
+ */
+public class ParallelCommunicationSchedulerTest {
+
+    private final Graph<Node> dependencyGraph = new Graph<>();
+    private final Map<Node, CommunicationGroup> groups = new HashMap<>();
+    private final List<CommunicationGroup> activeGroups = new ArrayList<>();
+    private ParallelCommunicationScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        CommunicationTracker tracker = mock(CommunicationTracker.class);
+        when(tracker.getDependencyGraph()).thenReturn(dependencyGraph);
+        // as each node forms a group of its own, the reduced dependency graph is the dependency graph itself
+        when(tracker.getReducedDependencyGraph()).thenReturn(dependencyGraph);
+        when(tracker.getActiveGroups()).thenReturn(activeGroups);
+        when(tracker.getGroup(any(Node.class))).then(invocation -> groups.get(invocation.getArguments()[0]));
+        scheduler = new ParallelCommunicationScheduler(tracker, ForkJoinPool.commonPool());
+    }
+
+    private <N extends Node> N register(N node) {
+        CommunicationGroup group = mock(CommunicationGroup.class);
+        when(group.getRepresentative()).thenReturn(node);
+        groups.put(node, group);
+        dependencyGraph.insertNode(node);
+        return node;
+    }
+
+    /**
+     * @param fallThrough
+     *            whether the mailbox of the receiver passes the updates through instead of storing them
+     */
+    private Receiver receiver(boolean fallThrough) {
+        return receiver(mock(Receiver.class), fallThrough);
+    }
+
+    private <R extends Receiver> R receiver(R receiver, boolean fallThrough) {
+        FallThroughCapableMailbox mailbox = mock(FallThroughCapableMailbox.class);
+        when(mailbox.isFallThrough()).thenReturn(fallThrough);
+        when(receiver.getMailbox()).thenReturn(mailbox);
+        return register(receiver);
+    }
+
+    private CommunicationGroup group(Node node) {
+        return groups.get(node);
+    }
+
+    private void activate(Node... nodes) {
+        for (Node node : nodes) {
+            activeGroups.add(group(node));
+        }
+    }
+
+    @Test
+    public void indexerUpdatesAreSynchronous() {
+        assertTrue(ParallelCommunicationScheduler.isSynchronousEdge(mock(Indexer.class), receiver(false)));
+    }
+
+    @Test
+    public void updatesOfNonReceiversAreSynchronous() {
+        assertTrue(ParallelCommunicationScheduler.isSynchronousEdge(mock(Node.class), mock(Node.class)));
+    }
+
+    @Test
+    public void onlyFallThroughMailboxesAreSynchronous() {
+        Node source = mock(Node.class);
+        assertTrue(ParallelCommunicationScheduler.isSynchronousEdge(source, receiver(true)));
+        assertFalse(ParallelCommunicationScheduler.isSynchronousEdge(source, receiver(false)));
+
+        Receiver withDefaultMailbox = mock(Receiver.class);
+        when(withDefaultMailbox.getMailbox()).thenReturn(mock(Mailbox.class));
+        assertFalse(ParallelCommunicationScheduler.isSynchronousEdge(source, withDefaultMailbox));
+    }
+
+    @Test
+    public void groupsWithSeparateTargetsDoNotInterfere() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        dependencyGraph.insertEdge(first, receiver(false));
+        dependencyGraph.insertEdge(second, receiver(true));
+
+        assertFalse(scheduler.interfere(group(first), group(second)));
+    }
+
+    @Test
+    public void groupsSharingFallThroughTargetInterfere() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        Receiver target = receiver(true);
+        dependencyGraph.insertEdge(first, target);
+        dependencyGraph.insertEdge(second, target);
+
+        assertTrue(scheduler.interfere(group(first), group(second)));
+    }
+
+    @Test
+    public void groupsPostingIntoSameGroupInterfere() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        Receiver target = receiver(false);
+        dependencyGraph.insertEdge(first, target);
+        dependencyGraph.insertEdge(second, target);
+
+        assertTrue(scheduler.interfere(group(first), group(second)));
+    }
+
+    @Test
+    public void groupReadingJoinSlotInterferesWithGroupUpdatingIt() {
+        Node slotSource = register(mock(Node.class));
+        IterableIndexer slot = mock(IterableIndexer.class);
+        when(slot.getActiveNode()).thenReturn(slotSource);
+        DualInputNode join = register(mock(DualInputNode.class));
+        when(join.getPrimarySlot()).thenReturn(slot);
+        Node other = register(mock(Node.class));
+
+        assertTrue(scheduler.interfere(group(slotSource), group(join)));
+        assertTrue(scheduler.interfere(group(join), group(slotSource)));
+        assertFalse(scheduler.interfere(group(join), group(other)));
+    }
+
+    @Test
+    public void groupsNotifyingClientsInterfere() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        dependencyGraph.insertEdge(first, receiver(mock(CallbackNode.class), true));
+        dependencyGraph.insertEdge(second, receiver(mock(CallbackNode.class), true));
+
+        assertTrue(scheduler.interfere(group(first), group(second)));
+    }
+
+    @Test
+    public void independentGroupsFormOneWave() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        dependencyGraph.insertEdge(first, receiver(false));
+        dependencyGraph.insertEdge(second, receiver(false));
+        activate(first, second);
+
+        assertEquals(Arrays.asList(group(first), group(second)), scheduler.selectWave());
+    }
+
+    @Test
+    public void groupsSharingFallThroughTargetAreNotInSameWave() {
+        Node first = register(mock(Node.class));
+        Node second = register(mock(Node.class));
+        Node third = register(mock(Node.class));
+        Receiver target = receiver(true);
+        dependencyGraph.insertEdge(first, target);
+        dependencyGraph.insertEdge(second, target);
+        activate(first, second, third);
+
+        assertEquals(Arrays.asList(group(first), group(third)), scheduler.selectWave());
+    }
+
+    @Test
+    public void groupsSharingJoinSlotAreNotInSameWave() {
+        Node slotSource = register(mock(Node.class));
+        IterableIndexer slot = mock(IterableIndexer.class);
+        when(slot.getActiveNode()).thenReturn(slotSource);
+        DualInputNode join = register(mock(DualInputNode.class));
+        when(join.getPrimarySlot()).thenReturn(slot);
+        activate(slotSource, join);
+
+        assertEquals(Collections.singletonList(group(slotSource)), scheduler.selectWave());
+    }
+
+    @Test
+    public void groupWithActiveAncestorIsDeferred() {
+        Node ancestor = register(mock(Node.class));
+        Receiver intermediate = receiver(false);
+        Receiver descendant = receiver(false);
+        Node unrelated = register(mock(Node.class));
+        dependencyGraph.insertEdge(ancestor, intermediate);
+        dependencyGraph.insertEdge(intermediate, descendant);
+        activate(ancestor, descendant, unrelated);
+
+        assertEquals(Arrays.asList(group(ancestor), group(unrelated)), scheduler.selectWave());
+
+        activeGroups.remove(group(ancestor));
+        activeGroups.remove(group(unrelated));
+        assertEquals(Collections.singletonList(group(descendant)), scheduler.selectWave());
+    }
+
+}
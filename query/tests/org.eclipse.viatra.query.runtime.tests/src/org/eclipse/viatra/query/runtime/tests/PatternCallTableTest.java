@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.eclipse.viatra.query.runtime.localsearch.matcher.PatternCallTable;
+import org.eclipse.viatra.query.runtime.localsearch.operations.util.CallInformation;
+import org.eclipse.viatra.query.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContextListener;
+import org.eclipse.viatra.query.runtime.matchers.context.IndexingService;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PBody;
+import org.eclipse.viatra.query.runtime.matchers.psystem.PVariable;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.PositivePatternCall;
+import org.eclipse.viatra.query.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PDisjunction;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PParameter;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.matchers.tuple.ITuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the eviction and the invalidation of the results stored in a {@link PatternCallTable}, using a call with a
+ * bound parameter to a query that depends on a single type.
+ */
+public class PatternCallTableTest {
+
+    private IInputKey type;
+    private IQueryRuntimeContext runtimeContext;
+    private IQueryResultProvider matcher;
+    private CallInformation information;
+
+    @Before
+    public void setUp() {
+        type = mock(IInputKey.class);
+        when(type.getArity()).thenReturn(1);
+        when(type.isEnumerable()).thenReturn(true);
+        runtimeContext = mock(IQueryRuntimeContext.class);
+        when(runtimeContext.isIndexed(type, IndexingService.INSTANCES)).thenReturn(true);
+        matcher = mock(IQueryResultProvider.class);
+        when(matcher.hasMatch(any(TupleMask.class), any(ITuple.class))).thenReturn(true);
+
+        PQuery callee = mock(PQuery.class);
+        when(callee.getParameters()).thenReturn(Collections.singletonList(new PParameter("p")));
+        when(callee.getAllReferredQueries()).thenReturn(Collections.emptySet());
+        PBody calleeBody = new PBody(callee);
+        new TypeConstraint(calleeBody, Tuples.flatTupleOf(calleeBody.getOrCreateVariableByName("p")), type);
+        PDisjunction calleeBodies = new PDisjunction(callee, Collections.singleton(calleeBody));
+        when(callee.getDisjunctBodies()).thenReturn(calleeBodies);
+
+        PBody callerBody = new PBody(mock(PQuery.class));
+        PVariable x = callerBody.getOrCreateVariableByName("x");
+        PositivePatternCall call = new PositivePatternCall(callerBody, Tuples.flatTupleOf(x), callee);
+        information = CallInformation.create(call, Collections.singletonMap(x, 0), Collections.singleton(0));
+    }
+
+    private void call(PatternCallTable table, Object value) {
+        assertTrue(table.hasMatch(information, matcher, Tuples.staticArityFlatTupleOf(value)));
+    }
+
+    private void verifyCalculations(int count, Object value) {
+        verify(matcher, times(count)).hasMatch(any(TupleMask.class), eq(Tuples.staticArityFlatTupleOf(value)));
+    }
+
+    @Test
+    public void leastRecentlyUsedResultIsEvicted() {
+        PatternCallTable table = new PatternCallTable(runtimeContext, 2);
+        call(table, "a");
+        call(table, "b");
+        call(table, "a");
+        call(table, "c");
+        assertEquals(2, table.size());
+
+        call(table, "a");
+        call(table, "b");
+        verifyCalculations(1, "a");
+        verifyCalculations(2, "b");
+        verifyCalculations(1, "c");
+    }
+
+    @Test
+    public void tableIsClearedOnUpdate() {
+        PatternCallTable table = new PatternCallTable(runtimeContext, 10);
+        call(table, "a");
+        call(table, "b");
+        verify(runtimeContext).addUpdateListener(eq(type), any(Tuple.class), same(table));
+
+        table.update(type, Tuples.staticArityFlatTupleOf("c"), true);
+        assertEquals(0, table.size());
+
+        call(table, "a");
+        verifyCalculations(2, "a");
+        verifyCalculations(1, "b");
+    }
+
+    @Test
+    public void resultsAreNotTabledUntilTypesAreIndexed() {
+        when(runtimeContext.isIndexed(type, IndexingService.INSTANCES)).thenReturn(false);
+        PatternCallTable table = new PatternCallTable(runtimeContext, 10);
+        call(table, "a");
+        call(table, "a");
+        assertEquals(0, table.size());
+        verifyCalculations(2, "a");
+        verify(runtimeContext, never()).addUpdateListener(any(IInputKey.class), any(Tuple.class),
+                any(IQueryRuntimeContextListener.class));
+        verify(runtimeContext, never()).ensureIndexed(any(IInputKey.class), any(IndexingService.class));
+
+        when(runtimeContext.isIndexed(type, IndexingService.INSTANCES)).thenReturn(true);
+        call(table, "a");
+        call(table, "a");
+        assertEquals(1, table.size());
+        verifyCalculations(3, "a");
+    }
+
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.viatra.query.runtime.matchers.aggregators.DoubleSumOperator;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.LongSumOperator;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.PrimitiveDoubleSumOperator;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.PrimitiveExtremumOperator;
+import org.eclipse.viatra.query.runtime.matchers.aggregators.PrimitiveLongSumOperator;
+import org.eclipse.viatra.query.runtime.matchers.psystem.aggregations.IMultisetAggregationOperator;
+import org.junit.Test;
+
+/**
+ * Checks the aggregation operators with primitive accumulators against the results of sorting and summing the
+ * aggregated multiset directly, and against the neutrality of the boxed sum operators.
+ */
+public class PrimitiveAggregatorsTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> IMultisetAggregationOperator<T, Object, T> min(Class<T> domainClass) {
+        return (IMultisetAggregationOperator<T, Object, T>) (Object) PrimitiveExtremumOperator.getMin(domainClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> IMultisetAggregationOperator<T, Object, T> max(Class<T> domainClass) {
+        return (IMultisetAggregationOperator<T, Object, T>) (Object) PrimitiveExtremumOperator.getMax(domainClass);
+    }
+
+    /**
+     * Inserts and deletes random values, checking the minimum and the maximum after each update. With a value range
+     * wider than the size of the array representation, the accumulators switch to the tree representation.
+     */
+    private static void assertRandomUpdates(long seed, int valueRange, int stepCount) {
+        IMultisetAggregationOperator<Long, Object, Long> min = min(Long.class);
+        IMultisetAggregationOperator<Long, Object, Long> max = max(Long.class);
+        Object minAccumulator = min.createNeutral();
+        Object maxAccumulator = max.createNeutral();
+        List<Long> contents = new ArrayList<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < stepCount; i++) {
+            boolean isInsertion = contents.isEmpty() || random.nextInt(3) > 0;
+            Long value = isInsertion ? (long) random.nextInt(valueRange) - valueRange / 2
+                    : contents.get(random.nextInt(contents.size()));
+            if (isInsertion) {
+                contents.add(value);
+            } else {
+                contents.remove(value);
+            }
+            minAccumulator = min.update(minAccumulator, value, isInsertion);
+            maxAccumulator = max.update(maxAccumulator, value, isInsertion);
+
+            assertEquals(contents.isEmpty(), min.isNeutral(minAccumulator));
+            assertEquals(contents.isEmpty() ? null : Collections.min(contents), min.getAggregate(minAccumulator));
+            assertEquals(contents.isEmpty() ? null : Collections.max(contents), max.getAggregate(maxAccumulator));
+            assertEquals(contents.contains(value), min.contains(value, minAccumulator));
+        }
+    }
+
+    @Test
+    public void smallMultisets() {
+        for (long seed = 0; seed < 10; seed++) {
+            assertRandomUpdates(seed, 20, 300);
+        }
+    }
+
+    @Test
+    public void largeMultisets() {
+        for (long seed = 0; seed < 10; seed++) {
+            assertRandomUpdates(seed, 1000, 2000);
+        }
+    }
+
+    @Test
+    public void clonedAccumulatorsAreIndependent() {
+        IMultisetAggregationOperator<Long, Object, Long> min = min(Long.class);
+        for (int size : new int[] { 3, 200 }) {
+            Object accumulator = min.createNeutral();
+            for (long value = 1; value <= size; value++) {
+                accumulator = min.update(accumulator, value, true);
+            }
+            Object clone = min.clone(accumulator);
+            accumulator = min.update(accumulator, 1l, false);
+            accumulator = min.update(accumulator, 0l, true);
+            accumulator = min.update(accumulator, 0l, true);
+            assertEquals(Long.valueOf(0), min.getAggregate(accumulator));
+            assertEquals(Long.valueOf(1), min.getAggregate(clone));
+            clone = min.update(clone, 1l, false);
+            assertEquals(Long.valueOf(2), min.getAggregate(clone));
+            assertEquals(Long.valueOf(0), min.getAggregate(accumulator));
+        }
+    }
+
+    @Test
+    public void emptyMultisetHasNoExtremum() {
+        IMultisetAggregationOperator<Integer, Object, Integer> min = min(Integer.class);
+        Object accumulator = min.update(min.createNeutral(), 5, true);
+        accumulator = min.update(accumulator, 5, false);
+        assertTrue(min.isNeutral(accumulator));
+        assertNull(min.getAggregate(accumulator));
+        assertNull(min.aggregateStream(Arrays.<Integer> asList().stream()));
+    }
+
+    /**
+     * Aggregates the given values, listed in ascending order of their default comparison, in random orders, and checks
+     * the minimum and the maximum after each insertion and deletion.
+     */
+    private static <T extends Comparable<T>> void assertOrdering(Class<T> domainClass, List<T> ascendingValues) {
+        IMultisetAggregationOperator<T, Object, T> min = min(domainClass);
+        IMultisetAggregationOperator<T, Object, T> max = max(domainClass);
+        List<T> sorted = new ArrayList<>(ascendingValues);
+        Collections.sort(sorted);
+        assertEquals(ascendingValues, sorted);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            List<T> shuffled = new ArrayList<>(ascendingValues);
+            Collections.shuffle(shuffled, random);
+            Object minAccumulator = min.createNeutral();
+            Object maxAccumulator = max.createNeutral();
+            List<T> contents = new ArrayList<>();
+            for (T value : shuffled) {
+                contents.add(value);
+                minAccumulator = min.update(minAccumulator, value, true);
+                maxAccumulator = max.update(maxAccumulator, value, true);
+                assertEquals(Collections.min(contents), min.getAggregate(minAccumulator));
+                assertEquals(Collections.max(contents), max.getAggregate(maxAccumulator));
+            }
+            assertEquals(ascendingValues.get(0), min.aggregateStream(shuffled.stream()));
+            assertEquals(ascendingValues.get(ascendingValues.size() - 1), max.aggregateStream(shuffled.stream()));
+            Collections.shuffle(shuffled, random);
+            for (T value : shuffled.subList(0, shuffled.size() - 1)) {
+                contents.remove(value);
+                minAccumulator = min.update(minAccumulator, value, false);
+                maxAccumulator = max.update(maxAccumulator, value, false);
+                assertEquals(Collections.min(contents), min.getAggregate(minAccumulator));
+                assertEquals(Collections.max(contents), max.getAggregate(maxAccumulator));
+            }
+        }
+    }
+
+    @Test
+    public void doubleOrdering() {
+        assertOrdering(Double.class, Arrays.asList(Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -Double.MIN_VALUE,
+                -0.0, 0.0, Double.MIN_VALUE, 1.0, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN));
+    }
+
+    @Test
+    public void floatOrdering() {
+        assertOrdering(Float.class, Arrays.asList(Float.NEGATIVE_INFINITY, -Float.MAX_VALUE, -1.5f, -Float.MIN_VALUE,
+                -0.0f, 0.0f, Float.MIN_VALUE, 1.0f, Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NaN));
+    }
+
+    @Test
+    public void nonCanonicalNaNIsDecodedAsNaN() {
+        IMultisetAggregationOperator<Double, Object, Double> max = max(Double.class);
+        double nonCanonicalNaN = Double.longBitsToDouble(0xfff8000000000001l);
+        Object accumulator = max.update(max.createNeutral(), nonCanonicalNaN, true);
+        accumulator = max.update(accumulator, 1.0, true);
+        assertTrue(max.getAggregate(accumulator).isNaN());
+        accumulator = max.update(accumulator, Double.NaN, false);
+        assertEquals(Double.valueOf(1.0), max.getAggregate(accumulator));
+    }
+
+    @Test
+    public void integralOrdering() {
+        assertOrdering(Integer.class, Arrays.asList(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE));
+        assertOrdering(Long.class, Arrays.asList(Long.MIN_VALUE, -1l, 0l, 1l, Long.MAX_VALUE));
+        assertOrdering(Short.class, Arrays.asList(Short.MIN_VALUE, (short) 0, Short.MAX_VALUE));
+        assertOrdering(Byte.class, Arrays.asList(Byte.MIN_VALUE, (byte) 0, Byte.MAX_VALUE));
+        assertOrdering(Character.class, Arrays.asList(Character.MIN_VALUE, 'a', Character.MAX_VALUE));
+        assertOrdering(Boolean.class, Arrays.asList(false, true));
+    }
+
+    /**
+     * Folds the values with a primitive and a boxed sum operator, and checks that the results and their neutrality
+     * agree, after cloning the primitive accumulator as well.
+     */
+    @SafeVarargs
+    private static <T> void assertSameSum(IMultisetAggregationOperator<T, ?, T> primitiveOperator,
+            IMultisetAggregationOperator<T, T, T> boxedOperator, T... values) {
+        @SuppressWarnings("unchecked")
+        IMultisetAggregationOperator<T, Object, T> primitive =
+                (IMultisetAggregationOperator<T, Object, T>) primitiveOperator;
+        Object accumulator = primitive.createNeutral();
+        T boxed = boxedOperator.createNeutral();
+        for (T value : values) {
+            accumulator = primitive.update(accumulator, value, true);
+            boxed = boxedOperator.update(boxed, value, true);
+        }
+        assertEquals(boxed, primitive.getAggregate(accumulator));
+        assertEquals(boxedOperator.isNeutral(boxed), primitive.isNeutral(accumulator));
+        Object clone = primitive.clone(accumulator);
+        assertEquals(boxed, primitive.getAggregate(clone));
+        assertEquals(boxedOperator.isNeutral(boxed), primitive.isNeutral(clone));
+    }
+
+    @Test
+    public void sumNeutralityMatchesBoxedOperators() {
+        assertSameSum(PrimitiveLongSumOperator.INSTANCE, LongSumOperator.INSTANCE);
+        assertSameSum(PrimitiveLongSumOperator.INSTANCE, LongSumOperator.INSTANCE, 5l);
+        // values cancelling out are neutral regardless of their number
+        assertSameSum(PrimitiveLongSumOperator.INSTANCE, LongSumOperator.INSTANCE, 5l, -5l);
+        assertSameSum(PrimitiveDoubleSumOperator.INSTANCE, DoubleSumOperator.INSTANCE, 1.5, -1.5);
+        assertSameSum(PrimitiveDoubleSumOperator.INSTANCE, DoubleSumOperator.INSTANCE, 2.0);
+        // -0.0 is not equal to the neutral 0.0
+        assertSameSum(PrimitiveDoubleSumOperator.INSTANCE, DoubleSumOperator.INSTANCE, -0.0);
+        assertSameSum(PrimitiveDoubleSumOperator.INSTANCE, DoubleSumOperator.INSTANCE, -0.0, 0.0);
+    }
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.log4j.Logger;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryBackendContext;
+import org.eclipse.viatra.query.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.util.CollectionsFactory.MemoryType;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+import org.eclipse.viatra.query.runtime.matchers.util.timeline.Timeline;
+import org.eclipse.viatra.query.runtime.rete.index.IndexerListener;
+import org.eclipse.viatra.query.runtime.rete.matcher.ReteEngine;
+import org.eclipse.viatra.query.runtime.rete.network.Network;
+import org.eclipse.viatra.query.runtime.rete.network.Node;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
+import org.eclipse.viatra.query.runtime.rete.single.SingleInputNode;
+
+/**
+ * Builds standalone Rete containers over a mocked engine, for testing Rete nodes without a query engine.
+ */
+final class ReteNodeTestSupport {
+
+    /**
+     * Collects the net multiplicities of the received tuples, either as a child or as an indexer listener.
+     */
+    static final class CollectorNode extends SingleInputNode implements IndexerListener {
+        final Map<Tuple, Integer> contents = new HashMap<>();
+
+        CollectorNode(ReteContainer reteContainer) {
+            super(reteContainer);
+        }
+
+        @Override
+        public void update(Direction direction, Tuple updateElement, Timestamp timestamp) {
+            contents.merge(updateElement, direction == Direction.INSERT ? 1 : -1, Integer::sum);
+            contents.remove(updateElement, 0);
+        }
+
+        @Override
+        public void notifyIndexerUpdate(Direction direction, Tuple updateElement, Tuple signature, boolean change,
+                Timestamp timestamp) {
+            update(direction, updateElement, timestamp);
+        }
+
+        @Override
+        public Node getOwner() {
+            return this;
+        }
+
+        @Override
+        public void pullInto(Collection<Tuple> collector, boolean flush) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void pullIntoWithTimeline(Map<Tuple, Timeline<Timestamp>> collector, boolean flush) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private ReteNodeTestSupport() {
+    }
+
+    static ReteContainer createContainer() {
+        return createContainer(null);
+    }
+
+    /**
+     * @param propagationPool
+     *            the propagation pool of the engine, null for sequential propagation
+     */
+    static ReteContainer createContainer(ForkJoinPool propagationPool) {
+        IQueryBackendContext backendContext = mock(IQueryBackendContext.class);
+        IQueryRuntimeContext runtimeContext = mock(IQueryRuntimeContext.class);
+        when(runtimeContext.wrapElement(any())).then(returnsFirstArg());
+        when(runtimeContext.unwrapElement(any())).then(returnsFirstArg());
+        when(runtimeContext.unwrapTuple(any())).then(returnsFirstArg());
+        ReteEngine engine = mock(ReteEngine.class);
+        when(engine.getBackendContext()).thenReturn(backendContext);
+        when(engine.getRuntimeContext()).thenReturn(runtimeContext);
+        when(engine.getPropagationPool()).thenReturn(propagationPool);
+        when(engine.getLogger()).thenReturn(Logger.getLogger(ReteNodeTestSupport.class));
+        Network network = mock(Network.class);
+        when(network.getEngine()).thenReturn(engine);
+        when(network.getIndexerMemoryType()).thenReturn(MemoryType.SETS);
+        return new ReteContainer(network, false);
+    }
+
+}
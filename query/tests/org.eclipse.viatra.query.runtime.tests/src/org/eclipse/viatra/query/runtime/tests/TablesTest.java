@@ -36,8 +36,11 @@ import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableContext;
 import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableWriterBinary;
 import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableWriterGeneric;
 import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableWriterUnary;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapBinaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapUnaryTable;
 import org.eclipse.viatra.query.runtime.matchers.scopes.tables.SimpleBinaryTable;
 import org.eclipse.viatra.query.runtime.matchers.scopes.tables.SimpleUnaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ValueDictionary;
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
 import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
 import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
@@ -78,6 +81,7 @@ public class TablesTest {
     private final static IInputKey UNARY_KEY = new EClassTransitiveInstancesKey(EcorePackage.eINSTANCE.getEModelElement());
  // private final static Supplier<IIndexTable> UNARY_MULTI_FACTORY = () -> new SimpleUnaryTable<>(UNARY_KEY, CONTEXT, false);
     private final static Supplier<IIndexTable> UNARY_UNIQUE_FACTORY = () -> new SimpleUnaryTable<>(UNARY_KEY, CONTEXT, true);
+    private final static Supplier<IIndexTable> UNARY_OFF_HEAP_FACTORY = () -> new OffHeapUnaryTable<>(UNARY_KEY, CONTEXT, new ValueDictionary(), true);
 
     private final static Tuple NEVER_USED_BINARY = Tuples.staticArityFlatTupleOf(0,0);
     private final static Tuple[] BINARY_POOL = {  null, 
@@ -92,6 +96,7 @@ public class TablesTest {
     private final static IInputKey BINARY_KEY = new EStructuralFeatureInstancesKey(EcorePackage.eINSTANCE.getEModelElement_EAnnotations());
  // private final static Supplier<IIndexTable> BINARY_MULTI_FACTORY = () -> new SimpleBinaryTable<>(BINARY_KEY, CONTEXT, false);
     private final static Supplier<IIndexTable> BINARY_UNIQUE_FACTORY = () -> new SimpleBinaryTable<>(BINARY_KEY, CONTEXT, true);
+    private final static Supplier<IIndexTable> BINARY_OFF_HEAP_FACTORY = () -> new OffHeapBinaryTable<>(BINARY_KEY, CONTEXT, new ValueDictionary(), true);
 
     private final static Tuple NEVER_USED_TERNARY = Tuples.staticArityFlatTupleOf(0,0,0);
     private final static Tuple[] TERNARY_POOL = {  null, 
@@ -215,8 +220,10 @@ public class TablesTest {
         return Arrays.asList(
                 new Object[] {1, UNARY_POOL,    NEVER_USED_UNARY,   SimpleUnaryTable.class, UNARY_UNIQUE_FACTORY,               FROM_SIMPLE_UNARY},
                 new Object[] {1, UNARY_POOL,    NEVER_USED_UNARY,   DefaultIndexTable.class,defaultUniqueFactory(UNARY_KEY),    FROM_DEFAULT},
+                new Object[] {1, UNARY_POOL,    NEVER_USED_UNARY,   OffHeapUnaryTable.class,UNARY_OFF_HEAP_FACTORY,             FROM_SIMPLE_UNARY},
                 new Object[] {2, BINARY_POOL,   NEVER_USED_BINARY,  SimpleBinaryTable.class,BINARY_UNIQUE_FACTORY,              FROM_SIMPLE_BINARY},
                 new Object[] {2, BINARY_POOL,   NEVER_USED_BINARY,  DefaultIndexTable.class,defaultUniqueFactory(BINARY_KEY),   FROM_DEFAULT},
+                new Object[] {2, BINARY_POOL,   NEVER_USED_BINARY,  OffHeapBinaryTable.class,BINARY_OFF_HEAP_FACTORY,           FROM_SIMPLE_BINARY},
                 new Object[] {3, TERNARY_POOL,  NEVER_USED_TERNARY, DefaultIndexTable.class,defaultUniqueFactory(TERNARY_KEY),  FROM_DEFAULT},
                 new Object[] {3, TERNARY_POOL,  NEVER_USED_TERNARY, DisjointUnionTable.class,DISJOINT_UNION_FACTORY,            FROM_DISJOINT_UNION}
            );
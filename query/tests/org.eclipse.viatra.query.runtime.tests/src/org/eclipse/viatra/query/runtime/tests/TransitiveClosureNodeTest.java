@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.eclipse.viatra.query.runtime.tests.ReteNodeTestSupport.createContainer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuple;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+import org.eclipse.viatra.query.runtime.rete.index.ExistenceNode;
+import org.eclipse.viatra.query.runtime.rete.index.JoinNode;
+import org.eclipse.viatra.query.runtime.rete.index.ProjectionIndexer;
+import org.eclipse.viatra.query.runtime.rete.index.TransitiveClosureNodeIndexer;
+import org.eclipse.viatra.query.runtime.rete.network.ReteContainer;
+import org.eclipse.viatra.query.runtime.rete.network.communication.Timestamp;
+import org.eclipse.viatra.query.runtime.rete.single.TransitiveClosureNode;
+import org.eclipse.viatra.query.runtime.tests.ReteNodeTestSupport.CollectorNode;
+import org.junit.Test;
+
+/**
+ * Checks that a transitive closure node computing reachability on demand, whose indexers search the graph instead of
+ * storing the relation, behaves the same way in joins as a transitive closure node maintaining the relation.
+ */
+public class TransitiveClosureNodeTest {
+
+    private static final int NODE_COUNT = 8;
+
+    /**
+     * A transitive closure node joined with itself in several ways: a join composing paths, an existence node
+     * selecting pairs whose target reaches further, and an existence node selecting pairs reachable in both directions.
+     */
+    private static final class TestedNetwork {
+        final ReteContainer container;
+        final TransitiveClosureNode node;
+        final ProjectionIndexer sourceIndexer;
+        final ProjectionIndexer targetIndexer;
+        final ProjectionIndexer pairIndexer;
+        final CollectorNode relation;
+        final CollectorNode paths;
+        final CollectorNode extensiblePairs;
+        final CollectorNode mutualPairs;
+
+        TestedNetwork(boolean onDemandReachability) {
+            container = createContainer();
+            node = new TransitiveClosureNode(container, onDemandReachability, false);
+            sourceIndexer = node.constructIndex(TupleMask.selectSingle(0, 2));
+            targetIndexer = node.constructIndex(TupleMask.selectSingle(1, 2));
+            pairIndexer = node.constructIndex(TupleMask.identity(2));
+            ProjectionIndexer reversePairIndexer = node
+                    .constructIndex(TupleMask.fromSelectedIndices(2, new int[] { 1, 0 }));
+
+            relation = new CollectorNode(container);
+            container.connect(node, relation);
+
+            JoinNode join = new JoinNode(container, TupleMask.selectSingle(1, 2));
+            join.connectToIndexers(targetIndexer, sourceIndexer);
+            paths = new CollectorNode(container);
+            container.connect(join, paths);
+
+            ExistenceNode extensible = new ExistenceNode(container, false);
+            extensible.connectToIndexers(targetIndexer, sourceIndexer);
+            extensiblePairs = new CollectorNode(container);
+            container.connect(extensible, extensiblePairs);
+
+            ExistenceNode mutual = new ExistenceNode(container, false);
+            mutual.connectToIndexers(pairIndexer, reversePairIndexer);
+            mutualPairs = new CollectorNode(container);
+            container.connect(mutual, mutualPairs);
+        }
+
+        void update(Direction direction, Tuple edge) {
+            node.update(direction, edge, Timestamp.ZERO);
+            container.deliverMessagesSingleThreaded();
+        }
+    }
+
+    private static void assertSameLookups(ProjectionIndexer expected, ProjectionIndexer actual, Tuple signature) {
+        Collection<Tuple> expectedBucket = expected.get(signature);
+        Collection<Tuple> actualBucket = actual.get(signature);
+        assertEquals("Lookup of " + signature, expectedBucket == null ? 0 : expectedBucket.size(),
+                actualBucket == null ? 0 : actualBucket.size());
+        if (expectedBucket != null) {
+            assertTrue("Lookup of " + signature, actualBucket.containsAll(expectedBucket));
+        }
+    }
+
+    @Test
+    public void onDemandIndexersEqualStoredRelation() {
+        TestedNetwork stored = new TestedNetwork(false);
+        TestedNetwork onDemand = new TestedNetwork(true);
+        assertTrue(onDemand.sourceIndexer instanceof TransitiveClosureNodeIndexer);
+
+        // random edge updates on a small graph create and break cycles; edges may be inserted more than once
+        Random random = new Random(42);
+        Map<Tuple, Integer> edges = new HashMap<>();
+        for (int step = 0; step < 400; step++) {
+            Tuple edge = Tuples.staticArityFlatTupleOf(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT));
+            int count = edges.getOrDefault(edge, 0);
+            Direction direction = count > 0 && (count > 1 || random.nextBoolean()) ? Direction.DELETE
+                    : Direction.INSERT;
+            edges.merge(edge, direction == Direction.INSERT ? 1 : -1, Integer::sum);
+            stored.update(direction, edge);
+            onDemand.update(direction, edge);
+
+            String message = "After step " + step;
+            assertEquals(message, stored.relation.contents, onDemand.relation.contents);
+            assertEquals(message, stored.paths.contents, onDemand.paths.contents);
+            assertEquals(message, stored.extensiblePairs.contents, onDemand.extensiblePairs.contents);
+            assertEquals(message, stored.mutualPairs.contents, onDemand.mutualPairs.contents);
+        }
+
+        for (int source = 0; source < NODE_COUNT; source++) {
+            assertSameLookups(stored.sourceIndexer, onDemand.sourceIndexer, Tuples.staticArityFlatTupleOf(source));
+            assertSameLookups(stored.targetIndexer, onDemand.targetIndexer, Tuples.staticArityFlatTupleOf(source));
+            for (int target = 0; target < NODE_COUNT; target++) {
+                assertSameLookups(stored.pairIndexer, onDemand.pairIndexer,
+                        Tuples.staticArityFlatTupleOf(source, target));
+            }
+        }
+        assertEquals(stored.sourceIndexer.getBucketCount(), onDemand.sourceIndexer.getBucketCount());
+        assertEquals(stored.pairIndexer.getTotalSize(), onDemand.pairIndexer.getTotalSize());
+    }
+
+}
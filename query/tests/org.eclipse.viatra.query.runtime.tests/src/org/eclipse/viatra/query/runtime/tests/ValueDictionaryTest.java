@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-v20.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.viatra.query.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.viatra.query.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.viatra.query.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.viatra.query.runtime.matchers.context.IInputKey;
+import org.eclipse.viatra.query.runtime.matchers.scopes.OffHeapStorageBackend;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ITableContext;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapBinaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.OffHeapUnaryTable;
+import org.eclipse.viatra.query.runtime.matchers.scopes.tables.ValueDictionary;
+import org.eclipse.viatra.query.runtime.matchers.tuple.TupleMask;
+import org.eclipse.viatra.query.runtime.matchers.tuple.Tuples;
+import org.eclipse.viatra.query.runtime.matchers.util.Direction;
+import org.junit.Test;
+
+/**
+ * Tests the reference counting of {@link ValueDictionary} and its use by the off-heap tables.
+ */
+public class ValueDictionaryTest {
+
+    private static final ITableContext CONTEXT = message -> fail("Error logged: " + message);
+    private static final IInputKey UNARY_KEY = new EClassTransitiveInstancesKey(
+            EcorePackage.eINSTANCE.getEModelElement());
+    private static final IInputKey BINARY_KEY = new EStructuralFeatureInstancesKey(
+            EcorePackage.eINSTANCE.getEModelElement_EAnnotations());
+
+    @Test
+    public void valuesAreForgottenWithLastReference() {
+        ValueDictionary dictionary = new ValueDictionary();
+        int id = dictionary.acquire("a");
+        assertEquals(id, dictionary.acquire("a"));
+        assertEquals(1, dictionary.size());
+
+        dictionary.release(id);
+        assertEquals(id, dictionary.getId("a"));
+        assertEquals("a", dictionary.getValue(id));
+
+        dictionary.release(id);
+        assertEquals(ValueDictionary.NO_ID, dictionary.getId("a"));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    public void releasedIdsAreReused() {
+        ValueDictionary dictionary = new ValueDictionary();
+        for (int i = 0; i < 100; i++) {
+            dictionary.acquire(i);
+        }
+        int released = dictionary.getId(42);
+        dictionary.release(released);
+
+        assertEquals(released, dictionary.acquire("new"));
+        assertEquals("new", dictionary.getValue(released));
+        assertEquals(100, dictionary.acquire("newer"));
+        assertEquals(101, dictionary.size());
+    }
+
+    @Test
+    public void tablesReleaseDeletedValues() {
+        ValueDictionary dictionary = new ValueDictionary();
+        OffHeapUnaryTable<Object> unary = new OffHeapUnaryTable<>(UNARY_KEY, CONTEXT, dictionary, false);
+        OffHeapBinaryTable<Object, Object> binary = new OffHeapBinaryTable<>(BINARY_KEY, CONTEXT, dictionary, false);
+
+        unary.write(Direction.INSERT, "a");
+        unary.write(Direction.INSERT, "a");
+        binary.write(Direction.INSERT, "a", "b");
+        binary.write(Direction.INSERT, "a", "c");
+        binary.write(Direction.INSERT, "c", "c");
+        assertEquals(3, dictionary.size());
+
+        unary.write(Direction.DELETE, "a");
+        binary.write(Direction.DELETE, "a", "b");
+        assertEquals(ValueDictionary.NO_ID, dictionary.getId("b"));
+        assertEquals(2, dictionary.size());
+
+        unary.write(Direction.DELETE, "a");
+        assertEquals(2, dictionary.size());
+        binary.write(Direction.DELETE, "a", "c");
+        assertEquals(ValueDictionary.NO_ID, dictionary.getId("a"));
+        assertEquals(1, dictionary.size());
+
+        // the id of a released value is reused without confusing the remaining rows
+        binary.write(Direction.INSERT, "d", "c");
+        assertTrue(binary.containsRow("c", "c"));
+        assertTrue(binary.containsRow("d", "c"));
+        assertFalse(binary.containsRow("a", "c"));
+        assertEquals(2, binary.countTuples(TupleMask.selectSingle(1, 2), Tuples.staticArityFlatTupleOf("c")));
+    }
+
+    @Test
+    public void disposeReleasesAllValues() {
+        OffHeapStorageBackend backend = new OffHeapStorageBackend();
+        OffHeapUnaryTable<Object> unary = backend.createUnaryTable(UNARY_KEY, CONTEXT, false);
+        OffHeapBinaryTable<Object, Object> binary = backend.createBinaryTable(BINARY_KEY, CONTEXT, false);
+        unary.write(Direction.INSERT, "a");
+        binary.write(Direction.INSERT, "a", "b");
+        binary.write(Direction.INSERT, "b", "b");
+        assertEquals(2, backend.getDictionary().size());
+
+        backend.dispose();
+        assertEquals(0, backend.getDictionary().size());
+        assertEquals(0, unary.countTuples(TupleMask.empty(1), Tuples.staticArityFlatTupleOf()));
+        assertFalse(binary.containsRow("a", "b"));
+    }
+
+}